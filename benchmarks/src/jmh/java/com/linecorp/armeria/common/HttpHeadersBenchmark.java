@@ -16,13 +16,17 @@
 
 package com.linecorp.armeria.common;
 
+import java.util.Map.Entry;
+
 import javax.annotation.Nullable;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 
+import io.netty.util.AsciiString;
+
 /**
- * Microbenchmarks of {@link DefaultHttpHeaders} construction.
+ * Microbenchmarks of {@link DefaultHttpHeaders} construction and derivation.
  */
 public class HttpHeadersBenchmark {
 
@@ -32,6 +36,18 @@ public class HttpHeadersBenchmark {
             "eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiaWF0IjoxNTE2MjM5MDIyfQ." +
             "SflKxwRJSMeKKF2QT4fwpMeJf36POk6yJV_adQssw5c";
 
+    private static final RequestHeaders REQUEST_HEADERS =
+            RequestHeaders.builder(HttpMethod.GET, "/api/v1/users/1234")
+                          .scheme("https")
+                          .authority("api.example.com")
+                          .set(HttpHeaderNames.USER_AGENT, "armeria/1.7.0")
+                          .set(HttpHeaderNames.ACCEPT, "application/json, text/plain, */*")
+                          .set(HttpHeaderNames.ACCEPT_LANGUAGE, "en-US,en;q=0.9")
+                          .set(HttpHeaderNames.ACCEPT_ENCODING, "gzip, deflate, br")
+                          .set(HttpHeaderNames.COOKIE, "session=abcdef0123456789; theme=dark")
+                          .set("x-forwarded-for", "192.168.0.1")
+                          .build();
+
     @Nullable
     @Benchmark
     public MediaType parseKnown() {
@@ -58,4 +74,27 @@ public class HttpHeadersBenchmark {
     public HttpHeaders create_noValidation() {
         return HttpHeaders.of(HttpHeaderNames.AUTHORIZATION, AUTHORIZATION_TOKEN);
     }
+
+    /**
+     * Simulates a chain of decorators each of which derives new {@link RequestHeaders} with one more
+     * header, and then the transport layer which iterates all headers once.
+     */
+    @Benchmark
+    public int decoratorChain() {
+        RequestHeaders headers = REQUEST_HEADERS;
+        headers = headers.toBuilder().set(HttpHeaderNames.AUTHORIZATION, AUTHORIZATION_TOKEN).build();
+        headers = headers.toBuilder().set("x-request-id", "6b2a0b7e-8f64-4c61-9a3e-3b0ad2f2f6a1").build();
+        headers = headers.toBuilder().set("x-b3-traceid", "463ac35c9f6413ad48485a3953bb6124").build();
+        headers = headers.toBuilder().set("x-b3-spanid", "a2fb4a1d1a96d312").build();
+        headers = headers.toBuilder().set("x-b3-sampled", "1").build();
+        headers = headers.toBuilder().set(HttpHeaderNames.PREFER, "return=minimal").build();
+        headers = headers.toBuilder().add("x-forwarded-for", "10.0.0.1").build();
+        headers = headers.toBuilder().set("x-client-version", "1.2.3").build();
+
+        int length = 0;
+        for (Entry<AsciiString, String> e : headers) {
+            length += e.getKey().length() + e.getValue().length();
+        }
+        return length;
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.common;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.linecorp.armeria.internal.common.util.VirtualThreads;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Microbenchmarks of {@link RequestContextStorage#push(RequestContext)} and
+ * {@link RequestContextStorage#pop(RequestContext, RequestContext)}.
+ *
+ * <p>Note that JMH runs benchmarks on plain {@link Thread}s rather than Netty's {@code FastThreadLocalThread}s.
+ * {@link #pushAndPopInNewThread(ThreadState)} runs {@link #pushAndPop()} in a new platform or virtual thread,
+ * so that the storages are also compared on virtual threads. Compare its scores only between the
+ * {@link StorageType}s of the same {@link ThreadType} because the score includes the cost of starting
+ * a thread. {@link ThreadType#VIRTUAL} requires Java 21 or above.
+ */
+@State(Scope.Thread)
+public class RequestContextStorageBenchmark {
+
+    private static final int NUM_PUSHES_PER_THREAD = 1000;
+
+    public enum StorageType {
+        THREAD_LOCAL {
+            @Override
+            RequestContextStorage newStorage() {
+                return RequestContextStorage.threadLocal();
+            }
+        },
+        VIRTUAL_THREAD {
+            @Override
+            RequestContextStorage newStorage() {
+                return new VirtualThreadRequestContextStorageProvider().newStorage();
+            }
+        };
+
+        abstract RequestContextStorage newStorage();
+    }
+
+    public enum ThreadType {
+        PLATFORM {
+            @Override
+            ThreadFactory newThreadFactory() {
+                return Thread::new;
+            }
+        },
+        VIRTUAL {
+            @Override
+            ThreadFactory newThreadFactory() {
+                return VirtualThreads.newThreadFactory("request-context-storage-benchmark",
+                                                       Function.identity());
+            }
+        };
+
+        abstract ThreadFactory newThreadFactory();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        @Param
+        private ThreadType threadType;
+
+        private ThreadFactory threadFactory;
+
+        @Setup
+        public void setUp() {
+            threadFactory = threadType.newThreadFactory();
+        }
+    }
+
+    @Param
+    private StorageType storageType;
+
+    private RequestContextStorage storage;
+    private ServiceRequestContext ctx1;
+    private ServiceRequestContext ctx2;
+
+    @Setup
+    public void setUp() {
+        storage = storageType.newStorage();
+        ctx1 = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/1"));
+        ctx2 = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/2"));
+    }
+
+    @Benchmark
+    public RequestContext pushAndPop() {
+        final RequestContext oldCtx = storage.push(ctx1);
+        storage.pop(ctx1, oldCtx);
+        return oldCtx;
+    }
+
+    @Benchmark
+    public RequestContext nestedPushAndPop() {
+        final RequestContext oldCtx1 = storage.push(ctx1);
+        final RequestContext oldCtx2 = storage.push(ctx2);
+        storage.pop(ctx2, oldCtx2);
+        storage.pop(ctx1, oldCtx1);
+        return oldCtx1;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_PUSHES_PER_THREAD)
+    public RequestContext pushAndPopInNewThread(ThreadState threadState) throws InterruptedException {
+        final RequestContext[] result = new RequestContext[1];
+        final Thread thread = threadState.threadFactory.newThread(() -> {
+            RequestContext oldCtx = null;
+            for (int i = 0; i < NUM_PUSHES_PER_THREAD; i++) {
+                oldCtx = pushAndPop();
+            }
+            result[0] = oldCtx;
+        });
+        thread.start();
+        thread.join();
+        return result[0];
+    }
+
+    @Benchmark
+    public RequestContext currentOrNull() {
+        return storage.currentOrNull();
+    }
+}
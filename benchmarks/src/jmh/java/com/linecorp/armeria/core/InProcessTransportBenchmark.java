@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.core;
+
+import java.time.Duration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
+import com.linecorp.armeria.common.util.InProcessAddress;
+import com.linecorp.armeria.server.Server;
+import com.linecorp.armeria.server.ServerPort;
+
+/**
+ * Microbenchmarks that compare the in-process transport with the loopback TCP transport.
+ */
+@State(Scope.Benchmark)
+public class InProcessTransportBenchmark {
+
+    private static final InProcessAddress IN_PROCESS_ADDRESS =
+            InProcessAddress.of(InProcessTransportBenchmark.class.getSimpleName());
+
+    public enum Transport {
+        LOOPBACK,
+        IN_PROCESS
+    }
+
+    // JMH bug prevents it from using enums that override toString() (it should use name() instead...).
+    public enum Protocol {
+        H2C(SessionProtocol.H2C),
+        H1C(SessionProtocol.H1C);
+
+        private final SessionProtocol sessionProtocol;
+
+        Protocol(SessionProtocol sessionProtocol) {
+            this.sessionProtocol = sessionProtocol;
+        }
+    }
+
+    private Server server;
+    private ClientFactory clientFactory;
+    private WebClient webClient;
+
+    @Param
+    private Transport transport;
+
+    @Param
+    private Protocol protocol;
+
+    @Setup
+    public void startServer() throws Exception {
+        server = Server.builder()
+                       .http(0)
+                       .port(new ServerPort(IN_PROCESS_ADDRESS, SessionProtocol.HTTP))
+                       .service("/empty", (ctx, req) -> HttpResponse.of(HttpStatus.OK))
+                       .requestTimeout(Duration.ZERO)
+                       .meterRegistry(NoopMeterRegistry.get())
+                       .build();
+        server.start().join();
+
+        final Endpoint endpoint;
+        if (transport == Transport.IN_PROCESS) {
+            endpoint = Endpoint.of(IN_PROCESS_ADDRESS);
+        } else {
+            endpoint = Endpoint.of("127.0.0.1", server.activeLocalPort(SessionProtocol.HTTP));
+        }
+        clientFactory = ClientFactory.builder().meterRegistry(NoopMeterRegistry.get()).build();
+        webClient = WebClient.builder(protocol.sessionProtocol, endpoint)
+                             .factory(clientFactory)
+                             .build();
+    }
+
+    @TearDown
+    public void stopServer() throws Exception {
+        clientFactory.close();
+        server.stop().join();
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse empty() throws Exception {
+        return webClient.get("/empty").aggregate().join();
+    }
+}
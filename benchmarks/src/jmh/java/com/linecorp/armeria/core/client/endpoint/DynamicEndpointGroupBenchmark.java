@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.core.client.endpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.Nullable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.endpoint.DynamicEndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
+
+/**
+ * Microbenchmarks of updating a large {@link DynamicEndpointGroup} one {@link Endpoint} at a time,
+ * e.g. while the servers are being deployed.
+ */
+@State(Scope.Thread)
+public class DynamicEndpointGroupBenchmark {
+
+    @Param("10000")
+    private int numEndpoints;
+
+    private TestDynamicEndpointGroup group;
+    private List<Endpoint> endpoints;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        endpoints = new ArrayList<>(numEndpoints);
+        for (int i = 0; i < numEndpoints; i++) {
+            endpoints.add(Endpoint.of("10.0." + (i >>> 8) + '.' + (i & 0xFF), 8080)
+                                  .withWeight(1 + random.nextInt(100)));
+        }
+
+        group = new TestDynamicEndpointGroup();
+        group.updateEndpoints(endpoints);
+        // Create the selector so that it is updated as well.
+        group.selectNow(null);
+    }
+
+    /**
+     * Removes an {@link Endpoint} and adds it back.
+     */
+    @Nullable
+    @Benchmark
+    public Endpoint removeAndAdd() {
+        final Endpoint endpoint = nextEndpoint();
+        group.remove(endpoint);
+        group.add(endpoint);
+        return group.selectNow(null);
+    }
+
+    /**
+     * Changes the weight of an {@link Endpoint} by replacing the whole {@link Endpoint} list.
+     */
+    @Nullable
+    @Benchmark
+    public Endpoint setEndpointsWithOneChange() {
+        final int i = index;
+        final Endpoint endpoint = nextEndpoint();
+        endpoints.set(i, endpoint.withWeight(endpoint.weight() % 100 + 1));
+        group.updateEndpoints(endpoints);
+        return group.selectNow(null);
+    }
+
+    private Endpoint nextEndpoint() {
+        final Endpoint endpoint = endpoints.get(index);
+        index = (index + 1) % numEndpoints;
+        return endpoint;
+    }
+
+    private static final class TestDynamicEndpointGroup extends DynamicEndpointGroup {
+
+        TestDynamicEndpointGroup() {
+            super(EndpointSelectionStrategy.weightedRoundRobin());
+        }
+
+        void add(Endpoint endpoint) {
+            addEndpoint(endpoint);
+        }
+
+        void remove(Endpoint endpoint) {
+            removeEndpoint(endpoint);
+        }
+
+        void updateEndpoints(List<Endpoint> endpoints) {
+            setEndpoints(endpoints);
+        }
+    }
+}
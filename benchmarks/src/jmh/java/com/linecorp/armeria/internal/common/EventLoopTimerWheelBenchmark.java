@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.internal.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+
+/**
+ * Compares the event loop cost of scheduling and cancelling timeouts with {@link EventLoopTimerWheel}
+ * against {@link EventLoop#schedule(Runnable, long, TimeUnit)}, which is what a request timeout does
+ * when a request completes before its deadline. {@code numPendingTimeouts} simulates the timeouts of
+ * long-lived streams which stay in the scheduled task queue.
+ */
+@State(Scope.Benchmark)
+public class EventLoopTimerWheelBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Runnable NOOP = () -> {};
+
+    public enum SchedulerType {
+        SCHEDULED_TASK {
+            @Override
+            ScheduledFuture<?> schedule(EventLoop eventLoop, long delayMillis) {
+                return eventLoop.schedule(NOOP, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        },
+        TIMER_WHEEL {
+            @Override
+            ScheduledFuture<?> schedule(EventLoop eventLoop, long delayMillis) {
+                return EventLoopTimerWheel.get(eventLoop).schedule(NOOP, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        };
+
+        abstract ScheduledFuture<?> schedule(EventLoop eventLoop, long delayMillis);
+    }
+
+    @Param
+    private SchedulerType schedulerType;
+
+    @Param({ "0", "100000" })
+    private int numPendingTimeouts;
+
+    private EventLoop eventLoop;
+    private List<ScheduledFuture<?>> pendingTimeouts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        eventLoop = new DefaultEventLoop();
+        pendingTimeouts = eventLoop.submit(() -> {
+            final List<ScheduledFuture<?>> timeouts = new ArrayList<>(numPendingTimeouts);
+            for (int i = 0; i < numPendingTimeouts; i++) {
+                timeouts.add(schedulerType.schedule(eventLoop, TimeUnit.HOURS.toMillis(1) + i));
+            }
+            return timeouts;
+        }).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        eventLoop.submit(() -> pendingTimeouts.forEach(f -> f.cancel(false))).get();
+        eventLoop.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void scheduleAndCancel() throws Exception {
+        eventLoop.submit(() -> {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final ScheduledFuture<?>[] timeouts = new ScheduledFuture<?>[BATCH_SIZE];
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                timeouts[i] = schedulerType.schedule(eventLoop, 1000 + random.nextInt(10000));
+            }
+            for (ScheduledFuture<?> timeout : timeouts) {
+                timeout.cancel(false);
+            }
+        }).get();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+import com.linecorp.armeria.internal.common.util.HttpTimestampSupplier;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersEncoder;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.AsciiString;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Microbenchmarks that compare the cost of converting and encoding the {@link ResponseHeaders}
+ * marked as constant via {@link ResponseHeaders#toConstant()} with the cost for the ordinary ones.
+ * One benchmark state represents one connection, i.e. it has its own HPACK encoder.
+ */
+@State(Scope.Thread)
+public class ConstantResponseHeadersBenchmark {
+
+    private static final AsciiString SERVER_HEADER_VALUE = AsciiString.cached(ArmeriaHttpUtil.SERVER_HEADER);
+
+    private static final ResponseHeaders HEADERS =
+            ResponseHeaders.builder(HttpStatus.OK)
+                           .contentType(MediaType.JSON_UTF_8)
+                           .setInt(HttpHeaderNames.CONTENT_LENGTH, 1024)
+                           .set(HttpHeaderNames.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
+                           .set(HttpHeaderNames.VARY, "Accept-Encoding")
+                           .set("x-content-type-options", "nosniff")
+                           .set("x-frame-options", "DENY")
+                           .set("strict-transport-security", "max-age=31536000; includeSubDomains")
+                           .build();
+
+    @Param({ "false", "true" })
+    private boolean constant;
+
+    private ResponseHeaders headers;
+    private EmbeddedChannel http1Channel;
+    private DefaultHttp2HeadersEncoder http2Encoder;
+    private ByteBuf http2Buf;
+
+    @Setup
+    public void setUp() {
+        headers = constant ? HEADERS.toConstant() : HEADERS;
+        http1Channel = new EmbeddedChannel(new HttpResponseEncoder());
+        http2Encoder = new DefaultHttp2HeadersEncoder();
+        http2Buf = Unpooled.directBuffer(4096);
+    }
+
+    @TearDown
+    public void tearDown() {
+        http1Channel.finishAndReleaseAll();
+        http2Buf.release();
+    }
+
+    @Benchmark
+    public void http1() {
+        final DefaultFullHttpResponse res = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER, false);
+        final io.netty.handler.codec.http.HttpHeaders outHeaders = res.headers();
+        if (headers.isConstant()) {
+            ConstantResponseHeadersCache.addHttp1Headers(headers, outHeaders);
+        } else {
+            ArmeriaHttpUtil.toNettyHttp1ServerHeader(headers, outHeaders);
+        }
+        outHeaders.add(HttpHeaderNames.SERVER, ArmeriaHttpUtil.SERVER_HEADER);
+        outHeaders.add(HttpHeaderNames.DATE, HttpTimestampSupplier.currentTime());
+
+        http1Channel.writeOutbound(res);
+        for (;;) {
+            final Object encoded = http1Channel.readOutbound();
+            if (encoded == null) {
+                break;
+            }
+            ReferenceCountUtil.release(encoded);
+        }
+    }
+
+    @Benchmark
+    public int http2() throws Exception {
+        final Http2Headers outHeaders;
+        if (headers.isConstant()) {
+            outHeaders = ConstantResponseHeadersCache.http2Headers(
+                    headers, false, SERVER_HEADER_VALUE, AsciiString.of(HttpTimestampSupplier.currentTime()),
+                    HttpHeaders.of());
+        } else {
+            outHeaders = ArmeriaHttpUtil.toNettyHttp2ServerHeaders(headers);
+            outHeaders.add(HttpHeaderNames.SERVER, ArmeriaHttpUtil.SERVER_HEADER);
+            outHeaders.add(HttpHeaderNames.DATE, HttpTimestampSupplier.currentTime());
+        }
+
+        http2Encoder.encodeHeaders(3, outHeaders, http2Buf);
+        final int length = http2Buf.readableBytes();
+        http2Buf.clear();
+        return length;
+    }
+}
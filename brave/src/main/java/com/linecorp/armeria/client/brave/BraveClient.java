@@ -152,6 +152,11 @@ public final class BraveClient extends SimpleDecoratingHttpClient {
                               timings.socketConnectStartTimeMicros(),
                               timings.socketConnectDurationNanos());
                 }
+                if (timings.tlsHandshakeDurationNanos() != -1) {
+                    logTiming(span, "tls-handshake.start", "tls-handshake.end",
+                              timings.tlsHandshakeStartTimeMicros(),
+                              timings.tlsHandshakeDurationNanos());
+                }
                 if (timings.pendingAcquisitionDurationNanos() != -1) {
                     logTiming(span, "connection-reuse.start", "connection-reuse.end",
                               timings.pendingAcquisitionStartTimeMicros(),
@@ -111,13 +111,34 @@ final class HealthClient {
 
     @Nullable
     private static Endpoint toEndpoint(HealthService healthService) {
+        final Endpoint endpoint;
         if (!Strings.isNullOrEmpty(healthService.service.address)) {
-            return Endpoint.of(healthService.service.address, healthService.service.port);
+            endpoint = Endpoint.of(healthService.service.address, healthService.service.port);
         } else if (!Strings.isNullOrEmpty(healthService.node.address)) {
-            return Endpoint.of(healthService.node.address, healthService.service.port);
+            endpoint = Endpoint.of(healthService.node.address, healthService.service.port);
         } else {
             return null;
         }
+        return endpoint.withZone(zone(healthService));
+    }
+
+    /**
+     * Returns the {@code "zone"} metadata of the service, or that of the node if the service does not have it.
+     * Consul does not have the notion of zone, so the zone has to be registered as metadata.
+     */
+    @Nullable
+    private static String zone(HealthService healthService) {
+        final String zone = zone(healthService.service.meta);
+        return zone != null ? zone : zone(healthService.node.meta);
+    }
+
+    @Nullable
+    private static String zone(@Nullable Map<String, Object> meta) {
+        if (meta == null) {
+            return null;
+        }
+        final Object zone = meta.get("zone");
+        return zone != null ? Strings.emptyToNull(zone.toString()) : null;
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
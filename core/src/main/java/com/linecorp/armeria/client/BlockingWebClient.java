@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.util.Unwrappable;
+
+/**
+ * A blocking web client which waits for the {@link AggregatedHttpResponse} of each request.
+ * This client is meant to be used from blocking code, e.g. a task running in a
+ * {@link com.linecorp.armeria.common.util.BlockingTaskExecutor} or a virtual thread.
+ * The calling thread parks until the response is fully received without holding any monitor, so that
+ * a virtual thread does not pin its carrier thread while waiting.
+ *
+ * <p>Do not use this client in an event loop thread. Use {@link WebClient} instead. An
+ * {@link IllegalStateException} is raised if this client is used in an event loop thread, because
+ * the event loop may be the one that has to handle the response, which would never complete.
+ *
+ * <p>Any failure is thrown as is rather than wrapped in a {@link java.util.concurrent.CompletionException},
+ * e.g. {@link UnprocessedRequestException} or {@link ResponseTimeoutException}.
+ */
+@UnstableApi
+public interface BlockingWebClient extends ClientBuilderParams, Unwrappable {
+
+    /**
+     * Returns a {@link BlockingWebClient} without a base URI using the default {@link ClientFactory} and
+     * the default {@link ClientOptions}.
+     */
+    static BlockingWebClient of() {
+        return DefaultBlockingWebClient.DEFAULT;
+    }
+
+    /**
+     * Returns a new {@link BlockingWebClient} that connects to the specified {@code uri} using
+     * the default options.
+     *
+     * @param uri the URI of the server endpoint
+     *
+     * @throws IllegalArgumentException if the {@code uri} is not valid or its scheme is not one of the values
+     *                                  in {@link SessionProtocol#httpValues()} or
+     *                                  {@link SessionProtocol#httpsValues()}.
+     */
+    static BlockingWebClient of(String uri) {
+        return WebClient.of(uri).blocking();
+    }
+
+    /**
+     * Returns a new {@link BlockingWebClient} that connects to the specified {@link URI} using
+     * the default options.
+     *
+     * @param uri the {@link URI} of the server endpoint
+     *
+     * @throws IllegalArgumentException if the {@code uri} is not valid or its scheme is not one of the values
+     *                                  in {@link SessionProtocol#httpValues()} or
+     *                                  {@link SessionProtocol#httpsValues()}.
+     */
+    static BlockingWebClient of(URI uri) {
+        return WebClient.of(uri).blocking();
+    }
+
+    /**
+     * Returns a new {@link BlockingWebClient} that connects to the specified {@link EndpointGroup} with
+     * the specified {@link SessionProtocol} using the default options.
+     *
+     * @param protocol the {@link SessionProtocol} of the {@link EndpointGroup}
+     * @param endpointGroup the server {@link EndpointGroup}
+     */
+    static BlockingWebClient of(SessionProtocol protocol, EndpointGroup endpointGroup) {
+        return WebClient.of(protocol, endpointGroup).blocking();
+    }
+
+    /**
+     * Returns a new {@link BlockingWebClient} that connects to the specified {@link EndpointGroup} with
+     * the specified {@link SessionProtocol} and {@code path} using the default options.
+     *
+     * @param protocol the {@link SessionProtocol} of the {@link EndpointGroup}
+     * @param endpointGroup the server {@link EndpointGroup}
+     * @param path the path to the endpoint
+     */
+    static BlockingWebClient of(SessionProtocol protocol, EndpointGroup endpointGroup, String path) {
+        return WebClient.of(protocol, endpointGroup, path).blocking();
+    }
+
+    /**
+     * Sends the specified HTTP request and waits for the response.
+     *
+     * @throws IllegalStateException if called from an event loop thread
+     */
+    AggregatedHttpResponse execute(HttpRequest req);
+
+    /**
+     * Sends the specified HTTP request and waits for the response.
+     *
+     * @throws IllegalStateException if called from an event loop thread
+     */
+    AggregatedHttpResponse execute(AggregatedHttpRequest aggregatedReq);
+
+    /**
+     * Sends an empty HTTP request with the specified headers and waits for the response.
+     */
+    default AggregatedHttpResponse execute(RequestHeaders headers) {
+        return execute(HttpRequest.of(headers));
+    }
+
+    /**
+     * Sends an HTTP request with the specified headers and content and waits for the response.
+     */
+    default AggregatedHttpResponse execute(RequestHeaders headers, HttpData content) {
+        return execute(HttpRequest.of(headers, content));
+    }
+
+    /**
+     * Sends an HTTP request with the specified headers and content and waits for the response.
+     */
+    default AggregatedHttpResponse execute(RequestHeaders headers, byte[] content) {
+        return execute(HttpRequest.of(headers, HttpData.wrap(content)));
+    }
+
+    /**
+     * Sends an HTTP request with the specified headers and content and waits for the response.
+     */
+    default AggregatedHttpResponse execute(RequestHeaders headers, String content) {
+        return execute(HttpRequest.of(headers, HttpData.ofUtf8(content)));
+    }
+
+    /**
+     * Sends an HTTP request with the specified headers and content and waits for the response.
+     */
+    default AggregatedHttpResponse execute(RequestHeaders headers, String content, Charset charset) {
+        return execute(HttpRequest.of(headers, HttpData.of(charset, content)));
+    }
+
+    /**
+     * Sends an HTTP OPTIONS request and waits for the response.
+     */
+    default AggregatedHttpResponse options(String path) {
+        return execute(RequestHeaders.of(HttpMethod.OPTIONS, path));
+    }
+
+    /**
+     * Sends an HTTP GET request and waits for the response.
+     */
+    default AggregatedHttpResponse get(String path) {
+        return execute(RequestHeaders.of(HttpMethod.GET, path));
+    }
+
+    /**
+     * Sends an HTTP HEAD request and waits for the response.
+     */
+    default AggregatedHttpResponse head(String path) {
+        return execute(RequestHeaders.of(HttpMethod.HEAD, path));
+    }
+
+    /**
+     * Sends an HTTP POST request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse post(String path, HttpData content) {
+        return execute(RequestHeaders.of(HttpMethod.POST, path), content);
+    }
+
+    /**
+     * Sends an HTTP POST request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse post(String path, byte[] content) {
+        return execute(RequestHeaders.of(HttpMethod.POST, path), content);
+    }
+
+    /**
+     * Sends an HTTP POST request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse post(String path, String content) {
+        return execute(RequestHeaders.of(HttpMethod.POST, path), HttpData.ofUtf8(content));
+    }
+
+    /**
+     * Sends an HTTP POST request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse post(String path, String content, Charset charset) {
+        return execute(RequestHeaders.of(HttpMethod.POST, path), content, charset);
+    }
+
+    /**
+     * Sends an HTTP PUT request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse put(String path, HttpData content) {
+        return execute(RequestHeaders.of(HttpMethod.PUT, path), content);
+    }
+
+    /**
+     * Sends an HTTP PUT request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse put(String path, byte[] content) {
+        return execute(RequestHeaders.of(HttpMethod.PUT, path), content);
+    }
+
+    /**
+     * Sends an HTTP PUT request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse put(String path, String content) {
+        return execute(RequestHeaders.of(HttpMethod.PUT, path), HttpData.ofUtf8(content));
+    }
+
+    /**
+     * Sends an HTTP PUT request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse put(String path, String content, Charset charset) {
+        return execute(RequestHeaders.of(HttpMethod.PUT, path), content, charset);
+    }
+
+    /**
+     * Sends an HTTP PATCH request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse patch(String path, HttpData content) {
+        return execute(RequestHeaders.of(HttpMethod.PATCH, path), content);
+    }
+
+    /**
+     * Sends an HTTP PATCH request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse patch(String path, byte[] content) {
+        return execute(RequestHeaders.of(HttpMethod.PATCH, path), content);
+    }
+
+    /**
+     * Sends an HTTP PATCH request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse patch(String path, String content) {
+        return execute(RequestHeaders.of(HttpMethod.PATCH, path), HttpData.ofUtf8(content));
+    }
+
+    /**
+     * Sends an HTTP PATCH request with the specified content and waits for the response.
+     */
+    default AggregatedHttpResponse patch(String path, String content, Charset charset) {
+        return execute(RequestHeaders.of(HttpMethod.PATCH, path), content, charset);
+    }
+
+    /**
+     * Sends an HTTP DELETE request and waits for the response.
+     */
+    default AggregatedHttpResponse delete(String path) {
+        return execute(RequestHeaders.of(HttpMethod.DELETE, path));
+    }
+
+    /**
+     * Sends an HTTP TRACE request and waits for the response.
+     */
+    default AggregatedHttpResponse trace(String path) {
+        return execute(RequestHeaders.of(HttpMethod.TRACE, path));
+    }
+
+    /**
+     * Returns the {@link WebClient} which sends the requests of this client.
+     */
+    WebClient webClient();
+
+    @Override
+    HttpClient unwrap();
+}
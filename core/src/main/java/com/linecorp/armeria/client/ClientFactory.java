@@ -27,6 +27,7 @@ import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -37,9 +38,12 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.Strings;
 
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
+import com.linecorp.armeria.client.endpoint.dns.DnsAddressEndpointGroup;
 import com.linecorp.armeria.common.Scheme;
 import com.linecorp.armeria.common.SerializationFormat;
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.common.util.ListenableAsyncCloseable;
 import com.linecorp.armeria.common.util.ReleasableHolder;
@@ -201,6 +205,85 @@ public interface ClientFactory extends Unwrappable, ListenableAsyncCloseable {
      */
     int numConnections();
 
+    /**
+     * Makes connections to all {@link Endpoint}s of the specified {@link EndpointGroup} in advance,
+     * so that the first requests to them do not have to wait for the TCP and TLS handshakes and
+     * the HTTP/2 connection preface. At least
+     * {@linkplain ClientFactoryBuilder#minIdleConnectionsPerEndpoint(int) the minimum number of idle
+     * connections} is kept for each {@link Endpoint}, until the {@link EndpointGroup} or this
+     * {@link ClientFactory} is closed:
+     * <ul>
+     *   <li>When an {@link Endpoint} is added to the {@link EndpointGroup}, it is warmed up as well.</li>
+     *   <li>A warm connection is not closed by the {@linkplain ClientFactoryBuilder#idleTimeoutMillis(long)
+     *       idle timeout} while its {@link Endpoint} is in the {@link EndpointGroup}.</li>
+     *   <li>When a warm connection is closed, e.g. by the server, a new connection is made
+     *       if its {@link Endpoint} is still in the {@link EndpointGroup}.</li>
+     * </ul>
+     *
+     * <pre>{@code
+     * ClientFactory factory = ClientFactory.builder().build();
+     * EndpointGroup group = DnsAddressEndpointGroup.of("backend.example.com", 8080);
+     * // Wait until the connections are ready before accepting traffic.
+     * factory.warmUp(SessionProtocol.HTTP, group).join();
+     * WebClient client = WebClient.builder(SessionProtocol.HTTP, group).factory(factory).build();
+     * }</pre>
+     *
+     * @return the {@link CompletableFuture} which is completed when the connection attempts to
+     *         the initial {@link Endpoint}s are done. It is not completed exceptionally even if some of
+     *         the attempts failed, because a failed {@link Endpoint} will be connected on demand.
+     */
+    @UnstableApi
+    default CompletableFuture<Void> warmUp(SessionProtocol protocol, EndpointGroup endpointGroup) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support warming up connections.");
+    }
+
+    /**
+     * Returns an {@link EndpointGroup} which resolves the specified host name with DNS address queries,
+     * like {@link DnsAddressEndpointGroup}. Unlike a {@link DnsAddressEndpointGroup} created for each
+     * client, the {@link EndpointGroup}s returned for the same host name and port share one
+     * {@link DnsAddressEndpointGroup}, so that the DNS queries and the state of the
+     * {@link EndpointSelectionStrategy#weightedRoundRobin()} are not multiplied by the number of the clients.
+     * The shared {@link DnsAddressEndpointGroup} is closed when all the returned {@link EndpointGroup}s or
+     * this {@link ClientFactory} are closed.
+     *
+     * <pre>{@code
+     * ClientFactory factory = ...;
+     * // Both clients use the same DnsAddressEndpointGroup.
+     * EndpointGroup group1 = factory.sharedDnsAddressEndpointGroup("backend.example.com", 8080);
+     * EndpointGroup group2 = factory.sharedDnsAddressEndpointGroup("backend.example.com", 8080);
+     * WebClient client1 = WebClient.builder(SessionProtocol.HTTP, group1).factory(factory).build();
+     * WebClient client2 = WebClient.builder(SessionProtocol.HTTP, group2).factory(factory).build();
+     * }</pre>
+     */
+    @UnstableApi
+    default EndpointGroup sharedDnsAddressEndpointGroup(String hostname, int port) {
+        return sharedDnsAddressEndpointGroup(hostname, port, EndpointSelectionStrategy.weightedRoundRobin());
+    }
+
+    /**
+     * Returns an {@link EndpointGroup} which resolves the specified host name with DNS address queries,
+     * like {@link DnsAddressEndpointGroup}. Unlike a {@link DnsAddressEndpointGroup} created for each
+     * client, the {@link EndpointGroup}s returned for the same host name, port and
+     * {@link EndpointSelectionStrategy} share one {@link DnsAddressEndpointGroup}, so that the DNS queries
+     * and the state of the {@link EndpointSelectionStrategy} are not multiplied by the number of the clients.
+     * The shared {@link DnsAddressEndpointGroup} is closed when all the returned {@link EndpointGroup}s or
+     * this {@link ClientFactory} are closed.
+     *
+     * <p>Note that an {@link EndpointSelectionStrategy} is compared with {@link Object#equals(Object)}.
+     * Reuse the same instance to share a {@link DnsAddressEndpointGroup} with a stateful strategy.
+     *
+     * <p>The shared {@link DnsAddressEndpointGroup} uses the DNS servers, search domains, TTLs, query timeout
+     * and resolved address types configured with
+     * {@link ClientFactoryBuilder#domainNameResolverCustomizer(Consumer)}.
+     */
+    @UnstableApi
+    default EndpointGroup sharedDnsAddressEndpointGroup(String hostname, int port,
+                                                        EndpointSelectionStrategy selectionStrategy) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support shared endpoint groups.");
+    }
+
     /**
      * Returns the {@link ClientBuilderParams} held in {@code client}. This is used when creating a new derived
      * {@link Client} which inherits {@link ClientBuilderParams} from {@code client}. If this
@@ -49,12 +49,15 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Ints;
 
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
 import com.linecorp.armeria.client.proxy.ProxyConfig;
 import com.linecorp.armeria.client.proxy.ProxyConfigSelector;
 import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.Http1HeaderNaming;
 import com.linecorp.armeria.common.Request;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -580,6 +583,55 @@ public final class ClientFactoryBuilder {
         return this;
     }
 
+    /**
+     * Sets the minimum number of idle connections kept for each {@link Endpoint} warmed up with
+     * {@link ClientFactory#warmUp(SessionProtocol, EndpointGroup)}. An HTTP/2 connection is counted as
+     * idle as long as it can accept a new stream. If not set, {@code 1} is used, which is usually enough
+     * for HTTP/2. Consider a larger value for HTTP/1 which can send only one request at a time
+     * over a connection.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder minIdleConnectionsPerEndpoint(int minIdleConnectionsPerEndpoint) {
+        checkArgument(minIdleConnectionsPerEndpoint > 0,
+                      "minIdleConnectionsPerEndpoint: %s (expected: > 0)", minIdleConnectionsPerEndpoint);
+        option(ClientFactoryOptions.MIN_IDLE_CONNECTIONS_PER_ENDPOINT, minIdleConnectionsPerEndpoint);
+        return this;
+    }
+
+    /**
+     * Sets the delay between the connection attempts to the different addresses of a host.
+     * When a host name is resolved into more than one address, e.g. both IPv6 and IPv4 addresses,
+     * a new connection attempt is started to the next address if the previous attempts do not succeed
+     * within the delay, and the first established connection is used, as defined in
+     * <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs Version 2</a>.
+     * If not set, {@code 250} milliseconds is used, which is the value recommended by the RFC.
+     * Specify {@link Duration#ZERO} to connect to only the first resolved address.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder connectionAttemptDelay(Duration connectionAttemptDelay) {
+        requireNonNull(connectionAttemptDelay, "connectionAttemptDelay");
+        checkArgument(!connectionAttemptDelay.isNegative(),
+                      "connectionAttemptDelay: %s (expected: >= 0)", connectionAttemptDelay);
+        return connectionAttemptDelayMillis(connectionAttemptDelay.toMillis());
+    }
+
+    /**
+     * Sets the delay between the connection attempts to the different addresses of a host in milliseconds.
+     * When a host name is resolved into more than one address, e.g. both IPv6 and IPv4 addresses,
+     * a new connection attempt is started to the next address if the previous attempts do not succeed
+     * within the delay, and the first established connection is used, as defined in
+     * <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs Version 2</a>.
+     * If not set, {@code 250} milliseconds is used, which is the value recommended by the RFC.
+     * Specify {@code 0} to connect to only the first resolved address.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder connectionAttemptDelayMillis(long connectionAttemptDelayMillis) {
+        checkArgument(connectionAttemptDelayMillis >= 0,
+                      "connectionAttemptDelayMillis: %s (expected: >= 0)", connectionAttemptDelayMillis);
+        option(ClientFactoryOptions.CONNECTION_ATTEMPT_DELAY_MILLIS, connectionAttemptDelayMillis);
+        return this;
+    }
+
     /**
      * Sets whether to send an HTTP/2 preface string instead of an HTTP/1 upgrade request to negotiate
      * the protocol version of a cleartext HTTP connection.
@@ -616,6 +668,19 @@ public final class ClientFactoryBuilder {
         return this;
     }
 
+    /**
+     * Sets whether to record the number of the active and idle connections for each endpoint, i.e.
+     * {@code armeria.client.connections.endpoint.active} and {@code armeria.client.connections.endpoint.idle}
+     * tagged with the authority and the IP address of the endpoint. The meters of an endpoint are removed
+     * once all connections to the endpoint are closed. If not set, only the number of the connections for
+     * each protocol is recorded, because the number of the meters grows with the number of the endpoints.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder perEndpointConnectionMetrics(boolean perEndpointConnectionMetrics) {
+        option(ClientFactoryOptions.PER_ENDPOINT_CONNECTION_METRICS, perEndpointConnectionMetrics);
+        return this;
+    }
+
     /**
      * Sets the {@link ProxyConfig} which contains proxy related configuration.
      */
@@ -769,7 +834,13 @@ public final class ClientFactoryBuilder {
      * Returns a newly-created {@link ClientFactory} based on the properties of this builder.
      */
     public ClientFactory build() {
-        return new DefaultClientFactory(new HttpClientFactory(buildOptions()));
+        // Apply the same DNS settings to the shared DnsAddressEndpointGroups as the address resolver.
+        final DnsResolverGroupBuilder dnsResolverGroupBuilder = new DnsResolverGroupBuilder();
+        if (dnsResolverGroupCustomizers != null) {
+            dnsResolverGroupCustomizers.forEach(consumer -> consumer.accept(dnsResolverGroupBuilder));
+        }
+        return new DefaultClientFactory(new HttpClientFactory(
+                buildOptions(), dnsResolverGroupBuilder.sharedEndpointGroupOptions()));
     }
 
     @Override
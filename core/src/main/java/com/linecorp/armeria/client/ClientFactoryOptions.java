@@ -28,11 +28,14 @@ import java.util.function.Function;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
 import com.linecorp.armeria.client.proxy.ProxyConfig;
 import com.linecorp.armeria.client.proxy.ProxyConfigSelector;
 import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.Http1HeaderNaming;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.AbstractOptions;
 import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
@@ -195,6 +198,23 @@ public final class ClientFactoryOptions
             ClientFactoryOption.define("MAX_NUM_REQUESTS_PER_CONNECTION",
                                        Flags.defaultMaxClientNumRequestsPerConnection());
 
+    /**
+     * The minimum number of idle connections kept for each {@link Endpoint} warmed up with
+     * {@link ClientFactory#warmUp(SessionProtocol, EndpointGroup)}.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Integer> MIN_IDLE_CONNECTIONS_PER_ENDPOINT =
+            ClientFactoryOption.define("MIN_IDLE_CONNECTIONS_PER_ENDPOINT", 1);
+
+    /**
+     * The delay in milliseconds between the connection attempts to the different addresses of a host,
+     * as defined in <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs Version 2</a>.
+     * {@code 0} disables connection racing, which means only the first resolved address is used.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Long> CONNECTION_ATTEMPT_DELAY_MILLIS =
+            ClientFactoryOption.define("CONNECTION_ATTEMPT_DELAY_MILLIS", 250L);
+
     /**
      * Whether to send an HTTP/2 preface string instead of an HTTP/1 upgrade request to negotiate
      * the protocol version of a cleartext HTTP connection.
@@ -221,6 +241,16 @@ public final class ClientFactoryOptions
     public static final ClientFactoryOption<MeterRegistry> METER_REGISTRY =
             ClientFactoryOption.define("METER_REGISTRY", Metrics.globalRegistry);
 
+    /**
+     * Whether to record the number of the active and idle connections for each endpoint, tagged with
+     * the authority and the IP address of the endpoint, in addition to the ones for each protocol.
+     * This option is disabled by default because the number of the meters grows with the number of
+     * the endpoints.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Boolean> PER_ENDPOINT_CONNECTION_METRICS =
+            ClientFactoryOption.define("PER_ENDPOINT_CONNECTION_METRICS", false);
+
     /**
      * The {@link ProxyConfigSelector} which determines the {@link ProxyConfig} to be used.
      */
@@ -468,6 +498,25 @@ public final class ClientFactoryOptions
         return get(MAX_NUM_REQUESTS_PER_CONNECTION);
     }
 
+    /**
+     * Returns the minimum number of idle connections kept for each {@link Endpoint} warmed up with
+     * {@link ClientFactory#warmUp(SessionProtocol, EndpointGroup)}.
+     */
+    @UnstableApi
+    public int minIdleConnectionsPerEndpoint() {
+        return get(MIN_IDLE_CONNECTIONS_PER_ENDPOINT);
+    }
+
+    /**
+     * Returns the delay in milliseconds between the connection attempts to the different addresses of
+     * a host, as defined in <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs
+     * Version 2</a>. {@code 0} means connection racing is disabled.
+     */
+    @UnstableApi
+    public long connectionAttemptDelayMillis() {
+        return get(CONNECTION_ATTEMPT_DELAY_MILLIS);
+    }
+
     /**
      * Returns whether to send an HTTP/2 preface string instead of an HTTP/1 upgrade request to negotiate
      * the protocol version of a cleartext HTTP connection.
@@ -498,6 +547,14 @@ public final class ClientFactoryOptions
         return get(METER_REGISTRY);
     }
 
+    /**
+     * Returns whether to record the number of the active and idle connections for each endpoint.
+     */
+    @UnstableApi
+    public boolean perEndpointConnectionMetrics() {
+        return get(PER_ENDPOINT_CONNECTION_METRICS);
+    }
+
     /**
      * The {@link ProxyConfigSelector} which determines the {@link ProxyConfig} to be used.
      */
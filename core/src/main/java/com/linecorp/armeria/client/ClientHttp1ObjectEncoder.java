@@ -16,7 +16,7 @@
 
 package com.linecorp.armeria.client;
 
-import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 
 import com.linecorp.armeria.common.Http1HeaderNaming;
 import com.linecorp.armeria.common.HttpHeaderNames;
@@ -28,6 +28,7 @@ import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
 import com.linecorp.armeria.internal.common.Http1ObjectEncoder;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -68,10 +69,10 @@ final class ClientHttp1ObjectEncoder extends Http1ObjectEncoder implements Clien
         }
 
         if (!nettyHeaders.contains(HttpHeaderNames.HOST)) {
-            final InetSocketAddress remoteAddress = (InetSocketAddress) channel().remoteAddress();
-            nettyHeaders.add(HttpHeaderNames.HOST, ArmeriaHttpUtil.authorityHeader(remoteAddress.getHostName(),
-                                                                                   remoteAddress.getPort(),
-                                                                                   protocol().defaultPort()));
+            final SocketAddress remoteAddress = ChannelUtil.remoteAddress(channel());
+            assert remoteAddress != null;
+            nettyHeaders.add(HttpHeaderNames.HOST,
+                             ArmeriaHttpUtil.authorityHeader(remoteAddress, protocol().defaultPort()));
         }
 
         if (endStream) {
@@ -18,7 +18,7 @@ package com.linecorp.armeria.client;
 
 import static java.util.Objects.requireNonNull;
 
-import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpHeaders;
@@ -30,6 +30,7 @@ import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
 import com.linecorp.armeria.internal.common.Http2ObjectEncoder;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -88,10 +89,10 @@ final class ClientHttp2ObjectEncoder extends Http2ObjectEncoder implements Clien
 
         if (!outputHeaders.contains(HttpHeaderNames.AUTHORITY) &&
             !outputHeaders.contains(HttpHeaderNames.HOST)) {
-            final InetSocketAddress remoteAddress = (InetSocketAddress) channel().remoteAddress();
+            final SocketAddress remoteAddress = ChannelUtil.remoteAddress(channel());
+            assert remoteAddress != null;
             outputHeaders.add(HttpHeaderNames.AUTHORITY,
-                              ArmeriaHttpUtil.authorityHeader(remoteAddress.getHostName(),
-                                                              remoteAddress.getPort(), protocol.defaultPort()));
+                              ArmeriaHttpUtil.authorityHeader(remoteAddress, protocol.defaultPort()));
         }
         return outputHeaders;
     }
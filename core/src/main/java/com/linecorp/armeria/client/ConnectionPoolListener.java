@@ -24,7 +24,8 @@ import com.linecorp.armeria.common.util.Unwrappable;
 import io.netty.util.AttributeMap;
 
 /**
- * Listens to the client connection pool events.
+ * Listens to the client connection pool events. Note that the connections to a Unix domain socket or
+ * an in-process server are not notified because they have no {@link InetSocketAddress}.
  */
 public interface ConnectionPoolListener extends Unwrappable {
 
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import com.linecorp.armeria.client.HttpChannelPool.PoolKey;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.metric.MoreMeters;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Collects the metrics of the connections managed by an {@link HttpChannelPool}:
+ * <ul>
+ *   <li>{@code armeria.client.connections.acquisition.duration} - the time taken to acquire a connection,
+ *       tagged with the desired protocol, how the acquisition was started ({@code pooled}, {@code pending}
+ *       or {@code new}) and whether it succeeded.</li>
+ *   <li>{@code armeria.client.connections.pending.acquisitions} - the number of the acquisitions waiting for
+ *       a connection attempt to complete.</li>
+ *   <li>{@code armeria.client.connections.active} and {@code armeria.client.connections.idle} - the number of
+ *       the open connections with and without unfinished responses, per protocol.</li>
+ *   <li>{@code armeria.client.connections.endpoint.active} and {@code armeria.client.connections.endpoint.idle}
+ *       - the same as above but also tagged with the authority and the IP address of the endpoint. They are
+ *       recorded only when {@link ClientFactoryOptions#PER_ENDPOINT_CONNECTION_METRICS} is enabled because
+ *       their cardinality grows with the number of the endpoints.</li>
+ *   <li>{@code armeria.client.connections.stream.utilization} - the ratio of the concurrent streams to
+ *       {@code MAX_CONCURRENT_STREAMS}, recorded whenever an HTTP/2 connection is acquired.</li>
+ * </ul>
+ * The gauges are shared by all {@link HttpChannelPool}s with the same {@link MeterRegistry} so that
+ * they reflect the connections of all event loops and {@link ClientFactory}s.
+ *
+ * <p>Except for the gauges, this class must be accessed only from the event loop of the pool.
+ */
+final class ConnectionPoolMetrics {
+
+    private static final MeterIdPrefix idPrefix = new MeterIdPrefix("armeria.client.connections");
+    private static final MeterIdPrefix endpointIdPrefix = idPrefix.append("endpoint");
+
+    // Note that the values must not have a reference to their MeterRegistry.
+    private static final ConcurrentMap<MeterRegistry, GaugeStates> gaugeStates =
+            new MapMaker().weakKeys().makeMap();
+
+    enum AcquisitionType {
+        /**
+         * Acquired an existing connection from the pool immediately.
+         */
+        POOLED("pooled"),
+        /**
+         * Waited for the connection attempt in progress.
+         */
+        PENDING("pending"),
+        /**
+         * Made a new connection attempt.
+         */
+        NEW("new");
+
+        private final String tagValue;
+
+        AcquisitionType(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final GaugeStates states;
+    private final boolean perEndpointMetrics;
+    private final Map<SessionProtocol, AcquisitionMeters> acquisitionMeters =
+            new EnumMap<>(SessionProtocol.class);
+    private final Map<SessionProtocol, DistributionSummary> streamUtilizations =
+            new EnumMap<>(SessionProtocol.class);
+
+    ConnectionPoolMetrics(MeterRegistry registry, boolean perEndpointMetrics) {
+        this.registry = requireNonNull(registry, "registry");
+        this.perEndpointMetrics = perEndpointMetrics;
+        states = gaugeStates.computeIfAbsent(registry, unused -> new GaugeStates());
+    }
+
+    /**
+     * Records the time taken to acquire a connection.
+     */
+    void recordAcquisition(SessionProtocol desiredProtocol, AcquisitionType type, boolean success,
+                           long durationNanos) {
+        acquisitionMeters(desiredProtocol).acquisitionDuration(type, success)
+                                          .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Increments the number of the pending acquisitions.
+     */
+    void incrementPendingAcquisitions(SessionProtocol desiredProtocol) {
+        acquisitionMeters(desiredProtocol).pendingAcquisitions.incrementAndGet();
+    }
+
+    /**
+     * Decrements the number of the pending acquisitions.
+     */
+    void decrementPendingAcquisitions(SessionProtocol desiredProtocol) {
+        acquisitionMeters(desiredProtocol).pendingAcquisitions.decrementAndGet();
+    }
+
+    private AcquisitionMeters acquisitionMeters(SessionProtocol desiredProtocol) {
+        return acquisitionMeters.computeIfAbsent(desiredProtocol, AcquisitionMeters::new);
+    }
+
+    /**
+     * Records the stream utilization of the specified multiplexed {@link HttpSession} which has just been
+     * acquired. Nothing is recorded if the server did not limit the number of concurrent streams.
+     */
+    void recordStreamUtilization(SessionProtocol protocol, HttpSession session) {
+        final int maxStreams = session.maxUnfinishedResponses();
+        if (maxStreams <= 0 || maxStreams == Integer.MAX_VALUE) {
+            return;
+        }
+
+        final DistributionSummary streamUtilization = streamUtilizations.computeIfAbsent(
+                protocol, p -> MoreMeters.newDistributionSummary(registry, idPrefix.name("stream.utilization"),
+                                                                 idPrefix.tags("protocol", p.uriText())));
+        streamUtilization.record((double) session.numUnfinishedResponses() / maxStreams);
+    }
+
+    /**
+     * Returns a new {@link ConnectionStats} which tracks whether the specified new connection is
+     * in use or idle. {@link ConnectionStats#close()} must be called when the connection is closed.
+     */
+    ConnectionStats newConnection(SessionProtocol protocol, PoolKey key) {
+        final ConnectionCounts protocolCounts =
+                states.open(idPrefix.withTags("protocol", protocol.uriText()), registry);
+        if (!perEndpointMetrics) {
+            return new ConnectionStats(protocolCounts, null, states, registry);
+        }
+
+        final ConnectionCounts endpointCounts =
+                states.open(endpointIdPrefix.withTags("protocol", protocol.uriText(),
+                                                      "authority", key.host + ':' + key.port,
+                                                      "ip", key.ipAddr), registry);
+        return new ConnectionStats(protocolCounts, endpointCounts, states, registry);
+    }
+
+    private final class AcquisitionMeters {
+
+        private final Timer[] successes;
+        private final Timer[] failures;
+        private final AtomicInteger pendingAcquisitions;
+
+        AcquisitionMeters(SessionProtocol desiredProtocol) {
+            final AcquisitionType[] types = AcquisitionType.values();
+            successes = new Timer[types.length];
+            failures = new Timer[types.length];
+            final String name = idPrefix.name("acquisition.duration");
+            final String protocol = desiredProtocol.uriText();
+            for (AcquisitionType type : types) {
+                successes[type.ordinal()] = MoreMeters.newTimer(
+                        registry, name, idPrefix.tags("protocol", protocol, "type", type.tagValue,
+                                                      "result", "success"));
+                if (type != AcquisitionType.POOLED) {
+                    failures[type.ordinal()] = MoreMeters.newTimer(
+                            registry, name, idPrefix.tags("protocol", protocol, "type", type.tagValue,
+                                                          "result", "failure"));
+                }
+            }
+
+            pendingAcquisitions = states.pendingAcquisitions.computeIfAbsent(desiredProtocol, unused -> {
+                final AtomicInteger value = new AtomicInteger();
+                registry.gauge(idPrefix.name("pending.acquisitions"), idPrefix.tags("protocol", protocol),
+                               value);
+                return value;
+            });
+        }
+
+        Timer acquisitionDuration(AcquisitionType type, boolean success) {
+            final Timer timer = success ? successes[type.ordinal()] : failures[type.ordinal()];
+            assert timer != null;
+            return timer;
+        }
+    }
+
+    /**
+     * The states of the gauges which are shared by the pools with the same {@link MeterRegistry}.
+     */
+    private static final class GaugeStates {
+        final ConcurrentMap<SessionProtocol, AtomicInteger> pendingAcquisitions = new ConcurrentHashMap<>();
+        final ConcurrentMap<MeterIdPrefix, ConnectionCounts> connectionCounts = new ConcurrentHashMap<>();
+
+        ConnectionCounts open(MeterIdPrefix prefix, MeterRegistry registry) {
+            return connectionCounts.compute(prefix, (unused, value) -> {
+                if (value == null) {
+                    value = new ConnectionCounts(prefix, registry);
+                }
+                value.numOpenConnections++;
+                return value;
+            });
+        }
+
+        void close(ConnectionCounts counts, MeterRegistry registry) {
+            connectionCounts.computeIfPresent(counts.prefix, (unused, value) -> {
+                if (--value.numOpenConnections > 0) {
+                    return value;
+                }
+                registry.remove(value.activeGauge);
+                registry.remove(value.idleGauge);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * The number of the open connections with the same tags. The gauges are removed when all the connections
+     * are closed, so that the endpoints which are not used anymore do not remain in the {@link MeterRegistry}.
+     */
+    private static final class ConnectionCounts {
+
+        private final MeterIdPrefix prefix;
+        private final Gauge activeGauge;
+        private final Gauge idleGauge;
+        private final AtomicInteger numActiveConnections = new AtomicInteger();
+        // Updated only in ConcurrentMap.compute().
+        private volatile int numOpenConnections;
+
+        ConnectionCounts(MeterIdPrefix prefix, MeterRegistry registry) {
+            this.prefix = prefix;
+            final List<Tag> tags = prefix.tags();
+            activeGauge = Gauge.builder(prefix.name("active"), this, c -> c.numActiveConnections.get())
+                               .tags(tags)
+                               .register(registry);
+            idleGauge = Gauge.builder(prefix.name("idle"), this,
+                                      c -> Math.max(0, c.numOpenConnections - c.numActiveConnections.get()))
+                             .tags(tags)
+                             .register(registry);
+        }
+    }
+
+    /**
+     * Tracks whether a connection has unfinished responses. Must be accessed only from the event loop of
+     * the connection.
+     */
+    static final class ConnectionStats {
+
+        private final ConnectionCounts protocolCounts;
+        @Nullable
+        private final ConnectionCounts endpointCounts;
+        private final GaugeStates states;
+        private final MeterRegistry registry;
+        private boolean active;
+        private boolean closed;
+
+        private ConnectionStats(ConnectionCounts protocolCounts, @Nullable ConnectionCounts endpointCounts,
+                                GaugeStates states, MeterRegistry registry) {
+            this.protocolCounts = protocolCounts;
+            this.endpointCounts = endpointCounts;
+            this.states = states;
+            this.registry = registry;
+        }
+
+        /**
+         * Updates whether the connection has any unfinished responses.
+         */
+        void setActive(boolean active) {
+            if (closed || this.active == active) {
+                return;
+            }
+            this.active = active;
+            final int delta = active ? 1 : -1;
+            protocolCounts.numActiveConnections.addAndGet(delta);
+            if (endpointCounts != null) {
+                endpointCounts.numActiveConnections.addAndGet(delta);
+            }
+        }
+
+        /**
+         * Stops tracking the connection because it has been closed.
+         */
+        void close() {
+            if (closed) {
+                return;
+            }
+            setActive(false);
+            closed = true;
+
+            states.close(protocolCounts, registry);
+            if (endpointCounts != null) {
+                states.close(endpointCounts, registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableSet;
+
+import com.linecorp.armeria.client.HttpChannelPool.PoolKey;
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.proxy.ProxyConfig;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.ListenableAsyncCloseable;
+import com.linecorp.armeria.common.util.ReleasableHolder;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Keeps warm connections to the {@link Endpoint}s of an {@link EndpointGroup}.
+ *
+ * @see ClientFactory#warmUp(SessionProtocol, EndpointGroup)
+ */
+final class ConnectionWarmUp {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionWarmUp.class);
+
+    /**
+     * The delay before replacing a closed warm connection, so that a server which keeps closing
+     * the connections is not flooded with connection attempts.
+     */
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final HttpClientFactory factory;
+    private final SessionProtocol protocol;
+    private final EndpointGroup endpointGroup;
+    private final int minIdleConnections;
+
+    private final Consumer<List<Endpoint>> endpointsListener = this::onEndpointsChanged;
+
+    private volatile Set<Endpoint> endpoints = ImmutableSet.of();
+    private volatile boolean stopped;
+
+    ConnectionWarmUp(HttpClientFactory factory, SessionProtocol protocol, EndpointGroup endpointGroup,
+                     int minIdleConnections) {
+        this.factory = factory;
+        this.protocol = protocol;
+        this.endpointGroup = endpointGroup;
+        this.minIdleConnections = minIdleConnections;
+    }
+
+    CompletableFuture<Void> start() {
+        // Stop following the changes of the endpoints when the factory or the endpoint group is closed.
+        factory.whenClosed().thenRun(this::stop);
+        if (endpointGroup instanceof ListenableAsyncCloseable) {
+            ((ListenableAsyncCloseable) endpointGroup).whenClosed().thenRun(this::stop);
+        }
+
+        return endpointGroup.whenReady().thenCompose(unused -> {
+            endpointGroup.addListener(endpointsListener);
+            if (stopped) {
+                // stop() was invoked before the listener is added.
+                endpointGroup.removeListener(endpointsListener);
+                return CompletableFuture.completedFuture(null);
+            }
+            final Set<Endpoint> endpoints = ImmutableSet.copyOf(endpointGroup.endpoints());
+            this.endpoints = endpoints;
+            final CompletableFuture<?>[] futures = endpoints.stream()
+                                                            .map(this::warmUp)
+                                                            .toArray(CompletableFuture[]::new);
+            return CompletableFuture.allOf(futures);
+        });
+    }
+
+    private void stop() {
+        stopped = true;
+        endpointGroup.removeListener(endpointsListener);
+        // Let the warm connections be closed when they are idle.
+        endpoints = ImmutableSet.of();
+    }
+
+    private void onEndpointsChanged(List<Endpoint> newEndpoints) {
+        final Set<Endpoint> oldEndpoints = endpoints;
+        final Set<Endpoint> endpoints = ImmutableSet.copyOf(newEndpoints);
+        this.endpoints = endpoints;
+        for (Endpoint endpoint : endpoints) {
+            if (!oldEndpoints.contains(endpoint)) {
+                warmUp(endpoint);
+            }
+        }
+    }
+
+    private boolean isActive(Endpoint endpoint) {
+        return !stopped && !factory.isClosing() && endpoints.contains(endpoint);
+    }
+
+    /**
+     * Makes the missing connections to the specified {@link Endpoint}.
+     *
+     * @return the {@link CompletableFuture} which is completed when the connection attempts are done.
+     *         It is never completed exceptionally.
+     */
+    private CompletableFuture<Void> warmUp(Endpoint endpoint) {
+        if (!isActive(endpoint)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Use the event loop which the requests to the endpoint would use.
+        final ReleasableHolder<EventLoop> eventLoopHolder =
+                factory.acquireEventLoop(protocol, endpointGroup, endpoint);
+        final EventLoop eventLoop = eventLoopHolder.get();
+        final Endpoint endpointWithPort = endpoint.withDefaultPort(protocol.defaultPort());
+        return resolve(eventLoop, endpointWithPort)
+                .thenCompose(ipAddr -> warmUp(eventLoop, endpoint, endpointWithPort, ipAddr))
+                .handle((unused, cause) -> {
+                    eventLoopHolder.release();
+                    if (cause != null) {
+                        logger.warn("Failed to warm up the connections to {} ({}):",
+                                    endpointWithPort, protocol, cause);
+                    }
+                    return null;
+                });
+    }
+
+    private CompletableFuture<String> resolve(EventLoop eventLoop, Endpoint endpointWithPort) {
+        final String ipAddr = endpointWithPort.ipAddr();
+        if (ipAddr != null) {
+            return CompletableFuture.completedFuture(ipAddr);
+        }
+
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        factory.addressResolverGroup()
+               .getResolver(eventLoop)
+               .resolve(InetSocketAddress.createUnresolved(endpointWithPort.host(), endpointWithPort.port()))
+               .addListener((FutureListener<InetSocketAddress>) f -> complete(future, f));
+        return future;
+    }
+
+    private static void complete(CompletableFuture<String> future, Future<InetSocketAddress> resolveFuture) {
+        if (resolveFuture.isSuccess()) {
+            future.complete(resolveFuture.getNow().getAddress().getHostAddress());
+        } else {
+            future.completeExceptionally(resolveFuture.cause());
+        }
+    }
+
+    private CompletableFuture<Void> warmUp(EventLoop eventLoop, Endpoint endpoint, Endpoint endpointWithPort,
+                                           String ipAddr) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        eventLoop.execute(() -> {
+            try {
+                final String host = endpointWithPort.host();
+                final int port = endpointWithPort.port();
+                final ProxyConfig proxyConfig = factory.proxyConfigSelector().select(
+                        protocol, Endpoint.of(host, port).withIpAddr(ipAddr));
+                final PoolKey key = new PoolKey(host, ipAddr, port, proxyConfig);
+                factory.pool(eventLoop)
+                       .warmUp(protocol, key, minIdleConnections, () -> isActive(endpoint),
+                               () -> onConnectionClosed(eventLoop, endpoint))
+                       .handle((unused, cause) -> {
+                           if (cause != null) {
+                               future.completeExceptionally(cause);
+                           } else {
+                               future.complete(null);
+                           }
+                           return null;
+                       });
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private void onConnectionClosed(EventLoop eventLoop, Endpoint endpoint) {
+        if (isActive(endpoint)) {
+            eventLoop.schedule(() -> warmUp(endpoint), RECONNECT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
 import com.linecorp.armeria.common.Scheme;
 import com.linecorp.armeria.common.SerializationFormat;
 import com.linecorp.armeria.common.SessionProtocol;
@@ -147,4 +148,15 @@ public class DecoratingClientFactory extends AbstractUnwrappable<ClientFactory>
     public int numConnections() {
         return unwrap().numConnections();
     }
+
+    @Override
+    public CompletableFuture<Void> warmUp(SessionProtocol protocol, EndpointGroup endpointGroup) {
+        return unwrap().warmUp(protocol, endpointGroup);
+    }
+
+    @Override
+    public EndpointGroup sharedDnsAddressEndpointGroup(String hostname, int port,
+                                                       EndpointSelectionStrategy selectionStrategy) {
+        return unwrap().sharedDnsAddressEndpointGroup(hostname, port, selectionStrategy);
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import java.util.concurrent.CompletionException;
+
+import javax.annotation.Nullable;
+
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.common.Scheme;
+import com.linecorp.armeria.common.util.Exceptions;
+
+import reactor.core.scheduler.NonBlocking;
+
+final class DefaultBlockingWebClient implements BlockingWebClient {
+
+    static final BlockingWebClient DEFAULT = new DefaultBlockingWebClient(WebClient.of());
+
+    private final WebClient delegate;
+
+    DefaultBlockingWebClient(WebClient delegate) {
+        this.delegate = requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public AggregatedHttpResponse execute(HttpRequest req) {
+        requireNonNull(req, "req");
+        final IllegalStateException cause = checkNotInEventLoop();
+        if (cause != null) {
+            req.abort(cause);
+            throw cause;
+        }
+        try {
+            // CompletableFuture.join() parks the caller with LockSupport rather than a monitor,
+            // so a virtual thread releases its carrier thread while waiting.
+            return delegate.execute(req).aggregate().join();
+        } catch (CompletionException e) {
+            return Exceptions.throwUnsafely(Exceptions.peel(e));
+        }
+    }
+
+    @Override
+    public AggregatedHttpResponse execute(AggregatedHttpRequest aggregatedReq) {
+        requireNonNull(aggregatedReq, "aggregatedReq");
+        return execute(aggregatedReq.toHttpRequest());
+    }
+
+    /**
+     * Returns an {@link IllegalStateException} if the current thread is an event loop, which would never be
+     * able to handle the response because it is blocked waiting for it.
+     */
+    @Nullable
+    private static IllegalStateException checkNotInEventLoop() {
+        final RequestContext ctx = RequestContext.currentOrNull();
+        if ((ctx != null && ctx.eventLoop().inEventLoop()) ||
+            Thread.currentThread() instanceof NonBlocking) {
+            return new IllegalStateException(
+                    "Cannot block an event loop thread (" + Thread.currentThread().getName() + "). " +
+                    "Use WebClient or run the blocking call in a blocking task executor " +
+                    "such as ServiceRequestContext.blockingTaskExecutor().");
+        }
+        return null;
+    }
+
+    @Override
+    public WebClient webClient() {
+        return delegate;
+    }
+
+    @Override
+    public Scheme scheme() {
+        return delegate.scheme();
+    }
+
+    @Override
+    public EndpointGroup endpointGroup() {
+        return delegate.endpointGroup();
+    }
+
+    @Override
+    public String absolutePathRef() {
+        return delegate.absolutePathRef();
+    }
+
+    @Override
+    public URI uri() {
+        return delegate.uri();
+    }
+
+    @Override
+    public Class<?> clientType() {
+        return delegate.clientType();
+    }
+
+    @Override
+    public ClientOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public HttpClient unwrap() {
+        return delegate.unwrap();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '(' + delegate + ')';
+    }
+}
@@ -38,6 +38,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
 
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
 import com.linecorp.armeria.common.Scheme;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.util.AsyncCloseableSupport;
@@ -153,6 +154,17 @@ final class DefaultClientFactory implements ClientFactory {
         return httpClientFactory.numConnections();
     }
 
+    @Override
+    public CompletableFuture<Void> warmUp(SessionProtocol protocol, EndpointGroup endpointGroup) {
+        return httpClientFactory.warmUp(protocol, endpointGroup);
+    }
+
+    @Override
+    public EndpointGroup sharedDnsAddressEndpointGroup(String hostname, int port,
+                                                       EndpointSelectionStrategy selectionStrategy) {
+        return httpClientFactory.sharedDnsAddressEndpointGroup(hostname, port, selectionStrategy);
+    }
+
     @Override
     public ClientFactoryOptions options() {
         return httpClientFactory.options();
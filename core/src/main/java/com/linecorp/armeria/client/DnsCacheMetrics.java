@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collects the lookup results of the DNS cache of {@link RefreshingAddressResolver}.
+ * Unlike the metrics of {@link DefaultDnsQueryLifecycleObserver}, which are recorded per DNS query,
+ * these counters are recorded per resolution request, including the ones which are served from the cache
+ * without sending any DNS queries.
+ */
+final class DnsCacheMetrics {
+
+    private static final String RESULT_TAG = "result";
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter negativeHits;
+
+    DnsCacheMetrics(MeterRegistry meterRegistry, MeterIdPrefix meterIdPrefix) {
+        final String name = meterIdPrefix.name("requests");
+        hits = meterRegistry.counter(name, meterIdPrefix.tags(RESULT_TAG, "hit"));
+        misses = meterRegistry.counter(name, meterIdPrefix.tags(RESULT_TAG, "miss"));
+        staleHits = meterRegistry.counter(name, meterIdPrefix.tags(RESULT_TAG, "stale"));
+        negativeHits = meterRegistry.counter(name, meterIdPrefix.tags(RESULT_TAG, "negative"));
+    }
+
+    /**
+     * Increments the number of the requests served with an unexpired cache entry.
+     */
+    void hit() {
+        hits.increment();
+    }
+
+    /**
+     * Increments the number of the requests which had to wait for DNS queries.
+     */
+    void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Increments the number of the requests served with an expired cache entry because the DNS server
+     * did not answer its refresh.
+     */
+    void staleHit() {
+        staleHits.increment();
+    }
+
+    /**
+     * Increments the number of the requests failed with a negatively cached result.
+     */
+    void negativeHit() {
+        negativeHits.increment();
+    }
+}
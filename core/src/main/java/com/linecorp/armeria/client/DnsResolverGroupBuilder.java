@@ -29,6 +29,7 @@ import javax.annotation.Nullable;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
 import com.google.common.collect.ImmutableList;
 
+import com.linecorp.armeria.client.endpoint.dns.DnsAddressEndpointGroup;
 import com.linecorp.armeria.client.retry.Backoff;
 import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.metric.MeterIdPrefix;
@@ -60,6 +61,11 @@ import io.netty.resolver.dns.NoopDnsCnameCache;
  * <p>The refreshing {@link AddressResolver} will only start auto refresh for a given hostname
  * on the second access before TTL to avoid auto-refreshing for queries that only happen once
  * (e.g., requests during server startup).
+ *
+ * <p>While refreshing fails, the {@link AddressResolver} keeps serving the expired addresses, as described in
+ * <a href="https://datatracker.ietf.org/doc/html/rfc8767">RFC 8767</a>, for up to
+ * {@link #maxStaleTtl(int)}. The addresses of the hostnames which are resolved frequently can also be
+ * refreshed ahead of their expiry with {@link #prefetchRatio(double)}.
  */
 public final class DnsResolverGroupBuilder {
 
@@ -68,6 +74,8 @@ public final class DnsResolverGroupBuilder {
     private int minTtl = 1;
     private int maxTtl = Integer.MAX_VALUE;
     private int negativeTtl;
+    private int maxStaleTtl = Integer.MAX_VALUE;
+    private double prefetchRatio = 1.0;
 
     // DnsNameResolverBuilder properties:
 
@@ -138,6 +146,36 @@ public final class DnsResolverGroupBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum time in seconds to serve the expired addresses of a hostname after its TTL elapsed,
+     * while the {@link AddressResolver} fails to refresh them. Once exceeded, the addresses are removed from
+     * the cache so that the next request sends DNS queries again. Note that the addresses are also removed
+     * when {@link #refreshBackoff(Backoff)} gives up. The default value is {@link Integer#MAX_VALUE}, which
+     * means that only {@link #refreshBackoff(Backoff)} limits the staleness.
+     *
+     * @see <a href="https://datatracker.ietf.org/doc/html/rfc8767">RFC 8767: Serving Stale Data to
+     *      Improve DNS Resiliency</a>
+     */
+    public DnsResolverGroupBuilder maxStaleTtl(int maxStaleTtl) {
+        checkArgument(maxStaleTtl >= 0, "maxStaleTtl: %s, (expected: >= 0)", maxStaleTtl);
+        this.maxStaleTtl = maxStaleTtl;
+        return this;
+    }
+
+    /**
+     * Sets the ratio of the TTL after which the addresses of a hostname are refreshed ahead of their expiry
+     * if they have been served from the cache since the last refresh. For example, {@code 0.9} refreshes
+     * the addresses of a frequently resolved hostname when 90% of its TTL elapsed, so that the refreshed
+     * addresses are ready before the old ones expire. The addresses which have not been served are
+     * refreshed when their TTL elapses. The default value is {@code 1.0}, which disables prefetching.
+     */
+    public DnsResolverGroupBuilder prefetchRatio(double prefetchRatio) {
+        checkArgument(prefetchRatio > 0 && prefetchRatio <= 1,
+                      "prefetchRatio: %s (expected: 0 < prefetchRatio <= 1)", prefetchRatio);
+        this.prefetchRatio = prefetchRatio;
+        return this;
+    }
+
     /**
      * Sets if this resolver should generate detailed trace information in exception messages so that
      * it is easier to understand the cause of resolution failure. This flag is enabled by default.
@@ -264,7 +302,8 @@ public final class DnsResolverGroupBuilder {
 
     /**
      * Disables the default {@link DnsQueryLifecycleObserverFactory} that collects DNS query metrics through
-     * {@link MeterRegistry}.
+     * {@link MeterRegistry}. The metrics of the DNS cache, i.e. the numbers of the hit, missed, stale and
+     * negatively cached resolutions, are also disabled.
      */
     public DnsResolverGroupBuilder disableDnsQueryMetrics() {
         dnsQueryMetricsDisabled = true;
@@ -329,6 +368,16 @@ public final class DnsResolverGroupBuilder {
         return this;
     }
 
+    /**
+     * Returns the options which are applied to the {@link DnsAddressEndpointGroup}s shared by
+     * {@link ClientFactory#sharedDnsAddressEndpointGroup(String, int)}.
+     */
+    SharedEndpointGroupRegistry.DnsOptions sharedEndpointGroupOptions() {
+        return new SharedEndpointGroupRegistry.DnsOptions(dnsServerAddressStreamProvider, minTtl, maxTtl,
+                                                          queryTimeoutMillis, resolvedAddressTypes,
+                                                          searchDomains, ndots);
+    }
+
     RefreshingAddressResolverGroup build(EventLoopGroup eventLoopGroup) {
         final Consumer<DnsNameResolverBuilder> resolverConfigurator = builder -> {
             builder.channelType(TransportType.datagramChannelType(eventLoopGroup))
@@ -395,8 +444,15 @@ public final class DnsResolverGroupBuilder {
             }
         };
         final String cacheSpec = firstNonNull(this.cacheSpec, Flags.dnsCacheSpec());
+        final DnsCacheMetrics cacheMetrics;
+        if (dnsQueryMetricsDisabled || meterRegistry == null) {
+            cacheMetrics = null;
+        } else {
+            cacheMetrics = new DnsCacheMetrics(meterRegistry, new MeterIdPrefix("armeria.client.dns.cache"));
+        }
         return new RefreshingAddressResolverGroup(resolverConfigurator, minTtl, maxTtl, negativeTtl,
-                                                  queryTimeoutMillis, refreshBackoff, resolvedAddressTypes,
-                                                  cacheSpec);
+                                                  maxStaleTtl, prefetchRatio, queryTimeoutMillis,
+                                                  refreshBackoff, resolvedAddressTypes, cacheSpec,
+                                                  cacheMetrics);
     }
 }
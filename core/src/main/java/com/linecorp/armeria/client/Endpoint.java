@@ -41,6 +41,9 @@ import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
 import com.linecorp.armeria.common.Scheme;
 import com.linecorp.armeria.common.SerializationFormat;
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.InProcessAddress;
 import com.linecorp.armeria.common.util.UnmodifiableFuture;
 import com.linecorp.armeria.internal.common.util.TemporaryThreadLocals;
 
@@ -104,9 +107,40 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         return create(host, 0);
     }
 
+    /**
+     * Creates a new host {@link Endpoint} which connects to the specified Unix domain socket.
+     * The host name of the returned {@link Endpoint} is {@link DomainSocketAddress#authority()}.
+     */
+    @UnstableApi
+    public static Endpoint of(DomainSocketAddress address) {
+        requireNonNull(address, "address");
+        final String authority = address.authority();
+        return new Endpoint(authority, authority, 0, DEFAULT_WEIGHT, HostType.DOMAIN_SOCKET);
+    }
+
+    /**
+     * Creates a new host {@link Endpoint} which connects to the {@link com.linecorp.armeria.server.Server}
+     * bound to the specified {@link InProcessAddress} in the same JVM.
+     * The host name of the returned {@link Endpoint} is {@link InProcessAddress#authority()}.
+     */
+    @UnstableApi
+    public static Endpoint of(InProcessAddress address) {
+        requireNonNull(address, "address");
+        final String authority = address.authority();
+        return new Endpoint(authority, authority, 0, DEFAULT_WEIGHT, HostType.IN_PROCESS);
+    }
+
     private static Endpoint create(String host, int port) {
         requireNonNull(host, "host");
 
+        if (DomainSocketAddress.isDomainSocketAuthority(host)) {
+            return new Endpoint(host, host, port, DEFAULT_WEIGHT, HostType.DOMAIN_SOCKET);
+        }
+
+        if (InProcessAddress.isInProcessAuthority(host)) {
+            return new Endpoint(host, host, port, DEFAULT_WEIGHT, HostType.IN_PROCESS);
+        }
+
         if (NetUtil.isValidIpV4Address(host)) {
             return new Endpoint(host, host, port, DEFAULT_WEIGHT, HostType.IPv4_ONLY);
         }
@@ -139,7 +173,9 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         HOSTNAME_AND_IPv4,
         HOSTNAME_AND_IPv6,
         IPv4_ONLY,
-        IPv6_ONLY
+        IPv6_ONLY,
+        DOMAIN_SOCKET,
+        IN_PROCESS
     }
 
     private final String host;
@@ -149,15 +185,23 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
     private final int weight;
     private final List<Endpoint> endpoints;
     private final HostType hostType;
+    @Nullable
+    private final String zone;
     private final String authority;
     private final String strVal;
 
     private Endpoint(String host, @Nullable String ipAddr, int port, int weight, HostType hostType) {
+        this(host, ipAddr, port, weight, hostType, null);
+    }
+
+    private Endpoint(String host, @Nullable String ipAddr, int port, int weight, HostType hostType,
+                     @Nullable String zone) {
         this.host = host;
         this.ipAddr = ipAddr;
         this.port = port;
         this.weight = weight;
         this.hostType = hostType;
+        this.zone = zone;
         endpoints = ImmutableList.of(this);
 
         // hostType must be HOSTNAME_ONLY when ipAddr is null and vice versa.
@@ -168,7 +212,7 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         authority = generateAuthority(host, port, hostType);
 
         // Pre-generate toString() value.
-        strVal = generateToString(authority, ipAddr, weight, hostType);
+        strVal = generateToString(authority, ipAddr, weight, hostType, zone);
     }
 
     private static String generateAuthority(String host, int port, HostType hostType) {
@@ -188,15 +232,21 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
     }
 
     private static String generateToString(String authority, @Nullable String ipAddr,
-                                           int weight, HostType hostType) {
+                                           int weight, HostType hostType, @Nullable String zone) {
         try (TemporaryThreadLocals tempThreadLocals = TemporaryThreadLocals.acquire()) {
             final StringBuilder buf = tempThreadLocals.stringBuilder();
             buf.append("Endpoint{").append(authority);
             if (hostType == HostType.HOSTNAME_AND_IPv4 ||
-                hostType == HostType.HOSTNAME_AND_IPv6) {
+                hostType == HostType.HOSTNAME_AND_IPv6 ||
+                (hostType == HostType.DOMAIN_SOCKET || hostType == HostType.IN_PROCESS) &&
+                !authority.startsWith(ipAddr)) {
                 buf.append(", ipAddr=").append(ipAddr);
             }
-            return buf.append(", weight=").append(weight).append('}').toString();
+            buf.append(", weight=").append(weight);
+            if (zone != null) {
+                buf.append(", zone=").append(zone);
+            }
+            return buf.append('}').toString();
         }
     }
 
@@ -268,6 +318,28 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         return hostType == HostType.IPv4_ONLY || hostType == HostType.IPv6_ONLY;
     }
 
+    /**
+     * Returns whether this endpoint connects to a Unix domain socket. If {@code true}, {@link #ipAddr()}
+     * returns the {@link DomainSocketAddress#authority()} of the domain socket.
+     *
+     * @throws IllegalStateException if this endpoint is not a host but a group
+     */
+    @UnstableApi
+    public boolean isDomainSocket() {
+        return hostType == HostType.DOMAIN_SOCKET;
+    }
+
+    /**
+     * Returns whether this endpoint connects to a {@link com.linecorp.armeria.server.Server} in the same JVM.
+     * If {@code true}, {@link #ipAddr()} returns the {@link InProcessAddress#authority()}.
+     *
+     * @throws IllegalStateException if this endpoint is not a host but a group
+     */
+    @UnstableApi
+    public boolean isInProcess() {
+        return hostType == HostType.IN_PROCESS;
+    }
+
     /**
      * Returns the {@link StandardProtocolFamily} of this endpoint's IP address.
      *
@@ -338,7 +410,7 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         if (this.port == port) {
             return this;
         }
-        return new Endpoint(host, ipAddr, port, weight, hostType);
+        return new Endpoint(host, ipAddr, port, weight, hostType, zone);
     }
 
     /**
@@ -353,7 +425,7 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         if (port == 0) {
             return this;
         }
-        return new Endpoint(host, ipAddr, 0, weight, hostType);
+        return new Endpoint(host, ipAddr, 0, weight, hostType, zone);
     }
 
     /**
@@ -372,7 +444,7 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
             return this;
         }
 
-        return new Endpoint(host, ipAddr, defaultPort, weight, hostType);
+        return new Endpoint(host, ipAddr, defaultPort, weight, hostType, zone);
     }
 
     /**
@@ -389,7 +461,7 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
     public Endpoint withoutDefaultPort(int defaultPort) {
         validatePort("defaultPort", defaultPort);
         if (port == defaultPort) {
-            return new Endpoint(host, ipAddr, 0, weight, hostType);
+            return new Endpoint(host, ipAddr, 0, weight, hostType, zone);
         }
         return this;
     }
@@ -407,6 +479,14 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
             return withoutIpAddr();
         }
 
+        if (DomainSocketAddress.isDomainSocketAuthority(ipAddr)) {
+            return withSpecialIpAddr(ipAddr, HostType.DOMAIN_SOCKET);
+        }
+
+        if (InProcessAddress.isInProcessAuthority(ipAddr)) {
+            return withSpecialIpAddr(ipAddr, HostType.IN_PROCESS);
+        }
+
         if (NetUtil.isValidIpV4Address(ipAddr)) {
             return withIpAddr(ipAddr, StandardProtocolFamily.INET);
         }
@@ -427,6 +507,13 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         throw new IllegalArgumentException("ipAddr: " + ipAddr + " (expected: an IP address)");
     }
 
+    private Endpoint withSpecialIpAddr(String ipAddr, HostType hostType) {
+        if (ipAddr.equals(this.ipAddr)) {
+            return this;
+        }
+        return new Endpoint(isIpAddrOnly() ? ipAddr : host(), ipAddr, port, weight, hostType, zone);
+    }
+
     private Endpoint withIpAddr(String ipAddr, StandardProtocolFamily ipFamily) {
         if (ipAddr.equals(this.ipAddr)) {
             return this;
@@ -436,23 +523,24 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         if (isIpAddrOnly()) {
             return new Endpoint(ipAddr, ipAddr, port, weight,
                                 ipFamily == StandardProtocolFamily.INET ? HostType.IPv4_ONLY
-                                                                        : HostType.IPv6_ONLY);
+                                                                        : HostType.IPv6_ONLY, zone);
         }
 
         return new Endpoint(host(), ipAddr, port, weight,
                             ipFamily == StandardProtocolFamily.INET ? HostType.HOSTNAME_AND_IPv4
-                                                                    : HostType.HOSTNAME_AND_IPv6);
+                                                                    : HostType.HOSTNAME_AND_IPv6, zone);
     }
 
     private Endpoint withoutIpAddr() {
         if (ipAddr == null) {
             return this;
         }
-        if (isIpAddrOnly()) {
+        if (isIpAddrOnly() ||
+            (hostType == HostType.DOMAIN_SOCKET || hostType == HostType.IN_PROCESS) && host.equals(ipAddr)) {
             throw new IllegalStateException("can't clear the IP address if host name is an IP address: " +
                                             this);
         }
-        return new Endpoint(host(), null, port, weight, HostType.HOSTNAME_ONLY);
+        return new Endpoint(host(), null, port, weight, HostType.HOSTNAME_ONLY, zone);
     }
 
     /**
@@ -467,7 +555,7 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         if (this.weight == weight) {
             return this;
         }
-        return new Endpoint(host(), ipAddr(), port, weight, hostType);
+        return new Endpoint(host(), ipAddr(), port, weight, hostType, zone);
     }
 
     /**
@@ -477,6 +565,34 @@ public final class Endpoint implements Comparable<Endpoint>, EndpointGroup {
         return weight;
     }
 
+    /**
+     * Returns a new host endpoint with the specified zone, such as an availability zone of a cloud provider.
+     * The zone is not taken into account by {@link #equals(Object)} and {@link #hashCode()}, as is
+     * {@link #weight()}.
+     *
+     * @return the new endpoint with the specified zone. {@code this} if this endpoint has the same zone.
+     *
+     * @see EndpointSelectionStrategy#zoneAware(String, EndpointSelectionStrategy)
+     */
+    @UnstableApi
+    public Endpoint withZone(@Nullable String zone) {
+        if (Objects.equals(this.zone, zone)) {
+            return this;
+        }
+        return new Endpoint(host(), ipAddr(), port, weight, hostType, zone);
+    }
+
+    /**
+     * Returns the zone of this endpoint, such as an availability zone of a cloud provider.
+     *
+     * @return the zone, or {@code null} if unknown.
+     */
+    @UnstableApi
+    @Nullable
+    public String zone() {
+        return zone;
+    }
+
     /**
      * Converts this endpoint into the authority part of a URI.
      *
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import java.net.Inet6Address;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Races the connection attempts to the addresses of a host, as defined in
+ * <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs Version 2</a>.
+ * A new attempt is started when the previous attempt fails or does not succeed within the connection attempt
+ * delay. The first established connection wins and the other attempts are cancelled.
+ * All methods must be invoked by the {@link EventLoop}.
+ */
+final class HappyEyeballsConnector {
+
+    private final EventLoop eventLoop;
+    private final List<InetSocketAddress> addresses;
+    private final long connectionAttemptDelayMillis;
+    private final Function<InetSocketAddress, ChannelFuture> connector;
+    private final Promise<Channel> promise;
+    private final List<ChannelFuture> attempts;
+
+    private int nextAddressIndex;
+    private int numPendingAttempts;
+    @Nullable
+    private ScheduledFuture<?> nextAttemptFuture;
+    @Nullable
+    private Throwable cause;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param addresses the addresses to connect to, sorted with {@link #sortAddresses(List)}
+     * @param connector the {@link Function} which starts a connection attempt to the specified address
+     * @param promise the {@link Promise} which is completed with the first connected {@link Channel}
+     */
+    HappyEyeballsConnector(EventLoop eventLoop, List<InetSocketAddress> addresses,
+                           long connectionAttemptDelayMillis,
+                           Function<InetSocketAddress, ChannelFuture> connector, Promise<Channel> promise) {
+        assert !addresses.isEmpty();
+        this.eventLoop = eventLoop;
+        this.addresses = addresses;
+        this.connectionAttemptDelayMillis = connectionAttemptDelayMillis;
+        this.connector = connector;
+        this.promise = promise;
+        attempts = new ArrayList<>(addresses.size());
+    }
+
+    void start() {
+        assert eventLoop.inEventLoop();
+        startNextAttempt();
+    }
+
+    private void startNextAttempt() {
+        nextAttemptFuture = null;
+        if (promise.isDone() || nextAddressIndex == addresses.size()) {
+            return;
+        }
+
+        final InetSocketAddress address = addresses.get(nextAddressIndex++);
+        final ChannelFuture attempt;
+        try {
+            attempt = connector.apply(address);
+        } catch (Throwable t) {
+            onAttemptFailure(t);
+            return;
+        }
+
+        attempts.add(attempt);
+        numPendingAttempts++;
+        if (nextAddressIndex < addresses.size()) {
+            nextAttemptFuture = eventLoop.schedule(this::startNextAttempt, connectionAttemptDelayMillis,
+                                                   TimeUnit.MILLISECONDS);
+        }
+        attempt.addListener((ChannelFuture future) -> {
+            numPendingAttempts--;
+            if (future.isSuccess()) {
+                onAttemptSuccess(future.channel());
+            } else {
+                onAttemptFailure(future.cause());
+            }
+        });
+    }
+
+    private void onAttemptSuccess(Channel channel) {
+        if (!promise.trySuccess(channel)) {
+            // Lost the race.
+            channel.close();
+            return;
+        }
+
+        cancelNextAttempt();
+        for (ChannelFuture attempt : attempts) {
+            if (attempt.channel() != channel) {
+                attempt.channel().close();
+            }
+        }
+        attempts.clear();
+    }
+
+    private void onAttemptFailure(Throwable cause) {
+        if (promise.isDone()) {
+            return;
+        }
+
+        if (this.cause == null) {
+            this.cause = cause;
+        } else if (this.cause != cause) {
+            this.cause.addSuppressed(cause);
+        }
+
+        if (nextAddressIndex < addresses.size()) {
+            // Start the next attempt immediately rather than waiting for the delay.
+            cancelNextAttempt();
+            startNextAttempt();
+        } else if (numPendingAttempts == 0) {
+            promise.tryFailure(this.cause);
+        }
+    }
+
+    private void cancelNextAttempt() {
+        if (nextAttemptFuture != null) {
+            nextAttemptFuture.cancel(false);
+            nextAttemptFuture = null;
+        }
+    }
+
+    /**
+     * Interleaves the addresses of different families, starting with the family of the first address,
+     * as recommended in <a href="https://datatracker.ietf.org/doc/html/rfc8305#section-4">RFC 8305</a>,
+     * so that a broken address family does not delay the connection more than one attempt.
+     */
+    @VisibleForTesting
+    static List<InetSocketAddress> sortAddresses(List<InetSocketAddress> addresses) {
+        if (addresses.size() <= 1) {
+            return addresses;
+        }
+
+        final boolean firstIsIpv6 = isIpv6(addresses.get(0));
+        final Deque<InetSocketAddress> preferred = new ArrayDeque<>();
+        final Deque<InetSocketAddress> others = new ArrayDeque<>();
+        for (InetSocketAddress address : addresses) {
+            if (isIpv6(address) == firstIsIpv6) {
+                preferred.add(address);
+            } else {
+                others.add(address);
+            }
+        }
+        if (others.isEmpty()) {
+            return addresses;
+        }
+
+        final ImmutableList.Builder<InetSocketAddress> builder =
+                ImmutableList.builderWithExpectedSize(addresses.size());
+        while (!preferred.isEmpty() || !others.isEmpty()) {
+            if (!preferred.isEmpty()) {
+                builder.add(preferred.poll());
+            }
+            if (!others.isEmpty()) {
+                builder.add(others.poll());
+            }
+        }
+        return builder.build();
+    }
+
+    private static boolean isIpv6(InetSocketAddress address) {
+        return address.getAddress() instanceof Inet6Address;
+    }
+}
@@ -62,7 +62,8 @@ final class Http1ClientKeepAliveHandler extends Http1KeepAliveHandler {
 
     @Override
     protected boolean hasRequestsInProgress(ChannelHandlerContext ctx) {
-        return httpSession.hasUnfinishedResponses();
+        // Do not close a warm connection, which is idle until a request is sent.
+        return httpSession.hasUnfinishedResponses() || httpSession.isKeptWarm();
     }
 
     boolean isPing(int id) {
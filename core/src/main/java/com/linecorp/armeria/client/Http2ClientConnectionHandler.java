@@ -67,7 +67,8 @@ final class Http2ClientConnectionHandler extends AbstractHttp2ConnectionHandler
 
         responseDecoder = new Http2ResponseDecoder(channel, encoder(), clientFactory, keepAliveHandler);
         connection().addListener(responseDecoder);
-        decoder().frameListener(responseDecoder);
+        setFrameListener(responseDecoder, clientFactory.meterRegistry(),
+                         "armeria.client.connections.http2.window.size");
 
         // Setup post build options
         final long timeout = idleTimeoutMillis;
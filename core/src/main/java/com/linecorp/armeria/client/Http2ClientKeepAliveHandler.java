@@ -34,6 +34,8 @@ final class Http2ClientKeepAliveHandler extends Http2KeepAliveHandler {
 
     @Override
     protected boolean hasRequestsInProgress(ChannelHandlerContext ctx) {
-        return HttpSession.get(ctx.channel()).hasUnfinishedResponses();
+        final HttpSession httpSession = HttpSession.get(ctx.channel());
+        // Do not close a warm connection, which is idle until a request is sent.
+        return httpSession.hasUnfinishedResponses() || httpSession.isKeptWarm();
     }
 }
@@ -32,6 +32,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -41,7 +42,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
 
+import com.linecorp.armeria.client.ConnectionPoolMetrics.AcquisitionType;
+import com.linecorp.armeria.client.ConnectionPoolMetrics.ConnectionStats;
 import com.linecorp.armeria.client.proxy.ConnectProxyConfig;
 import com.linecorp.armeria.client.proxy.HAProxyConfig;
 import com.linecorp.armeria.client.proxy.ProxyConfig;
@@ -51,9 +55,13 @@ import com.linecorp.armeria.client.proxy.Socks4ProxyConfig;
 import com.linecorp.armeria.client.proxy.Socks5ProxyConfig;
 import com.linecorp.armeria.common.ClosedSessionException;
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.logging.ClientConnectionTimings;
 import com.linecorp.armeria.common.logging.ClientConnectionTimingsBuilder;
 import com.linecorp.armeria.common.util.AsyncCloseable;
 import com.linecorp.armeria.common.util.AsyncCloseableSupport;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.InProcessAddress;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
@@ -61,7 +69,9 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
+import io.netty.channel.local.LocalChannel;
 import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.proxy.ProxyConnectException;
 import io.netty.handler.proxy.ProxyHandler;
@@ -86,10 +96,17 @@ final class HttpChannelPool implements AsyncCloseable {
     private final Map<PoolKey, Deque<PooledChannel>>[] pool;
     private final Map<PoolKey, ChannelAcquisitionFuture>[] pendingAcquisitions;
     private final Map<Channel, Boolean> allChannels;
+    private final Map<PoolKey, Integer> numPendingWarmUps = new HashMap<>();
     private final ConnectionPoolListener listener;
+    private final ConnectionPoolMetrics metrics;
 
     // Fields for creating a new connection:
     private final Bootstrap[] bootstraps;
+    // Created lazily because domain sockets and in-process connections are rarely used.
+    @Nullable
+    private Bootstrap[] domainSocketBootstraps;
+    @Nullable
+    private Bootstrap[] inProcessBootstraps;
     private final int connectTimeoutMillis;
 
     private final SslContext sslCtxHttp1Or2;
@@ -113,6 +130,8 @@ final class HttpChannelPool implements AsyncCloseable {
                 SessionProtocol.H2, SessionProtocol.H2C);
         allChannels = new IdentityHashMap<>();
         this.listener = listener;
+        metrics = new ConnectionPoolMetrics(clientFactory.meterRegistry(),
+                                            clientFactory.options().perEndpointConnectionMetrics());
         this.sslCtxHttp1Only = sslCtxHttp1Only;
         this.sslCtxHttp1Or2 = sslCtxHttp1Or2;
 
@@ -202,10 +221,38 @@ final class HttpChannelPool implements AsyncCloseable {
         return maps;
     }
 
-    private Bootstrap getBootstrap(SessionProtocol desiredProtocol) {
+    private Bootstrap getBootstrap(SessionProtocol desiredProtocol, SocketAddress remoteAddress) {
+        if (remoteAddress instanceof DomainSocketAddress) {
+            Bootstrap[] domainSocketBootstraps = this.domainSocketBootstraps;
+            if (domainSocketBootstraps == null) {
+                domainSocketBootstraps = cloneBootstraps(ChannelUtil.domainSocketChannelType());
+                this.domainSocketBootstraps = domainSocketBootstraps;
+            }
+            return domainSocketBootstraps[desiredProtocol.ordinal()];
+        }
+
+        if (remoteAddress instanceof InProcessAddress) {
+            Bootstrap[] inProcessBootstraps = this.inProcessBootstraps;
+            if (inProcessBootstraps == null) {
+                inProcessBootstraps = cloneBootstraps(LocalChannel.class);
+                this.inProcessBootstraps = inProcessBootstraps;
+            }
+            return inProcessBootstraps[desiredProtocol.ordinal()];
+        }
+
         return bootstraps[desiredProtocol.ordinal()];
     }
 
+    private Bootstrap[] cloneBootstraps(Class<? extends Channel> channelType) {
+        final Bootstrap[] newBootstraps = new Bootstrap[bootstraps.length];
+        for (int i = 0; i < bootstraps.length; i++) {
+            if (bootstraps[i] != null) {
+                newBootstraps[i] = bootstraps[i].clone().channel(channelType);
+            }
+        }
+        return newBootstraps;
+    }
+
     @Nullable
     private Deque<PooledChannel> getPool(SessionProtocol protocol, PoolKey key) {
         return pool[protocol.ordinal()].get(key);
@@ -237,6 +284,7 @@ final class HttpChannelPool implements AsyncCloseable {
      */
     @Nullable
     PooledChannel acquireNow(SessionProtocol desiredProtocol, PoolKey key) {
+        final long startNanos = System.nanoTime();
         PooledChannel ch;
         switch (desiredProtocol) {
             case HTTP:
@@ -254,6 +302,10 @@ final class HttpChannelPool implements AsyncCloseable {
             default:
                 ch = acquireNowExact(key, desiredProtocol);
         }
+        if (ch != null) {
+            metrics.recordAcquisition(desiredProtocol, AcquisitionType.POOLED, true,
+                                      System.nanoTime() - startNanos);
+        }
         return ch;
     }
 
@@ -282,7 +334,9 @@ final class HttpChannelPool implements AsyncCloseable {
                 continue;
             }
 
-            if (!protocol.isMultiplex()) {
+            if (protocol.isMultiplex()) {
+                metrics.recordStreamUtilization(protocol, session);
+            } else {
                 queue.removeLast();
             }
             return pooledChannel;
@@ -313,13 +367,104 @@ final class HttpChannelPool implements AsyncCloseable {
      */
     CompletableFuture<PooledChannel> acquireLater(SessionProtocol desiredProtocol, PoolKey key,
                                                   ClientConnectionTimingsBuilder timingsBuilder) {
+        final long startNanos = System.nanoTime();
         final ChannelAcquisitionFuture promise = new ChannelAcquisitionFuture();
-        if (!usePendingAcquisition(desiredProtocol, key, promise, timingsBuilder)) {
+        final AcquisitionType type;
+        if (usePendingAcquisition(desiredProtocol, key, promise, timingsBuilder)) {
+            type = AcquisitionType.PENDING;
+        } else {
+            type = AcquisitionType.NEW;
             connect(desiredProtocol, key, promise, timingsBuilder);
         }
+
+        if (promise.isDone()) {
+            metrics.recordAcquisition(desiredProtocol, type, !promise.isCompletedExceptionally(),
+                                      System.nanoTime() - startNanos);
+        } else {
+            metrics.incrementPendingAcquisitions(desiredProtocol);
+            promise.whenComplete((unused1, cause) -> {
+                metrics.decrementPendingAcquisitions(desiredProtocol);
+                metrics.recordAcquisition(desiredProtocol, type, cause == null,
+                                          System.nanoTime() - startNanos);
+            });
+        }
         return promise;
     }
 
+    /**
+     * Makes new connections without sending any requests until this pool has at least
+     * the specified number of connections which match the specified condition.
+     *
+     * @param keepWarm the {@link BooleanSupplier} which tells whether the new connections should be kept
+     *                 open even when they are idle
+     * @param onClose the {@link Runnable} invoked when one of the new connections is closed
+     * @return the {@link CompletableFuture} which is completed when all connection attempts are done.
+     *         It is completed exceptionally if any of the attempts failed.
+     */
+    CompletableFuture<Void> warmUp(SessionProtocol desiredProtocol, PoolKey key, int minConnections,
+                                   BooleanSupplier keepWarm, Runnable onClose) {
+        assert eventLoop.inEventLoop() : Thread.currentThread().getName();
+        if (closeable.isClosing()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final int numPending = numPendingWarmUps.getOrDefault(key, 0);
+        final int numMissing = minConnections - numConnections(desiredProtocol, key) - numPending;
+        if (numMissing <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        numPendingWarmUps.put(key, numPending + numMissing);
+        final CompletableFuture<?>[] futures = new CompletableFuture[numMissing];
+        for (int i = 0; i < numMissing; i++) {
+            final ChannelAcquisitionFuture promise = new ChannelAcquisitionFuture();
+            futures[i] = promise.whenComplete((pooledChannel, cause) -> {
+                numPendingWarmUps.computeIfPresent(key, (unused, n) -> n > 1 ? n - 1 : null);
+                if (cause == null) {
+                    final Channel ch = pooledChannel.get();
+                    // Put the connection back to the pool as if a request has been done.
+                    final HttpSession session = HttpSession.get(ch);
+                    session.decrementNumUnfinishedResponses();
+                    session.keepWarm(keepWarm);
+                    pooledChannel.release();
+                    ch.closeFuture().addListener(unused -> onClose.run());
+                }
+            });
+            connect(desiredProtocol, key, promise, ClientConnectionTimings.builder());
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Returns the number of the healthy connections in this pool which match the specified condition.
+     */
+    private int numConnections(SessionProtocol desiredProtocol, PoolKey key) {
+        switch (desiredProtocol) {
+            case HTTP:
+                return numConnectionsExact(key, SessionProtocol.H2C) +
+                       numConnectionsExact(key, SessionProtocol.H1C);
+            case HTTPS:
+                return numConnectionsExact(key, SessionProtocol.H2) +
+                       numConnectionsExact(key, SessionProtocol.H1);
+            default:
+                return numConnectionsExact(key, desiredProtocol);
+        }
+    }
+
+    private int numConnectionsExact(PoolKey key, SessionProtocol protocol) {
+        final Deque<PooledChannel> queue = getPool(protocol, key);
+        if (queue == null) {
+            return 0;
+        }
+        int numConnections = 0;
+        for (PooledChannel pooledChannel : queue) {
+            if (isHealthy(pooledChannel)) {
+                numConnections++;
+            }
+        }
+        return numConnections;
+    }
+
     /**
      * Tries to use the pending HTTP/2 connection to avoid creating an extra connection.
      *
@@ -350,7 +495,7 @@ final class HttpChannelPool implements AsyncCloseable {
         setPendingAcquisition(desiredProtocol, key, promise);
         timingsBuilder.socketConnectStart();
 
-        final InetSocketAddress remoteAddress;
+        final SocketAddress remoteAddress;
         try {
             remoteAddress = toRemoteAddress(key);
         } catch (UnknownHostException e) {
@@ -370,7 +515,13 @@ final class HttpChannelPool implements AsyncCloseable {
 
         // Create a new connection.
         final Promise<Channel> sessionPromise = eventLoop.newPromise();
-        connect(remoteAddress, desiredProtocol, key, sessionPromise);
+        final long connectionAttemptDelayMillis = clientFactory.connectionAttemptDelayMillis();
+        if (key.resolvedAddresses.size() > 1 && connectionAttemptDelayMillis > 0) {
+            connect(key.resolvedAddresses, connectionAttemptDelayMillis, desiredProtocol, key,
+                    sessionPromise, timingsBuilder);
+        } else {
+            connect(remoteAddress, desiredProtocol, key, sessionPromise, timingsBuilder);
+        }
 
         if (sessionPromise.isDone()) {
             notifyConnect(desiredProtocol, key, sessionPromise, promise, timingsBuilder);
@@ -388,34 +539,81 @@ final class HttpChannelPool implements AsyncCloseable {
      *       ClientConnectionTimingsBuilder)} - The pool has been exhausted.</li>
      *   <li>{@link HttpSessionHandler} - HTTP/2 upgrade has failed.</li>
      * </ul>
+     *
+     * @param timingsBuilder the {@link ClientConnectionTimingsBuilder} which records the TLS handshake,
+     *                       or {@code null} if the timings are not collected
      */
     void connect(SocketAddress remoteAddress, SessionProtocol desiredProtocol,
-                 PoolKey poolKey, Promise<Channel> sessionPromise) {
+                 PoolKey poolKey, Promise<Channel> sessionPromise,
+                 @Nullable ClientConnectionTimingsBuilder timingsBuilder) {
+
+        final ChannelFuture connectFuture;
+        try {
+            connectFuture = connectChannel(remoteAddress, desiredProtocol, poolKey);
+        } catch (Throwable cause) {
+            sessionPromise.tryFailure(cause);
+            return;
+        }
+
+        connectFuture.addListener((ChannelFuture future) -> {
+            if (future.isSuccess()) {
+                initSession(desiredProtocol, poolKey, future.channel(), sessionPromise, timingsBuilder);
+            } else {
+                invokeProxyConnectFailed(desiredProtocol, poolKey, future.cause());
+                sessionPromise.tryFailure(future.cause());
+            }
+        });
+    }
+
+    /**
+     * Races the connection attempts to the specified addresses using {@link HappyEyeballsConnector}
+     * and initializes the session with the first established connection.
+     */
+    private void connect(List<InetSocketAddress> remoteAddresses, long connectionAttemptDelayMillis,
+                         SessionProtocol desiredProtocol, PoolKey poolKey, Promise<Channel> sessionPromise,
+                         ClientConnectionTimingsBuilder timingsBuilder) {
+        final Promise<Channel> connectPromise = eventLoop.newPromise();
+        connectPromise.addListener((Future<Channel> future) -> {
+            if (future.isSuccess()) {
+                initSession(desiredProtocol, poolKey, future.getNow(), sessionPromise, timingsBuilder);
+            } else {
+                invokeProxyConnectFailed(desiredProtocol, poolKey, future.cause());
+                sessionPromise.tryFailure(future.cause());
+            }
+        });
 
-        final Bootstrap bootstrap = getBootstrap(desiredProtocol);
+        new HappyEyeballsConnector(eventLoop, HappyEyeballsConnector.sortAddresses(remoteAddresses),
+                                   connectionAttemptDelayMillis,
+                                   address -> connectChannel(address, desiredProtocol, poolKey),
+                                   connectPromise).start();
+    }
 
-        bootstrap.register().addListener((ChannelFuture registerFuture) -> {
-            if (!registerFuture.isSuccess()) {
-                sessionPromise.tryFailure(registerFuture.cause());
+    /**
+     * Creates a new {@link Channel} and starts to connect it to the specified address.
+     *
+     * @return the {@link ChannelFuture} which is completed when the {@link Channel} is connected
+     */
+    private ChannelFuture connectChannel(SocketAddress remoteAddress, SessionProtocol desiredProtocol,
+                                         PoolKey poolKey) {
+        final Bootstrap bootstrap = getBootstrap(desiredProtocol, remoteAddress);
+        final ChannelFuture registerFuture = bootstrap.register();
+        final Channel channel = registerFuture.channel();
+        final ChannelPromise connectPromise = channel.newPromise();
+        registerFuture.addListener((ChannelFuture future) -> {
+            if (!future.isSuccess()) {
+                connectPromise.tryFailure(future.cause());
                 return;
             }
 
             try {
-                final Channel channel = registerFuture.channel();
                 configureProxy(channel, poolKey.proxyConfig, desiredProtocol);
-                channel.connect(remoteAddress).addListener((ChannelFuture connectFuture) -> {
-                    if (connectFuture.isSuccess()) {
-                        initSession(desiredProtocol, poolKey, connectFuture, sessionPromise);
-                    } else {
-                        invokeProxyConnectFailed(desiredProtocol, poolKey, connectFuture.cause());
-                        sessionPromise.tryFailure(connectFuture.cause());
-                    }
-                });
+                final SocketAddress nettyRemoteAddress = ChannelUtil.toNettyAddress(remoteAddress);
+                channel.connect(nettyRemoteAddress, connectPromise);
             } catch (Throwable cause) {
-                invokeProxyConnectFailed(desiredProtocol, poolKey, cause);
-                sessionPromise.tryFailure(cause);
+                connectPromise.tryFailure(cause);
             }
         });
+        return connectPromise;
     }
 
     /**
@@ -441,21 +639,45 @@ final class HttpChannelPool implements AsyncCloseable {
         }
     }
 
-    private static InetSocketAddress toRemoteAddress(PoolKey key) throws UnknownHostException {
+    private static SocketAddress toRemoteAddress(PoolKey key) throws UnknownHostException {
+        if (DomainSocketAddress.isDomainSocketAuthority(key.ipAddr)) {
+            return DomainSocketAddress.ofAuthority(key.ipAddr);
+        }
+        if (InProcessAddress.isInProcessAuthority(key.ipAddr)) {
+            return InProcessAddress.ofAuthority(key.ipAddr);
+        }
         final InetAddress inetAddr = InetAddress.getByAddress(
                 key.host, NetUtil.createByteArrayFromIpAddressString(key.ipAddr));
         return new InetSocketAddress(inetAddr, key.port);
     }
 
-    private void initSession(SessionProtocol desiredProtocol, PoolKey poolKey,
-                             ChannelFuture connectFuture, Promise<Channel> sessionPromise) {
-        assert connectFuture.isSuccess();
+    /**
+     * Returns the specified {@link SocketAddress} if it is an {@link InetSocketAddress}. {@code null} is
+     * returned for a domain socket or an in-process address, which {@link ConnectionPoolListener} does not
+     * support because it has no IP address and port number.
+     */
+    @Nullable
+    private static InetSocketAddress inetSocketAddress(@Nullable SocketAddress address) {
+        return address instanceof InetSocketAddress ? (InetSocketAddress) address : null;
+    }
 
-        final Channel ch = connectFuture.channel();
+    private void initSession(SessionProtocol desiredProtocol, PoolKey poolKey, Channel ch,
+                             Promise<Channel> sessionPromise,
+                             @Nullable ClientConnectionTimingsBuilder timingsBuilder) {
         final EventLoop eventLoop = ch.eventLoop();
         assert eventLoop.inEventLoop();
 
+        if (timingsBuilder != null) {
+            // Set before the channel becomes active, because channelActive() is fired after
+            // the listeners of the connect future are notified.
+            ch.attr(HttpClientPipelineConfigurator.TIMINGS_BUILDER).set(timingsBuilder);
+        }
+
         final ScheduledFuture<?> timeoutFuture = eventLoop.schedule(() -> {
+            if (timingsBuilder != null && !sessionPromise.isDone()) {
+                // End the TLS handshake timing before the listeners of the session promise build the timings.
+                HttpClientPipelineConfigurator.tlsHandshakeEnd(ch);
+            }
             if (sessionPromise.tryFailure(new SessionProtocolNegotiationException(
                     desiredProtocol, "connection established, but session creation timed out: " + ch))) {
                 ch.close();
@@ -477,6 +699,10 @@ final class HttpChannelPool implements AsyncCloseable {
         try {
             if (future.isSuccess()) {
                 final Channel channel = future.getNow();
+                final SocketAddress connectedAddress = ChannelUtil.remoteAddress(channel);
+                if (connectedAddress instanceof InetSocketAddress) {
+                    timingsBuilder.connectedAddress((InetSocketAddress) connectedAddress);
+                }
                 final SessionProtocol protocol = getProtocolIfHealthy(channel);
                 if (protocol == null || closeable.isClosing()) {
                     channel.close();
@@ -489,10 +715,11 @@ final class HttpChannelPool implements AsyncCloseable {
                 allChannels.put(channel, Boolean.TRUE);
 
                 try {
-                    listener.connectionOpen(protocol,
-                                            (InetSocketAddress) channel.remoteAddress(),
-                                            (InetSocketAddress) channel.localAddress(),
-                                            channel);
+                    final InetSocketAddress remoteAddr = inetSocketAddress(ChannelUtil.remoteAddress(channel));
+                    final InetSocketAddress localAddr = inetSocketAddress(ChannelUtil.localAddress(channel));
+                    if (remoteAddr != null && localAddr != null) {
+                        listener.connectionOpen(protocol, remoteAddr, localAddr, channel);
+                    }
                 } catch (Exception e) {
                     if (logger.isWarnEnabled()) {
                         logger.warn("{} Exception handling {}.connectionOpen()",
@@ -501,8 +728,11 @@ final class HttpChannelPool implements AsyncCloseable {
                 }
 
                 final HttpSession session = HttpSession.get(channel);
+                final ConnectionStats connectionStats = metrics.newConnection(protocol, key);
+                session.setConnectionStats(connectionStats);
                 if (session.incrementNumUnfinishedResponses()) {
                     if (protocol.isMultiplex()) {
+                        metrics.recordStreamUtilization(protocol, session);
                         final Http2PooledChannel pooledChannel = new Http2PooledChannel(channel, protocol);
                         addToPool(protocol, key, pooledChannel);
                         promise.complete(pooledChannel);
@@ -518,6 +748,7 @@ final class HttpChannelPool implements AsyncCloseable {
 
                 channel.closeFuture().addListener(f -> {
                     allChannels.remove(channel);
+                    connectionStats.close();
 
                     // Clean up old unhealthy channels by iterating from the beginning of the queue.
                     final Deque<PooledChannel> queue = getPool(protocol, key);
@@ -532,10 +763,13 @@ final class HttpChannelPool implements AsyncCloseable {
                     }
 
                     try {
-                        listener.connectionClosed(protocol,
-                                                  (InetSocketAddress) channel.remoteAddress(),
-                                                  (InetSocketAddress) channel.localAddress(),
-                                                  channel);
+                        final InetSocketAddress remoteAddr =
+                                inetSocketAddress(ChannelUtil.remoteAddress(channel));
+                        final InetSocketAddress localAddr =
+                                inetSocketAddress(ChannelUtil.localAddress(channel));
+                        if (remoteAddr != null && localAddr != null) {
+                            listener.connectionClosed(protocol, remoteAddr, localAddr, channel);
+                        }
                     } catch (Exception e) {
                         if (logger.isWarnEnabled()) {
                             logger.warn("{} Exception handling {}.connectionClosed()",
@@ -620,12 +854,24 @@ final class HttpChannelPool implements AsyncCloseable {
         final int port;
         final int hashCode;
         final ProxyConfig proxyConfig;
+        /**
+         * All the resolved addresses of the {@link #host} which a new connection attempt races with,
+         * or an empty list if {@link #ipAddr} is the only address. This is not a part of the identity
+         * because the connections to any of the addresses are equally good.
+         */
+        final List<InetSocketAddress> resolvedAddresses;
 
         PoolKey(String host, String ipAddr, int port, ProxyConfig proxyConfig) {
+            this(host, ipAddr, port, proxyConfig, ImmutableList.of());
+        }
+
+        PoolKey(String host, String ipAddr, int port, ProxyConfig proxyConfig,
+                List<InetSocketAddress> resolvedAddresses) {
             this.host = host;
             this.ipAddr = ipAddr;
             this.port = port;
             this.proxyConfig = proxyConfig;
+            this.resolvedAddresses = resolvedAddresses;
             hashCode = ((host.hashCode() * 31 + ipAddr.hashCode()) * 31 + port) * 31 +
                        proxyConfig.hashCode();
         }
@@ -787,6 +1033,7 @@ final class HttpChannelPool implements AsyncCloseable {
                 if (actualProtocol.isMultiplex()) {
                     final HttpSession session = HttpSession.get(pch.get());
                     if (session.incrementNumUnfinishedResponses()) {
+                        metrics.recordStreamUtilization(actualProtocol, session);
                         result = PiggybackedChannelAcquisitionResult.SUCCESS;
                     } else if (usePendingAcquisition(actualProtocol, key, childPromise, timingsBuilder)) {
                         result = PiggybackedChannelAcquisitionResult.PIGGYBACKED_AGAIN;
@@ -798,7 +1045,7 @@ final class HttpChannelPool implements AsyncCloseable {
                     // We use the exact protocol (H1 or H1C) instead of 'desiredProtocol' so that
                     // we do not waste our time looking for pending acquisitions for the host
                     // that does not support HTTP/2.
-                    final PooledChannel ch = acquireNow(actualProtocol, key);
+                    final PooledChannel ch = acquireNowExact(key, actualProtocol);
                     if (ch != null) {
                         pch = ch;
                         result = PiggybackedChannelAcquisitionResult.SUCCESS;
@@ -15,14 +15,18 @@
  */
 package com.linecorp.armeria.client;
 
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
 
 import javax.annotation.Nullable;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 
 import com.linecorp.armeria.client.HttpChannelPool.PoolKey;
 import com.linecorp.armeria.client.endpoint.EmptyEndpointGroupException;
@@ -44,9 +48,9 @@ import com.linecorp.armeria.server.ServiceRequestContext;
 
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoop;
+import io.netty.resolver.AddressResolver;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.FutureListener;
 
 final class HttpClientDelegate implements HttpClient {
 
@@ -94,20 +98,25 @@ final class HttpClientDelegate implements HttpClient {
 
         if (endpointWithPort.hasIpAddr()) {
             // IP address has been resolved already.
-            acquireConnectionAndExecute(ctx, endpointWithPort, endpointWithPort.ipAddr(),
+            acquireConnectionAndExecute(ctx, endpointWithPort, endpointWithPort.ipAddr(), ImmutableList.of(),
                                         req, res, timingsBuilder);
         } else {
             // IP address has not been resolved yet.
-            final Future<InetSocketAddress> resolveFuture =
-                    addressResolverGroup.getResolver(eventLoop)
-                                        .resolve(InetSocketAddress.createUnresolved(endpointWithPort.host(),
-                                                                                    endpointWithPort.port()));
+            final AddressResolver<InetSocketAddress> resolver = addressResolverGroup.getResolver(eventLoop);
+            final InetSocketAddress unresolvedAddress =
+                    InetSocketAddress.createUnresolved(endpointWithPort.host(), endpointWithPort.port());
+            final Future<?> resolveFuture;
+            if (factory.connectionAttemptDelayMillis() > 0) {
+                // Resolve all addresses so that the connection attempts to them can race.
+                resolveFuture = resolver.resolveAll(unresolvedAddress);
+            } else {
+                resolveFuture = resolver.resolve(unresolvedAddress);
+            }
             if (resolveFuture.isDone()) {
                 finishResolve(ctx, endpointWithPort, resolveFuture, req, res, timingsBuilder);
             } else {
                 resolveFuture.addListener(
-                        (FutureListener<InetSocketAddress>) future ->
-                                finishResolve(ctx, endpointWithPort, future, req, res, timingsBuilder));
+                        future -> finishResolve(ctx, endpointWithPort, future, req, res, timingsBuilder));
             }
         }
 
@@ -115,12 +124,14 @@ final class HttpClientDelegate implements HttpClient {
     }
 
     private void finishResolve(ClientRequestContext ctx, Endpoint endpointWithPort,
-                               Future<InetSocketAddress> resolveFuture, HttpRequest req,
+                               Future<?> resolveFuture, HttpRequest req,
                                DecodedHttpResponse res, ClientConnectionTimingsBuilder timingsBuilder) {
         timingsBuilder.dnsResolutionEnd();
         if (resolveFuture.isSuccess()) {
-            final String ipAddr = resolveFuture.getNow().getAddress().getHostAddress();
-            acquireConnectionAndExecute(ctx, endpointWithPort, ipAddr, req, res, timingsBuilder);
+            final List<InetSocketAddress> resolvedAddresses = resolvedAddresses(resolveFuture.getNow());
+            final String ipAddr = resolvedAddresses.get(0).getAddress().getHostAddress();
+            acquireConnectionAndExecute(ctx, endpointWithPort, ipAddr, resolvedAddresses,
+                                        req, res, timingsBuilder);
         } else {
             ctx.logBuilder().session(null, ctx.sessionProtocol(), timingsBuilder.build());
             final UnprocessedRequestException cause = UnprocessedRequestException.of(resolveFuture.cause());
@@ -129,13 +140,29 @@ final class HttpClientDelegate implements HttpClient {
         }
     }
 
+    /**
+     * Returns the result of {@link AddressResolver#resolve(SocketAddress)} or
+     * {@link AddressResolver#resolveAll(SocketAddress)} as a non-empty {@link List}.
+     */
+    private static List<InetSocketAddress> resolvedAddresses(Object resolved) {
+        if (resolved instanceof InetSocketAddress) {
+            return ImmutableList.of((InetSocketAddress) resolved);
+        }
+
+        @SuppressWarnings("unchecked")
+        final List<InetSocketAddress> resolvedAddresses = (List<InetSocketAddress>) resolved;
+        checkState(!resolvedAddresses.isEmpty(), "resolved no addresses");
+        return resolvedAddresses;
+    }
+
     private void acquireConnectionAndExecute(ClientRequestContext ctx, Endpoint endpointWithPort,
-                                             String ipAddr, HttpRequest req, DecodedHttpResponse res,
+                                             String ipAddr, List<InetSocketAddress> resolvedAddresses,
+                                             HttpRequest req, DecodedHttpResponse res,
                                              ClientConnectionTimingsBuilder timingsBuilder) {
         final EventLoop eventLoop = ctx.eventLoop();
         if (!eventLoop.inEventLoop()) {
             eventLoop.execute(() -> acquireConnectionAndExecute(ctx, endpointWithPort, ipAddr,
-                                                                req, res, timingsBuilder));
+                                                                resolvedAddresses, req, res, timingsBuilder));
             return;
         }
 
@@ -155,7 +182,11 @@ final class HttpClientDelegate implements HttpClient {
             return;
         }
 
-        final PoolKey key = new PoolKey(host, ipAddr, port, proxyConfig);
+        // Race the connection attempts only when connecting directly, because it is the proxy server
+        // that connects to the resolved addresses otherwise.
+        final PoolKey key = proxyConfig.proxyType() == ProxyType.DIRECT ?
+                            new PoolKey(host, ipAddr, port, proxyConfig, resolvedAddresses) :
+                            new PoolKey(host, ipAddr, port, proxyConfig);
         final PooledChannel pooledChannel = pool.acquireNow(protocol, key);
         if (pooledChannel != null) {
             logSession(ctx, pooledChannel, null);
@@ -16,6 +16,8 @@
 
 package com.linecorp.armeria.client;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static java.util.Objects.requireNonNull;
 
@@ -35,11 +37,11 @@ import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.MapMaker;
 
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
 import com.linecorp.armeria.client.proxy.ProxyConfigSelector;
 import com.linecorp.armeria.common.Http1HeaderNaming;
 import com.linecorp.armeria.common.RequestContext;
@@ -94,6 +96,7 @@ final class HttpClientFactory implements ClientFactory {
     private final long pingIntervalMillis;
     private final long maxConnectionAgeMillis;
     private final int maxNumRequestsPerConnection;
+    private final long connectionAttemptDelayMillis;
     private final boolean useHttp2Preface;
     private final boolean useHttp1Pipelining;
     private final ConnectionPoolListener connectionPoolListener;
@@ -103,6 +106,7 @@ final class HttpClientFactory implements ClientFactory {
 
     private final ConcurrentMap<EventLoop, HttpChannelPool> pools = new MapMaker().weakKeys().makeMap();
     private final HttpClientDelegate clientDelegate;
+    private final SharedEndpointGroupRegistry sharedEndpointGroupRegistry;
 
     private final EventLoopScheduler eventLoopScheduler;
     private final Supplier<EventLoop> eventLoopSupplier =
@@ -111,7 +115,7 @@ final class HttpClientFactory implements ClientFactory {
     private final ClientFactoryOptions options;
     private final AsyncCloseableSupport closeable = AsyncCloseableSupport.of(this::closeAsync);
 
-    HttpClientFactory(ClientFactoryOptions options) {
+    HttpClientFactory(ClientFactoryOptions options, SharedEndpointGroupRegistry.DnsOptions dnsOptions) {
         workerGroup = options.workerGroup();
 
         @SuppressWarnings("unchecked")
@@ -158,10 +162,12 @@ final class HttpClientFactory implements ClientFactory {
         http1HeaderNaming = options.http1HeaderNaming();
         maxConnectionAgeMillis = options.maxConnectionAgeMillis();
         maxNumRequestsPerConnection = options.maxNumRequestsPerConnection();
+        connectionAttemptDelayMillis = options.connectionAttemptDelayMillis();
 
         this.options = options;
 
         clientDelegate = new HttpClientDelegate(this, addressResolverGroup);
+        sharedEndpointGroupRegistry = new SharedEndpointGroupRegistry(workerGroup, dnsOptions);
     }
 
     /**
@@ -216,6 +222,10 @@ final class HttpClientFactory implements ClientFactory {
         return maxNumRequestsPerConnection;
     }
 
+    long connectionAttemptDelayMillis() {
+        return connectionAttemptDelayMillis;
+    }
+
     boolean useHttp2Preface() {
         return useHttp2Preface;
     }
@@ -236,7 +246,6 @@ final class HttpClientFactory implements ClientFactory {
         return http1HeaderNaming;
     }
 
-    @VisibleForTesting
     AddressResolverGroup<InetSocketAddress> addressResolverGroup() {
         return addressResolverGroup;
     }
@@ -336,6 +345,7 @@ final class HttpClientFactory implements ClientFactory {
             i.remove();
         }
 
+        dependencies.add(sharedEndpointGroupRegistry.closeAsync());
         addressResolverGroup.close();
 
         CompletableFuture.allOf(dependencies.toArray(EMPTY_FUTURES)).handle((unused, cause) -> {
@@ -373,6 +383,27 @@ final class HttpClientFactory implements ClientFactory {
         return pools.values().stream().mapToInt(HttpChannelPool::numConnections).sum();
     }
 
+    @Override
+    public CompletableFuture<Void> warmUp(SessionProtocol protocol, EndpointGroup endpointGroup) {
+        requireNonNull(protocol, "protocol");
+        requireNonNull(endpointGroup, "endpointGroup");
+        checkArgument(SessionProtocol.httpValues().contains(protocol) ||
+                      SessionProtocol.httpsValues().contains(protocol),
+                      "protocol: %s (expected: HTTP or HTTPS)", protocol);
+        checkState(!isClosing(), "ClientFactory is closing.");
+        return new ConnectionWarmUp(this, protocol, endpointGroup, options.minIdleConnectionsPerEndpoint())
+                .start();
+    }
+
+    @Override
+    public EndpointGroup sharedDnsAddressEndpointGroup(String hostname, int port,
+                                                       EndpointSelectionStrategy selectionStrategy) {
+        requireNonNull(hostname, "hostname");
+        requireNonNull(selectionStrategy, "selectionStrategy");
+        checkState(!isClosing(), "ClientFactory is closing.");
+        return sharedEndpointGroupRegistry.acquire(hostname, port, selectionStrategy);
+    }
+
     HttpChannelPool pool(EventLoop eventLoop) {
         final HttpChannelPool pool = pools.get(eventLoop);
         if (pool != null) {
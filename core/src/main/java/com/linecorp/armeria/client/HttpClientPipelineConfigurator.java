@@ -43,6 +43,7 @@ import org.slf4j.LoggerFactory;
 
 import com.linecorp.armeria.common.HttpObject;
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.logging.ClientConnectionTimingsBuilder;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.client.HttpHeaderUtil;
 import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
@@ -85,6 +86,7 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.ssl.SslHandshakeCompletionEvent;
 import io.netty.util.AsciiString;
+import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
 
 final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
@@ -96,6 +98,31 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
      */
     private static final long UPGRADE_RESPONSE_MAX_LENGTH = 16384;
 
+    /**
+     * The {@link ClientConnectionTimingsBuilder} which records the duration of the TLS handshake.
+     */
+    static final AttributeKey<ClientConnectionTimingsBuilder> TIMINGS_BUILDER =
+            AttributeKey.valueOf(HttpClientPipelineConfigurator.class, "TIMINGS_BUILDER");
+
+    /**
+     * The {@link ClientConnectionTimingsBuilder} whose TLS handshake has started but not ended yet.
+     */
+    private static final AttributeKey<ClientConnectionTimingsBuilder> HANDSHAKING_TIMINGS_BUILDER =
+            AttributeKey.valueOf(HttpClientPipelineConfigurator.class, "HANDSHAKING_TIMINGS_BUILDER");
+
+    /**
+     * Ends the TLS handshake timing of the specified {@link Channel} if the handshake has started but
+     * not ended yet, so that the timings can be built when the session creation fails in the middle of
+     * the handshake, e.g. due to a timeout.
+     */
+    static void tlsHandshakeEnd(Channel ch) {
+        final ClientConnectionTimingsBuilder timingsBuilder =
+                ch.attr(HANDSHAKING_TIMINGS_BUILDER).getAndSet(null);
+        if (timingsBuilder != null) {
+            timingsBuilder.tlsHandshakeEnd();
+        }
+    }
+
     private enum HttpPreference {
         HTTP1_REQUIRED,
         HTTP2_PREFERRED,
@@ -107,7 +134,7 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
     private final SslContext sslCtx;
     private final HttpPreference httpPreference;
     @Nullable
-    private InetSocketAddress remoteAddress;
+    private SocketAddress remoteAddress;
 
     HttpClientPipelineConfigurator(HttpClientFactory clientFactory,
                                    SessionProtocol sessionProtocol,
@@ -137,8 +164,9 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
                         ChannelPromise promise) throws Exception {
 
         // Remember the requested remote address for later use.
-        final InetSocketAddress inetRemoteAddr = (InetSocketAddress) remoteAddress;
-        this.remoteAddress = inetRemoteAddr;
+        final SocketAddress armeriaRemoteAddr = ChannelUtil.fromNettyAddress(remoteAddress);
+        assert armeriaRemoteAddr != null;
+        this.remoteAddress = armeriaRemoteAddr;
 
         // Configure the pipeline.
         final Channel ch = ctx.channel();
@@ -150,7 +178,7 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
 
         try {
             if (sslCtx != null) {
-                configureAsHttps(ch, inetRemoteAddr);
+                configureAsHttps(ch, armeriaRemoteAddr);
             } else {
                 configureAsHttp(ch);
             }
@@ -169,18 +197,45 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
     /**
      * See <a href="https://http2.github.io/http2-spec/#discover-https">HTTP/2 specification</a>.
      */
-    private void configureAsHttps(Channel ch, InetSocketAddress remoteAddr) {
+    private void configureAsHttps(Channel ch, SocketAddress remoteAddr) {
         assert sslCtx != null;
 
         final ChannelPipeline p = ch.pipeline();
-        final SslHandler sslHandler = sslCtx.newHandler(ch.alloc(),
-                                                        remoteAddr.getHostString(),
-                                                        remoteAddr.getPort());
+        final SslHandler sslHandler;
+        if (remoteAddr instanceof InetSocketAddress) {
+            final InetSocketAddress inetRemoteAddr = (InetSocketAddress) remoteAddr;
+            sslHandler = sslCtx.newHandler(ch.alloc(),
+                                           inetRemoteAddr.getHostString(),
+                                           inetRemoteAddr.getPort());
+        } else {
+            // A domain socket or an in-process address has no host name and port to send.
+            sslHandler = sslCtx.newHandler(ch.alloc());
+        }
         p.addLast(configureSslHandler(sslHandler));
         p.addLast(TrafficLoggingHandler.CLIENT);
         p.addLast(new ChannelInboundHandlerAdapter() {
             private boolean handshakeFailed;
 
+            @Override
+            public void channelActive(ChannelHandlerContext ctx) throws Exception {
+                // SslHandler starts the handshake as soon as the channel becomes active. Note that
+                // the duration includes the time taken to establish a tunnel if a proxy server is used,
+                // because the handshake messages are buffered by the proxy handler until then.
+                final ClientConnectionTimingsBuilder timingsBuilder = ch.attr(TIMINGS_BUILDER).getAndSet(null);
+                if (timingsBuilder != null) {
+                    timingsBuilder.tlsHandshakeStart();
+                    ch.attr(HANDSHAKING_TIMINGS_BUILDER).set(timingsBuilder);
+                }
+                ctx.fireChannelActive();
+            }
+
+            @Override
+            public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+                // The connection has been closed before the handshake is completed.
+                tlsHandshakeEnd(ch);
+                ctx.fireChannelInactive();
+            }
+
             @Override
             public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
                 if (!(evt instanceof SslHandshakeCompletionEvent)) {
@@ -192,6 +247,7 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
                 if (!handshakeEvent.isSuccess()) {
                     // The connection will be closed automatically by SslHandler.
                     handshakeFailed = true;
+                    tlsHandshakeEnd(ch);
                     return;
                 }
 
@@ -203,6 +259,8 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
                     return;
                 }
 
+                tlsHandshakeEnd(ch);
+
                 final SessionProtocol protocol;
                 if (isHttp2Protocol(sslHandler)) {
                     if (httpPreference == HttpPreference.HTTP1_REQUIRED) {
@@ -252,7 +310,7 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
      * before {@code channel().remoteAddress()} is called which caches the address in it.
      */
     private SocketAddress remoteAddress(ChannelHandlerContext ctx) {
-        return firstNonNull(ctx.channel().remoteAddress(), remoteAddress);
+        return firstNonNull(ChannelUtil.remoteAddress(ctx.channel()), remoteAddress);
     }
 
     /**
@@ -406,8 +464,14 @@ final class HttpClientPipelineConfigurator extends ChannelDuplexHandler {
             //       because they are filled by Http2ClientUpgradeCodec.
 
             assert remoteAddress != null;
-            final String host = ArmeriaHttpUtil.authorityHeader(
-                    remoteAddress.getHostString(), remoteAddress.getPort(), H1C.defaultPort());
+            final String host;
+            if (remoteAddress instanceof InetSocketAddress) {
+                final InetSocketAddress inetRemoteAddr = (InetSocketAddress) remoteAddress;
+                host = ArmeriaHttpUtil.authorityHeader(
+                        inetRemoteAddr.getHostString(), inetRemoteAddr.getPort(), H1C.defaultPort());
+            } else {
+                host = ArmeriaHttpUtil.authorityHeader(remoteAddress, H1C.defaultPort());
+            }
 
             upgradeReq.headers().set(HttpHeaderNames.HOST, host);
             upgradeReq.headers().set(HttpHeaderNames.USER_AGENT, HttpHeaderUtil.USER_AGENT);
@@ -42,6 +42,7 @@ import com.linecorp.armeria.common.logging.RequestLogBuilder;
 import com.linecorp.armeria.common.stream.ClosedStreamException;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.internal.common.EventLoopTimerWheel;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
 import com.linecorp.armeria.unsafe.PooledObjects;
 
@@ -169,8 +170,8 @@ final class HttpRequestSubscriber implements Subscriber<HttpObject>, ChannelFutu
         addResponseToDecoder();
         if (timeoutMillis > 0) {
             // The timer would be executed if the first message has not been sent out within the timeout.
-            timeoutFuture = ch.eventLoop().schedule(
-                    () -> failAndReset(WriteTimeoutException.get()),
+            timeoutFuture = EventLoopTimerWheel.schedule(
+                    ch.eventLoop(), () -> failAndReset(WriteTimeoutException.get()),
                     timeoutMillis, TimeUnit.MILLISECONDS);
         }
 
@@ -27,6 +27,7 @@ import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.linecorp.armeria.client.ConnectionPoolMetrics.ConnectionStats;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaders;
 import com.linecorp.armeria.common.HttpObject;
@@ -58,6 +59,8 @@ abstract class HttpResponseDecoder {
 
     private int unfinishedResponses;
     private boolean disconnectWhenFinished;
+    @Nullable
+    private ConnectionStats connectionStats;
 
     HttpResponseDecoder(Channel channel, InboundTrafficController inboundTrafficController) {
         this.channel = channel;
@@ -104,6 +107,7 @@ abstract class HttpResponseDecoder {
         if (removed != null) {
             unfinishedResponses--;
             assert unfinishedResponses >= 0 : unfinishedResponses;
+            updateConnectionStats();
         }
         return removed;
     }
@@ -112,15 +116,38 @@ abstract class HttpResponseDecoder {
         return unfinishedResponses != 0;
     }
 
+    final int numUnfinishedResponses() {
+        return unfinishedResponses;
+    }
+
     final boolean reserveUnfinishedResponse(int maxUnfinishedResponses) {
         if (unfinishedResponses >= maxUnfinishedResponses) {
             return false;
         }
 
         unfinishedResponses++;
+        updateConnectionStats();
         return true;
     }
 
+    final void cancelUnfinishedResponseReservation() {
+        unfinishedResponses--;
+        assert unfinishedResponses >= 0 : unfinishedResponses;
+        updateConnectionStats();
+    }
+
+    final void setConnectionStats(ConnectionStats connectionStats) {
+        this.connectionStats = connectionStats;
+        updateConnectionStats();
+    }
+
+    private void updateConnectionStats() {
+        final ConnectionStats connectionStats = this.connectionStats;
+        if (connectionStats != null) {
+            connectionStats.setActive(unfinishedResponses != 0);
+        }
+    }
+
     final void failUnfinishedResponses(Throwable cause) {
         for (final Iterator<HttpResponseWrapper> iterator = responses.values().iterator();
              iterator.hasNext();) {
@@ -130,6 +157,7 @@ abstract class HttpResponseDecoder {
             unfinishedResponses--;
             res.close(cause);
         }
+        updateConnectionStats();
     }
 
     abstract KeepAliveHandler keepAliveHandler();
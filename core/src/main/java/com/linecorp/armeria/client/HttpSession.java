@@ -16,8 +16,11 @@
 
 package com.linecorp.armeria.client;
 
+import java.util.function.BooleanSupplier;
+
 import javax.annotation.Nullable;
 
+import com.linecorp.armeria.client.ConnectionPoolMetrics.ConnectionStats;
 import com.linecorp.armeria.common.ClosedSessionException;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.SessionProtocol;
@@ -60,6 +63,30 @@ interface HttpSession {
             return false;
         }
 
+        @Override
+        public void decrementNumUnfinishedResponses() {}
+
+        @Override
+        public void keepWarm(BooleanSupplier condition) {}
+
+        @Override
+        public boolean isKeptWarm() {
+            return false;
+        }
+
+        @Override
+        public int numUnfinishedResponses() {
+            return 0;
+        }
+
+        @Override
+        public int maxUnfinishedResponses() {
+            return 0;
+        }
+
+        @Override
+        public void setConnectionStats(ConnectionStats connectionStats) {}
+
         @Override
         public void invoke(PooledChannel pooledChannel, ClientRequestContext ctx,
                            HttpRequest req, DecodedHttpResponse res) {
@@ -104,6 +131,42 @@ interface HttpSession {
 
     boolean incrementNumUnfinishedResponses();
 
+    /**
+     * Cancels the reservation made by {@link #incrementNumUnfinishedResponses()} without sending a request.
+     */
+    void decrementNumUnfinishedResponses();
+
+    /**
+     * Keeps this connection open even when it is idle, as long as the specified {@link BooleanSupplier}
+     * returns {@code true}.
+     */
+    void keepWarm(BooleanSupplier condition);
+
+    /**
+     * Returns whether this connection must be kept open even when it is idle.
+     *
+     * @see #keepWarm(BooleanSupplier)
+     */
+    boolean isKeptWarm();
+
+    /**
+     * Returns the number of the unfinished responses, including the reservations made by
+     * {@link #incrementNumUnfinishedResponses()}.
+     */
+    int numUnfinishedResponses();
+
+    /**
+     * Returns the maximum number of the unfinished responses. In HTTP/2, this value is identical to
+     * {@code MAX_CONCURRENT_STREAMS}. In HTTP/1, this value is {@link Integer#MAX_VALUE}.
+     */
+    int maxUnfinishedResponses();
+
+    /**
+     * Sets the {@link ConnectionStats} which is notified when this session starts or stops
+     * having unfinished responses.
+     */
+    void setConnectionStats(ConnectionStats connectionStats);
+
     void invoke(PooledChannel pooledChannel, ClientRequestContext ctx,
                 HttpRequest req, DecodedHttpResponse res);
 
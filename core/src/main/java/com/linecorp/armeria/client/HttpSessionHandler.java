@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.net.SocketAddress;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
 
 import javax.annotation.Nullable;
 
@@ -34,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
 
+import com.linecorp.armeria.client.ConnectionPoolMetrics.ConnectionStats;
 import com.linecorp.armeria.client.HttpChannelPool.PoolKey;
 import com.linecorp.armeria.client.proxy.ProxyType;
 import com.linecorp.armeria.common.ClosedSessionException;
@@ -45,6 +47,7 @@ import com.linecorp.armeria.common.stream.SubscriptionOption;
 import com.linecorp.armeria.common.util.SafeCloseable;
 import com.linecorp.armeria.internal.common.InboundTrafficController;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
@@ -117,13 +120,19 @@ final class HttpSessionHandler extends ChannelDuplexHandler implements HttpSessi
      */
     private boolean needsRetryWithH1C;
 
+    /**
+     * The condition for keeping this connection open even when it is idle, set for a warm connection.
+     */
+    @Nullable
+    private BooleanSupplier keepWarmCondition;
+
     HttpSessionHandler(HttpChannelPool channelPool, Channel channel,
                        Promise<Channel> sessionPromise, ScheduledFuture<?> sessionTimeoutFuture,
                        SessionProtocol desiredProtocol, PoolKey poolKey,
                        HttpClientFactory clientFactory) {
         this.channelPool = requireNonNull(channelPool, "channelPool");
         this.channel = requireNonNull(channel, "channel");
-        remoteAddress = channel.remoteAddress();
+        remoteAddress = ChannelUtil.remoteAddress(channel);
         this.sessionPromise = requireNonNull(sessionPromise, "sessionPromise");
         this.sessionTimeoutFuture = requireNonNull(sessionTimeoutFuture, "sessionTimeoutFuture");
         this.desiredProtocol = desiredProtocol;
@@ -159,6 +168,41 @@ final class HttpSessionHandler extends ChannelDuplexHandler implements HttpSessi
         return responseDecoder.reserveUnfinishedResponse(maxUnfinishedResponses);
     }
 
+    @Override
+    public void decrementNumUnfinishedResponses() {
+        assert responseDecoder != null;
+        responseDecoder.cancelUnfinishedResponseReservation();
+    }
+
+    @Override
+    public void keepWarm(BooleanSupplier condition) {
+        keepWarmCondition = requireNonNull(condition, "condition");
+    }
+
+    @Override
+    public boolean isKeptWarm() {
+        return keepWarmCondition != null && keepWarmCondition.getAsBoolean();
+    }
+
+    @Override
+    public int numUnfinishedResponses() {
+        if (responseDecoder == null) {
+            return 0;
+        }
+        return responseDecoder.numUnfinishedResponses();
+    }
+
+    @Override
+    public int maxUnfinishedResponses() {
+        return maxUnfinishedResponses;
+    }
+
+    @Override
+    public void setConnectionStats(ConnectionStats connectionStats) {
+        assert responseDecoder != null;
+        responseDecoder.setConnectionStats(connectionStats);
+    }
+
     @Override
     public boolean canSendRequest() {
         assert responseDecoder != null;
@@ -402,9 +446,9 @@ final class HttpSessionHandler extends ChannelDuplexHandler implements HttpSessi
             assert responseDecoder == null || !responseDecoder.hasUnfinishedResponses();
             sessionTimeoutFuture.cancel(false);
             if (proxyDestinationAddress != null) {
-                channelPool.connect(proxyDestinationAddress, H1C, poolKey, sessionPromise);
+                channelPool.connect(proxyDestinationAddress, H1C, poolKey, sessionPromise, null);
             } else {
-                channelPool.connect(remoteAddress, H1C, poolKey, sessionPromise);
+                channelPool.connect(remoteAddress, H1C, poolKey, sessionPromise, null);
             }
         } else {
             // Fail all pending responses.
@@ -23,10 +23,13 @@ import static java.util.Objects.requireNonNull;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 
 import javax.annotation.Nullable;
 
@@ -36,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
 
 import com.linecorp.armeria.client.retry.Backoff;
 import com.linecorp.armeria.internal.client.DefaultDnsNameResolver;
@@ -60,14 +64,20 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
     private final int minTtl;
     private final int maxTtl;
     private final int negativeTtl;
+    private final long maxStaleMillis;
+    private final double prefetchRatio;
     private final Backoff refreshBackoff;
+    @Nullable
+    private final DnsCacheMetrics cacheMetrics;
 
     private volatile boolean resolverClosed;
 
     RefreshingAddressResolver(EventLoop eventLoop,
                               Cache<String, CompletableFuture<CacheEntry>> cache,
                               DefaultDnsNameResolver resolver, List<DnsRecordType> dnsRecordTypes,
-                              int minTtl, int maxTtl, int negativeTtl, Backoff refreshBackoff) {
+                              int minTtl, int maxTtl, int negativeTtl, int maxStaleTtl,
+                              double prefetchRatio, Backoff refreshBackoff,
+                              @Nullable DnsCacheMetrics cacheMetrics) {
         super(eventLoop);
         this.cache = cache;
         this.resolver = resolver;
@@ -75,7 +85,10 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
         this.minTtl = minTtl;
         this.maxTtl = maxTtl;
         this.negativeTtl = negativeTtl;
+        maxStaleMillis = TimeUnit.SECONDS.toMillis(maxStaleTtl);
+        this.prefetchRatio = prefetchRatio;
         this.refreshBackoff = refreshBackoff;
+        this.cacheMetrics = cacheMetrics;
     }
 
     @Override
@@ -83,10 +96,7 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
         return !requireNonNull(address, "address").isUnresolved();
     }
 
-    private CompletableFuture<CacheEntry> loadingCache(InetSocketAddress unresolvedAddress,
-                                                       Promise<InetSocketAddress> promise) {
-        final String hostname = unresolvedAddress.getHostString();
-        final int port = unresolvedAddress.getPort();
+    private CompletableFuture<CacheEntry> loadingCache(String hostname) {
         final CompletableFuture<CacheEntry> result = new CompletableFuture<>();
         final List<DnsQuestion> questions =
                 dnsRecordTypes.stream()
@@ -104,12 +114,10 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
                     // https://bugs.openjdk.java.net/browse/JDK-8074374
                     executor().execute(() -> cache.invalidate(hostname));
                 }
-                promise.tryFailure(cause);
                 return null;
             }
 
-            entry.scheduleRefresh(entry.ttlMillis());
-            promise.trySuccess(new InetSocketAddress(entry.address(), port));
+            entry.scheduleRefresh();
             return null;
         });
         return result;
@@ -120,20 +128,55 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
             throws Exception {
         requireNonNull(unresolvedAddress, "unresolvedAddress");
         requireNonNull(promise, "promise");
+        resolve(unresolvedAddress, promise, (entry, port) -> new InetSocketAddress(entry.address(), port));
+    }
+
+    /**
+     * Resolves all the addresses of the specified host name, so that a caller can race the connection
+     * attempts to them. The addresses of the preferred address type come first.
+     */
+    @Override
+    protected void doResolveAll(InetSocketAddress unresolvedAddress, Promise<List<InetSocketAddress>> promise)
+            throws Exception {
+        requireNonNull(unresolvedAddress, "unresolvedAddress");
+        requireNonNull(promise, "promise");
+        resolve(unresolvedAddress, promise,
+                (entry, port) -> entry.addresses().stream()
+                                      .map(address -> new InetSocketAddress(address, port))
+                                      .collect(toImmutableList()));
+    }
+
+    private <T> void resolve(InetSocketAddress unresolvedAddress, Promise<T> promise,
+                             BiFunction<CacheEntry, Integer, T> resultFunction) {
         if (resolverClosed) {
             promise.tryFailure(new IllegalStateException("resolver is closed already."));
             return;
         }
-        final CompletableFuture<CacheEntry> entryFuture =
-                cache.get(unresolvedAddress.getHostString(), s -> loadingCache(unresolvedAddress, promise));
-        assert entryFuture != null; // loader does not return null.
+        final String hostname = unresolvedAddress.getHostString();
+        CompletableFuture<CacheEntry> entryFuture = cache.getIfPresent(hostname);
+        // A request which joins the queries in progress is a miss as well because it waits for
+        // the DNS server.
+        final boolean cached = entryFuture != null && entryFuture.isDone();
+        if (!cached && cacheMetrics != null) {
+            cacheMetrics.miss();
+        }
+        if (entryFuture == null) {
+            entryFuture = cache.get(hostname, this::loadingCache);
+            assert entryFuture != null; // loader does not return null.
+        }
         entryFuture.handle((entry, unused) -> {
             final Throwable cause = entry.cause();
             if (cause != null) {
+                if (cached && cacheMetrics != null) {
+                    cacheMetrics.negativeHit();
+                }
                 promise.tryFailure(cause);
                 return null;
             }
-            promise.trySuccess(new InetSocketAddress(entry.address(), unresolvedAddress.getPort()));
+            if (cached) {
+                entry.recordAccess();
+            }
+            promise.trySuccess(resultFunction.apply(entry, unresolvedAddress.getPort()));
             return null;
         });
     }
@@ -164,8 +207,8 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
 
             @SuppressWarnings("unchecked")
             final List<DnsRecord> records = (List<DnsRecord>) f.getNow();
-            InetAddress inetAddress = null;
-            long ttlMillis = -1;
+            final Set<InetAddress> inetAddresses = new LinkedHashSet<>();
+            long ttl = Long.MAX_VALUE;
             try {
                 for (DnsRecord r : records) {
                     final byte[] addrBytes = extractAddressBytes(r, logger, hostname);
@@ -173,10 +216,9 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
                         continue;
                     }
                     try {
-                        inetAddress = InetAddress.getByAddress(hostname, addrBytes);
-                        ttlMillis = TimeUnit.SECONDS.toMillis(
-                                Math.max(Math.min(r.timeToLive(), maxTtl), minTtl));
-                        break;
+                        inetAddresses.add(InetAddress.getByAddress(hostname, addrBytes));
+                        // Refresh when the earliest record expires.
+                        ttl = Math.min(ttl, r.timeToLive());
                     } catch (UnknownHostException e) {
                         // Should never reach here because we already validated it in extractAddressBytes.
                         result.complete(new CacheEntry(null, -1, questions, new IllegalArgumentException(
@@ -189,22 +231,18 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
             }
 
             final CacheEntry cacheEntry;
-            if (inetAddress == null) {
+            if (inetAddresses.isEmpty()) {
                 cacheEntry = new CacheEntry(null, -1, questions, new UnknownHostException(
                         "failed to receive DNS records for " + hostname), true);
             } else {
-                cacheEntry = new CacheEntry(inetAddress, ttlMillis, questions, null, false);
+                final long ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(Math.min(ttl, maxTtl), minTtl));
+                cacheEntry = new CacheEntry(ImmutableList.copyOf(inetAddresses), ttlMillis, questions,
+                                            null, false);
             }
             result.complete(cacheEntry);
         });
     }
 
-    @Override
-    protected void doResolveAll(InetSocketAddress unresolvedAddress, Promise<List<InetSocketAddress>> promise)
-            throws Exception {
-        throw new UnsupportedOperationException();
-    }
-
     /**
      * Closes all the resources allocated and used by this resolver.
      *
@@ -221,8 +259,7 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
 
     final class CacheEntry implements Runnable {
 
-        @Nullable
-        private final InetAddress address;
+        private final List<InetAddress> addresses;
         private final long ttlMillis;
         private final List<DnsQuestion> questions;
 
@@ -230,6 +267,17 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
         private final Throwable cause;
         private final boolean hasCacheableCause;
 
+        /**
+         * The time when this entry expires, in {@link System#nanoTime()}. Extended whenever a refresh
+         * returns the same addresses.
+         */
+        private volatile long expiresAtNanos;
+
+        /**
+         * Whether this entry has been served from the cache since the last refresh.
+         */
+        private volatile boolean accessed;
+
         /**
          * No need to be volatile because updated only by the {@link #executor()}.
          */
@@ -239,18 +287,29 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
         @Nullable
         ScheduledFuture<?> refreshFuture;
 
-        CacheEntry(@Nullable InetAddress address, long ttlMillis, List<DnsQuestion> questions,
+        CacheEntry(@Nullable List<InetAddress> addresses, long ttlMillis, List<DnsQuestion> questions,
                    @Nullable Throwable cause, boolean hasCacheableCause) {
-            this.address = address;
+            this.addresses = addresses != null ? addresses : ImmutableList.of();
             this.ttlMillis = ttlMillis;
             this.questions = questions;
             this.cause = cause;
             this.hasCacheableCause = hasCacheableCause;
+            expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis);
         }
 
+        /**
+         * Returns the first address, which is the most preferred one.
+         */
         @Nullable
         InetAddress address() {
-            return address;
+            return addresses.isEmpty() ? null : addresses.get(0);
+        }
+
+        /**
+         * Returns all the resolved addresses. The addresses of the preferred address type come first.
+         */
+        List<InetAddress> addresses() {
+            return addresses;
         }
 
         long ttlMillis() {
@@ -266,11 +325,56 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
             return hasCacheableCause;
         }
 
+        /**
+         * Returns whether the TTL of this entry has elapsed, i.e. this entry is served only because
+         * the DNS server did not answer its refresh or failed to answer it.
+         */
+        boolean isStale() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+
+        void recordAccess() {
+            accessed = true;
+            if (cacheMetrics != null) {
+                if (isStale()) {
+                    cacheMetrics.staleHit();
+                } else {
+                    cacheMetrics.hit();
+                }
+            }
+        }
+
+        /**
+         * Schedules the refresh of this entry for the next TTL. If this entry is served from the cache
+         * in the meantime, it is refreshed ahead of its expiry according to the prefetch ratio, so that
+         * the requests for a hot name never see an expired entry.
+         */
+        void scheduleRefresh() {
+            accessed = false;
+            final long prefetchDelayMillis = (long) (ttlMillis * prefetchRatio);
+            if (prefetchDelayMillis >= ttlMillis) {
+                scheduleRefresh(ttlMillis);
+                return;
+            }
+            schedule(() -> {
+                if (accessed) {
+                    run();
+                } else {
+                    // Refresh a cold name when it expires as usual.
+                    scheduleRefresh(ttlMillis - prefetchDelayMillis);
+                }
+            }, prefetchDelayMillis);
+        }
+
         void scheduleRefresh(long nextDelayMillis) {
+            schedule(this, nextDelayMillis);
+        }
+
+        private void schedule(Runnable task, long delayMillis) {
             if (resolverClosed) {
                 return;
             }
-            refreshFuture = executor().schedule(this, nextDelayMillis, TimeUnit.MILLISECONDS);
+            refreshFuture = executor().schedule(task, delayMillis, TimeUnit.MILLISECONDS);
         }
 
         void clear() {
@@ -293,6 +397,7 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
                 return;
             }
 
+            final InetAddress address = address();
             assert address != null;
             final String hostName = address.getHostName();
 
@@ -305,24 +410,42 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
 
                 final Throwable cause = entry.cause();
                 if (cause != null) {
+                    if (entry.hasCacheableCause()) {
+                        // The DNS server says the name has no addresses anymore. Stop serving this entry
+                        // because a stale entry is served only when the DNS server is unreachable or
+                        // fails to answer, as defined in RFC 8767.
+                        if (negativeTtl > 0) {
+                            cache.put(hostName, result);
+                            executor().schedule(() -> cache.invalidate(hostName), negativeTtl,
+                                                TimeUnit.SECONDS);
+                        } else {
+                            cache.invalidate(hostName);
+                        }
+                        return null;
+                    }
+
+                    // Keep serving this entry while retrying, until it has been stale for too long.
                     final long nextDelayMillis = refreshBackoff.nextDelayMillis(numAttemptsSoFar++);
-                    if (nextDelayMillis < 0) {
+                    final long remainingStaleMillis =
+                            maxStaleMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - expiresAtNanos);
+                    if (nextDelayMillis < 0 || remainingStaleMillis <= 0) {
                         cache.invalidate(hostName);
                         return null;
                     }
-                    scheduleRefresh(nextDelayMillis);
+                    scheduleRefresh(Math.min(nextDelayMillis, remainingStaleMillis));
                     return null;
                 }
 
                 // Got the response successfully so reset the state.
                 numAttemptsSoFar = 1;
 
-                if (address.equals(entry.address()) && entry.ttlMillis() == ttlMillis) {
-                    scheduleRefresh(ttlMillis);
+                if (addresses.equals(entry.addresses()) && entry.ttlMillis() == ttlMillis) {
+                    expiresAtNanos = entry.expiresAtNanos;
+                    scheduleRefresh();
                 } else {
                     // Replace the old entry with the new one.
                     cache.put(hostName, result);
-                    entry.scheduleRefresh(entry.ttlMillis());
+                    entry.scheduleRefresh();
                 }
                 return null;
             });
@@ -331,12 +454,13 @@ final class RefreshingAddressResolver extends AbstractAddressResolver<InetSocket
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this).omitNullValues()
-                              .add("address", address)
+                              .add("addresses", addresses)
                               .add("ttlMillis", ttlMillis)
                               .add("questions", questions)
                               .add("cause", cause)
                               .add("hasCacheableCause", hasCacheableCause)
                               .add("numAttemptsSoFar", numAttemptsSoFar)
+                              .add("accessed", accessed)
                               .toString();
         }
     }
@@ -92,21 +92,28 @@ final class RefreshingAddressResolverGroup extends AddressResolverGroup<InetSock
     private final int minTtl;
     private final int maxTtl;
     private final int negativeTtl;
+    private final int maxStaleTtl;
+    private final double prefetchRatio;
     private final long queryTimeoutMillis;
     private final Backoff refreshBackoff;
+    @Nullable
+    private final DnsCacheMetrics cacheMetrics;
     private final List<DnsRecordType> dnsRecordTypes;
     private final Consumer<DnsNameResolverBuilder> resolverConfigurator;
     private final Cache<String, CompletableFuture<CacheEntry>> cache;
 
     RefreshingAddressResolverGroup(Consumer<DnsNameResolverBuilder> resolverConfigurator,
-                                   int minTtl, int maxTtl, int negativeTtl, long queryTimeoutMillis,
+                                   int minTtl, int maxTtl, int negativeTtl, int maxStaleTtl,
+                                   double prefetchRatio, long queryTimeoutMillis,
                                    Backoff refreshBackoff,
                                    @Nullable ResolvedAddressTypes resolvedAddressTypes,
-                                   String cacheSpec) {
+                                   String cacheSpec, @Nullable DnsCacheMetrics cacheMetrics) {
         this.resolverConfigurator = resolverConfigurator;
         this.minTtl = minTtl;
         this.maxTtl = maxTtl;
         this.negativeTtl = negativeTtl;
+        this.maxStaleTtl = maxStaleTtl;
+        this.prefetchRatio = prefetchRatio;
         this.queryTimeoutMillis = queryTimeoutMillis;
         this.refreshBackoff = refreshBackoff;
         if (resolvedAddressTypes == null) {
@@ -114,6 +121,7 @@ final class RefreshingAddressResolverGroup extends AddressResolverGroup<InetSock
         } else {
             dnsRecordTypes = dnsRecordTypes(resolvedAddressTypes);
         }
+        this.cacheMetrics = cacheMetrics;
         cache = buildCache(cacheSpec);
     }
 
@@ -131,7 +139,8 @@ final class RefreshingAddressResolverGroup extends AddressResolverGroup<InetSock
         final DefaultDnsNameResolver resolver = new DefaultDnsNameResolver(builder.build(), eventLoop,
                                                                            queryTimeoutMillis);
         return new RefreshingAddressResolver(eventLoop, cache, resolver, dnsRecordTypes, minTtl, maxTtl,
-                                             negativeTtl, refreshBackoff);
+                                             negativeTtl, maxStaleTtl, prefetchRatio, refreshBackoff,
+                                             cacheMetrics);
     }
 
     @Override
@@ -32,6 +32,8 @@ import org.slf4j.LoggerFactory;
 import com.google.common.collect.ImmutableSet;
 
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.InProcessAddress;
 import com.linecorp.armeria.common.util.LruMap;
 
 /**
@@ -71,7 +73,14 @@ public final class SessionProtocolNegotiationCache {
         //   and retrieve the value.
         // - If the endpoint has host name only, the host name is used in the key to store and retrieve
         //   the value.
-        final String key = key(endpointWithPort.host(), endpointWithPort.port());
+        final String key;
+        if (endpointWithPort.isDomainSocket()) {
+            key = key(DomainSocketAddress.ofAuthority(endpointWithPort.ipAddr()));
+        } else if (endpointWithPort.isInProcess()) {
+            key = key(InProcessAddress.ofAuthority(endpointWithPort.ipAddr()));
+        } else {
+            key = key(endpointWithPort.host(), endpointWithPort.port());
+        }
         return isUnsupported(key, protocol);
     }
 
@@ -162,6 +171,13 @@ public final class SessionProtocolNegotiationCache {
 
     private static String key(SocketAddress remoteAddress) {
         requireNonNull(remoteAddress, "remoteAddress");
+        // A domain socket and an in-process address have no port number.
+        if (remoteAddress instanceof DomainSocketAddress) {
+            return ((DomainSocketAddress) remoteAddress).authority();
+        }
+        if (remoteAddress instanceof InProcessAddress) {
+            return ((InProcessAddress) remoteAddress).authority();
+        }
         if (!(remoteAddress instanceof InetSocketAddress)) {
             throw new IllegalArgumentException(
                     "remoteAddress: " + remoteAddress +
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
+import com.linecorp.armeria.client.endpoint.dns.DnsAddressEndpointGroup;
+import com.linecorp.armeria.client.endpoint.dns.DnsAddressEndpointGroupBuilder;
+import com.linecorp.armeria.common.util.AbstractListenable;
+import com.linecorp.armeria.common.util.AsyncCloseableSupport;
+import com.linecorp.armeria.common.util.ListenableAsyncCloseable;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.resolver.ResolvedAddressTypes;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
+
+/**
+ * Shares one {@link DnsAddressEndpointGroup} per host name, port, {@link EndpointSelectionStrategy} and
+ * DNS options among the clients of a {@link ClientFactory}. A shared {@link DnsAddressEndpointGroup} is
+ * reference-counted and closed when the last {@link EndpointGroup} returned by
+ * {@link #acquire(String, int, EndpointSelectionStrategy)} is closed.
+ *
+ * @see ClientFactory#sharedDnsAddressEndpointGroup(String, int, EndpointSelectionStrategy)
+ */
+final class SharedEndpointGroupRegistry {
+
+    private static final CompletableFuture<?>[] EMPTY_FUTURES = new CompletableFuture[0];
+
+    private final EventLoopGroup eventLoopGroup;
+    private final DnsOptions dnsOptions;
+
+    // Guarded by 'this'.
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dnsOptions the {@link DnsOptions} of the {@link ClientFactory}, which are applied to
+     *                   all the shared {@link DnsAddressEndpointGroup}s
+     */
+    SharedEndpointGroupRegistry(EventLoopGroup eventLoopGroup, DnsOptions dnsOptions) {
+        this.eventLoopGroup = eventLoopGroup;
+        this.dnsOptions = dnsOptions;
+    }
+
+    EndpointGroup acquire(String hostname, int port, EndpointSelectionStrategy selectionStrategy) {
+        final Key key = new Key(hostname, port, selectionStrategy, dnsOptions);
+        final Entry entry;
+        synchronized (this) {
+            checkState(!closed, "ClientFactory is closing.");
+            entry = entries.computeIfAbsent(key, unused -> new Entry(key, newGroup(key)));
+            entry.refCnt++;
+        }
+        return new SharedEndpointGroup(entry);
+    }
+
+    private DnsAddressEndpointGroup newGroup(Key key) {
+        final DnsAddressEndpointGroupBuilder builder =
+                DnsAddressEndpointGroup.builder(key.hostname)
+                                       .port(key.port)
+                                       .selectionStrategy(key.selectionStrategy)
+                                       .eventLoop(eventLoopGroup.next());
+        key.dnsOptions.applyTo(builder);
+        return builder.build();
+    }
+
+    private void release(Entry entry) {
+        synchronized (this) {
+            if (--entry.refCnt > 0 || closed) {
+                return;
+            }
+            entries.remove(entry.key);
+        }
+        entry.group.closeAsync();
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Closes all the shared {@link DnsAddressEndpointGroup}s regardless of their reference counts.
+     */
+    CompletableFuture<?> closeAsync() {
+        final List<CompletableFuture<?>> futures;
+        synchronized (this) {
+            closed = true;
+            futures = new ArrayList<>(entries.size());
+            entries.values().forEach(entry -> futures.add(entry.group.closeAsync()));
+            entries.clear();
+        }
+        return CompletableFuture.allOf(futures.toArray(EMPTY_FUTURES));
+    }
+
+    private static final class Key {
+        private final String hostname;
+        private final int port;
+        private final EndpointSelectionStrategy selectionStrategy;
+        private final DnsOptions dnsOptions;
+
+        Key(String hostname, int port, EndpointSelectionStrategy selectionStrategy, DnsOptions dnsOptions) {
+            this.hostname = hostname;
+            this.port = port;
+            this.selectionStrategy = selectionStrategy;
+            this.dnsOptions = dnsOptions;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return hostname.equals(that.hostname) &&
+                   port == that.port &&
+                   selectionStrategy.equals(that.selectionStrategy) &&
+                   dnsOptions.equals(that.dnsOptions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hostname, port, selectionStrategy, dnsOptions);
+        }
+    }
+
+    /**
+     * The options of the {@link DnsResolverGroupBuilder} of a {@link ClientFactory} which are also
+     * applicable to a {@link DnsAddressEndpointGroup}, so that a shared {@link DnsAddressEndpointGroup}
+     * sends its queries to the same DNS servers with the same search domains and TTLs as
+     * the address resolver of the {@link ClientFactory}.
+     */
+    static final class DnsOptions {
+
+        @Nullable
+        private final DnsServerAddressStreamProvider serverAddressStreamProvider;
+        private final int minTtl;
+        private final int maxTtl;
+        private final long queryTimeoutMillis;
+        @Nullable
+        private final ResolvedAddressTypes resolvedAddressTypes;
+        @Nullable
+        private final List<String> searchDomains;
+        @Nullable
+        private final Integer ndots;
+
+        DnsOptions(@Nullable DnsServerAddressStreamProvider serverAddressStreamProvider,
+                   int minTtl, int maxTtl, long queryTimeoutMillis,
+                   @Nullable ResolvedAddressTypes resolvedAddressTypes,
+                   @Nullable List<String> searchDomains, @Nullable Integer ndots) {
+            this.serverAddressStreamProvider = serverAddressStreamProvider;
+            this.minTtl = minTtl;
+            this.maxTtl = maxTtl;
+            this.queryTimeoutMillis = queryTimeoutMillis;
+            this.resolvedAddressTypes = resolvedAddressTypes;
+            this.searchDomains = searchDomains;
+            this.ndots = ndots;
+        }
+
+        void applyTo(DnsAddressEndpointGroupBuilder builder) {
+            builder.ttl(minTtl, maxTtl)
+                   .queryTimeoutMillis(queryTimeoutMillis);
+            if (serverAddressStreamProvider != null) {
+                builder.serverAddressStreamProvider(serverAddressStreamProvider);
+            }
+            if (resolvedAddressTypes != null) {
+                builder.resolvedAddressTypes(resolvedAddressTypes);
+            }
+            if (searchDomains != null) {
+                builder.searchDomains(searchDomains);
+            }
+            if (ndots != null) {
+                builder.ndots(ndots);
+            }
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DnsOptions)) {
+                return false;
+            }
+            final DnsOptions that = (DnsOptions) o;
+            return Objects.equals(serverAddressStreamProvider, that.serverAddressStreamProvider) &&
+                   minTtl == that.minTtl &&
+                   maxTtl == that.maxTtl &&
+                   queryTimeoutMillis == that.queryTimeoutMillis &&
+                   resolvedAddressTypes == that.resolvedAddressTypes &&
+                   Objects.equals(searchDomains, that.searchDomains) &&
+                   Objects.equals(ndots, that.ndots);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serverAddressStreamProvider, minTtl, maxTtl, queryTimeoutMillis,
+                                resolvedAddressTypes, searchDomains, ndots);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).omitNullValues()
+                              .add("serverAddressStreamProvider", serverAddressStreamProvider)
+                              .add("minTtl", minTtl)
+                              .add("maxTtl", maxTtl)
+                              .add("queryTimeoutMillis", queryTimeoutMillis)
+                              .add("resolvedAddressTypes", resolvedAddressTypes)
+                              .add("searchDomains", searchDomains)
+                              .add("ndots", ndots)
+                              .toString();
+        }
+    }
+
+    private static final class Entry {
+        final Key key;
+        final DnsAddressEndpointGroup group;
+        int refCnt;
+
+        Entry(Key key, DnsAddressEndpointGroup group) {
+            this.key = key;
+            this.group = group;
+        }
+    }
+
+    /**
+     * A reference to a shared {@link DnsAddressEndpointGroup}. Closing it releases the reference
+     * rather than closing the shared {@link DnsAddressEndpointGroup}.
+     */
+    @VisibleForTesting
+    final class SharedEndpointGroup
+            extends AbstractListenable<List<Endpoint>>
+            implements EndpointGroup, ListenableAsyncCloseable {
+
+        private final Entry entry;
+        private final DnsAddressEndpointGroup group;
+        private final Consumer<List<Endpoint>> listener = this::notifyListeners;
+        private final AsyncCloseableSupport closeable = AsyncCloseableSupport.of(this::closeAsync);
+
+        SharedEndpointGroup(Entry entry) {
+            this.entry = entry;
+            group = entry.group;
+            group.addListener(listener);
+        }
+
+        @VisibleForTesting
+        DnsAddressEndpointGroup delegate() {
+            return group;
+        }
+
+        @Override
+        public List<Endpoint> endpoints() {
+            return group.endpoints();
+        }
+
+        @Override
+        public EndpointSelectionStrategy selectionStrategy() {
+            return group.selectionStrategy();
+        }
+
+        @Nullable
+        @Override
+        public Endpoint selectNow(ClientRequestContext ctx) {
+            return group.selectNow(ctx);
+        }
+
+        @Override
+        public CompletableFuture<Endpoint> select(ClientRequestContext ctx,
+                                                  ScheduledExecutorService executor,
+                                                  long timeoutMillis) {
+            return group.select(ctx, executor, timeoutMillis);
+        }
+
+        @Override
+        public CompletableFuture<List<Endpoint>> whenReady() {
+            return group.whenReady();
+        }
+
+        @Override
+        public boolean isClosing() {
+            return closeable.isClosing();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closeable.isClosed();
+        }
+
+        @Override
+        public CompletableFuture<?> whenClosed() {
+            return closeable.whenClosed();
+        }
+
+        @Override
+        public CompletableFuture<?> closeAsync() {
+            return closeable.closeAsync();
+        }
+
+        private void closeAsync(CompletableFuture<?> future) {
+            group.removeListener(listener);
+            release(entry);
+            future.complete(null);
+        }
+
+        @Override
+        public void close() {
+            closeable.close();
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                              .add("group", group)
+                              .toString();
+        }
+    }
+}
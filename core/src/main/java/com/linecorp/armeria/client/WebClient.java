@@ -25,6 +25,7 @@ import com.google.errorprone.annotations.CheckReturnValue;
 
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
 import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
@@ -426,6 +427,14 @@ public interface WebClient extends ClientBuilderParams, Unwrappable {
         return execute(RequestHeaders.of(HttpMethod.TRACE, path));
     }
 
+    /**
+     * Returns a {@link BlockingWebClient} that sends requests with this {@link WebClient} and
+     * waits for their {@link AggregatedHttpResponse}s.
+     */
+    default BlockingWebClient blocking() {
+        return new DefaultBlockingWebClient(this);
+    }
+
     @Override
     HttpClient unwrap();
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.util.ListenableAsyncCloseable;
+
+/**
+ * The {@link Endpoint}s derived from the {@link Endpoint}s of an {@link EndpointGroup}, e.g. the ones in
+ * a certain zone or the ones with adjusted weights, which are selected by an {@link EndpointSelectionStrategy}.
+ * It is closed together with the {@link EndpointGroup}, so that the {@link EndpointSelector} of
+ * the {@link EndpointSelectionStrategy} can release its resources.
+ */
+final class DerivedEndpoints {
+
+    private final DynamicEndpointGroup endpoints;
+
+    DerivedEndpoints(EndpointGroup parent, EndpointSelectionStrategy strategy) {
+        endpoints = new DynamicEndpointGroup(strategy);
+        if (parent instanceof ListenableAsyncCloseable) {
+            ((ListenableAsyncCloseable) parent).whenClosed().thenRun(endpoints::closeAsync);
+        }
+    }
+
+    /**
+     * Replaces the current {@link Endpoint}s with the specified {@link Endpoint}s.
+     */
+    void set(List<Endpoint> endpoints) {
+        this.endpoints.setEndpoints(endpoints);
+    }
+
+    /**
+     * Selects an {@link Endpoint} using the {@link EndpointSelectionStrategy}.
+     *
+     * @return {@code null} if there are no {@link Endpoint}s to select.
+     */
+    @Nullable
+    Endpoint selectNow(ClientRequestContext ctx) {
+        return endpoints.selectNow(ctx);
+    }
+
+    /**
+     * Returns whether the {@link Endpoint}s have been closed.
+     */
+    boolean isClosing() {
+        return endpoints.isClosing();
+    }
+}
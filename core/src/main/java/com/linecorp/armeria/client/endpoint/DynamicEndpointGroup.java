@@ -15,23 +15,24 @@
  */
 package com.linecorp.armeria.client.endpoint;
 
-import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 
 import com.linecorp.armeria.client.ClientRequestContext;
 import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.AbstractListenable;
 import com.linecorp.armeria.common.util.AsyncCloseableSupport;
 import com.linecorp.armeria.common.util.EventLoopCheckingFuture;
@@ -52,6 +53,7 @@ public class DynamicEndpointGroup
     private final AtomicReference<EndpointSelector> selector = new AtomicReference<>();
     private volatile List<Endpoint> endpoints = UNINITIALIZED_ENDPOINTS;
     private final Lock endpointsLock = new ReentrantLock();
+    private final List<EndpointsChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     private final CompletableFuture<List<Endpoint>> initialEndpointsFuture = new EventLoopCheckingFuture<>();
     private final AsyncCloseableSupport closeable = AsyncCloseableSupport.of(this::closeAsync);
@@ -120,6 +122,36 @@ public class DynamicEndpointGroup
         return initialEndpointsFuture;
     }
 
+    /**
+     * Adds the specified {@link EndpointsChangeListener} which is notified of the {@link Endpoint}s added to
+     * and removed from this {@link EndpointGroup}. If this {@link EndpointGroup} has its {@link Endpoint}s
+     * already, the specified {@link EndpointsChangeListener} is notified of them as added ones immediately,
+     * so that it does not miss any change made while it is being added.
+     */
+    @UnstableApi
+    public final void addEndpointsChangeListener(EndpointsChangeListener listener) {
+        requireNonNull(listener, "listener");
+        endpointsLock.lock();
+        try {
+            changeListeners.add(listener);
+            final List<Endpoint> endpoints = this.endpoints;
+            if (!endpoints.isEmpty()) {
+                listener.endpointsChanged(endpoints, endpoints, ImmutableList.of());
+            }
+        } finally {
+            endpointsLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the specified {@link EndpointsChangeListener}.
+     */
+    @UnstableApi
+    public final void removeEndpointsChangeListener(EndpointsChangeListener listener) {
+        requireNonNull(listener, "listener");
+        changeListeners.remove(listener);
+    }
+
     /**
      * Adds the specified {@link Endpoint} to current {@link Endpoint} list.
      */
@@ -127,9 +159,15 @@ public class DynamicEndpointGroup
         final List<Endpoint> newEndpoints;
         endpointsLock.lock();
         try {
-            final List<Endpoint> newEndpointsUnsorted = Lists.newArrayList(endpoints);
-            newEndpointsUnsorted.add(e);
-            endpoints = newEndpoints = ImmutableList.sortedCopyOf(newEndpointsUnsorted);
+            // Insert into the sorted list rather than sorting the whole list again.
+            final List<Endpoint> oldEndpoints = endpoints;
+            final int index = insertionIndex(oldEndpoints, e);
+            newEndpoints = ImmutableList.<Endpoint>builderWithExpectedSize(oldEndpoints.size() + 1)
+                                        .addAll(oldEndpoints.subList(0, index))
+                                        .add(e)
+                                        .addAll(oldEndpoints.subList(index, oldEndpoints.size()))
+                                        .build();
+            update(newEndpoints, ImmutableList.of(e), ImmutableList.of());
         } finally {
             endpointsLock.unlock();
         }
@@ -145,9 +183,22 @@ public class DynamicEndpointGroup
         final List<Endpoint> newEndpoints;
         endpointsLock.lock();
         try {
-            endpoints = newEndpoints = endpoints.stream()
-                                                .filter(endpoint -> !endpoint.equals(e))
-                                                .collect(toImmutableList());
+            // The Endpoints equal to the specified one are next to each other in the sorted list.
+            final List<Endpoint> oldEndpoints = endpoints;
+            final int start = insertionIndex(oldEndpoints, e);
+            int end = start;
+            while (end < oldEndpoints.size() && oldEndpoints.get(end).equals(e)) {
+                end++;
+            }
+            if (start == end) {
+                return;
+            }
+
+            newEndpoints = ImmutableList.<Endpoint>builderWithExpectedSize(oldEndpoints.size() - (end - start))
+                                        .addAll(oldEndpoints.subList(0, start))
+                                        .addAll(oldEndpoints.subList(end, oldEndpoints.size()))
+                                        .build();
+            update(newEndpoints, ImmutableList.of(), ImmutableList.copyOf(oldEndpoints.subList(start, end)));
         } finally {
             endpointsLock.unlock();
         }
@@ -158,16 +209,20 @@ public class DynamicEndpointGroup
      * Sets the specified {@link Endpoint}s as current {@link Endpoint} list.
      */
     protected final void setEndpoints(Iterable<Endpoint> endpoints) {
-        final List<Endpoint> oldEndpoints = this.endpoints;
         final List<Endpoint> newEndpoints = ImmutableList.sortedCopyOf(endpoints);
 
-        if (!hasChanges(oldEndpoints, newEndpoints)) {
-            return;
-        }
-
         endpointsLock.lock();
         try {
-            this.endpoints = newEndpoints;
+            final List<Endpoint> oldEndpoints = this.endpoints;
+            final ImmutableList.Builder<Endpoint> addedBuilder = ImmutableList.builder();
+            final ImmutableList.Builder<Endpoint> removedBuilder = ImmutableList.builder();
+            diff(oldEndpoints, newEndpoints, addedBuilder, removedBuilder);
+            final List<Endpoint> added = addedBuilder.build();
+            final List<Endpoint> removed = removedBuilder.build();
+            if (added.isEmpty() && removed.isEmpty() && oldEndpoints != UNINITIALIZED_ENDPOINTS) {
+                return;
+            }
+            update(newEndpoints, added, removed);
         } finally {
             endpointsLock.unlock();
         }
@@ -176,24 +231,71 @@ public class DynamicEndpointGroup
         completeInitialEndpointsFuture(newEndpoints);
     }
 
-    private static boolean hasChanges(List<Endpoint> oldEndpoints, List<Endpoint> newEndpoints) {
-        if (oldEndpoints == UNINITIALIZED_ENDPOINTS) {
-            return true;
-        }
-
-        if (oldEndpoints.size() != newEndpoints.size()) {
-            return true;
+    /**
+     * Returns the index of the first {@link Endpoint} which is not less than the specified {@link Endpoint}
+     * in the specified sorted list.
+     */
+    private static int insertionIndex(List<Endpoint> endpoints, Endpoint e) {
+        int low = 0;
+        int high = endpoints.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (endpoints.get(mid).compareTo(e) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
         }
+        return low;
+    }
 
-        for (int i = 0; i < oldEndpoints.size(); i++) {
+    /**
+     * Finds the {@link Endpoint}s added and removed by replacing the specified old {@link Endpoint}s with
+     * the new ones. Both lists must be sorted.
+     */
+    private static void diff(List<Endpoint> oldEndpoints, List<Endpoint> newEndpoints,
+                             ImmutableList.Builder<Endpoint> added,
+                             ImmutableList.Builder<Endpoint> removed) {
+        int i = 0;
+        int j = 0;
+        while (i < oldEndpoints.size() && j < newEndpoints.size()) {
             final Endpoint a = oldEndpoints.get(i);
-            final Endpoint b = newEndpoints.get(i);
-            if (!a.equals(b) || a.weight() != b.weight()) {
-                return true;
+            final Endpoint b = newEndpoints.get(j);
+            final int result = a.compareTo(b);
+            if (result < 0) {
+                removed.add(a);
+                i++;
+            } else if (result > 0) {
+                added.add(b);
+                j++;
+            } else {
+                // Endpoint.compareTo() does not take the weight and the zone into account.
+                if (a.weight() != b.weight() || !Objects.equals(a.zone(), b.zone())) {
+                    removed.add(a);
+                    added.add(b);
+                }
+                i++;
+                j++;
             }
         }
 
-        return false;
+        for (; i < oldEndpoints.size(); i++) {
+            removed.add(oldEndpoints.get(i));
+        }
+        for (; j < newEndpoints.size(); j++) {
+            added.add(newEndpoints.get(j));
+        }
+    }
+
+    /**
+     * Sets the new {@link Endpoint}s and notifies the {@link EndpointsChangeListener}s of the changes.
+     * Must be invoked while holding {@link #endpointsLock}, so that the changes are notified in order.
+     */
+    private void update(List<Endpoint> newEndpoints, List<Endpoint> added, List<Endpoint> removed) {
+        endpoints = newEndpoints;
+        for (EndpointsChangeListener listener : changeListeners) {
+            listener.endpointsChanged(newEndpoints, added, removed);
+        }
     }
 
     private void completeInitialEndpointsFuture(List<Endpoint> endpoints) {
@@ -98,6 +98,91 @@ public interface EndpointSelectionStrategy {
         return new StickyEndpointSelectionStrategy(requestContextHasher);
     }
 
+    /**
+     * Returns a sticky strategy which uses <a href="https://research.google/pubs/pub44824/">Maglev</a>
+     * consistent hashing with the hashes computed by the specified {@link ToLongFunction}.
+     * Unlike {@link #sticky(ToLongFunction)}, the number of the keys mapped to an {@link Endpoint} is
+     * proportional to its {@link Endpoint#weight()}. The lookup table is built only when
+     * the {@link Endpoint}s are changed. If you want to customize the table size or to bound the load of
+     * each {@link Endpoint}, use {@link #builderForMaglev(ToLongFunction)}.
+     *
+     * @see #sticky(ToLongFunction)
+     */
+    @UnstableApi
+    static EndpointSelectionStrategy maglev(
+            ToLongFunction<? super ClientRequestContext> requestContextHasher) {
+        return builderForMaglev(requestContextHasher).build();
+    }
+
+    /**
+     * Returns a new {@link MaglevEndpointSelectionStrategyBuilder} that builds a sticky
+     * {@link EndpointSelectionStrategy} which uses Maglev consistent hashing with the hashes computed by
+     * the specified {@link ToLongFunction}, optionally with bounded loads.
+     *
+     * <pre>{@code
+     * EndpointSelectionStrategy strategy =
+     *         EndpointSelectionStrategy.builderForMaglev(ctx -> ctx.path().hashCode())
+     *                                  .loadFactor(1.25)
+     *                                  .build();
+     * }</pre>
+     */
+    @UnstableApi
+    static MaglevEndpointSelectionStrategyBuilder builderForMaglev(
+            ToLongFunction<? super ClientRequestContext> requestContextHasher) {
+        return new MaglevEndpointSelectionStrategyBuilder(requestContextHasher);
+    }
+
+    /**
+     * Returns a zone-aware strategy which prefers the {@link Endpoint}s whose {@link Endpoint#zone()} is
+     * the specified local zone, and selects an {@link Endpoint} using {@link #weightedRoundRobin()}.
+     *
+     * @see #zoneAware(String, EndpointSelectionStrategy)
+     */
+    @UnstableApi
+    static EndpointSelectionStrategy zoneAware(String localZone) {
+        return zoneAware(localZone, weightedRoundRobin());
+    }
+
+    /**
+     * Returns a zone-aware strategy which prefers the {@link Endpoint}s whose {@link Endpoint#zone()} is
+     * the specified local zone, and selects an {@link Endpoint} using the specified
+     * {@link EndpointSelectionStrategy}.
+     *
+     * <p>The clients are assumed to be spread evenly across the zones, so the local zone is expected to
+     * have {@code 1 / numZones} of the total {@link Endpoint#weight()}. As long as it does, all requests are
+     * sent to the {@link Endpoint}s in the local zone. When it does not, e.g. because some of them were
+     * removed by health checks, only {@code actualShare / expectedShare} of the requests are sent to the local
+     * zone and the rest spill over to the other zones in proportion to their weights.
+     * The {@link Endpoint}s without a zone are considered to be in another zone.
+     */
+    @UnstableApi
+    static EndpointSelectionStrategy zoneAware(String localZone, EndpointSelectionStrategy delegate) {
+        return new ZoneAwareEndpointSelectionStrategy(localZone, delegate);
+    }
+
+    /**
+     * Returns a weighted round robin strategy which adjusts the weight of each {@link Endpoint} from the load
+     * reported by the server in the {@code "endpoint-load-metrics"} response header, so that the servers with
+     * more spare capacity receive more requests. If you want to customize how often the weights are
+     * updated, use {@link #builderForLoadAware()}.
+     *
+     * @see com.linecorp.armeria.server.loadreport.LoadReportingService
+     */
+    @UnstableApi
+    static EndpointSelectionStrategy loadAware() {
+        return builderForLoadAware().build();
+    }
+
+    /**
+     * Returns a new {@link LoadAwareEndpointSelectionStrategyBuilder} that builds
+     * an {@link EndpointSelectionStrategy} which adjusts the weight of each {@link Endpoint} from the load
+     * reported by the server.
+     */
+    @UnstableApi
+    static LoadAwareEndpointSelectionStrategyBuilder builderForLoadAware() {
+        return new LoadAwareEndpointSelectionStrategyBuilder();
+    }
+
     /**
      * Creates a new {@link EndpointSelector} that selects an {@link Endpoint} from the specified
      * {@link EndpointGroup}.
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import java.util.List;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A listener which is notified of the {@link Endpoint}s added to and removed from
+ * a {@link DynamicEndpointGroup}, so that it can update its state incrementally rather than rebuilding
+ * it from the whole {@link Endpoint} list on every change.
+ *
+ * @see DynamicEndpointGroup#addEndpointsChangeListener(EndpointsChangeListener)
+ */
+@UnstableApi
+@FunctionalInterface
+public interface EndpointsChangeListener {
+
+    /**
+     * Invoked when the {@link Endpoint}s of a {@link DynamicEndpointGroup} have been changed.
+     * The changes are notified one at a time in the order they were made, so applying
+     * {@code removedEndpoints} and then {@code addedEndpoints} to the previous {@link Endpoint}s always
+     * yields {@code endpoints}. A change of {@link Endpoint#weight()} is notified as the removal of
+     * the old {@link Endpoint} and the addition of the new one.
+     *
+     * <p>Note that this method is invoked while the {@link DynamicEndpointGroup} is being updated.
+     * It must not perform a blocking operation.
+     *
+     * @param endpoints the current {@link Endpoint}s, sorted by their natural order
+     * @param addedEndpoints the {@link Endpoint}s added by this change
+     * @param removedEndpoints the {@link Endpoint}s removed by this change
+     */
+    void endpointsChanged(List<Endpoint> endpoints, List<Endpoint> addedEndpoints,
+                          List<Endpoint> removedEndpoints);
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.logging.RequestLogProperty;
+import com.linecorp.armeria.internal.common.LoadReport;
+
+/**
+ * An {@link EndpointSelectionStrategy} which adjusts the weight of each {@link Endpoint} from the load
+ * reported by the server in the {@code "endpoint-load-metrics"} response header, and selects
+ * an {@link Endpoint} using {@link EndpointSelectionStrategy#weightedRoundRobin()}.
+ *
+ * <p>The capacity of a server is estimated as its requests per second divided by its CPU utilization,
+ * and the weight of an {@link Endpoint} is multiplied by its capacity relative to the average.
+ * As a result, the servers which can handle more requests receive more requests until the utilization of
+ * all servers converges. An {@link Endpoint} without a recent report is considered to have
+ * the average capacity.
+ *
+ * @see com.linecorp.armeria.server.loadreport.LoadReportingService
+ */
+final class LoadAwareEndpointSelectionStrategy implements EndpointSelectionStrategy {
+
+    private final long weightUpdateIntervalNanos;
+    private final long reportExpirationNanos;
+
+    LoadAwareEndpointSelectionStrategy(long weightUpdateIntervalMillis, long reportExpirationMillis) {
+        weightUpdateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(weightUpdateIntervalMillis);
+        reportExpirationNanos = TimeUnit.MILLISECONDS.toNanos(reportExpirationMillis);
+    }
+
+    @Override
+    public EndpointSelector newSelector(EndpointGroup endpointGroup) {
+        return new LoadAwareEndpointSelector(endpointGroup, weightUpdateIntervalNanos, reportExpirationNanos);
+    }
+
+    @VisibleForTesting
+    static final class LoadAwareEndpointSelector extends AbstractEndpointSelector {
+
+        /**
+         * The minimum CPU utilization used for estimating the capacity, so that an idle server does not
+         * get an excessively large weight.
+         */
+        private static final double MIN_UTILIZATION = 0.01;
+
+        private static final AtomicLongFieldUpdater<LoadAwareEndpointSelector> lastUpdateNanosUpdater =
+                AtomicLongFieldUpdater.newUpdater(LoadAwareEndpointSelector.class, "lastUpdateNanos");
+
+        private final long weightUpdateIntervalNanos;
+        private final long reportExpirationNanos;
+        private final Map<Endpoint, TimestampedLoadReport> reports = new ConcurrentHashMap<>();
+        @VisibleForTesting
+        final DerivedEndpoints weightedEndpoints;
+
+        /**
+         * Guards {@link #endpointSet} so that a report of a removed {@link Endpoint} is not added
+         * to {@link #reports} after the removal. Also serializes the weight updates so that the weights
+         * calculated from an older snapshot of {@link #endpoints} and {@link #reports} never overwrite
+         * the newer ones.
+         */
+        private final Lock reportsLock = new ReentrantLock();
+        private Set<Endpoint> endpointSet;
+
+        private volatile List<Endpoint> endpoints;
+        private volatile long lastUpdateNanos;
+
+        LoadAwareEndpointSelector(EndpointGroup endpointGroup,
+                                  long weightUpdateIntervalNanos, long reportExpirationNanos) {
+            super(endpointGroup);
+            this.weightUpdateIntervalNanos = weightUpdateIntervalNanos;
+            this.reportExpirationNanos = reportExpirationNanos;
+
+            weightedEndpoints = new DerivedEndpoints(endpointGroup,
+                                                     EndpointSelectionStrategy.weightedRoundRobin());
+
+            endpoints = endpointGroup.endpoints();
+            endpointSet = new HashSet<>(endpoints);
+            updateWeights(System.nanoTime());
+            endpointGroup.addListener(endpoints -> {
+                reportsLock.lock();
+                try {
+                    this.endpoints = endpoints;
+                    endpointSet = new HashSet<>(endpoints);
+                    reports.keySet().retainAll(endpointSet);
+                    updateWeights(System.nanoTime());
+                } finally {
+                    reportsLock.unlock();
+                }
+            });
+        }
+
+        @Nullable
+        @Override
+        public Endpoint selectNow(ClientRequestContext ctx) {
+            final long now = System.nanoTime();
+            final long lastUpdateNanos = this.lastUpdateNanos;
+            if (now - lastUpdateNanos >= weightUpdateIntervalNanos &&
+                lastUpdateNanosUpdater.compareAndSet(this, lastUpdateNanos, now)) {
+                updateWeights(now);
+            }
+
+            final Endpoint endpoint = weightedEndpoints.selectNow(ctx);
+            if (endpoint != null) {
+                ctx.log().whenAvailable(RequestLogProperty.RESPONSE_HEADERS).thenAccept(log -> {
+                    final LoadReport report =
+                            LoadReport.parse(log.responseHeaders().get(LoadReport.HEADER_NAME));
+                    if (report != null) {
+                        addReport(endpoint, new TimestampedLoadReport(report, System.nanoTime()));
+                    }
+                });
+            }
+            return endpoint;
+        }
+
+        @VisibleForTesting
+        void addReport(Endpoint endpoint, TimestampedLoadReport report) {
+            reportsLock.lock();
+            try {
+                // The endpoint might have been removed while its request was in flight.
+                if (endpointSet.contains(endpoint)) {
+                    reports.put(endpoint, report);
+                }
+            } finally {
+                reportsLock.unlock();
+            }
+        }
+
+        @VisibleForTesting
+        Map<Endpoint, TimestampedLoadReport> reports() {
+            return reports;
+        }
+
+        private void updateWeights(long now) {
+            reportsLock.lock();
+            try {
+                weightedEndpoints.set(weightedEndpoints(endpoints, reports, now, reportExpirationNanos));
+            } finally {
+                reportsLock.unlock();
+            }
+        }
+
+        /**
+         * Returns the {@link Endpoint}s whose weights are adjusted by their capacity relative to the average.
+         */
+        @VisibleForTesting
+        static List<Endpoint> weightedEndpoints(List<Endpoint> endpoints,
+                                                Map<Endpoint, TimestampedLoadReport> reports,
+                                                long now, long reportExpirationNanos) {
+            final double[] capacities = new double[endpoints.size()];
+            double totalCapacity = 0;
+            int numReported = 0;
+            for (int i = 0; i < capacities.length; i++) {
+                final TimestampedLoadReport report = reports.get(endpoints.get(i));
+                if (report == null || now - report.timestampNanos > reportExpirationNanos) {
+                    continue;
+                }
+                final double capacity = capacity(report.report);
+                if (capacity > 0) {
+                    capacities[i] = capacity;
+                    totalCapacity += capacity;
+                    numReported++;
+                }
+            }
+
+            if (numReported == 0) {
+                return endpoints;
+            }
+
+            final double averageCapacity = totalCapacity / numReported;
+            final ImmutableList.Builder<Endpoint> builder = ImmutableList.builderWithExpectedSize(
+                    endpoints.size());
+            for (int i = 0; i < capacities.length; i++) {
+                final Endpoint endpoint = endpoints.get(i);
+                if (capacities[i] == 0 || endpoint.weight() == 0) {
+                    builder.add(endpoint);
+                    continue;
+                }
+                final double weight = endpoint.weight() * capacities[i] / averageCapacity;
+                builder.add(endpoint.withWeight((int) Math.max(1, Math.min(Integer.MAX_VALUE, weight))));
+            }
+            return builder.build();
+        }
+
+        /**
+         * Returns the estimated number of requests per second the server can handle at full utilization,
+         * or {@code 0} if unknown.
+         */
+        private static double capacity(LoadReport report) {
+            final double requestsPerSecond = report.requestsPerSecond();
+            final double cpuUtilization = report.cpuUtilization();
+            if (requestsPerSecond <= 0 || cpuUtilization < 0) {
+                return 0;
+            }
+            return requestsPerSecond / Math.max(MIN_UTILIZATION, cpuUtilization);
+        }
+    }
+
+    @VisibleForTesting
+    static final class TimestampedLoadReport {
+        final LoadReport report;
+        final long timestampNanos;
+
+        TimestampedLoadReport(LoadReport report, long timestampNanos) {
+            this.report = report;
+            this.timestampNanos = timestampNanos;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A builder for creating a new {@link EndpointSelectionStrategy} that adjusts the weight of each
+ * {@link Endpoint} from the load reported by the server.
+ *
+ * @see EndpointSelectionStrategy#builderForLoadAware()
+ */
+@UnstableApi
+public final class LoadAwareEndpointSelectionStrategyBuilder {
+
+    static final long DEFAULT_WEIGHT_UPDATE_INTERVAL_MILLIS = 1000;
+    static final long DEFAULT_REPORT_EXPIRATION_MILLIS = 30000;
+
+    private long weightUpdateIntervalMillis = DEFAULT_WEIGHT_UPDATE_INTERVAL_MILLIS;
+    private long reportExpirationMillis = DEFAULT_REPORT_EXPIRATION_MILLIS;
+
+    LoadAwareEndpointSelectionStrategyBuilder() {}
+
+    /**
+     * Sets the interval at which the weights of the {@link Endpoint}s are recalculated from the latest
+     * load reports. If not set, {@value DEFAULT_WEIGHT_UPDATE_INTERVAL_MILLIS} milliseconds is used.
+     */
+    public LoadAwareEndpointSelectionStrategyBuilder weightUpdateInterval(Duration weightUpdateInterval) {
+        requireNonNull(weightUpdateInterval, "weightUpdateInterval");
+        checkArgument(!weightUpdateInterval.isNegative(),
+                      "weightUpdateInterval: %s (expected: >= 0)", weightUpdateInterval);
+        return weightUpdateIntervalMillis(weightUpdateInterval.toMillis());
+    }
+
+    /**
+     * Sets the interval in milliseconds at which the weights of the {@link Endpoint}s are recalculated
+     * from the latest load reports. If not set, {@value DEFAULT_WEIGHT_UPDATE_INTERVAL_MILLIS} milliseconds
+     * is used.
+     */
+    public LoadAwareEndpointSelectionStrategyBuilder weightUpdateIntervalMillis(
+            long weightUpdateIntervalMillis) {
+        checkArgument(weightUpdateIntervalMillis >= 0,
+                      "weightUpdateIntervalMillis: %s (expected: >= 0)", weightUpdateIntervalMillis);
+        this.weightUpdateIntervalMillis = weightUpdateIntervalMillis;
+        return this;
+    }
+
+    /**
+     * Sets the period after which a load report is ignored. An {@link Endpoint} whose load report has
+     * expired, e.g. because it has not received any requests recently, gets its original weight back.
+     * If not set, {@value DEFAULT_REPORT_EXPIRATION_MILLIS} milliseconds is used.
+     */
+    public LoadAwareEndpointSelectionStrategyBuilder reportExpiration(Duration reportExpiration) {
+        requireNonNull(reportExpiration, "reportExpiration");
+        checkArgument(!reportExpiration.isNegative() && !reportExpiration.isZero(),
+                      "reportExpiration: %s (expected: > 0)", reportExpiration);
+        return reportExpirationMillis(reportExpiration.toMillis());
+    }
+
+    /**
+     * Sets the period in milliseconds after which a load report is ignored. An {@link Endpoint} whose load
+     * report has expired, e.g. because it has not received any requests recently, gets its original weight
+     * back. If not set, {@value DEFAULT_REPORT_EXPIRATION_MILLIS} milliseconds is used.
+     */
+    public LoadAwareEndpointSelectionStrategyBuilder reportExpirationMillis(long reportExpirationMillis) {
+        checkArgument(reportExpirationMillis > 0,
+                      "reportExpirationMillis: %s (expected: > 0)", reportExpirationMillis);
+        this.reportExpirationMillis = reportExpirationMillis;
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link EndpointSelectionStrategy} based on the properties of this builder.
+     */
+    public EndpointSelectionStrategy build() {
+        return new LoadAwareEndpointSelectionStrategy(weightUpdateIntervalMillis, reportExpirationMillis);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+
+/**
+ * An {@link EndpointSelectionStrategy} which implements sticky load-balancing using
+ * <a href="https://research.google/pubs/pub44824/">Maglev consistent hashing</a>.
+ * Unlike {@link StickyEndpointSelectionStrategy}, the number of the keys mapped to an {@link Endpoint} is
+ * proportional to its {@link Endpoint#weight()}.
+ *
+ * <p>If a load factor is specified, <a href="https://arxiv.org/abs/1608.01350">consistent hashing with
+ * bounded loads</a> is applied as well. When the {@link Endpoint} for a key already has more in-flight
+ * requests than the load factor times its fair share, the request overflows to the next {@link Endpoint}
+ * in the lookup table.
+ */
+final class MaglevEndpointSelectionStrategy implements EndpointSelectionStrategy {
+
+    private static final HashFunction offsetHashFunction = Hashing.murmur3_128(0);
+    private static final HashFunction skipHashFunction = Hashing.murmur3_128(1);
+
+    private final ToLongFunction<? super ClientRequestContext> requestContextHasher;
+    private final int tableSize;
+    private final double loadFactor;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param loadFactor the maximum in-flight load of an {@link Endpoint} relative to its fair share,
+     *                   or {@code 0} to disable bounded loads
+     */
+    MaglevEndpointSelectionStrategy(ToLongFunction<? super ClientRequestContext> requestContextHasher,
+                                    int tableSize, double loadFactor) {
+        this.requestContextHasher = requireNonNull(requestContextHasher, "requestContextHasher");
+        this.tableSize = tableSize;
+        this.loadFactor = loadFactor;
+    }
+
+    @Override
+    public EndpointSelector newSelector(EndpointGroup endpointGroup) {
+        return new MaglevEndpointSelector(endpointGroup, requestContextHasher, tableSize, loadFactor);
+    }
+
+    @VisibleForTesting
+    static final class MaglevEndpointSelector extends AbstractEndpointSelector {
+
+        private final ToLongFunction<? super ClientRequestContext> requestContextHasher;
+        private final int tableSize;
+        private final double loadFactor;
+        private final AtomicInteger totalInFlight = new AtomicInteger();
+        private volatile LookupTable table;
+
+        MaglevEndpointSelector(EndpointGroup endpointGroup,
+                               ToLongFunction<? super ClientRequestContext> requestContextHasher,
+                               int tableSize, double loadFactor) {
+            super(endpointGroup);
+            this.requestContextHasher = requestContextHasher;
+            this.tableSize = tableSize;
+            this.loadFactor = loadFactor;
+
+            table = new LookupTable(endpointGroup.endpoints(), tableSize, null);
+            // Build the lookup table only when the endpoints are changed.
+            endpointGroup.addListener(endpoints -> table = new LookupTable(endpoints, tableSize, table));
+        }
+
+        @Nullable
+        @Override
+        public Endpoint selectNow(ClientRequestContext ctx) {
+            final LookupTable table = this.table;
+            if (table.isEmpty()) {
+                return null;
+            }
+
+            final long key = requestContextHasher.applyAsLong(ctx);
+            final int index = (int) Math.floorMod(key, (long) tableSize);
+            if (loadFactor == 0) {
+                return table.endpoints[index];
+            }
+
+            // Probe the lookup table from the slot of the key until an endpoint has room.
+            final int total = totalInFlight.get() + 1;
+            for (int i = index;;) {
+                final Endpoint endpoint = table.endpoints[i];
+                final AtomicInteger inFlight = table.inFlights[i];
+                if (inFlight.get() < table.capacity(endpoint, total, loadFactor)) {
+                    inFlight.incrementAndGet();
+                    totalInFlight.incrementAndGet();
+                    ctx.log().whenComplete().thenRun(() -> {
+                        inFlight.decrementAndGet();
+                        totalInFlight.decrementAndGet();
+                    });
+                    return endpoint;
+                }
+
+                if (++i == tableSize) {
+                    i = 0;
+                }
+                if (i == index) {
+                    // Every endpoint is at its capacity because of the concurrent selections.
+                    return table.endpoints[index];
+                }
+            }
+        }
+
+        @VisibleForTesting
+        LookupTable table() {
+            return table;
+        }
+    }
+
+    @VisibleForTesting
+    static final class LookupTable {
+
+        private static final Endpoint[] EMPTY_ENDPOINTS = new Endpoint[0];
+        private static final AtomicInteger[] EMPTY_IN_FLIGHTS = new AtomicInteger[0];
+
+        final Endpoint[] endpoints;
+        final AtomicInteger[] inFlights;
+        private final Map<Endpoint, AtomicInteger> inFlightsByEndpoint;
+        private final long totalWeight;
+
+        /**
+         * Populates the lookup table as described in the Maglev paper, except that an {@link Endpoint} takes
+         * its turn in proportion to its weight.
+         *
+         * @param old the previous lookup table whose in-flight counters are carried over
+         */
+        LookupTable(List<Endpoint> endpoints, int tableSize, @Nullable LookupTable old) {
+            // Merge the duplicate endpoints and exclude the ones with zero weight.
+            final Map<Endpoint, Endpoint> distinct = new LinkedHashMap<>();
+            for (Endpoint e : endpoints) {
+                if (e.weight() > 0) {
+                    distinct.putIfAbsent(e, e);
+                }
+            }
+
+            if (distinct.isEmpty()) {
+                this.endpoints = EMPTY_ENDPOINTS;
+                inFlights = EMPTY_IN_FLIGHTS;
+                inFlightsByEndpoint = new HashMap<>();
+                totalWeight = 0;
+                return;
+            }
+
+            final List<Endpoint> candidates = new ArrayList<>(distinct.values());
+            final int numCandidates = candidates.size();
+            final int[] offsets = new int[numCandidates];
+            final int[] skips = new int[numCandidates];
+            final int[] nexts = new int[numCandidates];
+            final int[] numEntries = new int[numCandidates];
+            int maxWeight = 0;
+            long totalWeight = 0;
+            inFlightsByEndpoint = new HashMap<>(numCandidates);
+            for (int i = 0; i < numCandidates; i++) {
+                final Endpoint e = candidates.get(i);
+                offsets[i] = (int) Math.floorMod(hash(offsetHashFunction, e), (long) tableSize);
+                skips[i] = (int) Math.floorMod(hash(skipHashFunction, e), (long) tableSize - 1) + 1;
+                maxWeight = Math.max(maxWeight, e.weight());
+                totalWeight += e.weight();
+
+                final AtomicInteger inFlight = old != null ? old.inFlightsByEndpoint.get(e) : null;
+                inFlightsByEndpoint.put(e, inFlight != null ? inFlight : new AtomicInteger());
+            }
+            this.totalWeight = totalWeight;
+
+            final Endpoint[] table = new Endpoint[tableSize];
+            int filled = 0;
+            for (long round = 1; filled < tableSize; round++) {
+                for (int i = 0; i < numCandidates && filled < tableSize; i++) {
+                    final Endpoint e = candidates.get(i);
+                    // An endpoint with the maximum weight takes its turn in every round.
+                    if (round * e.weight() < (long) (numEntries[i] + 1) * maxWeight) {
+                        continue;
+                    }
+
+                    int slot;
+                    do {
+                        slot = (int) ((offsets[i] + (long) nexts[i] * skips[i]) % tableSize);
+                        nexts[i]++;
+                    } while (table[slot] != null);
+                    table[slot] = e;
+                    numEntries[i]++;
+                    filled++;
+                }
+            }
+
+            this.endpoints = table;
+            inFlights = new AtomicInteger[tableSize];
+            for (int i = 0; i < tableSize; i++) {
+                inFlights[i] = inFlightsByEndpoint.get(table[i]);
+            }
+        }
+
+        boolean isEmpty() {
+            return endpoints.length == 0;
+        }
+
+        /**
+         * Returns the maximum number of in-flight requests allowed for the specified {@link Endpoint}.
+         */
+        long capacity(Endpoint endpoint, int totalInFlight, double loadFactor) {
+            return (long) Math.ceil(loadFactor * totalInFlight * endpoint.weight() / totalWeight);
+        }
+
+        private static long hash(HashFunction hashFunction, Endpoint endpoint) {
+            final Hasher hasher = hashFunction.newHasher()
+                                              .putString(endpoint.host(), StandardCharsets.UTF_8)
+                                              .putInt(endpoint.port(0));
+            final String ipAddr = endpoint.ipAddr();
+            if (ipAddr != null) {
+                hasher.putString(ipAddr, StandardCharsets.UTF_8);
+            }
+            return hasher.hash().asLong();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.ToLongFunction;
+
+import com.google.common.math.LongMath;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A builder for creating a new {@link EndpointSelectionStrategy} that implements sticky load-balancing
+ * using Maglev consistent hashing.
+ *
+ * @see EndpointSelectionStrategy#builderForMaglev(ToLongFunction)
+ */
+@UnstableApi
+public final class MaglevEndpointSelectionStrategyBuilder {
+
+    static final int DEFAULT_TABLE_SIZE = 65537;
+
+    private final ToLongFunction<? super ClientRequestContext> requestContextHasher;
+    private int tableSize = DEFAULT_TABLE_SIZE;
+    private double loadFactor;
+
+    MaglevEndpointSelectionStrategyBuilder(ToLongFunction<? super ClientRequestContext> requestContextHasher) {
+        this.requestContextHasher = requireNonNull(requestContextHasher, "requestContextHasher");
+    }
+
+    /**
+     * Sets the size of the lookup table. It must be a prime number which is much greater than the number of
+     * {@link Endpoint}s, e.g. 100 times greater, so that the keys are distributed in proportion to
+     * {@link Endpoint#weight()}. A larger table takes more memory and time to build whenever
+     * the {@link Endpoint}s are changed. If not set, {@value DEFAULT_TABLE_SIZE} is used.
+     */
+    public MaglevEndpointSelectionStrategyBuilder tableSize(int tableSize) {
+        checkArgument(tableSize > 2 && LongMath.isPrime(tableSize),
+                      "tableSize: %s (expected: a prime number greater than 2)", tableSize);
+        this.tableSize = tableSize;
+        return this;
+    }
+
+    /**
+     * Enables consistent hashing with bounded loads. An {@link Endpoint} does not receive a new request when
+     * it has more in-flight requests than the specified {@code loadFactor} times its fair share, i.e.
+     * the average in-flight requests weighted by {@link Endpoint#weight()}. The request is sent to
+     * the next {@link Endpoint} in the lookup table instead. A smaller {@code loadFactor} distributes
+     * the load more evenly at the cost of sending more requests to an {@link Endpoint} other than
+     * the one for their keys. {@code 1.25} is a good starting point.
+     * Note that the limit is not strict when many requests are sent concurrently.
+     * Bounded loads are disabled by default.
+     */
+    public MaglevEndpointSelectionStrategyBuilder loadFactor(double loadFactor) {
+        checkArgument(loadFactor > 1, "loadFactor: %s (expected: > 1)", loadFactor);
+        this.loadFactor = loadFactor;
+        return this;
+    }
+
+    /**
+     * Returns a newly-created Maglev consistent hashing {@link EndpointSelectionStrategy} based on
+     * the properties set so far.
+     */
+    public EndpointSelectionStrategy build() {
+        return new MaglevEndpointSelectionStrategy(requestContextHasher, tableSize, loadFactor);
+    }
+}
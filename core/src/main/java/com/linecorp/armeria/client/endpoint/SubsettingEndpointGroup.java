@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Objects.requireNonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Ordering;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * An {@link EndpointGroup} that selects a small subset of the {@link Endpoint}s from an existing
+ * {@link EndpointGroup}, so that a client does not have to connect to all servers of a very large cluster.
+ *
+ * <pre>{@code
+ * EndpointGroup originalGroup = ...
+ *
+ * // Connect to only 10 servers out of thousands.
+ * SubsettingEndpointGroup subset =
+ *         SubsettingEndpointGroup.builder(originalGroup, "client-instance-42")
+ *                                .subsetSize(10)
+ *                                .build();
+ *
+ * WebClient client = WebClient.of(SessionProtocol.HTTP, subset);
+ * }</pre>
+ *
+ * <p>The subset is chosen with <a href="https://en.wikipedia.org/wiki/Rendezvous_hashing">rendezvous
+ * hashing</a> of the client ID and each {@link Endpoint}, which gives the following properties:
+ * <ul>
+ *   <li>The clients with the same ID always choose the same subset, regardless of the order of
+ *       the {@link Endpoint}s.</li>
+ *   <li>Each {@link Endpoint} is chosen by about the same number of clients, when each client has
+ *       a distinct ID.</li>
+ *   <li>When an {@link Endpoint} is added, only the clients which prefer the new {@link Endpoint} to
+ *       an {@link Endpoint} in their subset replace one {@link Endpoint}. When an {@link Endpoint} is removed,
+ *       only the clients which were using it choose another one. Adding or removing a client does not
+ *       affect the other clients.</li>
+ * </ul>
+ * Note that the subset is chosen regardless of {@link Endpoint#weight()}. The weights are retained
+ * and used by the {@link EndpointSelectionStrategy} when selecting an {@link Endpoint} from the subset.
+ */
+@UnstableApi
+public final class SubsettingEndpointGroup extends DynamicEndpointGroup {
+
+    static final int DEFAULT_SUBSET_SIZE = 10;
+
+    private static final HashFunction hashFunction = Hashing.murmur3_128();
+
+    private static final Comparator<ScoredEndpoint> scoreComparator =
+            Comparator.<ScoredEndpoint>comparingLong(e -> e.score)
+                      .thenComparing(e -> e.endpoint);
+
+    /**
+     * Returns a newly created {@link SubsettingEndpointGroup} that selects up to 10
+     * {@link Endpoint}s from the specified {@link EndpointGroup}.
+     *
+     * @param delegate the {@link EndpointGroup} that provides the candidate {@link Endpoint}s
+     * @param clientId the ID which identifies this client, e.g. the host name or the pod name.
+     *                 Each client should have a distinct ID so that the load is spread evenly.
+     */
+    public static SubsettingEndpointGroup of(EndpointGroup delegate, String clientId) {
+        return builder(delegate, clientId).build();
+    }
+
+    /**
+     * Returns a newly created {@link SubsettingEndpointGroupBuilder} that builds
+     * a {@link SubsettingEndpointGroup} which selects a subset of the {@link Endpoint}s from the specified
+     * {@link EndpointGroup}.
+     *
+     * @param delegate the {@link EndpointGroup} that provides the candidate {@link Endpoint}s
+     * @param clientId the ID which identifies this client, e.g. the host name or the pod name.
+     *                 Each client should have a distinct ID so that the load is spread evenly.
+     */
+    public static SubsettingEndpointGroupBuilder builder(EndpointGroup delegate, String clientId) {
+        return new SubsettingEndpointGroupBuilder(delegate, clientId);
+    }
+
+    private final EndpointGroup delegate;
+    private final String clientId;
+    private final long clientHash;
+    private final int subsetSize;
+
+    SubsettingEndpointGroup(EndpointGroup delegate, String clientId, int subsetSize,
+                            EndpointSelectionStrategy selectionStrategy) {
+        super(selectionStrategy);
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.clientId = requireNonNull(clientId, "clientId");
+        checkArgument(subsetSize > 0, "subsetSize: %s (expected: > 0)", subsetSize);
+        this.subsetSize = subsetSize;
+        clientHash = clientHash(clientId);
+
+        delegate.addListener(this::updateSubset);
+        delegate.whenReady().handle((unused1, unused2) -> {
+            // Use the current endpoints because the delegate may have been updated since it became ready.
+            updateSubset(delegate.endpoints());
+            return null;
+        });
+    }
+
+    /**
+     * Returns the ID of this client.
+     */
+    public String clientId() {
+        return clientId;
+    }
+
+    /**
+     * Returns the maximum number of {@link Endpoint}s selected from the delegate {@link EndpointGroup}.
+     */
+    public int subsetSize() {
+        return subsetSize;
+    }
+
+    private void updateSubset(List<Endpoint> candidates) {
+        if (isClosing()) {
+            return;
+        }
+        setEndpoints(subset(clientHash, candidates, subsetSize));
+    }
+
+    /**
+     * Returns the {@code subsetSize} {@link Endpoint}s with the highest scores for the client identified by
+     * the specified {@code clientHash}.
+     */
+    @VisibleForTesting
+    static List<Endpoint> subset(long clientHash, List<Endpoint> candidates, int subsetSize) {
+        if (candidates.size() <= subsetSize) {
+            return candidates;
+        }
+
+        final List<ScoredEndpoint> scored = new ArrayList<>(candidates.size());
+        for (Endpoint endpoint : candidates) {
+            scored.add(new ScoredEndpoint(score(clientHash, endpoint), endpoint));
+        }
+        return Ordering.from(scoreComparator)
+                       .greatestOf(scored, subsetSize)
+                       .stream()
+                       .map(e -> e.endpoint)
+                       .collect(toImmutableList());
+    }
+
+    static long clientHash(String clientId) {
+        return hashFunction.hashString(clientId, StandardCharsets.UTF_8).asLong();
+    }
+
+    private static long score(long clientHash, Endpoint endpoint) {
+        // Do not hash the weight so that a weight change does not change the subset.
+        final Hasher hasher = hashFunction.newHasher()
+                                          .putLong(clientHash)
+                                          .putString(endpoint.host(), StandardCharsets.UTF_8)
+                                          .putInt(endpoint.port(0));
+        final String ipAddr = endpoint.ipAddr();
+        if (ipAddr != null) {
+            hasher.putString(ipAddr, StandardCharsets.UTF_8);
+        }
+        return hasher.hash().asLong();
+    }
+
+    @Override
+    protected void doCloseAsync(CompletableFuture<?> future) {
+        delegate.closeAsync().handle((unused1, unused2) -> future.complete(null));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("delegate", delegate)
+                          .add("clientId", clientId)
+                          .add("subsetSize", subsetSize)
+                          .add("endpoints", endpoints())
+                          .toString();
+    }
+
+    private static final class ScoredEndpoint {
+        final long score;
+        final Endpoint endpoint;
+
+        ScoredEndpoint(long score, Endpoint endpoint) {
+            this.score = score;
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.Nullable;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * Builds a {@link SubsettingEndpointGroup}.
+ */
+@UnstableApi
+public final class SubsettingEndpointGroupBuilder {
+
+    private final EndpointGroup delegate;
+    private final String clientId;
+    private int subsetSize = SubsettingEndpointGroup.DEFAULT_SUBSET_SIZE;
+    @Nullable
+    private EndpointSelectionStrategy selectionStrategy;
+
+    SubsettingEndpointGroupBuilder(EndpointGroup delegate, String clientId) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.clientId = requireNonNull(clientId, "clientId");
+        checkArgument(!clientId.isEmpty(), "clientId is empty.");
+    }
+
+    /**
+     * Sets the maximum number of {@link Endpoint}s selected from the delegate {@link EndpointGroup}.
+     * If not set, {@code 10} is used.
+     */
+    public SubsettingEndpointGroupBuilder subsetSize(int subsetSize) {
+        checkArgument(subsetSize > 0, "subsetSize: %s (expected: > 0)", subsetSize);
+        this.subsetSize = subsetSize;
+        return this;
+    }
+
+    /**
+     * Sets the {@link EndpointSelectionStrategy} of the {@link SubsettingEndpointGroup} being built.
+     * If not set, the {@link EndpointSelectionStrategy} of the delegate {@link EndpointGroup} is used.
+     */
+    public SubsettingEndpointGroupBuilder selectionStrategy(EndpointSelectionStrategy selectionStrategy) {
+        this.selectionStrategy = requireNonNull(selectionStrategy, "selectionStrategy");
+        return this;
+    }
+
+    /**
+     * Returns a newly created {@link SubsettingEndpointGroup} based on the properties set so far.
+     */
+    public SubsettingEndpointGroup build() {
+        final EndpointSelectionStrategy selectionStrategy =
+                this.selectionStrategy != null ? this.selectionStrategy : delegate.selectionStrategy();
+        return new SubsettingEndpointGroup(delegate, clientId, subsetSize, selectionStrategy);
+    }
+}
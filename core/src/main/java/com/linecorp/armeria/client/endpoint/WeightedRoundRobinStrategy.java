@@ -24,7 +24,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
 import com.google.common.collect.Streams;
 
 import com.linecorp.armeria.client.ClientRequestContext;
@@ -58,8 +60,17 @@ final class WeightedRoundRobinStrategy implements EndpointSelectionStrategy {
 
         WeightedRoundRobinSelector(EndpointGroup endpointGroup) {
             super(endpointGroup);
-            endpointsAndWeights = new EndpointsAndWeights(endpointGroup.endpoints());
-            endpointGroup.addListener(endpoints -> endpointsAndWeights = new EndpointsAndWeights(endpoints));
+            if (endpointGroup instanceof DynamicEndpointGroup) {
+                // Apply only the changes rather than rebuilding from all endpoints,
+                // which matters when a large group changes frequently.
+                endpointsAndWeights = EndpointsAndWeights.of(ImmutableList.of());
+                ((DynamicEndpointGroup) endpointGroup).addEndpointsChangeListener(
+                        (unused, added, removed) ->
+                                endpointsAndWeights = endpointsAndWeights.update(added, removed));
+            } else {
+                endpointsAndWeights = EndpointsAndWeights.of(endpointGroup.endpoints());
+                endpointGroup.addListener(endpoints -> endpointsAndWeights = EndpointsAndWeights.of(endpoints));
+            }
         }
 
         @Override
@@ -119,20 +130,27 @@ final class WeightedRoundRobinStrategy implements EndpointSelectionStrategy {
         // and mark the start index of the group.
         //
         private static final class EndpointsAndWeights {
+
+            private static final Comparator<Endpoint> comparator =
+                    Comparator.comparing(Endpoint::weight)
+                              .thenComparing(Endpoint::host)
+                              .thenComparingInt(Endpoint::port);
+
+            static EndpointsAndWeights of(Iterable<Endpoint> endpoints) {
+                return new EndpointsAndWeights(
+                        Streams.stream(endpoints)
+                               .filter(e -> e.weight() > 0) // only process endpoint with weight > 0
+                               .sorted(comparator)
+                               .collect(toImmutableList()));
+            }
+
             private final List<Endpoint> endpoints;
             private final boolean weighted;
             private final long totalWeight; // prevent overflow by using long
             private final List<EndpointsGroupByWeight> accumulatedGroups;
 
-            EndpointsAndWeights(Iterable<Endpoint> endpoints) {
-
-                // prepare immutable endpoints
-                this.endpoints = Streams.stream(endpoints)
-                                        .filter(e -> e.weight() > 0) // only process endpoint with weight > 0
-                                        .sorted(Comparator.comparing(Endpoint::weight)
-                                                          .thenComparing(Endpoint::host)
-                                                          .thenComparingInt(Endpoint::port))
-                                        .collect(toImmutableList());
+            private EndpointsAndWeights(List<Endpoint> endpoints) {
+                this.endpoints = endpoints;
                 final long numEndpoints = this.endpoints.size();
 
                 // get min weight, max weight and number of distinct weight
@@ -175,6 +193,39 @@ final class WeightedRoundRobinStrategy implements EndpointSelectionStrategy {
                 weighted = minWeight != maxWeight;
             }
 
+            /**
+             * Returns a new instance with the specified changes applied. The endpoints are merged into
+             * the already sorted endpoints, so that only the added endpoints need to be sorted.
+             */
+            EndpointsAndWeights update(List<Endpoint> added, List<Endpoint> removed) {
+                final List<Endpoint> sortedAdded = added.stream()
+                                                        .filter(e -> e.weight() > 0)
+                                                        .sorted(comparator)
+                                                        .collect(toImmutableList());
+                // Endpoint.equals() does not compare weights, so keep them to remove the exact endpoints.
+                final Multimap<Endpoint, Integer> toRemove = ArrayListMultimap.create();
+                for (Endpoint endpoint : removed) {
+                    toRemove.put(endpoint, endpoint.weight());
+                }
+
+                final ImmutableList.Builder<Endpoint> builder =
+                        ImmutableList.builderWithExpectedSize(endpoints.size() + sortedAdded.size());
+                int i = 0;
+                for (Endpoint endpoint : endpoints) {
+                    if (!toRemove.isEmpty() && toRemove.remove(endpoint, endpoint.weight())) {
+                        continue;
+                    }
+                    while (i < sortedAdded.size() && comparator.compare(sortedAdded.get(i), endpoint) < 0) {
+                        builder.add(sortedAdded.get(i++));
+                    }
+                    builder.add(endpoint);
+                }
+                for (; i < sortedAdded.size(); i++) {
+                    builder.add(sortedAdded.get(i));
+                }
+                return new EndpointsAndWeights(builder.build());
+            }
+
             @Nullable
             Endpoint selectEndpoint(int currentSequence) {
                 if (endpoints.isEmpty()) {
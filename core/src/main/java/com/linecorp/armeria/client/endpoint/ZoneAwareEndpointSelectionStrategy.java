@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+
+/**
+ * An {@link EndpointSelectionStrategy} which prefers the {@link Endpoint}s in the same zone as the client,
+ * spilling over to the other zones when the local zone does not have enough {@link Endpoint}s.
+ *
+ * @see EndpointSelectionStrategy#zoneAware(String, EndpointSelectionStrategy)
+ */
+final class ZoneAwareEndpointSelectionStrategy implements EndpointSelectionStrategy {
+
+    private final String localZone;
+    private final EndpointSelectionStrategy delegate;
+
+    ZoneAwareEndpointSelectionStrategy(String localZone, EndpointSelectionStrategy delegate) {
+        this.localZone = requireNonNull(localZone, "localZone");
+        this.delegate = requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public EndpointSelector newSelector(EndpointGroup endpointGroup) {
+        return new ZoneAwareEndpointSelector(endpointGroup, localZone, delegate);
+    }
+
+    @VisibleForTesting
+    static final class ZoneAwareEndpointSelector extends AbstractEndpointSelector {
+
+        private final String localZone;
+        @VisibleForTesting
+        final DerivedEndpoints localEndpoints;
+        @VisibleForTesting
+        final DerivedEndpoints remoteEndpoints;
+        private volatile double localRatio;
+
+        ZoneAwareEndpointSelector(EndpointGroup endpointGroup, String localZone,
+                                  EndpointSelectionStrategy delegate) {
+            super(endpointGroup);
+            this.localZone = localZone;
+            localEndpoints = new DerivedEndpoints(endpointGroup, delegate);
+            remoteEndpoints = new DerivedEndpoints(endpointGroup, delegate);
+
+            updateEndpoints(endpointGroup.endpoints());
+            endpointGroup.addListener(this::updateEndpoints);
+        }
+
+        private void updateEndpoints(List<Endpoint> endpoints) {
+            final ImmutableList.Builder<Endpoint> local = ImmutableList.builder();
+            final ImmutableList.Builder<Endpoint> remote = ImmutableList.builder();
+            final Set<String> zones = new HashSet<>();
+            boolean hasUnknownZone = false;
+            long localWeight = 0;
+            long totalWeight = 0;
+            for (Endpoint e : endpoints) {
+                final String zone = e.zone();
+                if (zone == null) {
+                    hasUnknownZone = true;
+                } else {
+                    zones.add(zone);
+                }
+                if (localZone.equals(zone)) {
+                    local.add(e);
+                    localWeight += e.weight();
+                } else {
+                    remote.add(e);
+                }
+                totalWeight += e.weight();
+            }
+
+            localEndpoints.set(local.build());
+            remoteEndpoints.set(remote.build());
+            localRatio = localRatio(localWeight, totalWeight, zones.size() + (hasUnknownZone ? 1 : 0));
+        }
+
+        /**
+         * Returns the ratio of the requests to send to the local zone.
+         */
+        @VisibleForTesting
+        static double localRatio(long localWeight, long totalWeight, int numZones) {
+            if (localWeight == 0) {
+                return 0;
+            }
+            if (localWeight == totalWeight) {
+                return 1;
+            }
+            final double localShare = (double) localWeight / totalWeight;
+            final double expectedShare = 1.0 / numZones;
+            return Math.min(1.0, localShare / expectedShare);
+        }
+
+        @Nullable
+        @Override
+        public Endpoint selectNow(ClientRequestContext ctx) {
+            final double localRatio = this.localRatio;
+            if (localRatio >= 1 || (localRatio > 0 && ThreadLocalRandom.current().nextDouble() < localRatio)) {
+                final Endpoint endpoint = localEndpoints.selectNow(ctx);
+                if (endpoint != null) {
+                    return endpoint;
+                }
+            }
+
+            final Endpoint endpoint = remoteEndpoints.selectNow(ctx);
+            if (endpoint != null) {
+                return endpoint;
+            }
+            // Fall back to the local zone if no endpoints in the other zones are available.
+            return localEndpoints.selectNow(ctx);
+        }
+    }
+}
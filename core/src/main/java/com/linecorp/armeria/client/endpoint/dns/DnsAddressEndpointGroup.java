@@ -88,6 +88,7 @@ public final class DnsAddressEndpointGroup extends DnsEndpointGroup {
                             int minTtl, int maxTtl, long queryTimeoutMillis,
                             DnsServerAddressStreamProvider serverAddressStreamProvider,
                             Backoff backoff, @Nullable ResolvedAddressTypes resolvedAddressTypes,
+                            @Nullable List<String> searchDomains, @Nullable Integer ndots,
                             String hostname, int port) {
 
         super(selectionStrategy, eventLoop, minTtl, maxTtl, queryTimeoutMillis, serverAddressStreamProvider,
@@ -96,6 +97,12 @@ public final class DnsAddressEndpointGroup extends DnsEndpointGroup {
                   if (resolvedAddressTypes != null) {
                       resolverBuilder.resolvedAddressTypes(resolvedAddressTypes);
                   }
+                  if (searchDomains != null) {
+                      resolverBuilder.searchDomains(searchDomains);
+                  }
+                  if (ndots != null) {
+                      resolverBuilder.ndots(ndots);
+                  }
               });
 
         this.hostname = hostname;
@@ -16,13 +16,15 @@
 package com.linecorp.armeria.client.endpoint.dns;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.List;
 
 import javax.annotation.Nullable;
 
-import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 
 import com.linecorp.armeria.client.Endpoint;
 import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
@@ -30,6 +32,8 @@ import com.linecorp.armeria.client.retry.Backoff;
 
 import io.netty.channel.EventLoop;
 import io.netty.resolver.ResolvedAddressTypes;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
 
 /**
  * Builds a new {@link DnsAddressEndpointGroup} that sources its {@link Endpoint} list from the {@code A} or
@@ -40,6 +44,10 @@ public final class DnsAddressEndpointGroupBuilder extends DnsEndpointGroupBuilde
     private int port;
     @Nullable
     private ResolvedAddressTypes resolvedAddressTypes;
+    @Nullable
+    private List<String> searchDomains;
+    @Nullable
+    private Integer ndots;
 
     DnsAddressEndpointGroupBuilder(String hostname) {
         super(hostname);
@@ -56,9 +64,47 @@ public final class DnsAddressEndpointGroupBuilder extends DnsEndpointGroupBuilde
         return this;
     }
 
-    @VisibleForTesting
-    DnsAddressEndpointGroupBuilder resolvedAddressTypes(ResolvedAddressTypes resolvedAddressTypes) {
-        this.resolvedAddressTypes = resolvedAddressTypes;
+    /**
+     * Sets {@link ResolvedAddressTypes} which is the list of the protocol families of the address resolved.
+     * The DNS record types to query are determined from the preferred protocol family of the operating
+     * system by default.
+     *
+     * @see DnsNameResolverBuilder#resolvedAddressTypes(ResolvedAddressTypes)
+     */
+    public DnsAddressEndpointGroupBuilder resolvedAddressTypes(ResolvedAddressTypes resolvedAddressTypes) {
+        this.resolvedAddressTypes = requireNonNull(resolvedAddressTypes, "resolvedAddressTypes");
+        return this;
+    }
+
+    /**
+     * Sets the search domains which are appended to the hostname when it has fewer dots than
+     * {@link #ndots(int)}. The search domains of the operating system are used by default.
+     *
+     * @see DnsNameResolverBuilder#searchDomains(Iterable)
+     */
+    public DnsAddressEndpointGroupBuilder searchDomains(Iterable<String> searchDomains) {
+        this.searchDomains = ImmutableList.copyOf(requireNonNull(searchDomains, "searchDomains"));
+        return this;
+    }
+
+    /**
+     * Sets the search domains which are appended to the hostname when it has fewer dots than
+     * {@link #ndots(int)}. The search domains of the operating system are used by default.
+     *
+     * @see DnsNameResolverBuilder#searchDomains(Iterable)
+     */
+    public DnsAddressEndpointGroupBuilder searchDomains(String... searchDomains) {
+        return searchDomains(ImmutableList.copyOf(requireNonNull(searchDomains, "searchDomains")));
+    }
+
+    /**
+     * Sets the number of dots which must appear in the hostname before an initial absolute query is made.
+     *
+     * @see DnsNameResolverBuilder#ndots(int)
+     */
+    public DnsAddressEndpointGroupBuilder ndots(int ndots) {
+        checkArgument(ndots >= 0, "ndots: %s (expected: >= 0)", ndots);
+        this.ndots = ndots;
         return this;
     }
 
@@ -68,7 +114,7 @@ public final class DnsAddressEndpointGroupBuilder extends DnsEndpointGroupBuilde
     public DnsAddressEndpointGroup build() {
         return new DnsAddressEndpointGroup(selectionStrategy(), eventLoop(), minTtl(), maxTtl(),
                                            queryTimeoutMillis(), serverAddressStreamProvider(), backoff(),
-                                           resolvedAddressTypes, hostname(), port);
+                                           resolvedAddressTypes, searchDomains, ndots, hostname(), port);
     }
 
     // Override the return type of the chaining methods in the superclass.
@@ -103,6 +149,12 @@ public final class DnsAddressEndpointGroupBuilder extends DnsEndpointGroupBuilde
         return (DnsAddressEndpointGroupBuilder) super.serverAddresses(serverAddresses);
     }
 
+    @Override
+    public DnsAddressEndpointGroupBuilder serverAddressStreamProvider(
+            DnsServerAddressStreamProvider serverAddressStreamProvider) {
+        return (DnsAddressEndpointGroupBuilder) super.serverAddressStreamProvider(serverAddressStreamProvider);
+    }
+
     @Override
     public DnsAddressEndpointGroupBuilder backoff(Backoff backoff) {
         return (DnsAddressEndpointGroupBuilder) super.backoff(backoff);
@@ -153,6 +153,17 @@ abstract class DnsEndpointGroupBuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link DnsServerAddressStreamProvider} which provides the DNS server addresses to send
+     * queries to. Operating system default is used by default.
+     */
+    public DnsEndpointGroupBuilder serverAddressStreamProvider(
+            DnsServerAddressStreamProvider serverAddressStreamProvider) {
+        this.serverAddressStreamProvider = requireNonNull(serverAddressStreamProvider,
+                                                          "serverAddressStreamProvider");
+        return this;
+    }
+
     final Backoff backoff() {
         return backoff;
     }
@@ -23,6 +23,7 @@ import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
 import com.linecorp.armeria.client.retry.Backoff;
 
 import io.netty.channel.EventLoop;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
 
 /**
  * Builds a new {@link DnsServiceEndpointGroup} that sources its {@link Endpoint} list from the {@code SRV}
@@ -75,6 +76,12 @@ public final class DnsServiceEndpointGroupBuilder extends DnsEndpointGroupBuilde
         return (DnsServiceEndpointGroupBuilder) super.serverAddresses(serverAddresses);
     }
 
+    @Override
+    public DnsServiceEndpointGroupBuilder serverAddressStreamProvider(
+            DnsServerAddressStreamProvider serverAddressStreamProvider) {
+        return (DnsServiceEndpointGroupBuilder) super.serverAddressStreamProvider(serverAddressStreamProvider);
+    }
+
     @Override
     public DnsServiceEndpointGroupBuilder backoff(Backoff backoff) {
         return (DnsServiceEndpointGroupBuilder) super.backoff(backoff);
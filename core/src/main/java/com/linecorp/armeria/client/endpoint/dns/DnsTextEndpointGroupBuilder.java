@@ -26,6 +26,7 @@ import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
 import com.linecorp.armeria.client.retry.Backoff;
 
 import io.netty.channel.EventLoop;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
 
 /**
  * Builds a new {@link DnsTextEndpointGroup} that sources its {@link Endpoint} list from the {@code TXT}
@@ -81,6 +82,12 @@ public final class DnsTextEndpointGroupBuilder extends DnsEndpointGroupBuilder {
         return (DnsTextEndpointGroupBuilder) super.serverAddresses(serverAddresses);
     }
 
+    @Override
+    public DnsTextEndpointGroupBuilder serverAddressStreamProvider(
+            DnsServerAddressStreamProvider serverAddressStreamProvider) {
+        return (DnsTextEndpointGroupBuilder) super.serverAddressStreamProvider(serverAddressStreamProvider);
+    }
+
     @Override
     public DnsTextEndpointGroupBuilder backoff(Backoff backoff) {
         return (DnsTextEndpointGroupBuilder) super.backoff(backoff);
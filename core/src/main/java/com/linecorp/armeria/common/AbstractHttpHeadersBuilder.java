@@ -36,7 +36,13 @@ abstract class AbstractHttpHeadersBuilder<SELF extends HttpHeadersBuilder> exten
 
     @Override
     final HttpHeadersBase newSetters(HttpHeadersBase parent, boolean shallowCopy) {
-        return new HttpHeadersBase(parent, shallowCopy);
+        if (shallowCopy) {
+            return new HttpHeadersBase(parent, true);
+        }
+        // Share the entries with the parent rather than copying all of them, because it is common to
+        // derive new headers by adding a few headers, e.g. in a decorator. The overlay makes a deep copy
+        // by itself when an entry of the parent has to be removed.
+        return new HttpHeadersBase(parent);
     }
 
     // Shortcuts
@@ -30,6 +30,9 @@ import com.google.errorprone.annotations.FormatMethod;
 import com.google.errorprone.annotations.FormatString;
 
 import com.linecorp.armeria.common.FixedHttpResponse.RegularFixedHttpResponse;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+import io.netty.buffer.ByteBuf;
 
 /**
  * A complete HTTP response whose content is readily available as a single {@link HttpData}.
@@ -62,11 +65,7 @@ public interface AggregatedHttpResponse extends AggregatedHttpMessage {
     static AggregatedHttpResponse of(HttpStatus status) {
         requireNonNull(status, "status");
         checkArgument(!status.isInformational(), "status: %s (expected: a non-1xx status)", status);
-        if (status.isContentAlwaysEmpty()) {
-            return of(ResponseHeaders.of(status));
-        } else {
-            return of(status, MediaType.PLAIN_TEXT_UTF_8, status.toHttpData());
-        }
+        return DefaultAggregatedHttpResponse.ofStatus(status);
     }
 
     /**
@@ -275,6 +274,39 @@ public interface AggregatedHttpResponse extends AggregatedHttpMessage {
      */
     HttpStatus status();
 
+    /**
+     * Returns whether this response is frozen via {@link #toFrozen()}.
+     */
+    @UnstableApi
+    default boolean isFrozen() {
+        return false;
+    }
+
+    /**
+     * Returns the frozen response which has the same headers, content and trailers with this response.
+     * A frozen response is meant to be sent many times, such as a health check response, a fixed error
+     * response and a small static content, e.g.
+     * <pre>{@code
+     * private static final AggregatedHttpResponse RESPONSE =
+     *         AggregatedHttpResponse.of(HttpStatus.OK, MediaType.JSON_UTF_8, "{\"status\":\"ok\"}")
+     *                               .toFrozen();
+     *
+     * public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) {
+     *     return RESPONSE.toHttpResponse();
+     * }
+     * }</pre>
+     *
+     * <p>The headers of a frozen response are {@linkplain ResponseHeaders#toConstant() constant}, so that
+     * a server converts them only once. The content of a frozen response is copied into an unreleasable
+     * direct buffer, so that a server writes its {@linkplain ByteBuf#retainedDuplicate() duplicate} rather than
+     * copying the content into a new direct buffer for every response. Note that the content of this
+     * response is not closed by this method.
+     */
+    @UnstableApi
+    default AggregatedHttpResponse toFrozen() {
+        return DefaultAggregatedHttpResponse.freeze(this);
+    }
+
     /**
      * Converts this response into a new complete {@link HttpResponse}.
      *
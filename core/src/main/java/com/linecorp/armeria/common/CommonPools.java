@@ -32,7 +32,10 @@ public final class CommonPools {
 
     // Threads spawned as needed and reused, with a 60s timeout and unbounded work queue.
     private static final BlockingTaskExecutor BLOCKING_TASK_EXECUTOR =
-            BlockingTaskExecutor.builder().threadNamePrefix("armeria-common-blocking-tasks").build();
+            BlockingTaskExecutor.builder()
+                                .threadNamePrefix("armeria-common-blocking-tasks")
+                                .virtualThreads(Flags.useVirtualThreadBlockingTaskExecutor())
+                                .build();
     private static final EventLoopGroup WORKER_GROUP =
             EventLoopGroups.newEventLoopGroup(Flags.numCommonWorkers(), "armeria-common-worker", true);
 
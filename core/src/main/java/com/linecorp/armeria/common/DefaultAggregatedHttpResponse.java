@@ -16,24 +16,101 @@
 
 package com.linecorp.armeria.common;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.linecorp.armeria.internal.common.ArmeriaHttpUtil.setOrRemoveContentLength;
+
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.annotation.Nullable;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 
+import io.netty.buffer.Unpooled;
+
 final class DefaultAggregatedHttpResponse extends AbstractAggregatedHttpMessage
         implements AggregatedHttpResponse {
 
+    /**
+     * The frozen responses of the well-known {@link HttpStatus}es, indexed by their status codes.
+     */
+    private static final AtomicReferenceArray<AggregatedHttpResponse> statusResponses =
+            new AtomicReferenceArray<>(1000);
+
+    static AggregatedHttpResponse ofStatus(HttpStatus status) {
+        final int code = status.code();
+        if (code < 0 || code >= statusResponses.length() || HttpStatus.valueOf(code) != status) {
+            // Do not cache the HttpStatus with a custom reason phrase.
+            return newStatusResponse(status);
+        }
+
+        final AggregatedHttpResponse res = statusResponses.get(code);
+        if (res != null) {
+            return res;
+        }
+
+        // Multiple threads may create the same response at the same time, but it's harmless.
+        final AggregatedHttpResponse newRes = newStatusResponse(status).toFrozen();
+        if (statusResponses.compareAndSet(code, null, newRes)) {
+            return newRes;
+        }
+        return statusResponses.get(code);
+    }
+
+    private static AggregatedHttpResponse newStatusResponse(HttpStatus status) {
+        if (status.isContentAlwaysEmpty()) {
+            return AggregatedHttpResponse.of(ResponseHeaders.of(status));
+        } else {
+            return AggregatedHttpResponse.of(status, MediaType.PLAIN_TEXT_UTF_8, status.toHttpData());
+        }
+    }
+
+    static AggregatedHttpResponse freeze(AggregatedHttpResponse res) {
+        if (res.isFrozen()) {
+            return res;
+        }
+
+        final List<ResponseHeaders> informationals =
+                res.informationals().stream()
+                   .map(ResponseHeaders::toConstant)
+                   .collect(toImmutableList());
+        final HttpData content = res.content();
+        final HttpHeaders trailers = res.trailers();
+        final ResponseHeaders headers = setOrRemoveContentLength(res.headers(), content, trailers);
+        return new DefaultAggregatedHttpResponse(informationals, headers.toConstant(),
+                                                 freeze(content), trailers, true);
+    }
+
+    private static HttpData freeze(HttpData content) {
+        if (content.isEmpty()) {
+            return HttpData.empty();
+        }
+
+        // Use a JDK direct buffer so that its memory is reclaimed by GC rather than by release(),
+        // and make it unreleasable so that it can be written to many channels.
+        final ByteBuffer nioBuf = ByteBuffer.allocateDirect(content.length());
+        nioBuf.put(content.array());
+        nioBuf.flip();
+        return new ByteBufHttpData(Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(nioBuf)), false);
+    }
+
     private final List<ResponseHeaders> informationals;
     private final ResponseHeaders headers;
+    private final boolean frozen;
 
     DefaultAggregatedHttpResponse(List<ResponseHeaders> informationals, ResponseHeaders headers,
                                  HttpData content, HttpHeaders trailers) {
+        this(informationals, headers, content, trailers, false);
+    }
+
+    private DefaultAggregatedHttpResponse(List<ResponseHeaders> informationals, ResponseHeaders headers,
+                                          HttpData content, HttpHeaders trailers, boolean frozen) {
         super(content, trailers);
         this.informationals = informationals;
         this.headers = headers;
+        this.frozen = frozen;
     }
 
     @Override
@@ -51,6 +128,11 @@ final class DefaultAggregatedHttpResponse extends AbstractAggregatedHttpMessage
         return headers;
     }
 
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     @Override
     public int hashCode() {
         int result = informationals().hashCode();
@@ -89,6 +171,10 @@ final class DefaultAggregatedHttpResponse extends AbstractAggregatedHttpMessage
         helper.add("headers", headers())
               .add("content", content());
 
+        if (frozen) {
+            helper.add("frozen", true);
+        }
+
         if (!trailers().isEmpty()) {
             helper.add("trailers", trailers());
         }
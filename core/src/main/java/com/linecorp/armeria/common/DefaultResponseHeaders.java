@@ -24,13 +24,24 @@ final class DefaultResponseHeaders extends DefaultHttpHeaders implements Respons
     private HttpStatus status;
     @Nullable
     private Cookies cookies;
+    private final boolean constant;
 
     DefaultResponseHeaders(HttpHeadersBase headers) {
+        this(headers, false);
+    }
+
+    /**
+     * Creates a shallow copy of the specified {@link HttpHeadersBase}, marking it as constant if
+     * {@code constant} is {@code true}.
+     */
+    DefaultResponseHeaders(HttpHeadersBase headers, boolean constant) {
         super(headers);
+        this.constant = constant;
     }
 
     DefaultResponseHeaders(HttpHeaderGetters headers) {
         super(headers);
+        constant = false;
     }
 
     @Override
@@ -52,6 +63,19 @@ final class DefaultResponseHeaders extends DefaultHttpHeaders implements Respons
         return this.cookies = setCookie();
     }
 
+    @Override
+    public boolean isConstant() {
+        return constant;
+    }
+
+    @Override
+    public ResponseHeaders toConstant() {
+        if (constant) {
+            return this;
+        }
+        return new DefaultResponseHeaders(this, true);
+    }
+
     @Override
     public ResponseHeadersBuilder toBuilder() {
         return new DefaultResponseHeadersBuilder(this);
@@ -53,12 +53,15 @@ import com.linecorp.armeria.client.DnsResolverGroupBuilder;
 import com.linecorp.armeria.client.retry.Backoff;
 import com.linecorp.armeria.client.retry.RetryingClient;
 import com.linecorp.armeria.client.retry.RetryingRpcClient;
+import com.linecorp.armeria.common.util.BlockingTaskExecutorBuilder;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.common.util.InetAddressPredicates;
 import com.linecorp.armeria.common.util.Sampler;
 import com.linecorp.armeria.common.util.SystemInfo;
 import com.linecorp.armeria.common.util.TransportType;
 import com.linecorp.armeria.internal.common.util.SslContextUtil;
+import com.linecorp.armeria.internal.common.util.VirtualThreads;
+import com.linecorp.armeria.server.Server;
 import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.server.Service;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -209,6 +212,12 @@ public final class Flags {
                    DEFAULT_NUM_COMMON_BLOCKING_TASK_THREADS,
                    value -> value > 0);
 
+    private static final boolean USE_VIRTUAL_THREAD_BLOCKING_TASK_EXECUTOR =
+            getBoolean("useVirtualThreadBlockingTaskExecutor", false,
+                       value -> VirtualThreads.isSupported() || !value);
+
+    private static final boolean USE_TIMER_WHEEL_FOR_TIMEOUTS = getBoolean("useTimerWheelForTimeouts", false);
+
     private static final long DEFAULT_DEFAULT_MAX_REQUEST_LENGTH = 10 * 1024 * 1024; // 10 MiB
     private static final long DEFAULT_MAX_REQUEST_LENGTH =
             getLong("defaultMaxRequestLength",
@@ -307,6 +316,22 @@ public final class Flags {
                    value -> value >= Http2CodecUtil.MAX_FRAME_SIZE_LOWER_BOUND &&
                             value <= Http2CodecUtil.MAX_FRAME_SIZE_UPPER_BOUND);
 
+    // From Netty WeightedFairQueueByteDistributor default allocation quantum
+    private static final int DEFAULT_HTTP2_STREAM_WRITE_QUANTUM = 1024;
+    private static final int HTTP2_STREAM_WRITE_QUANTUM =
+            getInt("http2StreamWriteQuantum",
+                   DEFAULT_HTTP2_STREAM_WRITE_QUANTUM,
+                   value -> value > 0);
+
+    private static final boolean USE_HTTP2_WINDOW_AUTO_TUNING = getBoolean("useHttp2WindowAutoTuning", false);
+
+    // From gRPC's default maximum auto-tuned flow-control window size
+    private static final int DEFAULT_HTTP2_MAX_AUTO_TUNED_WINDOW_SIZE = 8 * 1024 * 1024; // 8MiB
+    private static final int HTTP2_MAX_AUTO_TUNED_WINDOW_SIZE =
+            getInt("http2MaxAutoTunedWindowSize",
+                   DEFAULT_HTTP2_MAX_AUTO_TUNED_WINDOW_SIZE,
+                   value -> value > 0);
+
     // Can't use 0xFFFFFFFFL because some implementations use a signed 32-bit integer to store HTTP/2 SETTINGS
     // parameter values, thus anything greater than 0x7FFFFFFF will break them or make them unhappy.
     private static final long DEFAULT_DEFAULT_HTTP2_MAX_STREAMS_PER_CONNECTION = Integer.MAX_VALUE;
@@ -340,6 +365,8 @@ public final class Flags {
                    DEFAULT_DEFAULT_HTTP1_MAX_CHUNK_SIZE,
                    value -> value >= 0);
 
+    private static final boolean USE_ARMERIA_HTTP1_DECODER = getBoolean("useArmeriaHttp1Decoder", false);
+
     private static final boolean DEFAULT_USE_HTTP2_PREFACE = getBoolean("defaultUseHttp2Preface", true);
     private static final boolean DEFAULT_USE_HTTP1_PIPELINING = getBoolean("defaultUseHttp1Pipelining", false);
 
@@ -539,7 +566,9 @@ public final class Flags {
      * <p>The default value of this flag is {@code null}, which means only one
      * {@link RequestContextStorageProvider} must be found via Java SPI. If there are more than one,
      * you must specify the {@code -Dcom.linecorp.armeria.requestContextStorageProvider=<FQCN>} JVM option to
-     * choose the {@link RequestContextStorageProvider}.
+     * choose the {@link RequestContextStorageProvider}. The built-in
+     * {@link VirtualThreadRequestContextStorageProvider} can be chosen with this option as well,
+     * even if it is not registered via Java SPI.
      */
     @Nullable
     public static String requestContextStorageProvider() {
@@ -679,6 +708,37 @@ public final class Flags {
         return NUM_COMMON_BLOCKING_TASK_THREADS;
     }
 
+    /**
+     * Returns whether the {@linkplain CommonPools#blockingTaskExecutor() blocking task executor} runs each task
+     * in its own virtual thread instead of in a pool of platform threads. Up to
+     * {@link #numCommonBlockingTaskThreads()} tasks run concurrently.
+     * Note that this flag has no effect if a user specified the blocking task executor explicitly
+     * via {@link ServerBuilder#blockingTaskExecutor(ScheduledExecutorService, boolean)}.
+     *
+     * <p>This flag is disabled by default. Specify the
+     * {@code -Dcom.linecorp.armeria.useVirtualThreadBlockingTaskExecutor=true} JVM option to enable it.
+     * This flag is ignored if the current JVM does not support virtual threads, i.e. Java 20 or below.
+     *
+     * @see BlockingTaskExecutorBuilder#virtualThreads(boolean)
+     */
+    public static boolean useVirtualThreadBlockingTaskExecutor() {
+        return USE_VIRTUAL_THREAD_BLOCKING_TASK_EXECUTOR;
+    }
+
+    /**
+     * Returns whether request, response, write and connection idle timeouts are scheduled in a hashed
+     * timer wheel of each event loop rather than as individual scheduled tasks of the event loop.
+     * A timer wheel schedules and cancels a timeout in constant time and reduces the churn of the event loop's
+     * scheduled task queue when there are many concurrent requests or connections, at the cost of
+     * firing a timeout up to 10 milliseconds later than its deadline.
+     *
+     * <p>This flag is disabled by default. Specify the
+     * {@code -Dcom.linecorp.armeria.useTimerWheelForTimeouts=true} JVM option to enable it.
+     */
+    public static boolean useTimerWheelForTimeouts() {
+        return USE_TIMER_WHEEL_FOR_TIMEOUTS;
+    }
+
     /**
      * Returns the default server-side maximum length of a request. Note that this flag has no effect if a user
      * specified the value explicitly via {@link ServerBuilder#maxRequestLength(long)}.
@@ -823,6 +883,19 @@ public final class Flags {
         return DEFAULT_HTTP1_MAX_CHUNK_SIZE;
     }
 
+    /**
+     * Returns whether a {@link Server} decodes HTTP/1 requests with Armeria's own decoder instead of
+     * Netty's {@link io.netty.handler.codec.http.HttpServerCodec}. Armeria's decoder parses the request
+     * headers directly into {@link RequestHeaders} with the well-known header names interned, so that
+     * the headers do not need to be converted from Netty's {@link io.netty.handler.codec.http.HttpHeaders}.
+     *
+     * <p>This flag is disabled by default. Specify the
+     * {@code -Dcom.linecorp.armeria.useArmeriaHttp1Decoder=true} JVM option to enable it.
+     */
+    public static boolean useArmeriaHttp1Decoder() {
+        return USE_ARMERIA_HTTP1_DECODER;
+    }
+
     /**
      * Returns the default value of the {@link ClientFactoryBuilder#useHttp2Preface(boolean)} option.
      * If enabled, the HTTP/2 connection preface is sent immediately for a cleartext HTTP/2 connection,
@@ -976,6 +1049,51 @@ public final class Flags {
         return DEFAULT_HTTP2_MAX_FRAME_SIZE;
     }
 
+    /**
+     * Returns the number of bytes a stream of an HTTP/2 connection may write in its turn when multiple
+     * streams have pending data. The pending data of the streams are written in a weighted round-robin
+     * manner within the flow-control windows, so a smaller quantum lets small responses interleave
+     * with a large streaming response sooner at the cost of writing smaller DATA frames.
+     *
+     * <p>The default value of this flag is {@value #DEFAULT_HTTP2_STREAM_WRITE_QUANTUM}, which is the same as
+     * the default of Netty, so Netty's own flow controller is used unless specified. Consider a larger value,
+     * e.g. {@code 16384}, if the connections mostly carry bulk transfers, or keep the default if the latency
+     * of the small responses multiplexed with them matters more.
+     * Specify the {@code -Dcom.linecorp.armeria.http2StreamWriteQuantum=<integer>} JVM option
+     * to override the default value.
+     */
+    public static int http2StreamWriteQuantum() {
+        return HTTP2_STREAM_WRITE_QUANTUM;
+    }
+
+    /**
+     * Returns whether the flow-control windows of HTTP/2 connections are enlarged automatically based on
+     * the bandwidth-delay product measured with PING frames. When enabled, a PING is sent when the first
+     * DATA frame is received and the number of bytes received until its ACK arrives is used as an estimate
+     * of the bandwidth-delay product. If twice the estimate exceeds the current window, both the connection
+     * window and the initial stream window are grown, up to {@link #http2MaxAutoTunedWindowSize()}.
+     * A window is never shrunk.
+     *
+     * <p>This flag is disabled by default. Specify the
+     * {@code -Dcom.linecorp.armeria.useHttp2WindowAutoTuning=true} JVM option to enable it.
+     */
+    public static boolean useHttp2WindowAutoTuning() {
+        return USE_HTTP2_WINDOW_AUTO_TUNING;
+    }
+
+    /**
+     * Returns the maximum flow-control window size of an HTTP/2 connection and its streams that can be set
+     * when {@link #useHttp2WindowAutoTuning()} is enabled. A window whose initial size is already greater
+     * than this value is not tuned.
+     *
+     * <p>The default value of this flag is {@value #DEFAULT_HTTP2_MAX_AUTO_TUNED_WINDOW_SIZE}.
+     * Specify the {@code -Dcom.linecorp.armeria.http2MaxAutoTunedWindowSize=<integer>} JVM option
+     * to override the default value.
+     */
+    public static int http2MaxAutoTunedWindowSize() {
+        return HTTP2_MAX_AUTO_TUNED_WINDOW_SIZE;
+    }
+
     /**
      * Returns the default value of the {@link ServerBuilder#http2MaxStreamsPerConnection(long)} option.
      * Note that this flag has no effect if a user specified the value explicitly via
@@ -93,6 +93,14 @@ class HttpHeadersBase
         endOfStream = parent.endOfStream;
     }
 
+    /**
+     * Creates a copy-on-write overlay of the specified immutable {@link HttpHeadersBase}.
+     */
+    HttpHeadersBase(HttpHeadersBase base) {
+        super(base);
+        endOfStream = base.endOfStream;
+    }
+
     /**
      * Creates a deep copy of the specified {@link HttpHeaderGetters}.
      */
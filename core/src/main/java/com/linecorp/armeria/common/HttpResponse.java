@@ -170,11 +170,8 @@ public interface HttpResponse extends Response, HttpMessage {
         requireNonNull(status, "status");
         checkArgument(!status.isInformational(), "status: %s (expected: a non-1xx status)", status);
 
-        if (status.isContentAlwaysEmpty()) {
-            return new OneElementFixedHttpResponse(ResponseHeaders.of(status));
-        } else {
-            return of(status, MediaType.PLAIN_TEXT_UTF_8, status.toHttpData());
-        }
+        // Reuse the frozen response so that its headers and content are encoded only once.
+        return DefaultAggregatedHttpResponse.ofStatus(status).toHttpResponse();
     }
 
     /**
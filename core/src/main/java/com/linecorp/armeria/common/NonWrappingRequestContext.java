@@ -27,6 +27,7 @@ import javax.annotation.Nullable;
 
 import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.Channel;
@@ -137,7 +138,7 @@ public abstract class NonWrappingRequestContext implements RequestContext {
     @SuppressWarnings("unchecked")
     public <A extends SocketAddress> A remoteAddress() {
         final Channel ch = channel();
-        return ch != null ? (A) ch.remoteAddress() : null;
+        return ch != null ? (A) ChannelUtil.remoteAddress(ch) : null;
     }
 
     @Nullable
@@ -145,7 +146,7 @@ public abstract class NonWrappingRequestContext implements RequestContext {
     @SuppressWarnings("unchecked")
     public <A extends SocketAddress> A localAddress() {
         final Channel ch = channel();
-        return ch != null ? (A) ch.localAddress() : null;
+        return ch != null ? (A) ChannelUtil.localAddress(ch) : null;
     }
 
     @Override
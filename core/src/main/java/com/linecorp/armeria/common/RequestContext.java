@@ -18,6 +18,7 @@ package com.linecorp.armeria.common;
 
 import static java.util.Objects.requireNonNull;
 
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.util.Iterator;
@@ -45,6 +46,8 @@ import com.linecorp.armeria.client.ClientRequestContext;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.logging.RequestLogAccess;
 import com.linecorp.armeria.common.logging.RequestLogBuilder;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.InProcessAddress;
 import com.linecorp.armeria.common.util.SafeCloseable;
 import com.linecorp.armeria.internal.common.JavaVersionSpecific;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
@@ -322,12 +325,16 @@ public interface RequestContext {
 
     /**
      * Returns the remote address of this request, or {@code null} if the connection is not established yet.
+     * Note that it is a {@link DomainSocketAddress} or an {@link InProcessAddress} rather than
+     * an {@link InetSocketAddress} if the connection was made via a Unix domain socket or in-process.
      */
     @Nullable
     <A extends SocketAddress> A remoteAddress();
 
     /**
      * Returns the local address of this request, or {@code null} if the connection is not established yet.
+     * Note that it is a {@link DomainSocketAddress} or an {@link InProcessAddress} rather than
+     * an {@link InetSocketAddress} if the connection was made via a Unix domain socket or in-process.
      */
     @Nullable
     <A extends SocketAddress> A localAddress();
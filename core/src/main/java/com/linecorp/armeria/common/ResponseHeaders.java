@@ -22,6 +22,8 @@ import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
 /**
  * Immutable HTTP/2 headers for an {@link HttpResponse}.
  *
@@ -192,6 +194,39 @@ public interface ResponseHeaders extends HttpHeaders, ResponseHeaderGetters {
         return new DefaultResponseHeaders(headers);
     }
 
+    /**
+     * Returns whether this {@link ResponseHeaders} has been marked as constant via {@link #toConstant()}.
+     */
+    @UnstableApi
+    default boolean isConstant() {
+        return false;
+    }
+
+    /**
+     * Returns the {@link ResponseHeaders} which has the same entries with this {@link ResponseHeaders} but
+     * is marked as constant. A server encodes the constant {@link ResponseHeaders} only once and reuses
+     * the encoded form for every response, so it is recommended to mark the {@link ResponseHeaders} which
+     * are stored in a {@code static} field and sent repetitively, e.g.
+     * <pre>{@code
+     * private static final ResponseHeaders HEADERS =
+     *         ResponseHeaders.builder(HttpStatus.OK)
+     *                        .contentType(MediaType.JSON_UTF_8)
+     *                        .set(HttpHeaderNames.CACHE_CONTROL, "no-cache")
+     *                        .build()
+     *                        .toConstant();
+     * }</pre>
+     *
+     * <p>Note that the {@link ResponseHeaders} derived from a constant {@link ResponseHeaders} via
+     * {@link #toBuilder()} or {@link #withMutations(Consumer)} are not constant unless they are unmodified.
+     * Do not mark the {@link ResponseHeaders} which are created for each response as constant, because
+     * a server keeps the encoded form of a constant {@link ResponseHeaders} until it is garbage-collected.
+     */
+    @UnstableApi
+    default ResponseHeaders toConstant() {
+        // Copy into the default implementation, which knows how to mark itself as constant.
+        return builder().add(this).build().toConstant();
+    }
+
     @Override
     ResponseHeadersBuilder toBuilder();
 
@@ -35,6 +35,7 @@ import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
@@ -78,6 +79,13 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
      */
     static final int HASH_CODE_SEED = 0xc2b2ae35;
 
+    /**
+     * The maximum number of the overlays stacked on a {@link StringMultimap}. A new overlay on top of
+     * the {@link StringMultimap} with this depth becomes a deep copy, so that the iteration does not
+     * need to visit too many layers.
+     */
+    static final int MAX_OVERLAY_DEPTH = 8;
+
     // XXX(anuraaga): It could be an interesting future optimization if we can use something similar
     //                to an EnumSet when it's applicable, with just one each of commonly known header names.
     //                It should be very common.
@@ -88,6 +96,14 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     private final Entry firstGroupHead;
     private Entry secondGroupHead;
 
+    /**
+     * The immutable {@link StringMultimap} whose entries are shared with this overlay,
+     * or {@code null} if this is not an overlay.
+     */
+    @Nullable
+    private StringMultimap<IN_NAME, NAME> base;
+    private int overlayDepth;
+
     int size;
 
     StringMultimap(int sizeHint) {
@@ -111,6 +127,8 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
             entries = parent.entries;
             firstGroupHead = parent.firstGroupHead;
             secondGroupHead = parent.secondGroupHead;
+            base = parent.base;
+            overlayDepth = parent.overlayDepth;
             size = parent.size;
         } else {
             @SuppressWarnings("unchecked")
@@ -122,6 +140,34 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
         }
     }
 
+    /**
+     * Creates a copy-on-write overlay of the specified immutable {@link StringMultimap}. The overlay shares
+     * the entries with the {@code base} and keeps only the entries added to it, until an entry of
+     * the {@code base} has to be removed or the entry which belongs to the first group is added.
+     * The overlay makes a deep copy of the {@code base} at that moment, which means an overlay costs
+     * no more than a deep copy.
+     *
+     * <p>Note that the {@code base} must never be modified, because the overlay shares the entries
+     * with the {@code base}.
+     */
+    StringMultimap(StringMultimap<IN_NAME, NAME> base) {
+        hashMask = base.hashMask;
+        firstGroupHead = secondGroupHead = new Entry();
+        if (base.overlayDepth < MAX_OVERLAY_DEPTH) {
+            // Copy only the bucket heads. The new entries will be prepended to the shared buckets.
+            entries = base.entries.clone();
+            this.base = base;
+            overlayDepth = base.overlayDepth + 1;
+            size = base.size;
+        } else {
+            @SuppressWarnings("unchecked")
+            final Entry[] newEntries = (Entry[]) Array.newInstance(Entry.class, base.entries.length);
+            entries = newEntries;
+            final boolean succeeded = addFast(base);
+            assert succeeded;
+        }
+    }
+
     /**
      * Creates a deep copy of the specified {@link StringMultimapGetters}.
      */
@@ -472,10 +518,12 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
             return ImmutableSet.of();
         }
         final ImmutableSet.Builder<NAME> builder = ImmutableSet.builder();
-        Entry e = firstGroupHead.after;
-        while (e != firstGroupHead) {
-            builder.add(e.getKey());
-            e = e.after;
+        for (StringMultimap<IN_NAME, NAME> layer : layers()) {
+            Entry e = layer.firstGroupHead.after;
+            while (e != layer.firstGroupHead) {
+                builder.add(e.getKey());
+                e = e.after;
+            }
         }
         return builder.build();
     }
@@ -749,17 +797,18 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
 
         @SuppressWarnings("unchecked")
         final StringMultimap<IN_NAME, NAME> multimap = (StringMultimap<IN_NAME, NAME>) entries;
-        Entry e = multimap.firstGroupHead.after;
-
-        while (e != multimap.firstGroupHead) {
-            final NAME key = e.key;
-            final String value = e.value;
-            assert key != null;
-            assert value != null;
-            if (!existingNames.contains(key)) {
-                add0(e.hash, index(e.hash), key, value);
+        for (StringMultimap<IN_NAME, NAME> layer : multimap.layers()) {
+            Entry e = layer.firstGroupHead.after;
+            while (e != layer.firstGroupHead) {
+                final NAME key = e.key;
+                final String value = e.value;
+                assert key != null;
+                assert value != null;
+                if (!existingNames.contains(key)) {
+                    add0(e.hash, index(e.hash), key, value);
+                }
+                e = e.after;
             }
-            e = e.after;
         }
 
         return true;
@@ -853,6 +902,8 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     final void clear() {
         Arrays.fill(entries, null);
         secondGroupHead = firstGroupHead.before = firstGroupHead.after = firstGroupHead;
+        base = null;
+        overlayDepth = 0;
         size = 0;
     }
 
@@ -868,6 +919,11 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
 
     private void add0(int h, int i, NAME name, String value) {
         validateValue(value);
+        if (base != null && isFirstGroup(name)) {
+            // The first-group entries of an overlay have to appear before the second-group entries of
+            // its base during iteration.
+            materialize();
+        }
         // Update the hash table.
         entries[i] = new Entry(h, name, value, entries[i]);
         ++size;
@@ -880,14 +936,16 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
 
         @SuppressWarnings("unchecked")
         final StringMultimap<IN_NAME, NAME> multimap = (StringMultimap<IN_NAME, NAME>) entries;
-        Entry e = multimap.firstGroupHead.after;
-        while (e != multimap.firstGroupHead) {
-            final NAME key = e.key;
-            final String value = e.value;
-            assert key != null;
-            assert value != null;
-            add0(e.hash, index(e.hash), key, value);
-            e = e.after;
+        for (StringMultimap<IN_NAME, NAME> layer : multimap.layers()) {
+            Entry e = layer.firstGroupHead.after;
+            while (e != layer.firstGroupHead) {
+                final NAME key = e.key;
+                final String value = e.value;
+                assert key != null;
+                assert value != null;
+                add0(e.hash, index(e.hash), key, value);
+                e = e.after;
+            }
         }
 
         return true;
@@ -919,6 +977,16 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
             return null;
         }
 
+        if (base != null) {
+            if (!contains(name)) {
+                return null;
+            }
+            // Make a deep copy so that the entries shared with the base are not unlinked.
+            materialize();
+            e = entries[i];
+            assert e != null;
+        }
+
         String value = null;
         Entry next = e.next;
         while (next != null) {
@@ -955,6 +1023,48 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
         return value;
     }
 
+    /**
+     * Returns the {@link StringMultimap}s which contain the entries of this {@link StringMultimap},
+     * from the bottom-most base to this {@link StringMultimap}.
+     */
+    private StringMultimap<IN_NAME, NAME>[] layers() {
+        @SuppressWarnings("unchecked")
+        final StringMultimap<IN_NAME, NAME>[] layers =
+                (StringMultimap<IN_NAME, NAME>[]) Array.newInstance(StringMultimap.class, overlayDepth + 1);
+        StringMultimap<IN_NAME, NAME> layer = this;
+        for (int i = overlayDepth; i >= 0; i--) {
+            assert layer != null;
+            layers[i] = layer;
+            layer = layer.base;
+        }
+        return layers;
+    }
+
+    /**
+     * Turns this overlay into a deep copy of its base and the entries added to it.
+     */
+    private void materialize() {
+        assert base != null;
+        final List<Entry> oldEntries = new ArrayList<>(size);
+        for (StringMultimap<IN_NAME, NAME> layer : layers()) {
+            Entry e = layer.firstGroupHead.after;
+            while (e != layer.firstGroupHead) {
+                oldEntries.add(e);
+                e = e.after;
+            }
+        }
+
+        clear();
+        for (Entry e : oldEntries) {
+            final NAME key = e.key;
+            final String value = e.value;
+            assert key != null;
+            assert value != null;
+            entries[index(e.hash)] = new Entry(e.hash, key, value, entries[index(e.hash)]);
+            ++size;
+        }
+    }
+
     // Conversion functions
 
     @Nullable
@@ -1055,25 +1165,29 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     }
 
     private boolean equalsFast(StringMultimap<IN_NAME, NAME> that) {
-        Entry e = firstGroupHead.after;
-        while (e != firstGroupHead) {
-            final NAME name = e.getKey();
-            if (!getAllReversed(name).equals(that.getAllReversed(name))) {
-                return false;
+        for (StringMultimap<IN_NAME, NAME> layer : layers()) {
+            Entry e = layer.firstGroupHead.after;
+            while (e != layer.firstGroupHead) {
+                final NAME name = e.getKey();
+                if (!getAllReversed(name).equals(that.getAllReversed(name))) {
+                    return false;
+                }
+                e = e.after;
             }
-            e = e.after;
         }
         return true;
     }
 
     private boolean equalsSlow(StringMultimapGetters<IN_NAME, NAME> that) {
-        Entry e = firstGroupHead.after;
-        while (e != firstGroupHead) {
-            final NAME name = e.getKey();
-            if (!Iterators.elementsEqual(valueIterator(name), that.valueIterator(name))) {
-                return false;
+        for (StringMultimap<IN_NAME, NAME> layer : layers()) {
+            Entry e = layer.firstGroupHead.after;
+            while (e != layer.firstGroupHead) {
+                final NAME name = e.getKey();
+                if (!Iterators.elementsEqual(valueIterator(name), that.valueIterator(name))) {
+                    return false;
+                }
+                e = e.after;
             }
-            e = e.after;
         }
         return true;
     }
@@ -1087,10 +1201,12 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
         final StringBuilder sb = new StringBuilder(7 + size * 20);
         sb.append('[');
 
-        Entry e = firstGroupHead.after;
-        while (e != firstGroupHead) {
-            sb.append(e.key).append('=').append(e.value).append(", ");
-            e = e.after;
+        for (StringMultimap<IN_NAME, NAME> layer : layers()) {
+            Entry e = layer.firstGroupHead.after;
+            while (e != layer.firstGroupHead) {
+                sb.append(e.key).append('=').append(e.value).append(", ");
+                e = e.after;
+            }
         }
 
         final int length = sb.length();
@@ -1101,21 +1217,49 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     // Iterator implementations
 
     private final class EntryIterator implements Iterator<Map.Entry<NAME, String>> {
-        private Entry current = firstGroupHead;
+        @Nullable
+        private final StringMultimap<IN_NAME, NAME>[] layers;
+        private int layerIndex;
+        private Entry head;
+        private Entry current;
+
+        EntryIterator() {
+            if (base == null) {
+                layers = null;
+                head = firstGroupHead;
+            } else {
+                layers = layers();
+                head = layers[0].firstGroupHead;
+            }
+            current = head;
+        }
 
         @Override
         public boolean hasNext() {
-            return current.after != firstGroupHead;
+            if (current.after != head) {
+                return true;
+            }
+            if (layers == null) {
+                return false;
+            }
+
+            // Move on to the next layer which has an entry.
+            while (layerIndex + 1 < layers.length) {
+                head = current = layers[++layerIndex].firstGroupHead;
+                if (current.after != head) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         @Override
         public Map.Entry<NAME, String> next() {
-            current = current.after;
-
-            if (current == firstGroupHead) {
+            if (!hasNext()) {
                 throw new NoSuchElementException();
             }
 
+            current = current.after;
             return current;
         }
 
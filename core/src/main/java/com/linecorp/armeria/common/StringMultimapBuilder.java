@@ -114,7 +114,7 @@ abstract class StringMultimapBuilder<
         }
 
         if (parent != null) {
-            // Make a deep copy of the parent.
+            // Make a copy of the parent, which may share the entries with the immutable parent.
             return delegate = newSetters(parent, false);
         }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.common;
+
+import static com.linecorp.armeria.internal.common.RequestContextUtil.newIllegalContextPoppingException;
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.Nullable;
+
+import io.netty.util.concurrent.FastThreadLocalThread;
+import io.netty.util.internal.InternalThreadLocalMap;
+
+/**
+ * A {@link RequestContextStorage} which stores the {@link RequestContext} in a {@link FastThreadLocalThread}'s
+ * {@link InternalThreadLocalMap} for Netty event loop threads, and in a single-field holder for other threads
+ * such as virtual threads. Netty's {@link InternalThreadLocalMap} is a large indexed table which is allocated
+ * for every thread that touches a {@code FastThreadLocal}, which is wasteful when there are many short-lived
+ * virtual threads.
+ */
+enum VirtualThreadRequestContextStorage implements RequestContextStorage {
+
+    INSTANCE;
+
+    private static final ThreadLocal<ContextHolder> holders = ThreadLocal.withInitial(ContextHolder::new);
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends RequestContext> T push(RequestContext toPush) {
+        requireNonNull(toPush, "toPush");
+        if (Thread.currentThread() instanceof FastThreadLocalThread) {
+            return ThreadLocalRequestContextStorage.INSTANCE.push(toPush);
+        }
+
+        final ContextHolder holder = holders.get();
+        final RequestContext oldCtx = holder.ctx;
+        holder.ctx = toPush;
+        return (T) oldCtx;
+    }
+
+    @Override
+    public void pop(RequestContext current, @Nullable RequestContext toRestore) {
+        requireNonNull(current, "current");
+        if (Thread.currentThread() instanceof FastThreadLocalThread) {
+            ThreadLocalRequestContextStorage.INSTANCE.pop(current, toRestore);
+            return;
+        }
+
+        final ContextHolder holder = holders.get();
+        final RequestContext contextInHolder = holder.ctx;
+        if (current != contextInHolder) {
+            throw newIllegalContextPoppingException(current, contextInHolder);
+        }
+        holder.ctx = toRestore;
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends RequestContext> T currentOrNull() {
+        if (Thread.currentThread() instanceof FastThreadLocalThread) {
+            return ThreadLocalRequestContextStorage.INSTANCE.currentOrNull();
+        }
+        return (T) holders.get().ctx;
+    }
+
+    private static final class ContextHolder {
+        @Nullable
+        RequestContext ctx;
+    }
+}
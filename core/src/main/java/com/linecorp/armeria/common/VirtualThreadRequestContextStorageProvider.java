@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.common;
+
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A {@link RequestContextStorageProvider} which provides a {@link RequestContextStorage} that is cheap
+ * to use from virtual threads. Netty event loop threads keep using the same thread-local slot as
+ * {@link RequestContextStorage#threadLocal()}, while other threads use a lightweight single-field holder
+ * instead of allocating Netty's {@code InternalThreadLocalMap}.
+ *
+ * <p>This provider is built into Armeria and thus does not need to be registered via Java SPI.
+ * Specify the {@code -Dcom.linecorp.armeria.requestContextStorageProvider=<FQCN>} JVM option with
+ * the fully qualified class name of this class to use it.
+ *
+ * <p>Note that {@code java.lang.ScopedValue} is not used because its bindings are lexically scoped while
+ * {@link RequestContextStorage#push(RequestContext)} and
+ * {@link RequestContextStorage#pop(RequestContext, RequestContext)} may be called from different frames.
+ */
+@UnstableApi
+public final class VirtualThreadRequestContextStorageProvider implements RequestContextStorageProvider {
+
+    @Override
+    public RequestContextStorage newStorage() {
+        return VirtualThreadRequestContextStorage.INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return VirtualThreadRequestContextStorageProvider.class.getSimpleName();
+    }
+}
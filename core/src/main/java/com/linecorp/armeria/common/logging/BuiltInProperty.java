@@ -19,6 +19,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -55,50 +56,50 @@ import com.linecorp.armeria.server.ServiceRequestContext;
 public enum BuiltInProperty {
     /**
      * {@code "remote.host"} - the host name part of the remote socket address. Unavailable if the connection
-     * is not established yet.
+     * is not established yet or it is not an IP connection, e.g. a Unix domain socket.
      */
     REMOTE_HOST("remote.host", log -> {
-        final InetSocketAddress addr = log.context().remoteAddress();
+        final InetSocketAddress addr = inetSocketAddress(log.context().remoteAddress());
         return addr != null ? addr.getHostString() : null;
     }),
     /**
      * {@code "remote.ip"} - the IP address part of the remote socket address. Unavailable if the connection
-     * is not established yet.
+     * is not established yet or it is not an IP connection, e.g. a Unix domain socket.
      */
     REMOTE_IP("remote.ip", log -> {
-        final InetSocketAddress addr = log.context().remoteAddress();
+        final InetSocketAddress addr = inetSocketAddress(log.context().remoteAddress());
         return addr != null ? addr.getAddress().getHostAddress() : null;
     }),
     /**
      * {@code "remote.port"} - the port number part of the remote socket address. Unavailable if the connection
-     * is not established yet.
+     * is not established yet or it is not an IP connection, e.g. a Unix domain socket.
      */
     REMOTE_PORT("remote.port", log -> {
-        final InetSocketAddress addr = log.context().remoteAddress();
+        final InetSocketAddress addr = inetSocketAddress(log.context().remoteAddress());
         return addr != null ? String.valueOf(addr.getPort()) : null;
     }),
     /**
      * {@code "local.host"} - the host name part of the local socket address. Unavailable if the connection
-     * is not established yet.
+     * is not established yet or it is not an IP connection, e.g. a Unix domain socket.
      */
     LOCAL_HOST("local.host", log -> {
-        final InetSocketAddress addr = log.context().localAddress();
+        final InetSocketAddress addr = inetSocketAddress(log.context().localAddress());
         return addr != null ? addr.getHostString() : null;
     }),
     /**
      * {@code "local.ip"} - the IP address part of the local socket address. Unavailable if the connection
-     * is not established yet.
+     * is not established yet or it is not an IP connection, e.g. a Unix domain socket.
      */
     LOCAL_IP("local.ip", log -> {
-        final InetSocketAddress addr = log.context().localAddress();
+        final InetSocketAddress addr = inetSocketAddress(log.context().localAddress());
         return addr != null ? addr.getAddress().getHostAddress() : null;
     }),
     /**
      * {@code "local.port"} - the port number part of the local socket address. Unavailable if the connection
-     * is not established yet.
+     * is not established yet or it is not an IP connection, e.g. a Unix domain socket.
      */
     LOCAL_PORT("local.port", log -> {
-        final InetSocketAddress addr = log.context().localAddress();
+        final InetSocketAddress addr = inetSocketAddress(log.context().localAddress());
         return addr != null ? String.valueOf(addr.getPort()) : null;
     }),
     /**
@@ -388,8 +389,11 @@ public enum BuiltInProperty {
         final String authority;
         if (ctx instanceof ServiceRequestContext) {
             final ServiceRequestContext sCtx = (ServiceRequestContext) ctx;
-            final int port = ((InetSocketAddress) sCtx.remoteAddress()).getPort();
+            final InetSocketAddress remoteAddress = inetSocketAddress(sCtx.remoteAddress());
             final String hostname = sCtx.config().virtualHost().defaultHostname();
+            // A domain socket or an in-process address has no port number.
+            final int port = remoteAddress != null ? remoteAddress.getPort()
+                                                   : ctx.sessionProtocol().defaultPort();
             if (port == ctx.sessionProtocol().defaultPort()) {
                 authority = hostname;
             } else {
@@ -413,6 +417,15 @@ public enum BuiltInProperty {
         return authority;
     }
 
+    /**
+     * Returns the specified {@link SocketAddress} if it is an {@link InetSocketAddress}. {@code null} is
+     * returned for a domain socket or an in-process address, which has no IP address nor port number.
+     */
+    @Nullable
+    private static InetSocketAddress inetSocketAddress(@Nullable SocketAddress addr) {
+        return addr instanceof InetSocketAddress ? (InetSocketAddress) addr : null;
+    }
+
     @Nullable
     private static String getAuthority0(RequestContext ctx, HttpHeaders headers) {
         String authority = headers.get(HttpHeaderNames.AUTHORITY);
@@ -16,13 +16,18 @@
 
 package com.linecorp.armeria.common.logging;
 
+import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 import com.google.common.annotations.VisibleForTesting;
 
 import com.linecorp.armeria.common.Request;
 import com.linecorp.armeria.common.util.TextFormatter;
 
+import io.netty.util.NetUtil;
+
 /**
  * A holder class which has the timing information about a connection attempt before a client
  * sends a {@link Request}.
@@ -32,7 +37,7 @@ import com.linecorp.armeria.common.util.TextFormatter;
 public final class ClientConnectionTimings {
 
     @VisibleForTesting
-    static final int TO_STRING_BUILDER_CAPACITY = 466;
+    static final int TO_STRING_BUILDER_CAPACITY = 646;
 
     private final long connectionAcquisitionStartTimeMicros;
     private final long connectionAcquisitionDurationNanos;
@@ -43,6 +48,10 @@ public final class ClientConnectionTimings {
     private final long socketConnectDurationNanos;
     private final long pendingAcquisitionStartTimeMicros;
     private final long pendingAcquisitionDurationNanos;
+    private final long tlsHandshakeStartTimeMicros;
+    private final long tlsHandshakeDurationNanos;
+    @Nullable
+    private final InetSocketAddress connectedAddress;
 
     /**
      * Returns a newly created {@link ClientConnectionTimingsBuilder}.
@@ -54,7 +63,9 @@ public final class ClientConnectionTimings {
     ClientConnectionTimings(long connectionAcquisitionStartTimeMicros, long connectionAcquisitionDurationNanos,
                             long dnsResolutionStartTimeMicros, long dnsResolutionDurationNanos,
                             long socketConnectStartTimeMicros, long socketConnectDurationNanos,
-                            long pendingAcquisitionStartTimeMicros, long pendingAcquisitionDurationNanos) {
+                            long pendingAcquisitionStartTimeMicros, long pendingAcquisitionDurationNanos,
+                            long tlsHandshakeStartTimeMicros, long tlsHandshakeDurationNanos,
+                            @Nullable InetSocketAddress connectedAddress) {
         this.connectionAcquisitionStartTimeMicros = connectionAcquisitionStartTimeMicros;
         this.connectionAcquisitionDurationNanos = connectionAcquisitionDurationNanos;
         this.dnsResolutionStartTimeMicros = dnsResolutionStartTimeMicros;
@@ -63,6 +74,9 @@ public final class ClientConnectionTimings {
         this.socketConnectDurationNanos = socketConnectDurationNanos;
         this.pendingAcquisitionStartTimeMicros = pendingAcquisitionStartTimeMicros;
         this.pendingAcquisitionDurationNanos = pendingAcquisitionDurationNanos;
+        this.tlsHandshakeStartTimeMicros = tlsHandshakeStartTimeMicros;
+        this.tlsHandshakeDurationNanos = tlsHandshakeDurationNanos;
+        this.connectedAddress = connectedAddress;
     }
 
     /**
@@ -81,8 +95,8 @@ public final class ClientConnectionTimings {
 
     /**
      * Returns the duration which was taken to get a connection, in nanoseconds. This value is greater than or
-     * equal to the sum of {@link #dnsResolutionDurationNanos()}, {@link #socketConnectDurationNanos()} and
-     * {@link #pendingAcquisitionDurationNanos()}.
+     * equal to the sum of {@link #dnsResolutionDurationNanos()}, {@link #socketConnectDurationNanos()},
+     * {@link #tlsHandshakeDurationNanos()} and {@link #pendingAcquisitionDurationNanos()}.
      */
     public long connectionAcquisitionDurationNanos() {
         return connectionAcquisitionDurationNanos;
@@ -181,9 +195,53 @@ public final class ClientConnectionTimings {
         return pendingAcquisitionDurationNanos;
     }
 
+    /**
+     * Returns the time when the client started the TLS handshake with a remote peer, in microseconds since
+     * the epoch.
+     *
+     * @return the start time, or {@code -1} if there was no TLS handshake.
+     */
+    public long tlsHandshakeStartTimeMicros() {
+        return tlsHandshakeStartTimeMicros;
+    }
+
+    /**
+     * Returns the time when the client started the TLS handshake with a remote peer, in milliseconds since
+     * the epoch.
+     *
+     * @return the start time, or {@code -1} if there was no TLS handshake.
+     */
+    public long tlsHandshakeStartTimeMillis() {
+        if (tlsHandshakeStartTimeMicros >= 0) {
+            return TimeUnit.MICROSECONDS.toMillis(tlsHandshakeStartTimeMicros);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the duration which was taken to complete the TLS handshake with a remote peer, in nanoseconds.
+     *
+     * @return the duration, or {@code -1} if there was no TLS handshake.
+     */
+    public long tlsHandshakeDurationNanos() {
+        return tlsHandshakeDurationNanos;
+    }
+
+    /**
+     * Returns the address of the remote peer which the client established a new connection to. If a domain
+     * name was resolved into more than one address, this is the address which won the connection race,
+     * which is not always the first resolved address.
+     *
+     * @return the address, or {@code null} if there was no new connection.
+     */
+    @Nullable
+    public InetSocketAddress connectedAddress() {
+        return connectedAddress;
+    }
+
     @Override
     public String toString() {
-        // 33 + 31 + 26 + 23 + 26 + 23 + 31 + 28 + 45 * 4 + 16 * 4 + 1 = 466
+        // 33 + 31 + 26 + 23 + 26 + 23 + 31 + 28 + 24 + 23 + 19 + 45 * 5 + 16 * 5 + 53 + 1 = 646
         final StringBuilder buf = new StringBuilder(TO_STRING_BUILDER_CAPACITY);
         buf.append("{connectionAcquisitionStartTime=");
         TextFormatter.appendEpochMicros(buf, connectionAcquisitionStartTimeMicros);
@@ -203,6 +261,16 @@ public final class ClientConnectionTimings {
             buf.append(", socketConnectDuration=");
             TextFormatter.appendElapsed(buf, socketConnectDurationNanos);
         }
+        if (connectedAddress != null) {
+            buf.append(", connectedAddress=");
+            buf.append(NetUtil.toSocketAddressString(connectedAddress));
+        }
+        if (tlsHandshakeDurationNanos >= 0) {
+            buf.append(", tlsHandshakeStartTime=");
+            TextFormatter.appendEpochMicros(buf, tlsHandshakeStartTimeMicros);
+            buf.append(", tlsHandshakeDuration=");
+            TextFormatter.appendElapsed(buf, tlsHandshakeDurationNanos);
+        }
         if (pendingAcquisitionDurationNanos >= 0) {
             buf.append(", pendingAcquisitionStartTime=");
             TextFormatter.appendEpochMicros(buf, pendingAcquisitionStartTimeMicros);
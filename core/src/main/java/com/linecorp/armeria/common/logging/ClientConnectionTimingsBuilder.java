@@ -17,6 +17,11 @@
 package com.linecorp.armeria.common.logging;
 
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.net.InetSocketAddress;
+
+import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +50,14 @@ public final class ClientConnectionTimingsBuilder {
     private long pendingAcquisitionEndNanos;
     private boolean pendingAcquisitionEndSet;
 
+    private long tlsHandshakeStartTimeMicros;
+    private long tlsHandshakeStartNanos;
+    private long tlsHandshakeEndNanos;
+    private boolean tlsHandshakeEndSet;
+
+    @Nullable
+    private InetSocketAddress connectedAddress;
+
     ClientConnectionTimingsBuilder() {
         connectionAcquisitionStartTimeMicros = SystemInfo.currentTimeMicros();
         connectionAcquisitionStartNanos = System.nanoTime();
@@ -84,6 +97,14 @@ public final class ClientConnectionTimingsBuilder {
         return this;
     }
 
+    /**
+     * Sets the address of the remote peer which the client established a new connection to.
+     */
+    public ClientConnectionTimingsBuilder connectedAddress(InetSocketAddress connectedAddress) {
+        this.connectedAddress = requireNonNull(connectedAddress, "connectedAddress");
+        return this;
+    }
+
     /**
      * Sets the time when the client started to wait for the completion of an existing connection attempt
      * in order to use one connection for HTTP/2.
@@ -109,6 +130,28 @@ public final class ClientConnectionTimingsBuilder {
         return this;
     }
 
+    /**
+     * Sets the time when the client started the TLS handshake with a remote peer.
+     */
+    public ClientConnectionTimingsBuilder tlsHandshakeStart() {
+        tlsHandshakeStartTimeMicros = SystemInfo.currentTimeMicros();
+        tlsHandshakeStartNanos = System.nanoTime();
+        return this;
+    }
+
+    /**
+     * Sets the time when the client completed the TLS handshake with a remote peer.
+     *
+     * @throws IllegalStateException if {@link #tlsHandshakeStart()} is not invoked before calling this.
+     */
+    public ClientConnectionTimingsBuilder tlsHandshakeEnd() {
+        checkState(tlsHandshakeStartTimeMicros > 0, "tlsHandshakeStart() is not called yet.");
+        checkState(!tlsHandshakeEndSet, "tlsHandshakeEnd() is already called.");
+        tlsHandshakeEndNanos = System.nanoTime();
+        tlsHandshakeEndSet = true;
+        return this;
+    }
+
     /**
      * Returns a newly-created {@link ClientConnectionTimings} instance.
      */
@@ -119,6 +162,9 @@ public final class ClientConnectionTimingsBuilder {
         if (pendingAcquisitionStartTimeMicros > 0 && !pendingAcquisitionEndSet) {
             logger.warn("Should call pendingAcquisitionEnd() if pendingAcquisitionStart() was invoked.");
         }
+        if (tlsHandshakeStartTimeMicros > 0 && !tlsHandshakeEndSet) {
+            logger.warn("Should call tlsHandshakeEnd() if tlsHandshakeStart() was invoked.");
+        }
 
         return new ClientConnectionTimings(
                 connectionAcquisitionStartTimeMicros,
@@ -128,6 +174,9 @@ public final class ClientConnectionTimingsBuilder {
                 socketConnectEndSet ? socketConnectStartTimeMicros : -1,
                 socketConnectEndSet ? socketConnectEndNanos - socketConnectStartNanos : -1,
                 pendingAcquisitionEndSet ? pendingAcquisitionStartTimeMicros : -1,
-                pendingAcquisitionEndSet ? pendingAcquisitionEndNanos - pendingAcquisitionStartNanos : -1);
+                pendingAcquisitionEndSet ? pendingAcquisitionEndNanos - pendingAcquisitionStartNanos : -1,
+                tlsHandshakeEndSet ? tlsHandshakeStartTimeMicros : -1,
+                tlsHandshakeEndSet ? tlsHandshakeEndNanos - tlsHandshakeStartNanos : -1,
+                connectedAddress);
     }
 }
@@ -17,6 +17,7 @@
 package com.linecorp.armeria.common.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import java.time.Duration;
@@ -28,6 +29,7 @@ import java.util.function.Function;
 
 import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.internal.common.util.VirtualThreads;
 
 /**
  * A builder that is useful for creating a {@link ScheduledExecutorService}.
@@ -43,6 +45,7 @@ public final class BlockingTaskExecutorBuilder {
     private boolean daemon = true;
     private int priority = Thread.NORM_PRIORITY;
     private Function<? super Runnable, ? extends Runnable> taskFunction = Function.identity();
+    private boolean virtualThreads;
 
     BlockingTaskExecutorBuilder() {}
 
@@ -56,7 +59,9 @@ public final class BlockingTaskExecutorBuilder {
     }
 
     /**
-     * Sets the number of blocking task executor threads.
+     * Sets the number of blocking task executor threads. If
+     * {@linkplain #virtualThreads(boolean) virtual threads} are enabled, this is the maximum number of
+     * the tasks that run concurrently, and {@code 0} means unbounded.
      */
     public BlockingTaskExecutorBuilder numThreads(int numThreads) {
         checkArgument(numThreads >= 0, "numThreads: %s (expected: >= 0)", numThreads);
@@ -124,10 +129,43 @@ public final class BlockingTaskExecutorBuilder {
         return this;
     }
 
+    /**
+     * Sets whether the executor runs the tasks in virtual threads rather than in a pool of platform threads.
+     * When enabled, the executor starts a new virtual thread for each task, so that a task does not wait
+     * in a queue for a worker thread. Up to {@link #numThreads(int)} tasks run concurrently, and the virtual
+     * threads of the other tasks wait until a running task completes. The delayed and periodic tasks, e.g.
+     * {@link ScheduledExecutorService#schedule(Runnable, long, TimeUnit)}, still run on a pool of
+     * up to {@link #numThreads(int)} virtual worker threads, which are discarded after the
+     * {@linkplain #keepAliveTimeMillis(long) keep alive time}.
+     * {@link #daemon(boolean)} and {@link #priority(int)} are ignored because virtual threads are always
+     * daemon threads with {@link Thread#NORM_PRIORITY}. Virtual threads require Java 21 or above.
+     *
+     * @throws IllegalStateException if the current JVM does not support virtual threads
+     */
+    public BlockingTaskExecutorBuilder virtualThreads(boolean virtualThreads) {
+        checkState(!virtualThreads || VirtualThreads.isSupported(),
+                   "virtual threads are not supported (expected: Java 21 or above)");
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     /**
      * Returns a newly-created {@link BlockingTaskExecutor} with the properties given so far.
      */
     public BlockingTaskExecutor build() {
+        if (virtualThreads) {
+            final ThreadFactory threadFactory = VirtualThreads.newThreadFactory(threadNamePrefix, taskFunction);
+            final ScheduledThreadPoolExecutor scheduledExecutor =
+                    new ScheduledThreadPoolExecutor(numThreads, threadFactory);
+            scheduledExecutor.setKeepAliveTime(keepAliveTimeMillis, TimeUnit.MILLISECONDS);
+            if (keepAliveTimeMillis > 0) {
+                // Let the idle virtual workers terminate. They are cheap to start again on demand.
+                scheduledExecutor.allowCoreThreadTimeOut(true);
+            }
+            return new VirtualThreadBlockingTaskExecutor(VirtualThreads.newThreadPerTaskExecutor(threadFactory),
+                                                         scheduledExecutor, numThreads);
+        }
+
         final ThreadFactory threadFactory = ThreadFactories.builder(threadNamePrefix)
                                                            .daemon(daemon)
                                                            .priority(priority)
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import javax.annotation.Nullable;
+
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A Unix domain socket address. Unlike an {@link InetSocketAddress}, it has neither an IP address nor
+ * a port number, so the code that reads a remote or local address must handle it explicitly.
+ *
+ * <p>A {@link DomainSocketAddress} is represented as the host name {@code "unix%3A<URL-encoded path>"},
+ * e.g. {@code "unix%3A%2Fvar%2Frun%2Fapp.sock"}, when it is specified as the host of
+ * a {@link com.linecorp.armeria.client.Endpoint}. See {@link #authority()}.
+ */
+@UnstableApi
+public final class DomainSocketAddress extends SocketAddress {
+
+    private static final long serialVersionUID = 4214386709431367620L;
+
+    private static final String AUTHORITY_PREFIX = "unix%3A";
+
+    /**
+     * Returns a {@link DomainSocketAddress} for the specified {@link Path}.
+     */
+    public static DomainSocketAddress of(Path path) {
+        return of(requireNonNull(path, "path").toString());
+    }
+
+    /**
+     * Returns a {@link DomainSocketAddress} for the specified file system path.
+     */
+    public static DomainSocketAddress of(String path) {
+        requireNonNull(path, "path");
+        checkArgument(!path.isEmpty(), "path is empty.");
+        return new DomainSocketAddress(path);
+    }
+
+    /**
+     * Returns whether the specified host name or authority denotes a {@link DomainSocketAddress},
+     * i.e. it starts with {@code "unix%3A"}.
+     */
+    public static boolean isDomainSocketAuthority(String authority) {
+        requireNonNull(authority, "authority");
+        return authority.regionMatches(true, 0, AUTHORITY_PREFIX, 0, AUTHORITY_PREFIX.length());
+    }
+
+    /**
+     * Returns the {@link DomainSocketAddress} denoted by the specified host name which starts with
+     * {@code "unix%3A"}.
+     *
+     * @throws IllegalArgumentException if the specified host name does not denote a domain socket
+     */
+    public static DomainSocketAddress ofAuthority(String authority) {
+        checkArgument(isDomainSocketAuthority(authority),
+                      "authority: %s (expected: %s<URL-encoded path>)", authority, AUTHORITY_PREFIX);
+        return of(decodeAuthority(AUTHORITY_PREFIX, authority));
+    }
+
+    static String encodeAuthority(String prefix, String name) {
+        try {
+            return prefix + URLEncoder.encode(name, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new Error(e); // Never reached
+        }
+    }
+
+    static String decodeAuthority(String prefix, String authority) {
+        try {
+            return URLDecoder.decode(authority.substring(prefix.length()), StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new Error(e); // Never reached
+        }
+    }
+
+    private final String path;
+    private final String authority;
+
+    private DomainSocketAddress(String path) {
+        this.path = path;
+        authority = encodeAuthority(AUTHORITY_PREFIX, path);
+    }
+
+    /**
+     * Returns the file system path of this domain socket.
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * Returns the host name that denotes this domain socket, e.g. {@code "unix%3A%2Fvar%2Frun%2Fapp.sock"}.
+     */
+    public String authority() {
+        return authority;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DomainSocketAddress)) {
+            return false;
+        }
+        return path.equals(((DomainSocketAddress) o).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "unix:" + path;
+    }
+}
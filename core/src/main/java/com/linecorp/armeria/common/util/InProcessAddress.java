@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import javax.annotation.Nullable;
+
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * An address of a {@link com.linecorp.armeria.server.Server} in the same JVM. A connection to
+ * an {@link InProcessAddress} is made with Netty's local transport, which passes the encoded HTTP messages
+ * between the client and server event loops in memory without going through the network stack.
+ * Unlike an {@link InetSocketAddress}, it has neither an IP address nor a port number, so the code that
+ * reads a remote or local address must handle it explicitly.
+ *
+ * <p>The name of an {@link InProcessAddress} is case-sensitive, i.e. {@code "foo"} and {@code "Foo"} denote
+ * two different addresses. An {@link InProcessAddress} is represented as the host name
+ * {@code "inproc%3A<URL-encoded name>"}, e.g. {@code "inproc%3Amy-service"}, when it is specified as
+ * the host of a {@link com.linecorp.armeria.client.Endpoint}. See {@link #authority()}.
+ */
+@UnstableApi
+public final class InProcessAddress extends SocketAddress {
+
+    private static final long serialVersionUID = -2779513567298372170L;
+
+    private static final String AUTHORITY_PREFIX = "inproc%3A";
+
+    /**
+     * Returns an {@link InProcessAddress} with the specified name.
+     */
+    public static InProcessAddress of(String name) {
+        requireNonNull(name, "name");
+        checkArgument(!name.isEmpty(), "name is empty.");
+        return new InProcessAddress(name);
+    }
+
+    /**
+     * Returns whether the specified host name or authority denotes an {@link InProcessAddress},
+     * i.e. it starts with {@code "inproc%3A"}.
+     */
+    public static boolean isInProcessAuthority(String authority) {
+        requireNonNull(authority, "authority");
+        return authority.regionMatches(true, 0, AUTHORITY_PREFIX, 0, AUTHORITY_PREFIX.length());
+    }
+
+    /**
+     * Returns the {@link InProcessAddress} denoted by the specified host name which starts with
+     * {@code "inproc%3A"}.
+     *
+     * @throws IllegalArgumentException if the specified host name does not denote an in-process address
+     */
+    public static InProcessAddress ofAuthority(String authority) {
+        checkArgument(isInProcessAuthority(authority),
+                      "authority: %s (expected: %s<URL-encoded name>)", authority, AUTHORITY_PREFIX);
+        return of(DomainSocketAddress.decodeAuthority(AUTHORITY_PREFIX, authority));
+    }
+
+    private final String name;
+    private final String authority;
+
+    private InProcessAddress(String name) {
+        this.name = name;
+        authority = DomainSocketAddress.encodeAuthority(AUTHORITY_PREFIX, name);
+    }
+
+    /**
+     * Returns the name of this address.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the host name that denotes this address, e.g. {@code "inproc%3Amy-service"}.
+     */
+    public String authority() {
+        return authority;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InProcessAddress)) {
+            return false;
+        }
+        return name.equals(((InProcessAddress) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "inproc:" + name;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.common.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link BlockingTaskExecutor} which starts a new virtual thread for each task, so that a task never waits
+ * in a queue for a worker thread. The number of the tasks that run concurrently is bounded by
+ * a {@link Semaphore}, which is acquired by the virtual thread of a task. Only the delayed and periodic tasks
+ * go through the {@link ScheduledThreadPoolExecutor}, whose workers are virtual threads as well.
+ */
+final class VirtualThreadBlockingTaskExecutor extends AbstractExecutorService
+        implements BlockingTaskExecutor {
+
+    private final ExecutorService taskExecutor;
+    private final ScheduledThreadPoolExecutor scheduledExecutor;
+    @Nullable
+    private final Semaphore permits;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param taskExecutor the {@link ExecutorService} which starts a new virtual thread for each task
+     * @param scheduledExecutor the {@link ScheduledThreadPoolExecutor} which runs the delayed tasks
+     * @param maxConcurrency the maximum number of the tasks that run concurrently. {@code 0} means
+     *                       unbounded.
+     */
+    VirtualThreadBlockingTaskExecutor(ExecutorService taskExecutor,
+                                      ScheduledThreadPoolExecutor scheduledExecutor, int maxConcurrency) {
+        this.taskExecutor = taskExecutor;
+        this.scheduledExecutor = scheduledExecutor;
+        permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        requireNonNull(command, "command");
+        if (permits == null) {
+            taskExecutor.execute(command);
+            return;
+        }
+
+        taskExecutor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // Interrupted by shutdownNow() or Future.cancel(true) before the task started.
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return scheduledExecutor.schedule(command, delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return scheduledExecutor.schedule(callable, delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+                                                  TimeUnit unit) {
+        return scheduledExecutor.scheduleAtFixedRate(command, initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                                                     TimeUnit unit) {
+        return scheduledExecutor.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        taskExecutor.shutdown();
+        scheduledExecutor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> tasks = new ArrayList<>(taskExecutor.shutdownNow());
+        tasks.addAll(scheduledExecutor.shutdownNow());
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return taskExecutor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return taskExecutor.isTerminated() && scheduledExecutor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        if (!taskExecutor.awaitTermination(timeout, unit)) {
+            return false;
+        }
+        return scheduledExecutor.awaitTermination(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+}
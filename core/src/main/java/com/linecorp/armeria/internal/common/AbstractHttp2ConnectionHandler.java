@@ -28,11 +28,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 
 import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.metric.MoreMeters;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.server.Server;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -43,6 +47,7 @@ import io.netty.handler.codec.http2.Http2ConnectionDecoder;
 import io.netty.handler.codec.http2.Http2ConnectionEncoder;
 import io.netty.handler.codec.http2.Http2ConnectionHandler;
 import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameListener;
 import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.codec.http2.Http2Stream.State;
 import io.netty.handler.codec.http2.Http2StreamVisitor;
@@ -79,6 +84,23 @@ public abstract class AbstractHttp2ConnectionHandler extends Http2ConnectionHand
         super(decoder, encoder, initialSettings);
     }
 
+    /**
+     * Sets the {@link Http2FrameListener} of the {@link Http2ConnectionDecoder}. If
+     * {@link Flags#useHttp2WindowAutoTuning()} is enabled, the {@link Http2FrameListener} is decorated with
+     * an {@link Http2WindowAutoTuner} which records the tuned window sizes into the
+     * {@link MeterRegistry} with the specified meter name.
+     */
+    protected final void setFrameListener(Http2FrameListener listener,
+                                          MeterRegistry meterRegistry, String windowSizeMeterName) {
+        if (Flags.useHttp2WindowAutoTuning()) {
+            listener = new Http2WindowAutoTuner(
+                    listener, connection(), encoder(), Flags.http2MaxAutoTunedWindowSize(),
+                    MoreMeters.newDistributionSummary(meterRegistry, windowSizeMeterName,
+                                                      ImmutableList.of()));
+        }
+        decoder().frameListener(listener);
+    }
+
     /**
      * Returns {@code true} if {@link ChannelHandlerContext#close()} has been called.
      */
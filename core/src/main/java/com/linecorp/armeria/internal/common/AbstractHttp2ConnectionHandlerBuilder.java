@@ -15,15 +15,39 @@
  */
 package com.linecorp.armeria.internal.common;
 
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_HEADER_LIST_SIZE;
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_MAX_RESERVED_STREAMS;
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_MIN_ALLOCATION_CHUNK;
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.armeria.common.Flags;
+
 import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.DefaultHttp2Connection;
+import io.netty.handler.codec.http2.DefaultHttp2ConnectionDecoder;
+import io.netty.handler.codec.http2.DefaultHttp2ConnectionEncoder;
+import io.netty.handler.codec.http2.DefaultHttp2FrameReader;
+import io.netty.handler.codec.http2.DefaultHttp2FrameWriter;
+import io.netty.handler.codec.http2.DefaultHttp2RemoteFlowController;
 import io.netty.handler.codec.http2.Http2Connection;
 import io.netty.handler.codec.http2.Http2ConnectionDecoder;
 import io.netty.handler.codec.http2.Http2ConnectionEncoder;
 import io.netty.handler.codec.http2.Http2FrameListener;
 import io.netty.handler.codec.http2.Http2FrameLogger;
+import io.netty.handler.codec.http2.Http2FrameReader;
+import io.netty.handler.codec.http2.Http2FrameWriter;
+import io.netty.handler.codec.http2.Http2HeadersEncoder;
 import io.netty.handler.codec.http2.Http2HeadersEncoder.SensitivityDetector;
+import io.netty.handler.codec.http2.Http2InboundFrameLogger;
+import io.netty.handler.codec.http2.Http2OutboundFrameLogger;
 import io.netty.handler.codec.http2.Http2PromisedRequestVerifier;
 import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.StreamBufferingEncoder;
+import io.netty.handler.codec.http2.WeightedFairQueueByteDistributor;
 
 @SuppressWarnings("ClassNameSameAsAncestorName")
 public abstract class AbstractHttp2ConnectionHandlerBuilder<T extends AbstractHttp2ConnectionHandler,
@@ -32,6 +56,17 @@ public abstract class AbstractHttp2ConnectionHandlerBuilder<T extends AbstractHt
 
     private final Channel ch;
 
+    // The properties which are not propagated to the super class because it does not allow specifying them
+    // together with the codec, which is built by this builder.
+    private boolean server = true;
+    private int maxReservedStreams = DEFAULT_MAX_RESERVED_STREAMS;
+    private boolean validateHeaders = true;
+    @Nullable
+    private Http2FrameLogger frameLogger;
+    private SensitivityDetector headerSensitivityDetector = Http2HeadersEncoder.NEVER_SENSITIVE;
+    private boolean encoderEnforceMaxConcurrentStreams;
+    private boolean encoderIgnoreMaxHeaderListSize;
+
     protected AbstractHttp2ConnectionHandlerBuilder(Channel ch) {
         this.ch = ch;
     }
@@ -44,9 +79,63 @@ public abstract class AbstractHttp2ConnectionHandlerBuilder<T extends AbstractHt
 
     @Override
     public final T build() {
+        if (connection() == null && encoder() == null) {
+            // Build the codec by ourselves because Netty's builder does not allow specifying the headers
+            // decoder. See newDecoder().
+            final Http2Connection connection = new DefaultHttp2Connection(server, maxReservedStreams);
+            streamWriteQuantum(connection, Flags.http2StreamWriteQuantum());
+            final Http2ConnectionEncoder encoder = newEncoder(connection);
+            super.codec(newDecoder(connection, encoder), encoder);
+        }
         return super.build();
     }
 
+    /**
+     * Sets the allocation quantum of the {@link WeightedFairQueueByteDistributor} of the specified
+     * {@link Http2Connection}. Nothing is set if the quantum is the default of Netty, so that
+     * the encoder creates the same remote flow controller as Netty does.
+     */
+    @VisibleForTesting
+    static void streamWriteQuantum(Http2Connection connection, int streamWriteQuantum) {
+        if (streamWriteQuantum == DEFAULT_MIN_ALLOCATION_CHUNK) {
+            return;
+        }
+        final WeightedFairQueueByteDistributor distributor = new WeightedFairQueueByteDistributor(connection);
+        distributor.allocationQuantum(streamWriteQuantum);
+        connection.remote().flowController(new DefaultHttp2RemoteFlowController(connection, distributor));
+    }
+
+    private Http2ConnectionEncoder newEncoder(Http2Connection connection) {
+        Http2FrameWriter writer = new DefaultHttp2FrameWriter(headerSensitivityDetector,
+                                                              encoderIgnoreMaxHeaderListSize);
+        if (frameLogger != null) {
+            writer = new Http2OutboundFrameLogger(writer, frameLogger);
+        }
+
+        Http2ConnectionEncoder encoder = new DefaultHttp2ConnectionEncoder(connection, writer);
+        final int maxQueuedControlFrames = encoderEnforceMaxQueuedControlFrames();
+        if (maxQueuedControlFrames != 0) {
+            encoder = new Http2ControlFrameLimitEncoder(encoder, maxQueuedControlFrames);
+        }
+        if (encoderEnforceMaxConcurrentStreams) {
+            encoder = new StreamBufferingEncoder(encoder);
+        }
+        return encoder;
+    }
+
+    private Http2ConnectionDecoder newDecoder(Http2Connection connection, Http2ConnectionEncoder encoder) {
+        final Long maxHeaderListSize = initialSettings().maxHeaderListSize();
+        // Decode the HEADERS frames into ArmeriaHttp2Headers, which is converted into Armeria HttpHeaders
+        // without copying the headers.
+        Http2FrameReader reader = new DefaultHttp2FrameReader(new ArmeriaHttp2HeadersDecoder(
+                validateHeaders, maxHeaderListSize != null ? maxHeaderListSize : DEFAULT_HEADER_LIST_SIZE));
+        if (frameLogger != null) {
+            reader = new Http2InboundFrameLogger(reader, frameLogger);
+        }
+        return new DefaultHttp2ConnectionDecoder(connection, encoder, reader, promisedRequestVerifier(),
+                                                 isAutoAckSettingsFrame(), isAutoAckPingFrame());
+    }
+
     @Override
     public final B initialSettings(Http2Settings settings) {
         return super.initialSettings(settings);
@@ -64,12 +153,14 @@ public abstract class AbstractHttp2ConnectionHandlerBuilder<T extends AbstractHt
 
     @Override
     public final B server(boolean isServer) {
-        return super.server(isServer);
+        server = isServer;
+        return self();
     }
 
     @Override
     public final B maxReservedStreams(int maxReservedStreams) {
-        return super.maxReservedStreams(maxReservedStreams);
+        this.maxReservedStreams = maxReservedStreams;
+        return self();
     }
 
     @Override
@@ -84,17 +175,20 @@ public abstract class AbstractHttp2ConnectionHandlerBuilder<T extends AbstractHt
 
     @Override
     public final B validateHeaders(boolean validateHeaders) {
-        return super.validateHeaders(validateHeaders);
+        this.validateHeaders = validateHeaders;
+        return self();
     }
 
     @Override
     public final B frameLogger(Http2FrameLogger frameLogger) {
-        return super.frameLogger(frameLogger);
+        this.frameLogger = requireNonNull(frameLogger, "frameLogger");
+        return self();
     }
 
     @Override
     public final B encoderEnforceMaxConcurrentStreams(boolean encoderEnforceMaxConcurrentStreams) {
-        return super.encoderEnforceMaxConcurrentStreams(encoderEnforceMaxConcurrentStreams);
+        this.encoderEnforceMaxConcurrentStreams = encoderEnforceMaxConcurrentStreams;
+        return self();
     }
 
     @Override
@@ -104,12 +198,14 @@ public abstract class AbstractHttp2ConnectionHandlerBuilder<T extends AbstractHt
 
     @Override
     public final B headerSensitivityDetector(SensitivityDetector headerSensitivityDetector) {
-        return super.headerSensitivityDetector(headerSensitivityDetector);
+        this.headerSensitivityDetector = requireNonNull(headerSensitivityDetector, "headerSensitivityDetector");
+        return self();
     }
 
     @Override
     public final B encoderIgnoreMaxHeaderListSize(boolean ignoreMaxHeaderListSize) {
-        return super.encoderIgnoreMaxHeaderListSize(ignoreMaxHeaderListSize);
+        encoderIgnoreMaxHeaderListSize = ignoreMaxHeaderListSize;
+        return self();
     }
 
     @Override
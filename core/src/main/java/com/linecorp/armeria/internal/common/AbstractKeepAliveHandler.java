@@ -36,7 +36,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.EventLoop;
 
 /**
  * An {@link AbstractKeepAliveHandler} that writes a PING when neither read nor write was performed for
@@ -128,16 +127,13 @@ public abstract class AbstractKeepAliveHandler implements KeepAliveHandler {
 
         lastConnectionIdleTime = lastPingIdleTime = connectionStartTimeNanos;
         if (connectionIdleTimeNanos > 0) {
-            connectionIdleTimeout = executor().schedule(new ConnectionIdleTimeoutTask(ctx),
-                                                        connectionIdleTimeNanos, TimeUnit.NANOSECONDS);
+            connectionIdleTimeout = schedule(new ConnectionIdleTimeoutTask(ctx), connectionIdleTimeNanos);
         }
         if (pingIdleTimeNanos > 0) {
-            pingIdleTimeout = executor().schedule(new PingIdleTimeoutTask(ctx),
-                                                  pingIdleTimeNanos, TimeUnit.NANOSECONDS);
+            pingIdleTimeout = schedule(new PingIdleTimeoutTask(ctx), pingIdleTimeNanos);
         }
         if (maxConnectionAgeNanos > 0) {
-            maxConnectionAgeFuture = executor().schedule(new MaxConnectionAgeExceededTask(ctx),
-                                                         maxConnectionAgeNanos, TimeUnit.NANOSECONDS);
+            maxConnectionAgeFuture = schedule(new MaxConnectionAgeExceededTask(ctx), maxConnectionAgeNanos);
         }
     }
 
@@ -264,6 +260,10 @@ public abstract class AbstractKeepAliveHandler implements KeepAliveHandler {
         return channel.eventLoop();
     }
 
+    private ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+        return EventLoopTimerWheel.schedule(executor(), task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * State changes from IDLE -> PING_SCHEDULED -> PENDING_PING_ACK -> IDLE and so on. When the
      * channel is inactive then the state changes to SHUTDOWN.
@@ -289,8 +289,7 @@ public abstract class AbstractKeepAliveHandler implements KeepAliveHandler {
         public void operationComplete(ChannelFuture future) throws Exception {
             if (future.isSuccess()) {
                 logger.debug("{} PING write successful", channel);
-                final EventLoop el = channel.eventLoop();
-                shutdownFuture = el.schedule(shutdownRunnable, pingIdleTimeNanos, TimeUnit.NANOSECONDS);
+                shutdownFuture = schedule(shutdownRunnable, pingIdleTimeNanos);
                 pingState = PingState.PENDING_PING_ACK;
                 resetStopwatch();
             } else {
@@ -349,8 +348,7 @@ public abstract class AbstractKeepAliveHandler implements KeepAliveHandler {
             if (nextDelay <= 0) {
                 // Both reader and writer are idle - set a new timeout and
                 // notify the callback.
-                connectionIdleTimeout = executor().schedule(this, connectionIdleTimeNanos,
-                                                            TimeUnit.NANOSECONDS);
+                connectionIdleTimeout = schedule(this, connectionIdleTimeNanos);
                 try {
                     if (!hasRequestsInProgress(ctx)) {
                         pingState = PingState.SHUTDOWN;
@@ -366,7 +364,7 @@ public abstract class AbstractKeepAliveHandler implements KeepAliveHandler {
             } else {
                 // Either read or write occurred before the connection idle timeout - set a new
                 // timeout with shorter delay.
-                connectionIdleTimeout = executor().schedule(this, nextDelay, TimeUnit.NANOSECONDS);
+                connectionIdleTimeout = schedule(this, nextDelay);
             }
         }
     }
@@ -387,7 +385,7 @@ public abstract class AbstractKeepAliveHandler implements KeepAliveHandler {
             nextDelay = pingIdleTimeNanos - (System.nanoTime() - lastPingIdleTime);
             if (nextDelay <= 0) {
                 // PING is idle - set a new timeout and notify the callback.
-                pingIdleTimeout = executor().schedule(this, pingIdleTimeNanos, TimeUnit.NANOSECONDS);
+                pingIdleTimeout = schedule(this, pingIdleTimeNanos);
 
                 final boolean isFirst = firstPingIdleEvent;
                 firstPingIdleEvent = false;
@@ -405,7 +403,7 @@ public abstract class AbstractKeepAliveHandler implements KeepAliveHandler {
             } else {
                 // A PING was sent or received within the ping timeout
                 // - set a new timeout with shorter delay.
-                pingIdleTimeout = executor().schedule(this, nextDelay, TimeUnit.NANOSECONDS);
+                pingIdleTimeout = schedule(this, nextDelay);
             }
         }
     }
@@ -0,0 +1,738 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static io.netty.handler.codec.http2.Http2Error.PROTOCOL_ERROR;
+import static io.netty.handler.codec.http2.Http2Exception.connectionError;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpHeadersBuilder;
+import com.linecorp.armeria.common.util.Exceptions;
+
+import io.netty.handler.codec.Headers;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.AsciiString;
+
+/**
+ * An {@link Http2Headers} which stores its headers in an Armeria {@link HttpHeadersBuilder}, so that
+ * the headers decoded by the HPACK decoder can be used as Armeria {@link HttpHeaders} and the Armeria
+ * {@link HttpHeaders} can be given to the HPACK encoder without copying every header into
+ * a {@link io.netty.handler.codec.http2.DefaultHttp2Headers}.
+ */
+public final class ArmeriaHttp2Headers implements Http2Headers {
+
+    private final HttpHeadersBuilder delegate;
+    private final boolean validate;
+
+    /**
+     * Creates a new instance that writes the headers into the specified {@link HttpHeadersBuilder}.
+     * If {@code validate} is {@code true}, an {@link io.netty.handler.codec.http2.Http2Exception} is raised
+     * when an empty or upper-cased header name is added.
+     */
+    public ArmeriaHttp2Headers(HttpHeadersBuilder delegate, boolean validate) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.validate = validate;
+    }
+
+    /**
+     * Returns the {@link HttpHeadersBuilder} which stores the headers.
+     */
+    public HttpHeadersBuilder delegate() {
+        return delegate;
+    }
+
+    private AsciiString name(CharSequence name) {
+        if (validate) {
+            validateName(name);
+        }
+        return HttpHeaderNames.of(name);
+    }
+
+    private static void validateName(CharSequence name) {
+        final int length = name.length();
+        if (length == 0) {
+            Exceptions.throwUnsafely(connectionError(PROTOCOL_ERROR, "empty headers are not allowed"));
+        }
+        for (int i = 0; i < length; i++) {
+            final char ch = name.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                Exceptions.throwUnsafely(connectionError(PROTOCOL_ERROR, "invalid header name [%s]", name));
+            }
+        }
+    }
+
+    // Pseudo headers
+
+    @Override
+    public Http2Headers method(CharSequence value) {
+        return set(HttpHeaderNames.METHOD, value);
+    }
+
+    @Override
+    public Http2Headers scheme(CharSequence value) {
+        return set(HttpHeaderNames.SCHEME, value);
+    }
+
+    @Override
+    public Http2Headers authority(CharSequence value) {
+        return set(HttpHeaderNames.AUTHORITY, value);
+    }
+
+    @Override
+    public Http2Headers path(CharSequence value) {
+        return set(HttpHeaderNames.PATH, value);
+    }
+
+    @Override
+    public Http2Headers status(CharSequence value) {
+        return set(HttpHeaderNames.STATUS, value);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence method() {
+        return delegate.get(HttpHeaderNames.METHOD);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence scheme() {
+        return delegate.get(HttpHeaderNames.SCHEME);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence authority() {
+        return delegate.get(HttpHeaderNames.AUTHORITY);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence path() {
+        return delegate.get(HttpHeaderNames.PATH);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence status() {
+        return delegate.get(HttpHeaderNames.STATUS);
+    }
+
+    // Getters
+
+    @Nullable
+    @Override
+    public CharSequence get(CharSequence name) {
+        return delegate.get(name);
+    }
+
+    @Override
+    public CharSequence get(CharSequence name, CharSequence defaultValue) {
+        final String value = delegate.get(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public CharSequence getAndRemove(CharSequence name) {
+        return delegate.getAndRemove(name);
+    }
+
+    @Override
+    public CharSequence getAndRemove(CharSequence name, CharSequence defaultValue) {
+        final String value = delegate.getAndRemove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CharSequence> getAll(CharSequence name) {
+        return (List<CharSequence>) (List<?>) delegate.getAll(name);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CharSequence> getAllAndRemove(CharSequence name) {
+        return (List<CharSequence>) (List<?>) delegate.getAllAndRemove(name);
+    }
+
+    @Nullable
+    @Override
+    public Boolean getBoolean(CharSequence name) {
+        final String value = delegate.get(name);
+        return value != null ? Boolean.valueOf(value) : null;
+    }
+
+    @Override
+    public boolean getBoolean(CharSequence name, boolean defaultValue) {
+        final Boolean value = getBoolean(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Byte getByte(CharSequence name) {
+        final Integer value = delegate.getInt(name);
+        return value != null && value == value.byteValue() ? value.byteValue() : null;
+    }
+
+    @Override
+    public byte getByte(CharSequence name, byte defaultValue) {
+        final Byte value = getByte(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Character getChar(CharSequence name) {
+        final String value = delegate.get(name);
+        return value != null && value.length() == 1 ? value.charAt(0) : null;
+    }
+
+    @Override
+    public char getChar(CharSequence name, char defaultValue) {
+        final Character value = getChar(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Short getShort(CharSequence name) {
+        final Integer value = delegate.getInt(name);
+        return value != null && value == value.shortValue() ? value.shortValue() : null;
+    }
+
+    @Override
+    public short getShort(CharSequence name, short defaultValue) {
+        final Short value = getShort(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Integer getInt(CharSequence name) {
+        return delegate.getInt(name);
+    }
+
+    @Override
+    public int getInt(CharSequence name, int defaultValue) {
+        return delegate.getInt(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Long getLong(CharSequence name) {
+        return delegate.getLong(name);
+    }
+
+    @Override
+    public long getLong(CharSequence name, long defaultValue) {
+        return delegate.getLong(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Float getFloat(CharSequence name) {
+        return delegate.getFloat(name);
+    }
+
+    @Override
+    public float getFloat(CharSequence name, float defaultValue) {
+        return delegate.getFloat(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Double getDouble(CharSequence name) {
+        return delegate.getDouble(name);
+    }
+
+    @Override
+    public double getDouble(CharSequence name, double defaultValue) {
+        return delegate.getDouble(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Long getTimeMillis(CharSequence name) {
+        return delegate.getTimeMillis(name);
+    }
+
+    @Override
+    public long getTimeMillis(CharSequence name, long defaultValue) {
+        return delegate.getTimeMillis(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Boolean getBooleanAndRemove(CharSequence name) {
+        final Boolean value = getBoolean(name);
+        delegate.remove(name);
+        return value;
+    }
+
+    @Override
+    public boolean getBooleanAndRemove(CharSequence name, boolean defaultValue) {
+        final Boolean value = getBooleanAndRemove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Byte getByteAndRemove(CharSequence name) {
+        final Byte value = getByte(name);
+        delegate.remove(name);
+        return value;
+    }
+
+    @Override
+    public byte getByteAndRemove(CharSequence name, byte defaultValue) {
+        final Byte value = getByteAndRemove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Character getCharAndRemove(CharSequence name) {
+        final Character value = getChar(name);
+        delegate.remove(name);
+        return value;
+    }
+
+    @Override
+    public char getCharAndRemove(CharSequence name, char defaultValue) {
+        final Character value = getCharAndRemove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Short getShortAndRemove(CharSequence name) {
+        final Short value = getShort(name);
+        delegate.remove(name);
+        return value;
+    }
+
+    @Override
+    public short getShortAndRemove(CharSequence name, short defaultValue) {
+        final Short value = getShortAndRemove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Integer getIntAndRemove(CharSequence name) {
+        return delegate.getIntAndRemove(name);
+    }
+
+    @Override
+    public int getIntAndRemove(CharSequence name, int defaultValue) {
+        return delegate.getIntAndRemove(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Long getLongAndRemove(CharSequence name) {
+        return delegate.getLongAndRemove(name);
+    }
+
+    @Override
+    public long getLongAndRemove(CharSequence name, long defaultValue) {
+        return delegate.getLongAndRemove(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Float getFloatAndRemove(CharSequence name) {
+        return delegate.getFloatAndRemove(name);
+    }
+
+    @Override
+    public float getFloatAndRemove(CharSequence name, float defaultValue) {
+        return delegate.getFloatAndRemove(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Double getDoubleAndRemove(CharSequence name) {
+        return delegate.getDoubleAndRemove(name);
+    }
+
+    @Override
+    public double getDoubleAndRemove(CharSequence name, double defaultValue) {
+        return delegate.getDoubleAndRemove(name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public Long getTimeMillisAndRemove(CharSequence name) {
+        return delegate.getTimeMillisAndRemove(name);
+    }
+
+    @Override
+    public long getTimeMillisAndRemove(CharSequence name, long defaultValue) {
+        return delegate.getTimeMillisAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public boolean contains(CharSequence name) {
+        return delegate.contains(name);
+    }
+
+    @Override
+    public boolean contains(CharSequence name, CharSequence value) {
+        return delegate.contains(name, value.toString());
+    }
+
+    @Override
+    public boolean contains(CharSequence name, CharSequence value, boolean caseInsensitive) {
+        if (!caseInsensitive) {
+            return contains(name, value);
+        }
+        for (final Iterator<String> i = delegate.valueIterator(name); i.hasNext();) {
+            if (AsciiString.contentEqualsIgnoreCase(i.next(), value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsObject(CharSequence name, Object value) {
+        return delegate.containsObject(name, value);
+    }
+
+    @Override
+    public boolean containsBoolean(CharSequence name, boolean value) {
+        return delegate.contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsByte(CharSequence name, byte value) {
+        return delegate.containsInt(name, value);
+    }
+
+    @Override
+    public boolean containsChar(CharSequence name, char value) {
+        return delegate.contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsShort(CharSequence name, short value) {
+        return delegate.containsInt(name, value);
+    }
+
+    @Override
+    public boolean containsInt(CharSequence name, int value) {
+        return delegate.containsInt(name, value);
+    }
+
+    @Override
+    public boolean containsLong(CharSequence name, long value) {
+        return delegate.containsLong(name, value);
+    }
+
+    @Override
+    public boolean containsFloat(CharSequence name, float value) {
+        return delegate.containsFloat(name, value);
+    }
+
+    @Override
+    public boolean containsDouble(CharSequence name, double value) {
+        return delegate.containsDouble(name, value);
+    }
+
+    @Override
+    public boolean containsTimeMillis(CharSequence name, long value) {
+        return delegate.containsTimeMillis(name, value);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<CharSequence> names() {
+        return (Set<CharSequence>) (Set<?>) delegate.names();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Entry<CharSequence, CharSequence>> iterator() {
+        return (Iterator<Entry<CharSequence, CharSequence>>) (Iterator<?>) delegate.iterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<CharSequence> valueIterator(CharSequence name) {
+        return (Iterator<CharSequence>) (Iterator<?>) delegate.valueIterator(name);
+    }
+
+    // Setters
+
+    @Override
+    public Http2Headers add(CharSequence name, CharSequence value) {
+        final AsciiString aName = name(name);
+        delegate.add(aName, ArmeriaHttpUtil.convertHeaderValue(aName, value));
+        return this;
+    }
+
+    @Override
+    public Http2Headers add(CharSequence name, Iterable<? extends CharSequence> values) {
+        final AsciiString aName = name(name);
+        for (CharSequence value : values) {
+            delegate.add(aName, ArmeriaHttpUtil.convertHeaderValue(aName, value));
+        }
+        return this;
+    }
+
+    @Override
+    public Http2Headers add(CharSequence name, CharSequence... values) {
+        final AsciiString aName = name(name);
+        for (CharSequence value : values) {
+            delegate.add(aName, ArmeriaHttpUtil.convertHeaderValue(aName, value));
+        }
+        return this;
+    }
+
+    @Override
+    public Http2Headers addObject(CharSequence name, Object value) {
+        delegate.addObject(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addObject(CharSequence name, Iterable<?> values) {
+        delegate.addObject(name(name), values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addObject(CharSequence name, Object... values) {
+        delegate.addObject(name(name), values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addBoolean(CharSequence name, boolean value) {
+        delegate.add(name(name), String.valueOf(value));
+        return this;
+    }
+
+    @Override
+    public Http2Headers addByte(CharSequence name, byte value) {
+        delegate.addInt(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addChar(CharSequence name, char value) {
+        delegate.add(name(name), String.valueOf(value));
+        return this;
+    }
+
+    @Override
+    public Http2Headers addShort(CharSequence name, short value) {
+        delegate.addInt(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addInt(CharSequence name, int value) {
+        delegate.addInt(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addLong(CharSequence name, long value) {
+        delegate.addLong(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addFloat(CharSequence name, float value) {
+        delegate.addFloat(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addDouble(CharSequence name, double value) {
+        delegate.addDouble(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addTimeMillis(CharSequence name, long value) {
+        delegate.addTimeMillis(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers add(Headers<? extends CharSequence, ? extends CharSequence, ?> headers) {
+        if (headers == this) {
+            throw new IllegalArgumentException("can't add to itself.");
+        }
+        for (Entry<? extends CharSequence, ? extends CharSequence> e : headers) {
+            add(e.getKey(), e.getValue());
+        }
+        return this;
+    }
+
+    @Override
+    public Http2Headers set(CharSequence name, CharSequence value) {
+        final AsciiString aName = name(name);
+        delegate.set(aName, ArmeriaHttpUtil.convertHeaderValue(aName, value));
+        return this;
+    }
+
+    @Override
+    public Http2Headers set(CharSequence name, Iterable<? extends CharSequence> values) {
+        final AsciiString aName = name(name);
+        delegate.remove(aName);
+        return add(aName, values);
+    }
+
+    @Override
+    public Http2Headers set(CharSequence name, CharSequence... values) {
+        final AsciiString aName = name(name);
+        delegate.remove(aName);
+        return add(aName, values);
+    }
+
+    @Override
+    public Http2Headers setObject(CharSequence name, Object value) {
+        delegate.setObject(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setObject(CharSequence name, Iterable<?> values) {
+        delegate.setObject(name(name), values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setObject(CharSequence name, Object... values) {
+        delegate.setObject(name(name), values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setBoolean(CharSequence name, boolean value) {
+        delegate.set(name(name), String.valueOf(value));
+        return this;
+    }
+
+    @Override
+    public Http2Headers setByte(CharSequence name, byte value) {
+        delegate.setInt(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setChar(CharSequence name, char value) {
+        delegate.set(name(name), String.valueOf(value));
+        return this;
+    }
+
+    @Override
+    public Http2Headers setShort(CharSequence name, short value) {
+        delegate.setInt(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setInt(CharSequence name, int value) {
+        delegate.setInt(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setLong(CharSequence name, long value) {
+        delegate.setLong(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setFloat(CharSequence name, float value) {
+        delegate.setFloat(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setDouble(CharSequence name, double value) {
+        delegate.setDouble(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setTimeMillis(CharSequence name, long value) {
+        delegate.setTimeMillis(name(name), value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers set(Headers<? extends CharSequence, ? extends CharSequence, ?> headers) {
+        if (headers != this) {
+            delegate.clear();
+            add(headers);
+        }
+        return this;
+    }
+
+    @Override
+    public Http2Headers setAll(Headers<? extends CharSequence, ? extends CharSequence, ?> headers) {
+        if (headers != this) {
+            for (CharSequence name : headers.names()) {
+                delegate.remove(name);
+            }
+            add(headers);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean remove(CharSequence name) {
+        return delegate.remove(name);
+    }
+
+    @Override
+    public Http2Headers clear() {
+        delegate.clear();
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import com.linecorp.armeria.common.HttpHeaders;
+
+import io.netty.handler.codec.http2.DefaultHttp2HeadersDecoder;
+import io.netty.handler.codec.http2.Http2Headers;
+
+/**
+ * A {@link DefaultHttp2HeadersDecoder} which decodes a header block into an {@link ArmeriaHttp2Headers},
+ * so that the decoded headers can be converted into Armeria {@link HttpHeaders} without a copy.
+ */
+public final class ArmeriaHttp2HeadersDecoder extends DefaultHttp2HeadersDecoder {
+
+    public ArmeriaHttp2HeadersDecoder(boolean validateHeaders, long maxHeaderListSize) {
+        super(validateHeaders, maxHeaderListSize);
+    }
+
+    @Override
+    protected Http2Headers newHeaders() {
+        return new ArmeriaHttp2Headers(HttpHeaders.builder().sizeHint(numberOfHeadersGuess()),
+                                       validateHeaders());
+    }
+}
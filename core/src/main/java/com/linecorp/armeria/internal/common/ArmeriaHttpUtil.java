@@ -39,6 +39,7 @@ import static io.netty.util.internal.StringUtil.length;
 import static java.util.Objects.requireNonNull;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -72,7 +73,10 @@ import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.common.RequestHeadersBuilder;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.ResponseHeadersBuilder;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.InProcessAddress;
 import com.linecorp.armeria.common.util.Version;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 import com.linecorp.armeria.internal.common.util.TemporaryThreadLocals;
 import com.linecorp.armeria.server.ServerConfig;
 
@@ -85,7 +89,6 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
-import io.netty.handler.codec.http2.DefaultHttp2Headers;
 import io.netty.handler.codec.http2.Http2Headers;
 import io.netty.handler.codec.http2.HttpConversionUtil;
 import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
@@ -512,24 +515,42 @@ public final class ArmeriaHttpUtil {
     public static RequestHeaders toArmeriaRequestHeaders(ChannelHandlerContext ctx, Http2Headers headers,
                                                          boolean endOfStream, String scheme,
                                                          ServerConfig cfg) {
-        final RequestHeadersBuilder builder = RequestHeaders.builder();
-        toArmeria(builder, headers, endOfStream);
+        final HttpHeadersBuilder builder;
+        if (headers instanceof ArmeriaHttp2Headers) {
+            builder = ((ArmeriaHttp2Headers) headers).delegate();
+            mergeCookies(builder);
+            builder.endOfStream(endOfStream);
+        } else {
+            builder = RequestHeaders.builder();
+            toArmeria(builder, headers, endOfStream);
+        }
+
         // A CONNECT request might not have ":scheme". See https://datatracker.ietf.org/doc/html/rfc7540#section-8.1.2.3
         if (!builder.contains(HttpHeaderNames.SCHEME)) {
             builder.add(HttpHeaderNames.SCHEME, scheme);
         }
-        if (builder.authority() == null) {
-            final String defaultHostname = cfg.defaultVirtualHost().defaultHostname();
-            final int port = ((InetSocketAddress) ctx.channel().localAddress()).getPort();
-            builder.add(HttpHeaderNames.AUTHORITY, defaultHostname + ':' + port);
+        if (!builder.contains(HttpHeaderNames.AUTHORITY) && !builder.contains(HttpHeaderNames.HOST)) {
+            builder.add(HttpHeaderNames.AUTHORITY, defaultAuthority(ctx, cfg));
         }
-        return builder.build();
+        return RequestHeaders.of(builder.build());
     }
 
     /**
      * Converts the specified Netty HTTP/2 into Armeria HTTP/2 headers.
      */
     public static HttpHeaders toArmeria(Http2Headers headers, boolean request, boolean endOfStream) {
+        if (headers instanceof ArmeriaHttp2Headers) {
+            // The headers were decoded into an Armeria HttpHeadersBuilder already.
+            final HttpHeadersBuilder builder = ((ArmeriaHttp2Headers) headers).delegate();
+            mergeCookies(builder);
+            final HttpHeaders converted = builder.endOfStream(endOfStream).build();
+            if (request) {
+                return converted.contains(HttpHeaderNames.METHOD) ? RequestHeaders.of(converted) : converted;
+            } else {
+                return converted.contains(HttpHeaderNames.STATUS) ? ResponseHeaders.of(converted) : converted;
+            }
+        }
+
         final HttpHeadersBuilder builder;
         if (request) {
             builder = headers.contains(HttpHeaderNames.METHOD) ? RequestHeaders.builder()
@@ -569,6 +590,26 @@ public final class ArmeriaHttpUtil {
         }
     }
 
+    /**
+     * Concatenates the {@code "cookie"} headers in the specified {@link HttpHeadersBuilder} into
+     * a single octet string.
+     */
+    private static void mergeCookies(HttpHeadersBuilder builder) {
+        if (!builder.contains(HttpHeaderNames.COOKIE)) {
+            return;
+        }
+
+        // Cookies must be concatenated into a single octet string.
+        // https://datatracker.ietf.org/doc/html/rfc7540#section-8.1.2.5
+        final StringJoiner cookieJoiner = new StringJoiner(COOKIE_SEPARATOR);
+        for (String cookie : builder.getAllAndRemove(HttpHeaderNames.COOKIE)) {
+            COOKIE_SPLITTER.split(cookie).forEach(cookieJoiner::add);
+        }
+        if (cookieJoiner.length() != 0) {
+            builder.add(HttpHeaderNames.COOKIE, cookieJoiner.toString());
+        }
+    }
+
     /**
      * Converts the headers of the given Netty HTTP/1.x request into Armeria HTTP/2 headers.
      * The following headers are only used if they can not be found in the {@code HOST} header or the
@@ -580,27 +621,40 @@ public final class ArmeriaHttpUtil {
      */
     public static RequestHeaders toArmeria(ChannelHandlerContext ctx, HttpRequest in,
                                            ServerConfig cfg) throws URISyntaxException {
-        final URI requestTargetUri = toUri(in);
-
         final io.netty.handler.codec.http.HttpHeaders inHeaders = in.headers();
         final RequestHeadersBuilder out = RequestHeaders.builder();
         out.sizeHint(inHeaders.size());
+        // Add the HTTP headers which are not consumed by toArmeria() below.
+        toArmeria(inHeaders, out);
+        return toArmeria(ctx, in, out, cfg);
+    }
+
+    /**
+     * Converts the given Netty HTTP/1.x request into Armeria HTTP/2 headers, when the HTTP headers of
+     * the request have been decoded into the specified {@link RequestHeadersBuilder} already.
+     * Only the pseudo headers and the {@code HOST} header are added to the {@link RequestHeadersBuilder}.
+     * The following headers are only used if they can not be found in the {@code HOST} header or the
+     * {@code Request-Line}:
+     * <ul>
+     * <li>{@link ExtensionHeaderNames#SCHEME} in {@link HttpRequest#headers()}</li>
+     * </ul>
+     */
+    public static RequestHeaders toArmeria(ChannelHandlerContext ctx, HttpRequest in,
+                                           RequestHeadersBuilder out, ServerConfig cfg)
+            throws URISyntaxException {
+        final URI requestTargetUri = toUri(in);
         out.add(HttpHeaderNames.METHOD, in.method().name());
         out.add(HttpHeaderNames.PATH, toHttp2Path(requestTargetUri));
 
-        addHttp2Scheme(inHeaders, requestTargetUri, out);
+        addHttp2Scheme(in.headers(), requestTargetUri, out);
 
-        // Add the HTTP headers which have not been consumed above
-        toArmeria(inHeaders, out);
         if (!out.contains(HttpHeaderNames.HOST)) {
             // The client violates the spec that the request headers must contain a Host header.
             // But we just add Host header to allow the request.
             // https://datatracker.ietf.org/doc/html/rfc7230#section-5.4
             if (isOriginForm(requestTargetUri) || isAsteriskForm(requestTargetUri)) {
                 // requestTargetUri does not contain authority information.
-                final String defaultHostname = cfg.defaultVirtualHost().defaultHostname();
-                final int port = ((InetSocketAddress) ctx.channel().localAddress()).getPort();
-                out.add(HttpHeaderNames.HOST, defaultHostname + ':' + port);
+                out.add(HttpHeaderNames.HOST, defaultAuthority(ctx, cfg));
             } else {
                 out.add(HttpHeaderNames.HOST, stripUserInfo(requestTargetUri.getAuthority()));
             }
@@ -820,17 +874,23 @@ public final class ArmeriaHttpUtil {
      * @param inputHeaders the HTTP/2 response headers to convert.
      */
     public static Http2Headers toNettyHttp2ServerHeaders(HttpHeaders inputHeaders) {
-        final int headerSizeHint = inputHeaders.size() + 2; // server and data headers
-        final Http2Headers outputHeaders = new DefaultHttp2Headers(false, headerSizeHint);
+        final HttpHeadersBuilder outputHeaders = inputHeaders.toBuilder();
         for (Entry<AsciiString, String> entry : inputHeaders) {
             final AsciiString name = entry.getKey();
-            final String value = entry.getValue();
             if (HTTP_TO_HTTP2_HEADER_DISALLOWED_LIST.contains(name)) {
-                continue;
+                outputHeaders.remove(name);
             }
-            outputHeaders.add(name, value);
         }
-        return outputHeaders;
+        return new ArmeriaHttp2Headers(outputHeaders, false);
+    }
+
+    /**
+     * Returns {@code true} if the specified header name can be sent as an additional HTTP/2 response header,
+     * i.e. it is neither a pseudo header that must not be overridden nor a connection-specific header.
+     */
+    public static boolean isAdditionalHttp2ServerHeaderAllowed(AsciiString name) {
+        return !ADDITIONAL_RESPONSE_HEADER_DISALLOWED_LIST.contains(name) &&
+               !HTTP_TO_HTTP2_HEADER_DISALLOWED_LIST.contains(name);
     }
 
     /**
@@ -839,22 +899,16 @@ public final class ArmeriaHttpUtil {
      * @param inputHeaders the HTTP/2 response headers to convert.
      */
     public static Http2Headers toNettyHttp2ServerTrailer(HttpHeaders inputHeaders) {
-        final Http2Headers outputHeaders = new DefaultHttp2Headers(false, inputHeaders.size());
+        final HttpHeadersBuilder outputHeaders = inputHeaders.toBuilder();
         for (Entry<AsciiString, String> entry : inputHeaders) {
             final AsciiString name = entry.getKey();
-            final String value = entry.getValue();
-            if (HTTP_TO_HTTP2_HEADER_DISALLOWED_LIST.contains(name)) {
-                continue;
-            }
-            if (ADDITIONAL_RESPONSE_HEADER_DISALLOWED_LIST.contains(name)) {
-                continue;
-            }
-            if (isTrailerDisallowed(name)) {
-                continue;
+            if (HTTP_TO_HTTP2_HEADER_DISALLOWED_LIST.contains(name) ||
+                ADDITIONAL_RESPONSE_HEADER_DISALLOWED_LIST.contains(name) ||
+                isTrailerDisallowed(name)) {
+                outputHeaders.remove(name);
             }
-            outputHeaders.add(name, value);
         }
-        return outputHeaders;
+        return new ArmeriaHttp2Headers(outputHeaders, false);
     }
 
     /**
@@ -863,10 +917,7 @@ public final class ArmeriaHttpUtil {
      * @param inputHeaders the HTTP/2 request headers to convert.
      */
     public static Http2Headers toNettyHttp2ClientHeader(HttpHeaders inputHeaders) {
-        final int headerSizeHint = inputHeaders.size() + 3; // User_Agent, :scheme and :authority.
-        final Http2Headers outputHeaders = new DefaultHttp2Headers(false, headerSizeHint);
-        toNettyHttp2Client(inputHeaders, outputHeaders, false);
-        return outputHeaders;
+        return toNettyHttp2Client(inputHeaders, false);
     }
 
     /**
@@ -875,38 +926,28 @@ public final class ArmeriaHttpUtil {
      * @param inputHeaders the HTTP/2 request headers to convert.
      */
     public static Http2Headers toNettyHttp2ClientTrailer(HttpHeaders inputHeaders) {
-        final int headerSizeHint = inputHeaders.size();
-        final Http2Headers outputHeaders = new DefaultHttp2Headers(false, headerSizeHint);
-        toNettyHttp2Client(inputHeaders, outputHeaders, true);
-        return outputHeaders;
+        return toNettyHttp2Client(inputHeaders, true);
     }
 
-    private static void toNettyHttp2Client(HttpHeaders inputHeaders, Http2Headers outputHeaders,
-                                           boolean isTrailer) {
+    private static Http2Headers toNettyHttp2Client(HttpHeaders inputHeaders, boolean isTrailer) {
+        final HttpHeadersBuilder outputHeaders = inputHeaders.toBuilder();
         for (Entry<AsciiString, String> entry : inputHeaders) {
             final AsciiString name = entry.getKey();
-            final String value = entry.getValue();
-            if (HTTP_TO_HTTP2_HEADER_DISALLOWED_LIST.contains(name)) {
-                continue;
-            }
-
-            if (isTrailer && isTrailerDisallowed(name)) {
-                continue;
+            if (HTTP_TO_HTTP2_HEADER_DISALLOWED_LIST.contains(name) ||
+                (isTrailer && isTrailerDisallowed(name))) {
+                outputHeaders.remove(name);
             }
-
-            outputHeaders.add(name, value);
         }
 
-        if (!outputHeaders.contains(HttpHeaderNames.COOKIE)) {
-            return;
-        }
-
-        // Split up cookies to allow for better compression.
-        // https://datatracker.ietf.org/doc/html/rfc7540#section-8.1.2.5
-        final List<CharSequence> cookies = outputHeaders.getAllAndRemove(HttpHeaderNames.COOKIE);
-        for (CharSequence c : cookies) {
-            outputHeaders.add(HttpHeaderNames.COOKIE, COOKIE_SPLITTER.split(c));
+        if (outputHeaders.contains(HttpHeaderNames.COOKIE)) {
+            // Split up cookies to allow for better compression.
+            // https://datatracker.ietf.org/doc/html/rfc7540#section-8.1.2.5
+            final List<String> cookies = outputHeaders.getAllAndRemove(HttpHeaderNames.COOKIE);
+            for (String c : cookies) {
+                outputHeaders.add(HttpHeaderNames.COOKIE, COOKIE_SPLITTER.split(c));
+            }
         }
+        return new ArmeriaHttp2Headers(outputHeaders, false);
     }
 
     /**
@@ -921,6 +962,25 @@ public final class ArmeriaHttpUtil {
         HttpUtil.setKeepAlive(outputHeaders, HttpVersion.HTTP_1_1, true);
     }
 
+    /**
+     * Translates and adds the additional HTTP/2 response headers to HTTP/1.1 headers. The headers of
+     * the same names in {@code outputHeaders} are replaced.
+     *
+     * @param additionalHeaders the additional HTTP/2 response headers to convert.
+     * @param outputHeaders the object which will contain the resulting HTTP/1.1 headers.
+     */
+    public static void addAdditionalNettyHttp1ServerHeaders(
+            HttpHeaders additionalHeaders, io.netty.handler.codec.http.HttpHeaders outputHeaders) {
+        for (AsciiString name : additionalHeaders.names()) {
+            if (ADDITIONAL_RESPONSE_HEADER_DISALLOWED_LIST.contains(name) ||
+                HTTP2_TO_HTTP_HEADER_DISALLOWED_LIST.contains(name)) {
+                continue;
+            }
+            outputHeaders.remove(name);
+            additionalHeaders.forEachValue(name, value -> outputHeaders.add(name, value));
+        }
+    }
+
     /**
      * Translates and adds HTTP/2 response trailers to HTTP/1.1 headers.
      *
@@ -1069,6 +1129,10 @@ public final class ArmeriaHttpUtil {
         }
 
         if (!headers.contains(HttpHeaderNames.CONTENT_LENGTH) || !content.isEmpty()) {
+            if (headers.getInt(HttpHeaderNames.CONTENT_LENGTH, -1) == content.length()) {
+                // Keep the headers as they are so that constant headers are not copied.
+                return headers;
+            }
             return headers.toBuilder()
                           .setInt(HttpHeaderNames.CONTENT_LENGTH, content.length())
                           .build();
@@ -1080,7 +1144,7 @@ public final class ArmeriaHttpUtil {
         return headers;
     }
 
-    private static String convertHeaderValue(AsciiString name, CharSequence value) {
+    static String convertHeaderValue(AsciiString name, CharSequence value) {
         if (!(value instanceof AsciiString)) {
             return value.toString();
         }
@@ -1112,6 +1176,34 @@ public final class ArmeriaHttpUtil {
         }
     }
 
+    /**
+     * Returns the default authority of a server, which consists of the default host name and the local port
+     * number. The port number is omitted for a domain socket or an in-process connection.
+     */
+    private static String defaultAuthority(ChannelHandlerContext ctx, ServerConfig cfg) {
+        final String defaultHostname = cfg.defaultVirtualHost().defaultHostname();
+        final SocketAddress localAddress = ChannelUtil.localAddress(ctx.channel());
+        if (localAddress instanceof InetSocketAddress) {
+            return defaultHostname + ':' + ((InetSocketAddress) localAddress).getPort();
+        }
+        return defaultHostname;
+    }
+
+    /**
+     * Returns a authority header value of the specified remote address. The host name of
+     * a {@link DomainSocketAddress} or an {@link InProcessAddress} is used as it is without a port number.
+     */
+    public static String authorityHeader(SocketAddress remoteAddress, int defaultPort) {
+        if (remoteAddress instanceof DomainSocketAddress) {
+            return ((DomainSocketAddress) remoteAddress).authority();
+        }
+        if (remoteAddress instanceof InProcessAddress) {
+            return ((InProcessAddress) remoteAddress).authority();
+        }
+        final InetSocketAddress inetRemoteAddress = (InetSocketAddress) remoteAddress;
+        return authorityHeader(inetRemoteAddress.getHostName(), inetRemoteAddress.getPort(), defaultPort);
+    }
+
     /**
      * Returns a authority header value of specified host and port.
      */
@@ -120,8 +120,8 @@ public final class CancellationScheduler {
         startTimeNanos = System.nanoTime();
         if (this.timeoutNanos != 0) {
             state = State.SCHEDULED;
-            scheduledFuture =
-                    eventLoop.schedule(() -> invokeTask(null), this.timeoutNanos, NANOSECONDS);
+            scheduledFuture = EventLoopTimerWheel.schedule(eventLoop, () -> invokeTask(null),
+                                                           this.timeoutNanos, NANOSECONDS);
         } else {
             state = State.INACTIVE;
         }
@@ -219,7 +219,8 @@ public final class CancellationScheduler {
         clearTimeout0(true);
         this.timeoutNanos = timeoutNanos;
         state = State.SCHEDULED;
-        scheduledFuture = eventLoop.schedule(() -> invokeTask(null), newTimeoutNanos, NANOSECONDS);
+        scheduledFuture = EventLoopTimerWheel.schedule(eventLoop, () -> invokeTask(null),
+                                                       newTimeoutNanos, NANOSECONDS);
     }
 
     private void extendTimeoutNanos(long adjustmentNanos) {
@@ -252,7 +253,8 @@ public final class CancellationScheduler {
             return;
         }
         state = State.SCHEDULED;
-        scheduledFuture = eventLoop.schedule(() -> invokeTask(null), this.timeoutNanos, NANOSECONDS);
+        scheduledFuture = EventLoopTimerWheel.schedule(eventLoop, () -> invokeTask(null),
+                                                       this.timeoutNanos, NANOSECONDS);
     }
 
     private void setTimeoutNanosFromNow(long timeoutNanos) {
@@ -291,7 +293,8 @@ public final class CancellationScheduler {
         timeoutNanos = LongMath.saturatedAdd(newTimeoutNanos, passedTimeNanos);
 
         state = State.SCHEDULED;
-        scheduledFuture = eventLoop.schedule(() -> invokeTask(null), newTimeoutNanos, NANOSECONDS);
+        scheduledFuture = EventLoopTimerWheel.schedule(eventLoop, () -> invokeTask(null),
+                                                       newTimeoutNanos, NANOSECONDS);
     }
 
     public void finishNow() {
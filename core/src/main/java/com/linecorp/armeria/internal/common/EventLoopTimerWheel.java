@@ -0,0 +1,401 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.ContextAwareEventLoop;
+import com.linecorp.armeria.common.Flags;
+
+import io.netty.util.concurrent.BlockingOperationException;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+/**
+ * A hashed timer wheel which is bound to an event loop. Scheduling and cancelling a timeout is O(1) and
+ * the event loop's scheduled task queue only sees one periodic tick task per event loop, regardless of
+ * the number of pending timeouts. The tick task is stopped while there are no pending timeouts.
+ *
+ * <p>A timeout never fires earlier than its deadline, but may fire up to one tick later than it.
+ * All operations except {@link ScheduledFuture#cancel(boolean)} and {@link ScheduledFuture#get()} must be
+ * performed in the event loop.
+ */
+public final class EventLoopTimerWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoopTimerWheel.class);
+
+    @VisibleForTesting
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int NUM_BUCKETS = 512;
+    private static final int BUCKET_MASK = NUM_BUCKETS - 1;
+
+    private static final FastThreadLocal<EventLoopTimerWheel> timerWheels = new FastThreadLocal<>();
+
+    /**
+     * Schedules the specified {@link Runnable} which is a timeout task. The task is scheduled in the timer
+     * wheel of the {@code executor} if {@link Flags#useTimerWheelForTimeouts()} is enabled and
+     * the {@code executor} is the event loop of the current thread. Otherwise, it falls back to
+     * {@link ScheduledExecutorService#schedule(Runnable, long, TimeUnit)}.
+     */
+    public static ScheduledFuture<?> schedule(ScheduledExecutorService executor, Runnable task,
+                                              long delay, TimeUnit unit) {
+        if (!Flags.useTimerWheelForTimeouts()) {
+            return executor.schedule(task, delay, unit);
+        }
+
+        ScheduledExecutorService eventLoop = executor;
+        Runnable command = task;
+        if (executor instanceof ContextAwareEventLoop) {
+            final ContextAwareEventLoop contextAwareEventLoop = (ContextAwareEventLoop) executor;
+            eventLoop = contextAwareEventLoop.withoutContext();
+            command = contextAwareEventLoop.context().makeContextAware(task);
+        }
+
+        if (!(eventLoop instanceof SingleThreadEventExecutor) ||
+            !((EventExecutor) eventLoop).inEventLoop()) {
+            return executor.schedule(task, delay, unit);
+        }
+        return get((EventExecutor) eventLoop).schedule(command, delay, unit);
+    }
+
+    /**
+     * Returns the {@link EventLoopTimerWheel} of the specified event loop. This method must be invoked in
+     * the event loop.
+     */
+    public static EventLoopTimerWheel get(EventExecutor eventLoop) {
+        requireNonNull(eventLoop, "eventLoop");
+        checkState(eventLoop.inEventLoop(), "must be invoked in the event loop: %s", eventLoop);
+        EventLoopTimerWheel timerWheel = timerWheels.get();
+        if (timerWheel == null || timerWheel.eventLoop != eventLoop) {
+            timerWheel = new EventLoopTimerWheel(eventLoop);
+            timerWheels.set(timerWheel);
+        }
+        return timerWheel;
+    }
+
+    private final EventExecutor eventLoop;
+    private final Timeout[] heads = new Timeout[NUM_BUCKETS];
+    private final Timeout[] tails = new Timeout[NUM_BUCKETS];
+    private final long startTimeNanos = System.nanoTime();
+    private final Runnable tickTask = this::tick;
+    private long lastTick;
+    private int size;
+    @Nullable
+    private ScheduledFuture<?> tickFuture;
+
+    private EventLoopTimerWheel(EventExecutor eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    /**
+     * Schedules the specified {@link Runnable} to be run after the specified delay.
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        requireNonNull(task, "task");
+        requireNonNull(unit, "unit");
+        assert eventLoop.inEventLoop();
+
+        final long currentTimeNanos = System.nanoTime();
+        if (tickFuture == null) {
+            // Catch up with the current time because no ticks happened while there were no timeouts.
+            lastTick = (currentTimeNanos - startTimeNanos) / TICK_NANOS;
+            tickFuture = eventLoop.scheduleAtFixedRate(tickTask, TICK_NANOS, TICK_NANOS, NANOSECONDS);
+        }
+
+        final long deadlineNanos = currentTimeNanos + Math.max(0, unit.toNanos(delay));
+        // Round up so that a timeout never fires before its deadline.
+        long targetTick = (deadlineNanos - startTimeNanos + TICK_NANOS - 1) / TICK_NANOS;
+        if (targetTick <= lastTick) {
+            targetTick = lastTick + 1;
+        }
+
+        final Timeout timeout = new Timeout(this, task, deadlineNanos, targetTick);
+        link(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     */
+    @VisibleForTesting
+    int size() {
+        return size;
+    }
+
+    private void tick() {
+        final long currentTick = (System.nanoTime() - startTimeNanos) / TICK_NANOS;
+        if (currentTick <= lastTick) {
+            return;
+        }
+
+        long tick = lastTick + 1;
+        if (currentTick - tick >= NUM_BUCKETS) {
+            // The event loop was stalled for more than one revolution. Visit every bucket only once.
+            tick = currentTick - NUM_BUCKETS + 1;
+        }
+
+        // Collect the expired timeouts first so that the tasks can schedule new timeouts safely.
+        Timeout expiredHead = null;
+        Timeout expiredTail = null;
+        for (; tick <= currentTick; tick++) {
+            final int bucket = (int) (tick & BUCKET_MASK);
+            for (Timeout t = heads[bucket]; t != null;) {
+                final Timeout next = t.next;
+                if (t.targetTick <= currentTick) {
+                    unlink(t);
+                    if (expiredTail == null) {
+                        expiredHead = t;
+                    } else {
+                        expiredTail.next = t;
+                    }
+                    expiredTail = t;
+                }
+                t = next;
+            }
+        }
+        lastTick = currentTick;
+
+        for (Timeout t = expiredHead; t != null;) {
+            final Timeout next = t.next;
+            t.next = null;
+            t.expire();
+            t = next;
+        }
+
+        if (size == 0 && tickFuture != null) {
+            tickFuture.cancel(false);
+            tickFuture = null;
+        }
+    }
+
+    private void link(Timeout timeout) {
+        final int bucket = (int) (timeout.targetTick & BUCKET_MASK);
+        final Timeout tail = tails[bucket];
+        if (tail == null) {
+            heads[bucket] = timeout;
+        } else {
+            tail.next = timeout;
+            timeout.prev = tail;
+        }
+        tails[bucket] = timeout;
+        timeout.linked = true;
+        size++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (!timeout.linked) {
+            return;
+        }
+        final int bucket = (int) (timeout.targetTick & BUCKET_MASK);
+        final Timeout prev = timeout.prev;
+        final Timeout next = timeout.next;
+        if (prev == null) {
+            heads[bucket] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            tails[bucket] = prev;
+        } else {
+            next.prev = prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+        size--;
+    }
+
+    private static final class Timeout implements ScheduledFuture<Void> {
+
+        private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final EventLoopTimerWheel timerWheel;
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final long targetTick;
+
+        // Accessed only by the event loop.
+        @Nullable
+        private Timeout prev;
+        @Nullable
+        private Timeout next;
+        private boolean linked;
+
+        private volatile int state;
+
+        // Set when the task finished running or the timeout was cancelled.
+        private volatile boolean completed;
+        // Set when a thread is waiting in get(), so that complete() notifies only when necessary.
+        private volatile boolean hasWaiters;
+        @Nullable
+        private volatile Throwable cause;
+
+        Timeout(EventLoopTimerWheel timerWheel, Runnable task, long deadlineNanos, long targetTick) {
+            this.timerWheel = timerWheel;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.targetTick = targetTick;
+        }
+
+        void expire() {
+            if (!stateUpdater.compareAndSet(this, PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                cause = t;
+                logger.warn("An exception was raised by a timeout task: {}", task, t);
+            }
+            complete();
+        }
+
+        private void complete() {
+            completed = true;
+            if (hasWaiters) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!stateUpdater.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            complete();
+            final EventExecutor eventLoop = timerWheel.eventLoop;
+            if (eventLoop.inEventLoop()) {
+                timerWheel.unlink(this);
+            } else {
+                eventLoop.execute(() -> timerWheel.unlink(this));
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return completed;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (o == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(NANOSECONDS), o.getDelay(NANOSECONDS));
+        }
+
+        @Override
+        public Void get() throws InterruptedException, ExecutionException {
+            if (!completed) {
+                checkNotInEventLoop();
+                hasWaiters = true;
+                synchronized (this) {
+                    while (!completed) {
+                        wait();
+                    }
+                }
+            }
+            return report();
+        }
+
+        @Override
+        public Void get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            requireNonNull(unit, "unit");
+            if (!completed) {
+                checkNotInEventLoop();
+                hasWaiters = true;
+                final long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+                synchronized (this) {
+                    while (!completed) {
+                        final long remainingNanos = deadlineNanos - System.nanoTime();
+                        if (remainingNanos <= 0) {
+                            throw new TimeoutException();
+                        }
+                        NANOSECONDS.timedWait(this, remainingNanos);
+                    }
+                }
+            }
+            return report();
+        }
+
+        private void checkNotInEventLoop() {
+            // The timeout can never fire while its event loop is blocked waiting for it.
+            if (timerWheel.eventLoop.inEventLoop()) {
+                throw new BlockingOperationException(toString());
+            }
+        }
+
+        @Nullable
+        private Void report() throws ExecutionException {
+            if (state == CANCELLED) {
+                throw new CancellationException();
+            }
+            final Throwable cause = this.cause;
+            if (cause != null) {
+                throw new ExecutionException(cause);
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                              .add("task", task)
+                              .add("delayNanos", getDelay(NANOSECONDS))
+                              .add("state", state)
+                              .toString();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.armeria.common.Flags;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionEncoder;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameListener;
+import io.netty.handler.codec.http2.Http2FrameListenerDecorator;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2Stream;
+
+/**
+ * An {@link Http2FrameListener} decorator which enlarges the inbound flow-control windows of an HTTP/2
+ * connection based on the bandwidth-delay product (BDP) of the connection.
+ *
+ * <p>When a DATA frame is received while no BDP PING is in flight, a PING is sent and the number of
+ * bytes received until its ACK arrives is counted. The count approximates the BDP, and the windows are
+ * grown to twice the count, up to the maximum window size, if that is larger than the current windows
+ * and the measured bandwidth has increased since the last update. The windows are never shrunk.
+ * This is the same approach as gRPC's flow-control window auto-tuning. A PING is sent at most once per
+ * {@value #MIN_PING_INTERVAL_MILLIS} milliseconds, and is not sent anymore once the windows reach
+ * the maximum window size.
+ *
+ * <p>The connection window is grown immediately with a WINDOW_UPDATE frame. The initial stream window is
+ * updated with a SETTINGS frame sent through the {@link Http2ConnectionEncoder}, so that it is applied
+ * to the local flow controller only when the peer acknowledges it.
+ *
+ * @see Flags#useHttp2WindowAutoTuning()
+ */
+public final class Http2WindowAutoTuner extends Http2FrameListenerDecorator {
+
+    // A random payload which is unlikely to collide with the keep-alive PINGs.
+    @VisibleForTesting
+    static final long BDP_PING_PAYLOAD = 0x4264705069e6a5c1L;
+
+    private static final long MIN_PING_INTERVAL_MILLIS = 100;
+
+    private final Http2Connection connection;
+    private final Http2ConnectionEncoder encoder;
+    private final int maxWindowSize;
+    private final DistributionSummary windowSizeSummary;
+    private final long minPingIntervalNanos;
+
+    private boolean pinging;
+    private long pingSentNanos;
+    private long lastPingAckNanos;
+    private long bytesSincePing;
+    private long lastBandwidth;
+    /**
+     * The initial stream window size sent last, which may not have been acknowledged yet.
+     */
+    private int windowSize;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param listener the {@link Http2FrameListener} to delegate the frames to
+     * @param connection the {@link Http2Connection} whose inbound windows are tuned
+     * @param encoder the {@link Http2ConnectionEncoder} used to send PING and SETTINGS frames
+     * @param maxWindowSize the maximum window size
+     * @param windowSizeSummary the {@link DistributionSummary} that records the new window sizes
+     */
+    public Http2WindowAutoTuner(Http2FrameListener listener, Http2Connection connection,
+                                Http2ConnectionEncoder encoder, int maxWindowSize,
+                                DistributionSummary windowSizeSummary) {
+        this(listener, connection, encoder, maxWindowSize, windowSizeSummary,
+             TimeUnit.MILLISECONDS.toNanos(MIN_PING_INTERVAL_MILLIS));
+    }
+
+    @VisibleForTesting
+    Http2WindowAutoTuner(Http2FrameListener listener, Http2Connection connection,
+                         Http2ConnectionEncoder encoder, int maxWindowSize,
+                         DistributionSummary windowSizeSummary, long minPingIntervalNanos) {
+        super(listener);
+        this.connection = requireNonNull(connection, "connection");
+        this.encoder = requireNonNull(encoder, "encoder");
+        checkArgument(maxWindowSize > 0, "maxWindowSize: %s (expected: > 0)", maxWindowSize);
+        this.maxWindowSize = maxWindowSize;
+        this.windowSizeSummary = requireNonNull(windowSizeSummary, "windowSizeSummary");
+        this.minPingIntervalNanos = minPingIntervalNanos;
+        windowSize = connection.local().flowController().initialWindowSize();
+        lastPingAckNanos = System.nanoTime() - minPingIntervalNanos;
+    }
+
+    @Override
+    public int onDataRead(ChannelHandlerContext ctx, int streamId, ByteBuf data, int padding,
+                          boolean endOfStream) throws Http2Exception {
+        if (pinging) {
+            bytesSincePing += data.readableBytes() + padding;
+        } else if (windowSize < maxWindowSize) {
+            final long currentNanos = System.nanoTime();
+            if (currentNanos - lastPingAckNanos >= minPingIntervalNanos) {
+                pinging = true;
+                bytesSincePing = data.readableBytes() + padding;
+                pingSentNanos = currentNanos;
+                // The PING is flushed by Http2ConnectionHandler.channelReadComplete().
+                encoder.writePing(ctx, false, BDP_PING_PAYLOAD, ctx.newPromise());
+            }
+        }
+        return super.onDataRead(ctx, streamId, data, padding, endOfStream);
+    }
+
+    @Override
+    public void onPingAckRead(ChannelHandlerContext ctx, long data) throws Http2Exception {
+        if (data != BDP_PING_PAYLOAD || !pinging) {
+            super.onPingAckRead(ctx, data);
+            return;
+        }
+
+        pinging = false;
+        lastPingAckNanos = System.nanoTime();
+        final long elapsedNanos = Math.max(1, lastPingAckNanos - pingSentNanos);
+        final long bandwidth = bytesSincePing * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        final int targetWindowSize = (int) Math.min(bytesSincePing * 2, maxWindowSize);
+
+        final Http2LocalFlowController flowController = connection.local().flowController();
+        // Compare with the window size sent last because the previous SETTINGS may not be acknowledged yet.
+        final int currentWindowSize = Math.max(windowSize, flowController.initialWindowSize());
+        if (targetWindowSize <= currentWindowSize || bandwidth <= lastBandwidth) {
+            return;
+        }
+        lastBandwidth = bandwidth;
+        windowSize = targetWindowSize;
+
+        // Grow the connection window right away so that it does not become the bottleneck.
+        // Unlike the initial stream window, it is not negotiated with SETTINGS.
+        final Http2Stream connectionStream = connection.connectionStream();
+        final int connectionWindowSize = flowController.initialWindowSize(connectionStream);
+        if (targetWindowSize > connectionWindowSize) {
+            flowController.incrementWindowSize(connectionStream, targetWindowSize - connectionWindowSize);
+        }
+
+        // The encoder queues the SETTINGS so that Http2ConnectionDecoder applies it to the local flow
+        // controller when the peer acknowledges it.
+        final Http2Settings settings = new Http2Settings();
+        settings.initialWindowSize(targetWindowSize);
+        encoder.writeSettings(ctx, settings, ctx.newPromise());
+        windowSizeSummary.record(targetWindowSize);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import java.util.Map.Entry;
+import java.util.StringJoiner;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Splitter;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+
+import io.netty.util.AsciiString;
+
+/**
+ * The load of a server, which is reported to the clients in the {@code "endpoint-load-metrics"} response
+ * header in the text format of
+ * <a href="https://github.com/cncf/xds/blob/main/xds/data/orca/v3/orca_load_report.proto">ORCA</a>, e.g.
+ * {@code TEXT cpu_utilization=0.5, rps_fractional=120.0, named_metrics.in_flight_requests=3}.
+ */
+public final class LoadReport {
+
+    /**
+     * The name of the response header that contains a {@link LoadReport}.
+     */
+    public static final AsciiString HEADER_NAME = HttpHeaderNames.of("endpoint-load-metrics");
+
+    private static final String TEXT_PREFIX = "TEXT ";
+    private static final String CPU_UTILIZATION = "cpu_utilization";
+    private static final String RPS_FRACTIONAL = "rps_fractional";
+    private static final String IN_FLIGHT_REQUESTS = "named_metrics.in_flight_requests";
+
+    private static final Splitter.MapSplitter metricsSplitter =
+            Splitter.on(',').trimResults().omitEmptyStrings().withKeyValueSeparator('=');
+
+    /**
+     * Parses the specified {@code "endpoint-load-metrics"} header value.
+     *
+     * @return the parsed {@link LoadReport}, or {@code null} if the value is {@code null} or malformed.
+     */
+    @Nullable
+    public static LoadReport parse(@Nullable String value) {
+        if (value == null || !value.startsWith(TEXT_PREFIX)) {
+            return null;
+        }
+
+        double cpuUtilization = -1;
+        double requestsPerSecond = -1;
+        int inFlightRequests = -1;
+        try {
+            for (Entry<String, String> e :
+                    metricsSplitter.split(value.substring(TEXT_PREFIX.length())).entrySet()) {
+                switch (e.getKey()) {
+                    case CPU_UTILIZATION:
+                        cpuUtilization = Double.parseDouble(e.getValue());
+                        break;
+                    case RPS_FRACTIONAL:
+                        requestsPerSecond = Double.parseDouble(e.getValue());
+                        break;
+                    case IN_FLIGHT_REQUESTS:
+                        inFlightRequests = Integer.parseInt(e.getValue());
+                        break;
+                    default:
+                        // Ignore the unknown metrics.
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed key-value pair or number.
+            return null;
+        }
+        return new LoadReport(cpuUtilization, requestsPerSecond, inFlightRequests);
+    }
+
+    private final double cpuUtilization;
+    private final double requestsPerSecond;
+    private final int inFlightRequests;
+
+    /**
+     * Creates a new instance. A negative value means that the metric is unknown.
+     */
+    public LoadReport(double cpuUtilization, double requestsPerSecond, int inFlightRequests) {
+        this.cpuUtilization = cpuUtilization;
+        this.requestsPerSecond = requestsPerSecond;
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    /**
+     * Returns the CPU utilization of the server, where {@code 1.0} means that all CPUs are fully busy.
+     * A negative value if unknown.
+     */
+    public double cpuUtilization() {
+        return cpuUtilization;
+    }
+
+    /**
+     * Returns the number of requests per second served by the server. A negative value if unknown.
+     */
+    public double requestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    /**
+     * Returns the number of the requests being served by the server. A negative value if unknown.
+     */
+    public int inFlightRequests() {
+        return inFlightRequests;
+    }
+
+    /**
+     * Returns the {@code "endpoint-load-metrics"} header value of this {@link LoadReport}.
+     */
+    public String toHeaderValue() {
+        final StringJoiner joiner = new StringJoiner(", ", TEXT_PREFIX, "");
+        if (cpuUtilization >= 0) {
+            joiner.add(CPU_UTILIZATION + '=' + cpuUtilization);
+        }
+        if (requestsPerSecond >= 0) {
+            joiner.add(RPS_FRACTIONAL + '=' + requestsPerSecond);
+        }
+        if (inFlightRequests >= 0) {
+            joiner.add(IN_FLIGHT_REQUESTS + '=' + inFlightRequests);
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("cpuUtilization", cpuUtilization)
+                          .add("requestsPerSecond", requestsPerSecond)
+                          .add("inFlightRequests", inFlightRequests)
+                          .toString();
+    }
+}
@@ -39,6 +39,7 @@ import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.RequestContext;
 import com.linecorp.armeria.common.RequestContextStorage;
 import com.linecorp.armeria.common.RequestContextStorageProvider;
+import com.linecorp.armeria.common.VirtualThreadRequestContextStorageProvider;
 import com.linecorp.armeria.common.util.SafeCloseable;
 
 import io.netty.channel.ChannelFuture;
@@ -63,9 +64,14 @@ public final class RequestContextUtil {
     private static RequestContextStorage requestContextStorage;
 
     static {
-        final List<RequestContextStorageProvider> providers = ImmutableList.copyOf(
-                ServiceLoader.load(RequestContextStorageProvider.class));
         final String providerFqcn = Flags.requestContextStorageProvider();
+        final ImmutableList.Builder<RequestContextStorageProvider> providersBuilder = ImmutableList.builder();
+        providersBuilder.addAll(ServiceLoader.load(RequestContextStorageProvider.class));
+        if (VirtualThreadRequestContextStorageProvider.class.getName().equals(providerFqcn)) {
+            // A built-in provider which is not registered via SPI, so that it's used only when requested.
+            providersBuilder.add(new VirtualThreadRequestContextStorageProvider());
+        }
+        final List<RequestContextStorageProvider> providers = providersBuilder.build();
         if (!providers.isEmpty()) {
 
             RequestContextStorageProvider provider = null;
@@ -124,6 +124,10 @@ public final class RequestMetricSupport {
             if (socketConnectDurationNanos >= 0) {
                 metrics.socketConnectDuration().record(socketConnectDurationNanos, TimeUnit.NANOSECONDS);
             }
+            final long tlsHandshakeDurationNanos = timings.tlsHandshakeDurationNanos();
+            if (tlsHandshakeDurationNanos >= 0) {
+                metrics.tlsHandshakeDuration().record(tlsHandshakeDurationNanos, TimeUnit.NANOSECONDS);
+            }
             final long pendingAcquisitionDurationNanos = timings.pendingAcquisitionDurationNanos();
             if (pendingAcquisitionDurationNanos >= 0) {
                 metrics.pendingAcquisitionDuration().record(pendingAcquisitionDurationNanos,
@@ -220,6 +224,8 @@ public final class RequestMetricSupport {
 
         Timer socketConnectDuration();
 
+        Timer tlsHandshakeDuration();
+
         Timer pendingAcquisitionDuration();
 
         Counter writeTimeouts();
@@ -304,6 +310,7 @@ public final class RequestMetricSupport {
         private final Timer connectionAcquisitionDuration;
         private final Timer dnsResolutionDuration;
         private final Timer socketConnectDuration;
+        private final Timer tlsHandshakeDuration;
         private final Timer pendingAcquisitionDuration;
 
         private final Counter writeTimeouts;
@@ -323,6 +330,8 @@ public final class RequestMetricSupport {
                     parent, idPrefix.name("dns.resolution.duration"), idPrefix.tags());
             socketConnectDuration = newTimer(
                     parent, idPrefix.name("socket.connect.duration"), idPrefix.tags());
+            tlsHandshakeDuration = newTimer(
+                    parent, idPrefix.name("tls.handshake.duration"), idPrefix.tags());
             pendingAcquisitionDuration = newTimer(
                     parent, idPrefix.name("pending.acquisition.duration"), idPrefix.tags());
 
@@ -360,6 +369,11 @@ public final class RequestMetricSupport {
             return socketConnectDuration;
         }
 
+        @Override
+        public Timer tlsHandshakeDuration() {
+            return tlsHandshakeDuration;
+        }
+
         @Override
         public Timer pendingAcquisitionDuration() {
             return pendingAcquisitionDuration;
@@ -16,6 +16,9 @@
 
 package com.linecorp.armeria.internal.common.util;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -26,20 +29,31 @@ import javax.net.ssl.SSLSession;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.BaseEncoding;
 
+import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.InProcessAddress;
+import com.linecorp.armeria.common.util.TransportType;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ServerChannel;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
 import io.netty.handler.ssl.SslHandler;
 
 public final class ChannelUtil {
 
     private static final Set<ChannelOption<?>> PROHIBITED_OPTIONS;
+    @Nullable
+    private static final ChannelOption<Boolean> SO_REUSEPORT;
     private static final WriteBufferWaterMark DISABLED_WRITE_BUFFER_WATERMARK =
             new WriteBufferWaterMark(0, Integer.MAX_VALUE);
+    private static final BaseEncoding LOCAL_ADDRESS_ID_ENCODING = BaseEncoding.base16().lowerCase();
 
     static {
         // Do not accept 1) the options that may break Armeria and 2) the deprecated options.
@@ -60,12 +74,176 @@ public final class ChannelUtil {
         }
 
         PROHIBITED_OPTIONS = builder.build();
+
+        ChannelOption<Boolean> reusePort = null;
+        try {
+            // Shared by the /dev/epoll and io_uring transports.
+            @SuppressWarnings("unchecked")
+            final ChannelOption<Boolean> option = (ChannelOption<Boolean>) Class.forName(
+                    "io.netty.channel.unix.UnixChannelOption", false,
+                    ChannelUtil.class.getClassLoader()).getField("SO_REUSEPORT").get(null);
+            reusePort = option;
+        } catch (Exception e) {
+            // Ignore
+        }
+        SO_REUSEPORT = reusePort;
     }
 
     public static Set<ChannelOption<?>> prohibitedOptions() {
         return PROHIBITED_OPTIONS;
     }
 
+    /**
+     * Returns the {@code SO_REUSEPORT} {@link ChannelOption} if the current {@link TransportType} supports it.
+     * Otherwise, {@code null} is returned.
+     */
+    @Nullable
+    public static ChannelOption<Boolean> reusePortOption() {
+        final TransportType transportType = Flags.transportType();
+        if (transportType == TransportType.EPOLL || transportType == TransportType.IO_URING) {
+            return SO_REUSEPORT;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the {@link ServerChannel} type for Unix domain sockets of the current {@link TransportType}.
+     *
+     * @throws IllegalStateException if the current {@link TransportType} does not support Unix domain sockets
+     */
+    public static Class<? extends ServerChannel> domainServerChannelType() {
+        return findDomainSocketChannelType("io.netty.channel.epoll.EpollServerDomainSocketChannel");
+    }
+
+    /**
+     * Returns the {@link Channel} type for Unix domain sockets of the current {@link TransportType}.
+     *
+     * @throws IllegalStateException if the current {@link TransportType} does not support Unix domain sockets
+     */
+    public static Class<? extends Channel> domainSocketChannelType() {
+        return findDomainSocketChannelType("io.netty.channel.epoll.EpollDomainSocketChannel");
+    }
+
+    private static <T> Class<T> findDomainSocketChannelType(String className) {
+        final TransportType transportType = Flags.transportType();
+        if (transportType != TransportType.EPOLL) {
+            throw new IllegalStateException(
+                    "Unix domain sockets are not supported by the transport: " + transportType +
+                    " (expected: " + TransportType.EPOLL + ')');
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            final Class<T> type =
+                    (Class<T>) Class.forName(className, false, ChannelUtil.class.getClassLoader());
+            return type;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("failed to load " + className, e);
+        }
+    }
+
+    /**
+     * Converts the specified {@link SocketAddress} into the one that Netty can bind or connect to.
+     * A {@link DomainSocketAddress} is converted into Netty's domain socket address,
+     * an {@link InProcessAddress} is converted into a {@link LocalAddress} and
+     * the other addresses are returned as they are.
+     */
+    public static SocketAddress toNettyAddress(SocketAddress address) {
+        if (address instanceof DomainSocketAddress) {
+            return new io.netty.channel.unix.DomainSocketAddress(((DomainSocketAddress) address).path());
+        }
+        if (address instanceof InProcessAddress) {
+            // LocalAddress converts its ID into lower case. Encode the name so that the names which differ
+            // only in case do not denote the same LocalAddress.
+            final String name = ((InProcessAddress) address).name();
+            return new LocalAddress(LOCAL_ADDRESS_ID_ENCODING.encode(name.getBytes(StandardCharsets.UTF_8)));
+        }
+        return address;
+    }
+
+    /**
+     * Returns the local address of the specified {@link Channel}. Netty's domain socket address is converted
+     * into a {@link DomainSocketAddress} and a {@link LocalAddress} is converted into
+     * an {@link InProcessAddress}. Note that the returned address is not always an {@link InetSocketAddress}.
+     *
+     * @return the local address, or {@code null} if the {@link Channel} is not bound.
+     */
+    @Nullable
+    public static SocketAddress localAddress(Channel ch) {
+        if (ch instanceof LocalChannel) {
+            return inProcessAddress((LocalChannel) ch);
+        }
+        return fromNettyAddress(ch.localAddress(), ch.remoteAddress());
+    }
+
+    /**
+     * Returns the remote address of the specified {@link Channel}. Netty's domain socket address is
+     * converted into a {@link DomainSocketAddress} and a {@link LocalAddress} is converted into
+     * an {@link InProcessAddress}. Note that the returned address is not always an {@link InetSocketAddress}.
+     *
+     * @return the remote address, or {@code null} if the {@link Channel} is not connected.
+     */
+    @Nullable
+    public static SocketAddress remoteAddress(Channel ch) {
+        if (ch instanceof LocalChannel) {
+            return inProcessAddress((LocalChannel) ch);
+        }
+        return fromNettyAddress(ch.remoteAddress(), ch.localAddress());
+    }
+
+    /**
+     * Converts the specified {@link SocketAddress} returned by Netty into the one that Armeria exposes,
+     * i.e. the reverse of {@link #toNettyAddress(SocketAddress)}.
+     */
+    @Nullable
+    public static SocketAddress fromNettyAddress(@Nullable SocketAddress address) {
+        return fromNettyAddress(address, null);
+    }
+
+    @Nullable
+    private static SocketAddress fromNettyAddress(@Nullable SocketAddress address,
+                                                  @Nullable SocketAddress peerAddress) {
+        if (address instanceof InetSocketAddress) {
+            return address;
+        }
+        if (address instanceof LocalAddress) {
+            return fromLocalAddress((LocalAddress) address);
+        }
+        if (address != null && !isNettyDomainSocketAddress(address)) {
+            return address;
+        }
+
+        String path = address != null ? ((io.netty.channel.unix.DomainSocketAddress) address).path() : "";
+        if (path.isEmpty() && peerAddress != null && isNettyDomainSocketAddress(peerAddress)) {
+            // The client side of a domain socket is usually unnamed, so we use the path of the other side,
+            // which identifies the connection.
+            path = ((io.netty.channel.unix.DomainSocketAddress) peerAddress).path();
+        }
+        return path.isEmpty() ? null : DomainSocketAddress.of(path);
+    }
+
+    @Nullable
+    private static SocketAddress inProcessAddress(LocalChannel ch) {
+        // Only the server side of a local channel, which has a parent, is bound to the address specified
+        // by a user. The client side is bound to an ephemeral address generated by Netty, so we use
+        // the address of the server side for both ends, which identifies the connection.
+        final LocalAddress address = ch.parent() != null ? ch.localAddress() : ch.remoteAddress();
+        return address != null ? fromLocalAddress(address) : null;
+    }
+
+    private static SocketAddress fromLocalAddress(LocalAddress address) {
+        final String id = address.id();
+        if (!LOCAL_ADDRESS_ID_ENCODING.canDecode(id)) {
+            // Not bound by Armeria.
+            return address;
+        }
+        return InProcessAddress.of(new String(LOCAL_ADDRESS_ID_ENCODING.decode(id), StandardCharsets.UTF_8));
+    }
+
+    private static boolean isNettyDomainSocketAddress(SocketAddress address) {
+        // Compare the class name first so that the native transport classes are not loaded unnecessarily.
+        return "io.netty.channel.unix.DomainSocketAddress".equals(address.getClass().getName());
+    }
+
     public static CompletableFuture<Void> close(Iterable<? extends Channel> channels) {
         final List<Channel> channelsCopy = ImmutableList.copyOf(channels);
         if (channelsCopy.isEmpty()) {
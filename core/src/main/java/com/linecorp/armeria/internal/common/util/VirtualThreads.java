@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.util;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.common.util.Exceptions;
+
+/**
+ * Provides access to the virtual threads introduced in Java 21 via {@link MethodHandle}s, so that
+ * Armeria can use them without requiring Java 21 at compile time.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    @Nullable
+    private static final MethodHandle OF_VIRTUAL;
+    @Nullable
+    private static final MethodHandle NAME;
+    @Nullable
+    private static final MethodHandle FACTORY;
+    @Nullable
+    private static final MethodHandle IS_VIRTUAL;
+    @Nullable
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle isVirtual = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+            name = lookup.findVirtual(ofVirtualClass, "name",
+                                      MethodType.methodType(ofVirtualClass, String.class, long.class));
+            factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            newThreadPerTaskExecutor = lookup.findStatic(
+                    Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (Throwable cause) {
+            logger.debug("Virtual threads are not available:", cause);
+            ofVirtual = null;
+            name = null;
+            factory = null;
+            isVirtual = null;
+            newThreadPerTaskExecutor = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        IS_VIRTUAL = isVirtual;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    /**
+     * Returns whether the current JVM supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns whether the specified {@link Thread} is a virtual thread.
+     * Always returns {@code false} if the current JVM does not support virtual threads.
+     */
+    public static boolean isVirtual(Thread thread) {
+        requireNonNull(thread, "thread");
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable cause) {
+            return Exceptions.throwUnsafely(cause);
+        }
+    }
+
+    /**
+     * Returns a new {@link ThreadFactory} that creates a new virtual thread whose name starts with
+     * the specified {@code threadNamePrefix}. The specified {@code taskFunction} is applied to every
+     * {@link Runnable} before a new thread is created.
+     *
+     * @throws IllegalStateException if the current JVM does not support virtual threads
+     */
+    public static ThreadFactory newThreadFactory(
+            String threadNamePrefix, Function<? super Runnable, ? extends Runnable> taskFunction) {
+        requireNonNull(threadNamePrefix, "threadNamePrefix");
+        requireNonNull(taskFunction, "taskFunction");
+        checkState(isSupported(), "virtual threads are not supported (expected: Java 21 or above)");
+
+        final ThreadFactory delegate;
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = NAME.invoke(builder, threadNamePrefix + '-', 0L);
+            delegate = (ThreadFactory) FACTORY.invoke(builder);
+        } catch (Throwable cause) {
+            return Exceptions.throwUnsafely(cause);
+        }
+
+        return r -> {
+            final Runnable newRunnable = taskFunction.apply(r);
+            checkState(newRunnable != null, "taskFunction.apply() returned null.");
+            return delegate.newThread(newRunnable);
+        };
+    }
+
+    /**
+     * Returns a new {@link ExecutorService} that starts a new thread created by the specified
+     * {@link ThreadFactory} for each task.
+     *
+     * @throws IllegalStateException if the current JVM does not support virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        requireNonNull(threadFactory, "threadFactory");
+        checkState(isSupported(), "virtual threads are not supported (expected: Java 21 or above)");
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invokeExact(threadFactory);
+        } catch (Throwable cause) {
+            return Exceptions.throwUnsafely(cause);
+        }
+    }
+
+    private VirtualThreads() {}
+}
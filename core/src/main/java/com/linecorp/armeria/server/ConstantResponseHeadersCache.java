@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.ReadOnlyHttp2Headers;
+import io.netty.util.AsciiString;
+
+/**
+ * Keeps the Netty representation of the constant {@link ResponseHeaders}, so that they are converted
+ * only once rather than for every response.
+ *
+ * @see ResponseHeaders#toConstant()
+ */
+final class ConstantResponseHeadersCache {
+
+    // Weak keys are compared by identity, so two equal ResponseHeaders never share an entry.
+    private static final ConcurrentMap<ResponseHeaders, DefaultHttpHeaders> http1Cache =
+            new MapMaker().weakKeys().makeMap();
+    private static final ConcurrentMap<ResponseHeaders, CachedHttp2Headers> http2Cache =
+            new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Adds the HTTP/1 headers converted from the specified constant {@link ResponseHeaders} to
+     * the specified Netty headers. The converted headers are copied with their hash codes, so
+     * the names and values are neither validated nor hashed again.
+     */
+    static void addHttp1Headers(ResponseHeaders headers, io.netty.handler.codec.http.HttpHeaders out) {
+        assert headers.isConstant();
+        out.add(http1Cache.computeIfAbsent(headers, ConstantResponseHeadersCache::toHttp1Headers));
+    }
+
+    /**
+     * Returns the read-only HTTP/2 headers converted from the specified constant {@link ResponseHeaders}.
+     * The cached {@link Http2Headers} is shared as it is if none of the following applies. Otherwise,
+     * a new read-only view which shares the cached names and values is returned.
+     * <ul>
+     *   <li>{@code removeContentLength} is {@code true} and the headers have {@code "content-length"}.</li>
+     *   <li>{@code server} is not {@code null} and the headers do not have {@code "server"}.</li>
+     *   <li>{@code date} is not {@code null} and the headers do not have {@code "date"}.</li>
+     *   <li>{@code additionalHeaders} is not empty. They replace the cached headers of the same names.</li>
+     * </ul>
+     */
+    static Http2Headers http2Headers(ResponseHeaders headers, boolean removeContentLength,
+                                     @Nullable AsciiString server, @Nullable AsciiString date,
+                                     HttpHeaders additionalHeaders) {
+        assert headers.isConstant();
+        final CachedHttp2Headers cached =
+                http2Cache.computeIfAbsent(headers, ConstantResponseHeadersCache::toHttp2Headers);
+        return cached.view(removeContentLength, server, date, additionalHeaders);
+    }
+
+    private static DefaultHttpHeaders toHttp1Headers(ResponseHeaders headers) {
+        final DefaultHttpHeaders converted = new DefaultHttpHeaders(false);
+        ArmeriaHttpUtil.toNettyHttp1ServerHeader(headers, converted);
+
+        final DefaultHttpHeaders out = new DefaultHttpHeaders(false);
+        final Iterator<Entry<CharSequence, CharSequence>> i = converted.iteratorCharSequence();
+        while (i.hasNext()) {
+            final Entry<CharSequence, CharSequence> e = i.next();
+            out.add(AsciiString.of(e.getKey()), AsciiString.of(e.getValue()));
+        }
+        return out;
+    }
+
+    private static CachedHttp2Headers toHttp2Headers(ResponseHeaders headers) {
+        final Http2Headers converted = ArmeriaHttpUtil.toNettyHttp2ServerHeaders(headers);
+        final AsciiString status = AsciiString.of(converted.status());
+        final List<AsciiString> otherHeaders = new ArrayList<>(converted.size() * 2);
+        for (Entry<CharSequence, CharSequence> e : converted) {
+            final AsciiString name = AsciiString.of(e.getKey());
+            if (Http2Headers.PseudoHeaderName.STATUS.value().equals(name)) {
+                continue;
+            }
+            otherHeaders.add(name);
+            otherHeaders.add(AsciiString.of(e.getValue()));
+        }
+        return new CachedHttp2Headers(status, otherHeaders.toArray(new AsciiString[0]));
+    }
+
+    /**
+     * The HTTP/2 headers converted from a constant {@link ResponseHeaders}, which are kept as an array of
+     * names and values so that a {@link ReadOnlyHttp2Headers} shares them without copying each entry.
+     */
+    private static final class CachedHttp2Headers {
+
+        private final AsciiString status;
+        /** The names and values except {@code ":status"}, e.g. {@code [name0, value0, name1, value1]}. */
+        private final AsciiString[] otherHeaders;
+        private final Http2Headers shared;
+        private final boolean hasContentLength;
+        private final boolean hasServer;
+        private final boolean hasDate;
+
+        CachedHttp2Headers(AsciiString status, AsciiString[] otherHeaders) {
+            this.status = status;
+            this.otherHeaders = otherHeaders;
+            shared = ReadOnlyHttp2Headers.serverHeaders(false, status, otherHeaders);
+            hasContentLength = shared.contains(HttpHeaderNames.CONTENT_LENGTH);
+            hasServer = shared.contains(HttpHeaderNames.SERVER);
+            hasDate = shared.contains(HttpHeaderNames.DATE);
+        }
+
+        Http2Headers view(boolean removeContentLength, @Nullable AsciiString server,
+                          @Nullable AsciiString date, HttpHeaders additionalHeaders) {
+            final boolean hasAdditionalHeaders = !additionalHeaders.isEmpty();
+            final boolean removeCl = removeContentLength &&
+                                     (hasContentLength ||
+                                      additionalHeaders.contains(HttpHeaderNames.CONTENT_LENGTH));
+            final boolean addServer = server != null && !hasServer &&
+                                      !additionalHeaders.contains(HttpHeaderNames.SERVER);
+            final boolean addDate = date != null && !hasDate &&
+                                    !additionalHeaders.contains(HttpHeaderNames.DATE);
+            if (!removeCl && !addServer && !addDate && !hasAdditionalHeaders) {
+                return shared;
+            }
+
+            final AsciiString[] out = new AsciiString[otherHeaders.length + additionalHeaders.size() * 2 + 4];
+            int length = 0;
+            for (int i = 0; i < otherHeaders.length; i += 2) {
+                final AsciiString name = otherHeaders[i];
+                if (removeCl && HttpHeaderNames.CONTENT_LENGTH.equals(name)) {
+                    continue;
+                }
+                if (hasAdditionalHeaders && additionalHeaders.contains(name) &&
+                    ArmeriaHttpUtil.isAdditionalHttp2ServerHeaderAllowed(name)) {
+                    // Replaced by the additional headers.
+                    continue;
+                }
+                out[length++] = name;
+                out[length++] = otherHeaders[i + 1];
+            }
+            if (hasAdditionalHeaders) {
+                for (Entry<AsciiString, String> e : additionalHeaders) {
+                    final AsciiString name = e.getKey();
+                    if (!ArmeriaHttpUtil.isAdditionalHttp2ServerHeaderAllowed(name) ||
+                        removeCl && HttpHeaderNames.CONTENT_LENGTH.equals(name)) {
+                        continue;
+                    }
+                    out[length++] = name;
+                    out[length++] = AsciiString.of(e.getValue());
+                }
+            }
+            if (addServer) {
+                out[length++] = HttpHeaderNames.SERVER;
+                out[length++] = server;
+            }
+            if (addDate) {
+                out[length++] = HttpHeaderNames.DATE;
+                out[length++] = date;
+            }
+            return ReadOnlyHttp2Headers.serverHeaders(
+                    false, status, length == out.length ? out : Arrays.copyOf(out, length));
+        }
+    }
+
+    private ConstantResponseHeadersCache() {}
+}
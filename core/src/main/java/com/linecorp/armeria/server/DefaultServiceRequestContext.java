@@ -55,6 +55,7 @@ import com.linecorp.armeria.common.logging.RequestLogBuilder;
 import com.linecorp.armeria.common.util.TextFormatter;
 import com.linecorp.armeria.common.util.TimeoutMode;
 import com.linecorp.armeria.internal.common.CancellationScheduler;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 import com.linecorp.armeria.internal.common.util.TemporaryThreadLocals;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -199,7 +200,7 @@ public final class DefaultServiceRequestContext
     @Override
     public <A extends SocketAddress> A remoteAddress() {
         @SuppressWarnings("unchecked")
-        final A addr = (A) firstNonNull(ch.remoteAddress(), UNKNOWN_ADDR);
+        final A addr = (A) firstNonNull(ChannelUtil.remoteAddress(ch), UNKNOWN_ADDR);
         return addr;
     }
 
@@ -207,7 +208,7 @@ public final class DefaultServiceRequestContext
     @Override
     public <A extends SocketAddress> A localAddress() {
         @SuppressWarnings("unchecked")
-        final A addr = (A) firstNonNull(ch.localAddress(), UNKNOWN_ADDR);
+        final A addr = (A) firstNonNull(ChannelUtil.localAddress(ch), UNKNOWN_ADDR);
         return addr;
     }
 
@@ -451,8 +452,8 @@ public final class DefaultServiceRequestContext
         // the same StringBuilder. See TemporaryThreadLocals for more information.
         final String sreqId = id().shortText();
         final String chanId = ch.id().asShortText();
-        final InetSocketAddress raddr = remoteAddress();
-        final InetSocketAddress laddr = localAddress();
+        final SocketAddress raddr = remoteAddress();
+        final SocketAddress laddr = localAddress();
         final InetAddress caddr = clientAddress();
         final String proto = sessionProtocol().uriText();
         final String authority = config().virtualHost().defaultHostname();
@@ -465,7 +466,8 @@ public final class DefaultServiceRequestContext
             buf.append("[sreqId=").append(sreqId)
                .append(", chanId=").append(chanId);
 
-            if (!Objects.equals(caddr, raddr.getAddress())) {
+            if (!(raddr instanceof InetSocketAddress) ||
+                !Objects.equals(caddr, ((InetSocketAddress) raddr).getAddress())) {
                 buf.append(", caddr=");
                 TextFormatter.appendInetAddress(buf, caddr);
             }
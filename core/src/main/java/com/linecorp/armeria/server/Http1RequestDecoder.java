@@ -34,11 +34,13 @@ import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.ProtocolViolationException;
 import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.RequestHeadersBuilder;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
 import com.linecorp.armeria.internal.common.InboundTrafficController;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
+import com.linecorp.armeria.server.Http1ServerCodec.ArmeriaHttpRequest;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
@@ -195,7 +197,15 @@ final class Http1RequestDecoder extends ChannelDuplexHandler {
                         contentEmpty = true;
                     }
 
-                    if (!handle100Continue(id, nettyReq, nettyHeaders)) {
+                    // Http1ServerCodec decodes the headers into RequestHeadersBuilder directly.
+                    final RequestHeadersBuilder armeriaHeaders;
+                    if (nettyReq instanceof ArmeriaHttpRequest) {
+                        armeriaHeaders = ((ArmeriaHttpRequest) nettyReq).armeriaHeaders();
+                    } else {
+                        armeriaHeaders = null;
+                    }
+
+                    if (!handle100Continue(id, nettyReq, nettyHeaders, armeriaHeaders)) {
                         ctx.pipeline().fireUserEventTriggered(HttpExpectationFailedEvent.INSTANCE);
                         fail(id, HttpResponseStatus.EXPECTATION_FAILED, null);
                         return;
@@ -206,7 +216,12 @@ final class Http1RequestDecoder extends ChannelDuplexHandler {
                     // Close the request early when it is sure that there will be
                     // neither content nor trailers.
                     final EventLoop eventLoop = ctx.channel().eventLoop();
-                    final RequestHeaders armeriaRequestHeaders = ArmeriaHttpUtil.toArmeria(ctx, nettyReq, cfg);
+                    final RequestHeaders armeriaRequestHeaders;
+                    if (armeriaHeaders != null) {
+                        armeriaRequestHeaders = ArmeriaHttpUtil.toArmeria(ctx, nettyReq, armeriaHeaders, cfg);
+                    } else {
+                        armeriaRequestHeaders = ArmeriaHttpUtil.toArmeria(ctx, nettyReq, cfg);
+                    }
                     final boolean keepAlive = HttpUtil.isKeepAlive(nettyReq);
                     if (contentEmpty && !HttpUtil.isTransferEncodingChunked(nettyReq)) {
                         this.req = req = new EmptyContentDecodedHttpRequest(
@@ -284,7 +299,8 @@ final class Http1RequestDecoder extends ChannelDuplexHandler {
         }
     }
 
-    private boolean handle100Continue(int id, HttpRequest nettyReq, HttpHeaders nettyHeaders) {
+    private boolean handle100Continue(int id, HttpRequest nettyReq, HttpHeaders nettyHeaders,
+                                      @Nullable RequestHeadersBuilder armeriaHeaders) {
         if (nettyReq.protocolVersion().compareTo(HttpVersion.HTTP_1_1) < 0) {
             // Ignore HTTP/1.0 requests.
             return true;
@@ -306,6 +322,9 @@ final class Http1RequestDecoder extends ChannelDuplexHandler {
 
         // Remove the 'expect' header so that it's handled in a way invisible to a Service.
         nettyHeaders.remove(HttpHeaderNames.EXPECT);
+        if (armeriaHeaders != null) {
+            armeriaHeaders.remove(HttpHeaderNames.EXPECT);
+        }
         return true;
     }
 
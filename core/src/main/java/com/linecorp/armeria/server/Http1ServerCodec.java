@@ -0,0 +1,786 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.StringJoiner;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.Splitter;
+
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.RequestHeadersBuilder;
+import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.CombinedChannelDuplexHandler;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderResult;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
+import io.netty.util.AsciiString;
+
+/**
+ * A replacement of Netty's {@link HttpServerCodec} which decodes the request line and headers of
+ * an HTTP/1 request directly into a {@link RequestHeadersBuilder}, so that {@link Http1RequestDecoder}
+ * does not need to convert Netty's {@link HttpHeaders} into Armeria's {@link RequestHeaders}.
+ * The well-known header names are interned by {@link HttpHeaderNames#of(AsciiString)} without creating
+ * a {@link String} for each header name.
+ *
+ * <p>It still produces Netty's {@link HttpObject}s, so that the other handlers such as
+ * {@link HttpServerUpgradeHandler} work as they do with {@link HttpServerCodec}. The {@link HttpHeaders}
+ * of the produced {@link ArmeriaHttpRequest} contain only the headers required for handling
+ * the connection, such as {@code "connection"}, {@code "content-length"} and {@code "transfer-encoding"}.
+ * If the request has an {@code "upgrade"} header, all headers are decoded into the {@link HttpHeaders}
+ * and {@link ArmeriaHttpRequest#armeriaHeaders()} returns {@code null}, because
+ * {@link HttpServerUpgradeHandler} needs the full {@link HttpHeaders} of the request.
+ *
+ * @see Flags#useArmeriaHttp1Decoder()
+ */
+final class Http1ServerCodec extends CombinedChannelDuplexHandler<Http1ServerCodec.RequestDecoder,
+                                                                  Http1ServerCodec.ResponseEncoder>
+        implements HttpServerUpgradeHandler.SourceCodec {
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte SP = ' ';
+    private static final byte HTAB = '\t';
+    private static final byte COLON = ':';
+    private static final byte SEMICOLON = ';';
+    private static final byte DEL = 0x7F;
+
+    private static final String TOKEN_DELIMITERS = "\"(),/:;<=>?@[\\]{}";
+
+    private static final byte[] HTTP_1_1 = "HTTP/1.1".getBytes(ISO_8859_1);
+    private static final byte[] HTTP_1_0 = "HTTP/1.0".getBytes(ISO_8859_1);
+
+    private static final Splitter COOKIE_SPLITTER = Splitter.on(';').trimResults().omitEmptyStrings();
+    private static final String COOKIE_SEPARATOR = "; ";
+    private static final Splitter CSV_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    /** The {@link Queue} of the methods of the requests whose responses are not sent yet. */
+    private final Queue<HttpMethod> methods = new ArrayDeque<>();
+
+    Http1ServerCodec(int maxInitialLineLength, int maxHeaderSize, int maxChunkSize) {
+        init(new RequestDecoder(maxInitialLineLength, maxHeaderSize, maxChunkSize), new ResponseEncoder());
+    }
+
+    @Override
+    public void prepareUpgradeFrom(ChannelHandlerContext ctx) {
+        // Pass the bytes received after the upgrade request, e.g. HTTP/2 connection preface, as they are.
+        inboundHandler().state = State.UPGRADED;
+    }
+
+    @Override
+    public void upgradeFrom(ChannelHandlerContext ctx) {
+        ctx.pipeline().remove(this);
+    }
+
+    /**
+     * A Netty {@link io.netty.handler.codec.http.HttpRequest} whose headers except the ones required for
+     * handling the connection were decoded into a {@link RequestHeadersBuilder}.
+     */
+    static final class ArmeriaHttpRequest extends DefaultHttpRequest {
+
+        @Nullable
+        private final RequestHeadersBuilder armeriaHeaders;
+
+        ArmeriaHttpRequest(HttpVersion version, HttpMethod method, String uri,
+                           @Nullable RequestHeadersBuilder armeriaHeaders) {
+            // RequestDecoder validates the header names and values while decoding them.
+            super(version, method, uri, false);
+            this.armeriaHeaders = armeriaHeaders;
+        }
+
+        /**
+         * Returns the {@link RequestHeadersBuilder} which contains the decoded headers except the pseudo
+         * headers, or {@code null} if all headers were decoded into {@link #headers()}.
+         */
+        @Nullable
+        RequestHeadersBuilder armeriaHeaders() {
+            return armeriaHeaders;
+        }
+    }
+
+    private enum State {
+        READ_HEADERS,
+        READ_FIXED_LENGTH_CONTENT,
+        READ_CHUNK_SIZE,
+        READ_CHUNKED_CONTENT,
+        READ_CHUNK_DELIMITER,
+        READ_CHUNK_FOOTER,
+        BAD_MESSAGE,
+        UPGRADED
+    }
+
+    final class RequestDecoder extends ByteToMessageDecoder {
+
+        private final int maxInitialLineLength;
+        private final int maxHeaderSize;
+        private final int maxChunkSize;
+
+        private State state = State.READ_HEADERS;
+        /** The number of bytes of the complete lines which were scanned while finding the end of headers. */
+        private int scannedBytes;
+        private long remainingBytes;
+
+        RequestDecoder(int maxInitialLineLength, int maxHeaderSize, int maxChunkSize) {
+            this.maxInitialLineLength = maxInitialLineLength;
+            this.maxHeaderSize = maxHeaderSize;
+            this.maxChunkSize = maxChunkSize > 0 ? maxChunkSize : Integer.MAX_VALUE;
+        }
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+            try {
+                switch (state) {
+                    case READ_HEADERS:
+                        readHeaders(in, out);
+                        return;
+                    case READ_FIXED_LENGTH_CONTENT:
+                        readFixedLengthContent(in, out);
+                        return;
+                    case READ_CHUNK_SIZE:
+                        readChunkSize(in);
+                        return;
+                    case READ_CHUNKED_CONTENT:
+                        readChunkedContent(in, out);
+                        return;
+                    case READ_CHUNK_DELIMITER:
+                        readChunkDelimiter(in);
+                        return;
+                    case READ_CHUNK_FOOTER:
+                        readChunkFooter(in, out);
+                        return;
+                    case BAD_MESSAGE:
+                        in.skipBytes(in.readableBytes());
+                        return;
+                    case UPGRADED:
+                        if (in.isReadable()) {
+                            // Let the upgraded protocol handle the remaining bytes.
+                            out.add(in.readRetainedSlice(in.readableBytes()));
+                        }
+                }
+            } catch (Exception e) {
+                fail(in, out, e);
+            }
+        }
+
+        private void readHeaders(ByteBuf in, List<Object> out) throws Exception {
+            if (scannedBytes == 0) {
+                // Ignore the empty lines before the request line.
+                // https://datatracker.ietf.org/doc/html/rfc7230#section-3.5
+                while (in.isReadable()) {
+                    final byte b = in.getByte(in.readerIndex());
+                    if (b != CR && b != LF) {
+                        break;
+                    }
+                    in.skipBytes(1);
+                }
+            }
+
+            final int maxLength = maxInitialLineLength + maxHeaderSize;
+            final int end = findEndOfHeaders(in);
+            if (end < 0) {
+                if (in.readableBytes() > maxLength) {
+                    throw new TooLongFrameException(
+                            "HTTP request headers are larger than " + maxLength + " bytes.");
+                }
+                return;
+            }
+
+            final int length = end - in.readerIndex();
+            if (length > maxLength) {
+                throw new TooLongFrameException(
+                        "HTTP request headers are larger than " + maxLength + " bytes.");
+            }
+
+            // Note that getBytes() returns the backing array only when the header block fills it.
+            final byte[] buf = ByteBufUtil.getBytes(in, in.readerIndex(), length, false);
+            final ArmeriaHttpRequest req = decodeHeaders(buf, 0, length);
+            in.skipBytes(length);
+
+            final HttpHeaders headers = req.headers();
+            final List<String> transferEncodings = headers.getAll(HttpHeaderNames.TRANSFER_ENCODING);
+            final List<String> contentLengths = headers.getAll(HttpHeaderNames.CONTENT_LENGTH);
+            if (!transferEncodings.isEmpty()) {
+                // The chunked transfer coding must be the final coding of a request.
+                // https://datatracker.ietf.org/doc/html/rfc7230#section-3.3.3
+                final String lastEncoding = transferEncodings.get(transferEncodings.size() - 1);
+                final int commaIdx = lastEncoding.lastIndexOf(',');
+                final String lastCoding = lastEncoding.substring(commaIdx + 1).trim();
+                if (!Ascii.equalsIgnoreCase("chunked", lastCoding)) {
+                    throw new IllegalArgumentException("Unsupported transfer-encoding: " + transferEncodings);
+                }
+                if (!contentLengths.isEmpty()) {
+                    // A request with both headers might be an attempt of request smuggling.
+                    // https://datatracker.ietf.org/doc/html/rfc7230#section-3.3.3
+                    throw new IllegalArgumentException(
+                            "Both content-length and transfer-encoding are specified.");
+                }
+                methods.add(req.method());
+                out.add(req);
+                state = State.READ_CHUNK_SIZE;
+                return;
+            }
+
+            long contentLength = 0;
+            if (!contentLengths.isEmpty()) {
+                final String first = contentLengths.get(0);
+                for (int i = 1; i < contentLengths.size(); i++) {
+                    if (!first.equals(contentLengths.get(i))) {
+                        throw new IllegalArgumentException("Multiple content-length values: " +
+                                                           contentLengths);
+                    }
+                }
+                contentLength = parseContentLength(first);
+            }
+
+            methods.add(req.method());
+            out.add(req);
+            if (contentLength == 0) {
+                out.add(LastHttpContent.EMPTY_LAST_CONTENT);
+            } else {
+                remainingBytes = contentLength;
+                state = State.READ_FIXED_LENGTH_CONTENT;
+            }
+        }
+
+        /**
+         * Returns the index right after the empty line that terminates the headers, or {@code -1}
+         * if the empty line has not been received yet.
+         */
+        private int findEndOfHeaders(ByteBuf in) {
+            final int readerIndex = in.readerIndex();
+            final int writerIndex = in.writerIndex();
+            int lineStart = readerIndex + scannedBytes;
+            for (;;) {
+                final int lf = in.indexOf(lineStart, writerIndex, LF);
+                if (lf < 0) {
+                    scannedBytes = lineStart - readerIndex;
+                    return -1;
+                }
+                if (lf == lineStart || lf == lineStart + 1 && in.getByte(lineStart) == CR) {
+                    scannedBytes = 0;
+                    return lf + 1;
+                }
+                lineStart = lf + 1;
+            }
+        }
+
+        private ArmeriaHttpRequest decodeHeaders(byte[] buf, int start, int end) {
+            // Decode the request line, e.g. GET /foo HTTP/1.1
+            final int lineEnd = findLineEnd(buf, start, end);
+            if (lineEnd - start > maxInitialLineLength) {
+                throw new TooLongFrameException(
+                        "An HTTP request line is larger than " + maxInitialLineLength + " bytes.");
+            }
+            // The request line must consist of exactly 3 non-empty tokens separated by a single space.
+            // https://datatracker.ietf.org/doc/html/rfc7230#section-3.1.1
+            final int methodEnd = indexOf(buf, start, lineEnd, SP);
+            final int uriEnd = indexOf(buf, methodEnd + 1, lineEnd, SP);
+            if (methodEnd <= start || uriEnd <= methodEnd + 1 || uriEnd >= lineEnd - 1 ||
+                indexOf(buf, uriEnd + 1, lineEnd, SP) != lineEnd || !hasNoControlChars(buf, start, lineEnd)) {
+                throw new IllegalArgumentException("Invalid request line: " +
+                                                   new String(buf, start, lineEnd - start, ISO_8859_1));
+            }
+
+            final HttpMethod method = HttpMethod.valueOf(new String(buf, start, methodEnd - start, ISO_8859_1));
+            final String uri = new String(buf, methodEnd + 1, uriEnd - methodEnd - 1, ISO_8859_1);
+            final HttpVersion version = decodeVersion(buf, uriEnd + 1, lineEnd);
+
+            final RequestHeadersBuilder armeriaHeaders = RequestHeaders.builder();
+            final ArmeriaHttpRequest req = new ArmeriaHttpRequest(version, method, uri, armeriaHeaders);
+            final HttpHeaders headers = req.headers();
+
+            StringJoiner cookieJoiner = null;
+            boolean hasTe = false;
+            boolean upgrade = false;
+            int lineStart = nextLine(buf, lineEnd, end);
+            for (;;) {
+                final int headerEnd = findLineEnd(buf, lineStart, end);
+                if (headerEnd == lineStart) {
+                    break;
+                }
+
+                final AsciiString name = decodeHeaderName(buf, lineStart, headerEnd);
+                final String value = decodeHeaderValue(buf, lineStart + name.length() + 1, headerEnd);
+                lineStart = nextLine(buf, headerEnd, end);
+
+                if (name.equals(HttpHeaderNames.COOKIE)) {
+                    // Cookies must be concatenated into a single octet string.
+                    // https://datatracker.ietf.org/doc/html/rfc7540#section-8.1.2.5
+                    if (cookieJoiner == null) {
+                        cookieJoiner = new StringJoiner(COOKIE_SEPARATOR);
+                    }
+                    COOKIE_SPLITTER.split(value).forEach(cookieJoiner::add);
+                    continue;
+                }
+
+                if (name.equals(HttpHeaderNames.TE)) {
+                    // https://datatracker.ietf.org/doc/html/rfc7540#section-8.1.2.2 makes
+                    // a special exception for TE.
+                    if (!hasTe && containsToken(value, "trailers")) {
+                        armeriaHeaders.add(HttpHeaderNames.TE, "trailers");
+                        hasTe = true;
+                    }
+                    continue;
+                }
+
+                switch (connectionHeaderType(name)) {
+                    case NETTY_ONLY:
+                        if (name.equals(HttpHeaderNames.UPGRADE)) {
+                            upgrade = true;
+                        }
+                        headers.add(name, value);
+                        break;
+                    case BOTH:
+                        headers.add(name, value);
+                        armeriaHeaders.add(name, value);
+                        break;
+                    case NONE:
+                        break;
+                    default:
+                        armeriaHeaders.add(name, value);
+                }
+            }
+
+            if (upgrade) {
+                // HttpServerUpgradeHandler and Http1RequestDecoder need all headers in Netty's HttpHeaders
+                // when the request is upgraded.
+                final ArmeriaHttpRequest fullReq = new ArmeriaHttpRequest(version, method, uri, null);
+                for (lineStart = nextLine(buf, lineEnd, end);;) {
+                    final int headerEnd = findLineEnd(buf, lineStart, end);
+                    if (headerEnd == lineStart) {
+                        break;
+                    }
+                    final AsciiString name = decodeHeaderName(buf, lineStart, headerEnd);
+                    fullReq.headers().add(name, decodeHeaderValue(buf, lineStart + name.length() + 1,
+                                                                  headerEnd));
+                    lineStart = nextLine(buf, headerEnd, end);
+                }
+                return fullReq;
+            }
+
+            if (cookieJoiner != null && cookieJoiner.length() != 0) {
+                armeriaHeaders.add(HttpHeaderNames.COOKIE, cookieJoiner.toString());
+            }
+
+            // Remove the headers nominated by the 'connection' header.
+            // https://datatracker.ietf.org/doc/html/rfc7230#section-6.1
+            for (String connection : headers.getAll(HttpHeaderNames.CONNECTION)) {
+                for (String nominated : CSV_SPLITTER.split(connection)) {
+                    armeriaHeaders.remove(Ascii.toLowerCase(nominated));
+                }
+            }
+            return req;
+        }
+
+        private HttpVersion decodeVersion(byte[] buf, int start, int end) {
+            if (regionEquals(buf, start, end, HTTP_1_1)) {
+                return HttpVersion.HTTP_1_1;
+            }
+            if (regionEquals(buf, start, end, HTTP_1_0)) {
+                return HttpVersion.HTTP_1_0;
+            }
+            return HttpVersion.valueOf(new String(buf, start, end - start, ISO_8859_1));
+        }
+
+        private AsciiString decodeHeaderName(byte[] buf, int start, int end) {
+            final byte first = buf[start];
+            if (first == SP || first == HTAB) {
+                // Reject the obsolete line folding.
+                // https://datatracker.ietf.org/doc/html/rfc7230#section-3.2.4
+                throw new IllegalArgumentException("Obsolete line folding is not allowed.");
+            }
+            final int colon = indexOf(buf, start, end, COLON);
+            if (colon == end || colon == start) {
+                throw new IllegalArgumentException("Invalid header line: " +
+                                                   new String(buf, start, end - start, ISO_8859_1));
+            }
+            for (int i = start; i < colon; i++) {
+                // No whitespace is allowed in the header name and between the header name and the colon.
+                // https://datatracker.ietf.org/doc/html/rfc7230#section-3.2.4
+                if (!isTokenChar(buf[i])) {
+                    throw new IllegalArgumentException("Invalid header name: " +
+                                                       new String(buf, start, colon - start, ISO_8859_1));
+                }
+            }
+
+            // Look up the well-known header names without copying the bytes.
+            final AsciiString name = HttpHeaderNames.of(new AsciiString(buf, start, colon - start, false));
+            if (name.isEntireArrayUsed()) {
+                return name;
+            }
+            // Do not retain the whole header block for an unknown lower-cased header name.
+            return new AsciiString(name.toByteArray(), false);
+        }
+
+        private ArmeriaHttpRequest newBadRequest() {
+            return new ArmeriaHttpRequest(HttpVersion.HTTP_1_0, HttpMethod.GET, "/bad-request", null);
+        }
+
+        private void readFixedLengthContent(ByteBuf in, List<Object> out) {
+            final int toRead = (int) Math.min(Math.min(remainingBytes, in.readableBytes()), maxChunkSize);
+            if (toRead == 0) {
+                return;
+            }
+            final ByteBuf content = in.readRetainedSlice(toRead);
+            remainingBytes -= toRead;
+            if (remainingBytes == 0) {
+                out.add(new DefaultLastHttpContent(content, false));
+                state = State.READ_HEADERS;
+            } else {
+                out.add(new DefaultHttpContent(content));
+            }
+        }
+
+        private void readChunkSize(ByteBuf in) {
+            final int lf = in.indexOf(in.readerIndex(), in.writerIndex(), LF);
+            if (lf < 0) {
+                if (in.readableBytes() > maxInitialLineLength) {
+                    throw new TooLongFrameException(
+                            "A chunk size line is larger than " + maxInitialLineLength + " bytes.");
+                }
+                return;
+            }
+
+            // chunk = chunk-size [ chunk-ext ] CRLF
+            // https://datatracker.ietf.org/doc/html/rfc7230#section-4.1
+            final int start = in.readerIndex();
+            final int end = lf > start && in.getByte(lf - 1) == CR ? lf - 1 : lf;
+            long chunkSize = 0;
+            int i = start;
+            for (; i < end; i++) {
+                final int digit = Character.digit(in.getByte(i), 16);
+                if (digit < 0) {
+                    break;
+                }
+                if (i - start == 15) {
+                    throw new IllegalArgumentException("Chunk size is too large.");
+                }
+                chunkSize = chunkSize << 4 | digit;
+            }
+            if (i == start) {
+                throw new IllegalArgumentException("Invalid chunk size");
+            }
+            if (i < end) {
+                // Allow only the chunk extensions, optionally preceded by whitespaces.
+                while (i < end && isWhitespace(in.getByte(i))) {
+                    i++;
+                }
+                if (i == end || in.getByte(i) != SEMICOLON) {
+                    throw new IllegalArgumentException("Invalid chunk size line");
+                }
+                for (; i < end; i++) {
+                    if (!isFieldValueChar(in.getByte(i))) {
+                        throw new IllegalArgumentException("Invalid chunk extension");
+                    }
+                }
+            }
+
+            in.readerIndex(lf + 1);
+            if (chunkSize == 0) {
+                state = State.READ_CHUNK_FOOTER;
+            } else {
+                remainingBytes = chunkSize;
+                state = State.READ_CHUNKED_CONTENT;
+            }
+        }
+
+        private void readChunkedContent(ByteBuf in, List<Object> out) {
+            final int toRead = (int) Math.min(Math.min(remainingBytes, in.readableBytes()), maxChunkSize);
+            if (toRead == 0) {
+                return;
+            }
+            out.add(new DefaultHttpContent(in.readRetainedSlice(toRead)));
+            remainingBytes -= toRead;
+            if (remainingBytes == 0) {
+                state = State.READ_CHUNK_DELIMITER;
+            }
+        }
+
+        private void readChunkDelimiter(ByteBuf in) {
+            if (!in.isReadable()) {
+                return;
+            }
+            final byte first = in.getByte(in.readerIndex());
+            if (first == LF) {
+                in.skipBytes(1);
+            } else if (first == CR) {
+                if (in.readableBytes() < 2) {
+                    return;
+                }
+                if (in.getByte(in.readerIndex() + 1) != LF) {
+                    throw new IllegalArgumentException("Invalid chunk delimiter");
+                }
+                in.skipBytes(2);
+            } else {
+                throw new IllegalArgumentException("Invalid chunk delimiter");
+            }
+            state = State.READ_CHUNK_SIZE;
+        }
+
+        private void readChunkFooter(ByteBuf in, List<Object> out) {
+            final int end = findEndOfHeaders(in);
+            if (end < 0) {
+                if (in.readableBytes() > maxHeaderSize) {
+                    throw new TooLongFrameException(
+                            "HTTP trailers are larger than " + maxHeaderSize + " bytes.");
+                }
+                return;
+            }
+
+            final int length = end - in.readerIndex();
+            if (length > maxHeaderSize) {
+                throw new TooLongFrameException("HTTP trailers are larger than " + maxHeaderSize + " bytes.");
+            }
+
+            final LastHttpContent last = new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER, false);
+            final byte[] buf = ByteBufUtil.getBytes(in, in.readerIndex(), length, false);
+            for (int lineStart = 0;;) {
+                final int lineEnd = findLineEnd(buf, lineStart, length);
+                if (lineEnd == lineStart) {
+                    break;
+                }
+                final AsciiString name = decodeHeaderName(buf, lineStart, lineEnd);
+                last.trailingHeaders().add(name, decodeHeaderValue(buf, lineStart + name.length() + 1,
+                                                                   lineEnd));
+                lineStart = nextLine(buf, lineEnd, length);
+            }
+            in.skipBytes(length);
+            out.add(last);
+            state = State.READ_HEADERS;
+        }
+
+        private void fail(ByteBuf in, List<Object> out, Exception cause) {
+            final State oldState = state;
+            state = State.BAD_MESSAGE;
+            in.skipBytes(in.readableBytes());
+
+            final HttpObject failed;
+            if (oldState == State.READ_HEADERS) {
+                final ArmeriaHttpRequest req = newBadRequest();
+                methods.add(req.method());
+                failed = req;
+            } else {
+                failed = new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER, false);
+            }
+            failed.setDecoderResult(DecoderResult.failure(cause));
+            out.add(failed);
+        }
+
+        @Override
+        protected void decodeLast(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+            super.decodeLast(ctx, in, out);
+            if (state == State.READ_FIXED_LENGTH_CONTENT || state == State.READ_CHUNK_SIZE ||
+                state == State.READ_CHUNKED_CONTENT || state == State.READ_CHUNK_DELIMITER ||
+                state == State.READ_CHUNK_FOOTER) {
+                // The connection was closed before the content is fully received.
+                fail(in, out, new IllegalStateException("Connection closed before the request is complete"));
+            }
+        }
+    }
+
+    /**
+     * Tracks the methods of the requests so that the responses to {@code HEAD} requests are encoded without
+     * content, as Netty's {@link HttpServerCodec} does.
+     */
+    final class ResponseEncoder extends HttpResponseEncoder {
+
+        @Override
+        protected boolean isContentAlwaysEmpty(HttpResponse msg) {
+            if (msg.status().codeClass() == HttpStatusClass.INFORMATIONAL) {
+                // An informational response is followed by the final response of the same request.
+                return super.isContentAlwaysEmpty(msg);
+            }
+            final HttpMethod method = methods.poll();
+            return HttpMethod.HEAD.equals(method) || super.isContentAlwaysEmpty(msg);
+        }
+    }
+
+    private enum ConnectionHeaderType {
+        /** A header which is used only for handling the connection and never given to a service. */
+        NETTY_ONLY,
+        /** A header which is used for handling the connection and also given to a service. */
+        BOTH,
+        /** An internal header which is not allowed in a request. */
+        NONE,
+        /** A header which is given to a service only. */
+        OTHER
+    }
+
+    private static ConnectionHeaderType connectionHeaderType(AsciiString name) {
+        if (name.equals(HttpHeaderNames.CONNECTION) ||
+            name.equals(HttpHeaderNames.TRANSFER_ENCODING) ||
+            name.equals(HttpHeaderNames.UPGRADE) ||
+            name.equals(ArmeriaHttpUtil.HEADER_NAME_KEEP_ALIVE) ||
+            name.equals(ArmeriaHttpUtil.HEADER_NAME_PROXY_CONNECTION) ||
+            // Consumed by ArmeriaHttpUtil.toArmeria() when the request target has no scheme.
+            name.equals(ExtensionHeaderNames.SCHEME.text())) {
+            return ConnectionHeaderType.NETTY_ONLY;
+        }
+        if (name.equals(HttpHeaderNames.CONTENT_LENGTH) || name.equals(HttpHeaderNames.EXPECT)) {
+            return ConnectionHeaderType.BOTH;
+        }
+        if (name.contentEqualsIgnoreCase(ExtensionHeaderNames.PATH.text()) ||
+            name.contentEqualsIgnoreCase(ExtensionHeaderNames.STREAM_ID.text())) {
+            return ConnectionHeaderType.NONE;
+        }
+        return ConnectionHeaderType.OTHER;
+    }
+
+    private static String decodeHeaderValue(byte[] buf, int start, int end) {
+        // Strip the optional whitespaces around the value.
+        // https://datatracker.ietf.org/doc/html/rfc7230#section-3.2
+        while (start < end && (buf[start] == SP || buf[start] == HTAB)) {
+            start++;
+        }
+        while (end > start && (buf[end - 1] == SP || buf[end - 1] == HTAB)) {
+            end--;
+        }
+        for (int i = start; i < end; i++) {
+            // Reject the control characters such as CR, LF and NUL.
+            // https://datatracker.ietf.org/doc/html/rfc7230#section-3.2
+            if (!isFieldValueChar(buf[i])) {
+                throw new IllegalArgumentException("Invalid header value: " +
+                                                   new String(buf, start, end - start, ISO_8859_1));
+            }
+        }
+        return new String(buf, start, end - start, ISO_8859_1);
+    }
+
+    private static long parseContentLength(String value) {
+        // Reject the values such as '+1', '1, 1' and '0x1', which might be interpreted differently
+        // by a proxy in front of the server.
+        // https://datatracker.ietf.org/doc/html/rfc7230#section-3.3.2
+        final int length = value.length();
+        if (length == 0 || length > 18) {
+            throw new IllegalArgumentException("Invalid content-length: " + value);
+        }
+        long contentLength = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid content-length: " + value);
+            }
+            contentLength = contentLength * 10 + (c - '0');
+        }
+        return contentLength;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == SP || b == HTAB;
+    }
+
+    /**
+     * Returns whether the specified byte is a visible US-ASCII character, an obs-text or a whitespace.
+     */
+    private static boolean isFieldValueChar(byte b) {
+        return ((b & 0xFF) >= SP && b != DEL) || b == HTAB;
+    }
+
+    /**
+     * Returns whether the specified range contains no control characters, including {@code HTAB}.
+     */
+    private static boolean hasNoControlChars(byte[] buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            final byte b = buf[i];
+            if ((b & 0xFF) < SP || b == DEL) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the specified byte is a {@code tchar}.
+     * https://datatracker.ietf.org/doc/html/rfc7230#section-3.2.6
+     */
+    private static boolean isTokenChar(byte b) {
+        return b > SP && b < DEL && TOKEN_DELIMITERS.indexOf(b) < 0;
+    }
+
+    private static boolean containsToken(String value, String token) {
+        for (String t : CSV_SPLITTER.split(value)) {
+            if (Ascii.equalsIgnoreCase(t, token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the {@code CR} or {@code LF} which terminates the line that starts at
+     * the specified index.
+     */
+    private static int findLineEnd(byte[] buf, int start, int end) {
+        final int lf = indexOf(buf, start, end, LF);
+        return lf > start && buf[lf - 1] == CR ? lf - 1 : lf;
+    }
+
+    /**
+     * Returns the start index of the next line of the line which ends at the specified index.
+     */
+    private static int nextLine(byte[] buf, int lineEnd, int end) {
+        return lineEnd < end && buf[lineEnd] == CR ? lineEnd + 2 : lineEnd + 1;
+    }
+
+    private static int indexOf(byte[] buf, int start, int end, byte b) {
+        for (int i = start; i < end; i++) {
+            if (buf[i] == b) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static boolean regionEquals(byte[] buf, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buf[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
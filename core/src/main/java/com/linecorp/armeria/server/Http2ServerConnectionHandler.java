@@ -61,7 +61,8 @@ final class Http2ServerConnectionHandler extends AbstractHttp2ConnectionHandler
 
         requestDecoder = new Http2RequestDecoder(config, channel, encoder(), scheme, keepAliveHandler);
         connection().addListener(requestDecoder);
-        decoder().frameListener(requestDecoder);
+        setFrameListener(requestDecoder, config.meterRegistry(),
+                         "armeria.server.connections.http2.window.size");
 
         // Setup post build options
         final long timeout = idleTimeoutMillis;
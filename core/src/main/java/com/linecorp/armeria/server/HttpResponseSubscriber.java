@@ -153,6 +153,7 @@ final class HttpResponseSubscriber implements Subscriber<HttpObject> {
                 final ResponseHeaders headers = (ResponseHeaders) o;
                 final HttpStatus status = headers.status();
                 final ResponseHeaders merged;
+                HttpHeaders additionalHeaders = HttpHeaders.of();
                 if (status.isInformational()) {
                     if (endOfStream) {
                         failAndRespond(new IllegalStateException(
@@ -179,13 +180,23 @@ final class HttpResponseSubscriber implements Subscriber<HttpObject> {
                     if (endOfStream) {
                         setDone(true);
                     }
-                    merged = mergeResponseHeaders(headers, reqCtx.additionalResponseHeaders());
+                    additionalHeaders = reqCtx.additionalResponseHeaders();
+                    merged = mergeResponseHeaders(headers, additionalHeaders);
                     logBuilder().responseHeaders(merged);
                 }
 
-                responseEncoder.writeHeaders(req.id(), req.streamId(), merged, endOfStream,
-                                             reqCtx.additionalResponseTrailers().isEmpty())
-                               .addListener(writeHeadersFutureListener(endOfStream));
+                if (headers.isConstant()) {
+                    // Write the constant headers as they are, so that their cached form is reused.
+                    // The encoder adds the additional headers to it.
+                    responseEncoder.writeHeaders(req.id(), req.streamId(), headers, endOfStream,
+                                                 reqCtx.additionalResponseTrailers().isEmpty(),
+                                                 additionalHeaders)
+                                   .addListener(writeHeadersFutureListener(endOfStream));
+                } else {
+                    responseEncoder.writeHeaders(req.id(), req.streamId(), merged, endOfStream,
+                                                 reqCtx.additionalResponseTrailers().isEmpty())
+                                   .addListener(writeHeadersFutureListener(endOfStream));
+                }
                 break;
             }
             case NEEDS_TRAILERS: {
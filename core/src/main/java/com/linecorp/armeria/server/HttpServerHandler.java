@@ -26,6 +26,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.IdentityHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -63,6 +64,7 @@ import com.linecorp.armeria.internal.common.AbstractHttp2ConnectionHandler;
 import com.linecorp.armeria.internal.common.Http1ObjectEncoder;
 import com.linecorp.armeria.internal.common.PathAndQuery;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
 
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
@@ -93,6 +95,13 @@ final class HttpServerHandler extends ChannelInboundHandlerAdapter implements Ht
 
     private static final HttpData DATA_INVALID_REQUEST_PATH = HttpData.ofUtf8(MSG_INVALID_REQUEST_PATH);
 
+    /**
+     * The source address of a peer connected via a domain socket or in-process, which is on the same host
+     * but has no IP address and port number.
+     */
+    private static final InetSocketAddress LOCAL_PEER_ADDRESS =
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
     private static final ChannelFutureListener CLOSE = future -> {
         final Throwable cause = future.cause();
         final Channel ch = future.channel();
@@ -485,7 +494,15 @@ final class HttpServerHandler extends ChannelInboundHandlerAdapter implements Ht
     }
 
     private ProxiedAddresses determineProxiedAddresses(Channel channel, RequestHeaders headers) {
-        final InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
+        final SocketAddress socketAddress = ChannelUtil.remoteAddress(channel);
+        assert socketAddress != null;
+        if (!(socketAddress instanceof InetSocketAddress)) {
+            // A peer connected via a domain socket or in-process has no IP address, so it is never
+            // considered as a trusted proxy. It runs on the same host as the server, though.
+            return proxiedAddresses != null ? proxiedAddresses : ProxiedAddresses.of(LOCAL_PEER_ADDRESS);
+        }
+
+        final InetSocketAddress remoteAddress = (InetSocketAddress) socketAddress;
         if (config.clientAddressTrustedProxyFilter().test(remoteAddress.getAddress())) {
             return HttpHeaderUtil.determineProxiedAddresses(
                     headers, config.clientAddressSources(), proxiedAddresses,
@@ -42,6 +42,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
 
+import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.metric.MoreMeters;
 import com.linecorp.armeria.common.util.Exceptions;
@@ -68,6 +69,7 @@ import io.netty.handler.codec.haproxy.HAProxyMessageDecoder;
 import io.netty.handler.codec.haproxy.HAProxyProxiedProtocol.AddressFamily;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler.SourceCodec;
 import io.netty.handler.codec.http2.Http2CodecUtil;
 import io.netty.handler.codec.http2.Http2ConnectionHandler;
 import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
@@ -209,6 +211,20 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
         p.addLast(new Http2OrHttpHandler(proxiedAddresses));
     }
 
+    /**
+     * Returns a new HTTP/1 codec, which is also a {@link SourceCodec} that can be upgraded to HTTP/2.
+     */
+    private ChannelHandler newHttp1Codec() {
+        if (Flags.useArmeriaHttp1Decoder()) {
+            return new Http1ServerCodec(config.http1MaxInitialLineLength(),
+                                        config.http1MaxHeaderSize(),
+                                        config.http1MaxChunkSize());
+        }
+        return new HttpServerCodec(config.http1MaxInitialLineLength(),
+                                   config.http1MaxHeaderSize(),
+                                   config.http1MaxChunkSize());
+    }
+
     private Http2ConnectionHandler newHttp2ConnectionHandler(ChannelPipeline pipeline, AsciiString scheme) {
         final Timer keepAliveTimer = newKeepAliveTimer(scheme == SCHEME_HTTP ? H2C : H2);
         return new Http2ServerConnectionHandlerBuilder(pipeline.channel(), config, keepAliveTimer,
@@ -456,10 +472,7 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
 
             final ServerHttp1ObjectEncoder writer = new ServerHttp1ObjectEncoder(
                     ch, H1, keepAliveHandler, config.isDateHeaderEnabled(), config.isServerHeaderEnabled());
-            p.addLast(new HttpServerCodec(
-                    config.http1MaxInitialLineLength(),
-                    config.http1MaxHeaderSize(),
-                    config.http1MaxChunkSize()));
+            p.addLast(newHttp1Codec());
             p.addLast(new Http1RequestDecoder(config, ch, SCHEME_HTTPS, writer));
             p.addLast(new HttpServerHandler(config, gracefulShutdownSupport, writer, H1, proxiedAddresses));
         }
@@ -540,16 +553,13 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
 
         private void configureHttp1WithUpgrade(ChannelHandlerContext ctx) {
             final ChannelPipeline p = ctx.pipeline();
-            final HttpServerCodec http1codec = new HttpServerCodec(
-                    config.http1MaxInitialLineLength(),
-                    config.http1MaxHeaderSize(),
-                    config.http1MaxChunkSize());
+            final ChannelHandler http1codec = newHttp1Codec();
 
             String baseName = name;
             assert baseName != null;
             baseName = addAfter(p, baseName, http1codec);
             baseName = addAfter(p, baseName, new HttpServerUpgradeHandler(
-                    http1codec,
+                    (SourceCodec) http1codec,
                     protocol -> {
                         if (!AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
                             return null;
@@ -21,6 +21,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -59,8 +60,10 @@ import com.spotify.futures.CompletableFutures;
 import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
 import com.linecorp.armeria.common.util.EventLoopGroups;
 import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.common.util.InProcessAddress;
 import com.linecorp.armeria.common.util.ListenableAsyncCloseable;
 import com.linecorp.armeria.common.util.StartStopSupport;
 import com.linecorp.armeria.common.util.Version;
@@ -76,9 +79,11 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.local.LocalServerChannel;
 import io.netty.handler.ssl.SslContext;
 import io.netty.util.Mapping;
 import io.netty.util.concurrent.FastThreadLocalThread;
@@ -106,7 +111,8 @@ public final class Server implements ListenableAsyncCloseable {
     private final Mapping<String, SslContext> sslContexts;
 
     private final StartStopSupport<Void, Void, Void, ServerListener> startStop;
-    private final Set<ServerChannel> serverChannels = new NonBlockingHashSet<>();
+    @VisibleForTesting
+    final Set<ServerChannel> serverChannels = new NonBlockingHashSet<>();
     private final Map<InetSocketAddress, ServerPort> activePorts = new LinkedHashMap<>();
     private final ConnectionLimitingHandler connectionLimitingHandler;
 
@@ -155,7 +161,9 @@ public final class Server implements ListenableAsyncCloseable {
     }
 
     /**
-     * Returns all {@link ServerPort}s that this {@link Server} is listening to.
+     * Returns all {@link ServerPort}s that this {@link Server} is listening to. Note that
+     * the {@link ServerPort}s bound to a {@link DomainSocketAddress} or an {@link InProcessAddress} are
+     * not included because they have no IP address and port number.
      *
      * @return a {@link Map} whose key is the bind address and value is {@link ServerPort}.
      *         an empty {@link Map} if this {@link Server} did not start.
@@ -231,16 +239,19 @@ public final class Server implements ListenableAsyncCloseable {
 
     private int activeLocalPort0(@Nullable SessionProtocol protocol) {
         synchronized (activePorts) {
-            return activePorts.values().stream()
-                              .filter(activePort -> (protocol == null || activePort.hasProtocol(protocol)) &&
-                                                    isLocalPort(activePort))
-                              .findFirst()
-                              .orElseThrow(() -> new IllegalStateException(
-                                      (protocol == null ? "no active local ports: "
-                                                        : ("no active local ports for " + protocol + ": ")) +
-                                      activePorts.values()))
-                              .localAddress()
-                              .getPort();
+            // isLocalPort() accepts only the ports with an IP address.
+            final InetSocketAddress localAddress =
+                    activePorts.values().stream()
+                               .filter(activePort -> (protocol == null || activePort.hasProtocol(protocol)) &&
+                                                     isLocalPort(activePort))
+                               .findFirst()
+                               .orElseThrow(() -> new IllegalStateException(
+                                       (protocol == null ? "no active local ports: "
+                                                         : ("no active local ports for " + protocol + ": ")) +
+                                       activePorts.values()))
+                               .localAddress();
+            assert localAddress != null;
+            return localAddress.getPort();
         }
     }
 
@@ -448,8 +459,55 @@ public final class Server implements ListenableAsyncCloseable {
         }
 
         private ChannelFuture doStart(ServerPort port) {
-            final ServerBootstrap b = new ServerBootstrap();
+            int numAcceptors = port.numAcceptors();
+            final ChannelOption<Boolean> reusePortOption = ChannelUtil.reusePortOption();
+            if (numAcceptors > 1 && reusePortOption == null) {
+                logger.warn("{} requires SO_REUSEPORT which is not supported by the transport '{}'; " +
+                            "binding only one listening socket.", port, Flags.transportType());
+                numAcceptors = 1;
+            }
+
+            final ServerBootstrap b = newServerBootstrap(port, numAcceptors > 1 ? reusePortOption : null);
             serverBootstrap = b;
+            final ChannelFuture primaryFuture = b.bind(ChannelUtil.toNettyAddress(port.socketAddress()));
+            if (numAcceptors == 1) {
+                return primaryFuture;
+            }
+
+            // Bind the other sockets after the primary one, because the actual port is unknown until then
+            // if port 0 was specified. Each socket has its own boss group so that the connections are
+            // accepted by different event loops.
+            final int numOtherAcceptors = numAcceptors - 1;
+            final ChannelPromise promise = primaryFuture.channel().newPromise();
+            primaryFuture.addListener((ChannelFutureListener) f -> {
+                if (!f.isSuccess()) {
+                    promise.setFailure(f.cause());
+                    return;
+                }
+
+                final SocketAddress actualAddress = f.channel().localAddress();
+                final AtomicInteger remainingAcceptors = new AtomicInteger(numOtherAcceptors);
+                for (int i = 0; i < numOtherAcceptors; i++) {
+                    newServerBootstrap(port, reusePortOption).bind(actualAddress).addListener(
+                            (ChannelFutureListener) f2 -> {
+                                // Keep track of the channel so that it is closed when the server stops.
+                                serverChannels.add((ServerChannel) f2.channel());
+                                if (!f2.isSuccess()) {
+                                    promise.tryFailure(f2.cause());
+                                    return;
+                                }
+                                if (remainingAcceptors.decrementAndGet() == 0) {
+                                    promise.trySuccess();
+                                }
+                            });
+                }
+            });
+            return promise;
+        }
+
+        private ServerBootstrap newServerBootstrap(ServerPort port,
+                                                   @Nullable ChannelOption<Boolean> reusePortOption) {
+            final ServerBootstrap b = new ServerBootstrap();
             config.channelOptions().forEach((k, v) -> {
                 @SuppressWarnings("unchecked")
                 final ChannelOption<Object> castOption = (ChannelOption<Object>) k;
@@ -460,6 +518,9 @@ public final class Server implements ListenableAsyncCloseable {
                 final ChannelOption<Object> castOption = (ChannelOption<Object>) k;
                 b.childOption(castOption, v);
             });
+            if (reusePortOption != null) {
+                b.option(reusePortOption, true);
+            }
 
             final EventLoopGroup bossGroup = EventLoopGroups.newEventLoopGroup(1, r -> {
                 final FastThreadLocalThread thread = new FastThreadLocalThread(r, bossThreadName(port));
@@ -468,12 +529,17 @@ public final class Server implements ListenableAsyncCloseable {
             });
 
             b.group(bossGroup, config.workerGroup());
-            b.channel(Flags.transportType().serverChannelType());
+            if (port.socketAddress() instanceof DomainSocketAddress) {
+                b.channel(ChannelUtil.domainServerChannelType());
+            } else if (port.socketAddress() instanceof InProcessAddress) {
+                b.channel(LocalServerChannel.class);
+            } else {
+                b.channel(Flags.transportType().serverChannelType());
+            }
             b.handler(connectionLimitingHandler);
             b.childHandler(new HttpServerPipelineConfigurator(config, port, sslContexts,
                                                               gracefulShutdownSupport));
-
-            return b.bind(port.localAddress());
+            return b;
         }
 
         private void setupServerMetrics() {
@@ -703,22 +769,31 @@ public final class Server implements ListenableAsyncCloseable {
             serverChannels.add(ch);
 
             if (f.isSuccess()) {
-                final InetSocketAddress localAddress = (InetSocketAddress) ch.localAddress();
-                final ServerPort actualPort = new ServerPort(localAddress, port.protocols());
+                final SocketAddress localAddress = ChannelUtil.localAddress(ch);
+                assert localAddress != null;
+                final ServerPort actualPort =
+                        new ServerPort(localAddress, port.protocols(), port.numAcceptors());
 
                 // Update the boss thread so its name contains the actual port.
                 Thread.currentThread().setName(bossThreadName(actualPort));
 
+                if (!(localAddress instanceof InetSocketAddress)) {
+                    // A domain socket or an in-process address has no port number to expose.
+                    logger.info("Serving {} at {}", Joiner.on('+').join(port.protocols()), localAddress);
+                    return;
+                }
+
                 synchronized (activePorts) {
                     // Update the map of active ports.
-                    activePorts.put(localAddress, actualPort);
+                    activePorts.put((InetSocketAddress) localAddress, actualPort);
                 }
 
                 if (logger.isInfoEnabled()) {
                     if (isLocalPort(actualPort)) {
+                        final int actualPortNumber = ((InetSocketAddress) localAddress).getPort();
                         port.protocols().forEach(p -> logger.info(
                                 "Serving {} at {} - {}://127.0.0.1:{}/",
-                                p.name(), localAddress, p.uriText(), localAddress.getPort()));
+                                p.name(), localAddress, p.uriText(), actualPortNumber));
                     } else {
                         logger.info("Serving {} at {}", Joiner.on('+').join(port.protocols()), localAddress);
                     }
@@ -728,21 +803,33 @@ public final class Server implements ListenableAsyncCloseable {
     }
 
     private static String bossThreadName(ServerPort port) {
-        final InetSocketAddress localAddr = port.localAddress();
-        final String localHostName =
-                localAddr.getAddress().isAnyLocalAddress() ? "*" : localAddr.getHostString();
+        final SocketAddress socketAddr = port.socketAddress();
 
         // e.g. 'armeria-boss-http-*:8080'
         //      'armeria-boss-http-127.0.0.1:8443'
         //      'armeria-boss-proxy+http+https-127.0.0.1:8443'
+        //      'armeria-boss-http-unix:/var/run/app.sock'
+        //      'armeria-boss-http-inproc:my-service'
         final String protocolNames = port.protocols().stream()
                                          .map(SessionProtocol::uriText)
                                          .collect(Collectors.joining("+"));
+        if (!(socketAddr instanceof InetSocketAddress)) {
+            return "armeria-boss-" + protocolNames + '-' + socketAddr;
+        }
+
+        final InetSocketAddress localAddr = (InetSocketAddress) socketAddr;
+        final String localHostName =
+                localAddr.getAddress().isAnyLocalAddress() ? "*" : localAddr.getHostString();
         return "armeria-boss-" + protocolNames + '-' + localHostName + ':' + localAddr.getPort();
     }
 
     private static boolean isLocalPort(ServerPort serverPort) {
-        final InetAddress address = serverPort.localAddress().getAddress();
+        final InetSocketAddress localAddress = serverPort.localAddress();
+        if (localAddress == null) {
+            // A domain socket or an in-process address has no port number.
+            return false;
+        }
+        final InetAddress address = localAddress.getAddress();
         return address.isAnyLocalAddress() || address.isLoopbackAddress();
     }
 }
@@ -1633,13 +1633,15 @@ public final class ServerBuilder {
             boolean found = false;
             // Do not check the port number 0 because a user may want his or her server to be bound
             // on multiple arbitrary ports.
-            if (p.localAddress().getPort() > 0) {
+            final InetSocketAddress localAddress = p.localAddress();
+            if (localAddress == null || localAddress.getPort() > 0) {
                 for (int i = 0; i < distinctPorts.size(); i++) {
                     final ServerPort port = distinctPorts.get(i);
-                    if (port.localAddress().equals(p.localAddress())) {
+                    if (port.socketAddress().equals(p.socketAddress())) {
                         final ServerPort merged =
-                                new ServerPort(port.localAddress(),
-                                               Sets.union(port.protocols(), p.protocols()));
+                                new ServerPort(port.socketAddress(),
+                                               Sets.union(port.protocols(), p.protocols()),
+                                               Math.max(port.numAcceptors(), p.numAcceptors()));
                         distinctPorts.set(i, merged);
                         found = true;
                         break;
@@ -669,7 +669,7 @@ public final class ServerConfig {
 
         boolean hasPorts = false;
         for (final ServerPort p : ports) {
-            buf.append(ServerPort.toString(null, p.localAddress(), p.protocols()));
+            buf.append(ServerPort.toString(null, p.socketAddress(), p.protocols(), p.numAcceptors()));
             buf.append(", ");
             hasPorts = true;
         }
@@ -60,12 +60,12 @@ final class ServerHttp1ObjectEncoder extends Http1ObjectEncoder implements Serve
 
     @Override
     public ChannelFuture doWriteHeaders(int id, int streamId, ResponseHeaders headers, boolean endStream,
-                                        boolean isTrailersEmpty) {
+                                        boolean isTrailersEmpty, HttpHeaders additionalHeaders) {
         if (!isWritable(id)) {
             return newClosedSessionFuture();
         }
 
-        final HttpResponse converted = convertHeaders(headers, endStream, isTrailersEmpty);
+        final HttpResponse converted = convertHeaders(headers, endStream, isTrailersEmpty, additionalHeaders);
         if (headers.status().isInformational()) {
             return write(id, converted, false);
         }
@@ -78,7 +78,8 @@ final class ServerHttp1ObjectEncoder extends Http1ObjectEncoder implements Serve
         return writeNonInformationalHeaders(id, converted, endStream);
     }
 
-    private HttpResponse convertHeaders(ResponseHeaders headers, boolean endStream, boolean isTrailersEmpty) {
+    private HttpResponse convertHeaders(ResponseHeaders headers, boolean endStream, boolean isTrailersEmpty,
+                                        HttpHeaders additionalHeaders) {
         final int statusCode = headers.status().code();
         final HttpResponseStatus nettyStatus = HttpResponseStatus.valueOf(statusCode);
 
@@ -89,7 +90,7 @@ final class ServerHttp1ObjectEncoder extends Http1ObjectEncoder implements Serve
         } else if (endStream) {
             res = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, nettyStatus, Unpooled.EMPTY_BUFFER, false);
             final io.netty.handler.codec.http.HttpHeaders outHeaders = res.headers();
-            convertHeaders(headers, outHeaders, isTrailersEmpty);
+            convertHeaders(headers, outHeaders, isTrailersEmpty, additionalHeaders);
 
             if (HttpStatus.isContentAlwaysEmpty(statusCode)) {
                 if (statusCode == 304) {
@@ -108,16 +109,21 @@ final class ServerHttp1ObjectEncoder extends Http1ObjectEncoder implements Serve
             }
         } else {
             res = new DefaultHttpResponse(HttpVersion.HTTP_1_1, nettyStatus, false);
-            convertHeaders(headers, res.headers(), isTrailersEmpty);
+            convertHeaders(headers, res.headers(), isTrailersEmpty, additionalHeaders);
             maybeSetTransferEncoding(res);
         }
 
         return res;
     }
 
-    private void convertHeaders(HttpHeaders inHeaders, io.netty.handler.codec.http.HttpHeaders outHeaders,
-                                boolean isTrailersEmpty) {
-        ArmeriaHttpUtil.toNettyHttp1ServerHeader(inHeaders, outHeaders);
+    private void convertHeaders(ResponseHeaders inHeaders, io.netty.handler.codec.http.HttpHeaders outHeaders,
+                                boolean isTrailersEmpty, HttpHeaders additionalHeaders) {
+        if (inHeaders.isConstant()) {
+            ConstantResponseHeadersCache.addHttp1Headers(inHeaders, outHeaders);
+            ArmeriaHttpUtil.addAdditionalNettyHttp1ServerHeaders(additionalHeaders, outHeaders);
+        } else {
+            ArmeriaHttpUtil.toNettyHttp1ServerHeader(inHeaders, outHeaders);
+        }
 
         if (!isTrailersEmpty && outHeaders.contains(HttpHeaderNames.CONTENT_LENGTH)) {
             // We don't apply chunked encoding when the content-length header is set, which would
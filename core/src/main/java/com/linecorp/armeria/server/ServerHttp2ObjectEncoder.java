@@ -34,9 +34,12 @@ import io.netty.handler.codec.http2.Http2ConnectionEncoder;
 import io.netty.handler.codec.http2.Http2Error;
 import io.netty.handler.codec.http2.Http2Headers;
 import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.util.AsciiString;
 
 final class ServerHttp2ObjectEncoder extends Http2ObjectEncoder implements ServerHttpObjectEncoder {
 
+    private static final AsciiString SERVER_HEADER_VALUE = AsciiString.cached(ArmeriaHttpUtil.SERVER_HEADER);
+
     private static final ByteBuf MAX_CONNECTION_AGE_DEBUG = Unpooled.wrappedBuffer("max-age".getBytes());
 
     private final KeepAliveHandler keepAliveHandler;
@@ -58,7 +61,7 @@ final class ServerHttp2ObjectEncoder extends Http2ObjectEncoder implements Serve
 
     @Override
     public ChannelFuture doWriteHeaders(int id, int streamId, ResponseHeaders headers, boolean endStream,
-                                        boolean isTrailersEmpty) {
+                                        boolean isTrailersEmpty, HttpHeaders additionalHeaders) {
         if (!isStreamPresentAndWritable(streamId)) {
             // One of the following cases:
             // - Stream has been closed already.
@@ -73,7 +76,7 @@ final class ServerHttp2ObjectEncoder extends Http2ObjectEncoder implements Serve
             isGoAwaySent = true;
         }
 
-        final Http2Headers converted = convertHeaders(headers, isTrailersEmpty);
+        final Http2Headers converted = convertHeaders(headers, isTrailersEmpty, additionalHeaders);
         onKeepAliveReadOrWrite();
         return encoder().writeHeaders(ctx(), streamId, converted, 0, endStream, ctx().newPromise());
     }
@@ -87,7 +90,17 @@ final class ServerHttp2ObjectEncoder extends Http2ObjectEncoder implements Serve
         return stream.isHeadersSent();
     }
 
-    private Http2Headers convertHeaders(HttpHeaders inputHeaders, boolean isTrailersEmpty) {
+    private Http2Headers convertHeaders(ResponseHeaders inputHeaders, boolean isTrailersEmpty,
+                                        HttpHeaders additionalHeaders) {
+        if (inputHeaders.isConstant()) {
+            // Share the cached headers instead of copying them into a mutable Http2Headers.
+            return ConstantResponseHeadersCache.http2Headers(
+                    inputHeaders, !isTrailersEmpty,
+                    enableServerHeader ? SERVER_HEADER_VALUE : null,
+                    enableDateHeader ? AsciiString.of(HttpTimestampSupplier.currentTime()) : null,
+                    additionalHeaders);
+        }
+
         final Http2Headers outHeaders = ArmeriaHttpUtil.toNettyHttp2ServerHeaders(inputHeaders);
         if (!isTrailersEmpty && outHeaders.contains(HttpHeaderNames.CONTENT_LENGTH)) {
             // We don't apply chunked encoding when the content-length header is set, which would
@@ -16,6 +16,7 @@
 
 package com.linecorp.armeria.server;
 
+import com.linecorp.armeria.common.HttpHeaders;
 import com.linecorp.armeria.common.HttpObject;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.internal.common.HttpObjectEncoder;
@@ -40,19 +41,34 @@ interface ServerHttpObjectEncoder extends HttpObjectEncoder {
      */
     default ChannelFuture writeHeaders(int id, int streamId, ResponseHeaders headers, boolean endStream,
                                        boolean isTrailersEmpty) {
+        return writeHeaders(id, streamId, headers, endStream, isTrailersEmpty, HttpHeaders.of());
+    }
+
+    /**
+     * Writes a constant {@link ResponseHeaders} with the specified {@code additionalHeaders}, which replace
+     * the headers of the same names. The {@code additionalHeaders} are added to the cached form of
+     * the constant {@link ResponseHeaders} as the {@code "server"} and {@code "date"} headers are,
+     * so that the constant {@link ResponseHeaders} does not have to be merged with them.
+     *
+     * @see ResponseHeaders#isConstant()
+     */
+    default ChannelFuture writeHeaders(int id, int streamId, ResponseHeaders headers, boolean endStream,
+                                       boolean isTrailersEmpty, HttpHeaders additionalHeaders) {
         assert eventLoop().inEventLoop();
+        assert additionalHeaders.isEmpty() || headers.isConstant();
         if (isClosed()) {
             return newClosedSessionFuture();
         }
 
-        return doWriteHeaders(id, streamId, headers, endStream, isTrailersEmpty);
+        return doWriteHeaders(id, streamId, headers, endStream, isTrailersEmpty, additionalHeaders);
     }
 
     /**
-     * Writes a {@link ResponseHeaders}.
+     * Writes a {@link ResponseHeaders}. The {@code additionalHeaders} is always empty unless
+     * the {@link ResponseHeaders} is constant.
      */
     ChannelFuture doWriteHeaders(int id, int streamId, ResponseHeaders headers, boolean endStream,
-                                 boolean isTrailersEmpty);
+                                 boolean isTrailersEmpty, HttpHeaders additionalHeaders);
 
     /**
      * Tells whether the {@link ResponseHeaders} is sent.
@@ -28,6 +28,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.util.Set;
 
@@ -37,15 +38,18 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.InProcessAddress;
 
 /**
  * A pair of server-side bind address and {@link SessionProtocol}.
  */
 public final class ServerPort implements Comparable<ServerPort> {
 
-    private final InetSocketAddress localAddress;
+    private final SocketAddress localAddress;
     private final String comparisonStr;
     private final Set<SessionProtocol> protocols;
+    private final int numAcceptors;
     private int hashCode;
 
     @Nullable
@@ -80,12 +84,63 @@ public final class ServerPort implements Comparable<ServerPort> {
      * {@link SessionProtocol}s.
      */
     public ServerPort(InetSocketAddress localAddress, Iterable<SessionProtocol> protocols) {
+        this(localAddress, protocols, 1);
+    }
+
+    /**
+     * Creates a new {@link ServerPort} that listens to the specified {@code localAddress} using the specified
+     * {@link SessionProtocol}s with the specified number of listening sockets. If {@code numAcceptors} is
+     * greater than {@code 1}, the {@link Server} binds {@code numAcceptors} sockets to the same address with
+     * {@code SO_REUSEPORT} and accepts the connections of each socket in its own event loop, so that
+     * the kernel distributes the incoming connections across them. Multiple acceptors are supported only
+     * on the {@code EPOLL} and {@code IO_URING} transports; a single socket is bound on other transports.
+     */
+    public ServerPort(InetSocketAddress localAddress, Iterable<SessionProtocol> protocols, int numAcceptors) {
+        this((SocketAddress) localAddress, protocols, numAcceptors);
+    }
+
+    /**
+     * Creates a new {@link ServerPort} that listens to the specified {@code localAddress} using the specified
+     * {@link SessionProtocol}s. The {@code localAddress} must be an {@link InetSocketAddress},
+     * a {@link DomainSocketAddress} or an {@link InProcessAddress}.
+     */
+    public ServerPort(SocketAddress localAddress, SessionProtocol... protocols) {
+        this(localAddress, ImmutableSet.copyOf(requireNonNull(protocols, "protocols")));
+    }
+
+    /**
+     * Creates a new {@link ServerPort} that listens to the specified {@code localAddress} using the specified
+     * {@link SessionProtocol}s. The {@code localAddress} must be an {@link InetSocketAddress},
+     * a {@link DomainSocketAddress} or an {@link InProcessAddress}.
+     */
+    public ServerPort(SocketAddress localAddress, Iterable<SessionProtocol> protocols) {
+        this(localAddress, protocols, 1);
+    }
+
+    /**
+     * Creates a new {@link ServerPort} that listens to the specified {@code localAddress} using the specified
+     * {@link SessionProtocol}s with the specified number of listening sockets. The {@code localAddress} must
+     * be an {@link InetSocketAddress}, a {@link DomainSocketAddress} or an {@link InProcessAddress}, and
+     * {@code numAcceptors} must be {@code 1} unless {@code localAddress} is an {@link InetSocketAddress}.
+     *
+     * @see #ServerPort(InetSocketAddress, Iterable, int)
+     */
+    public ServerPort(SocketAddress localAddress, Iterable<SessionProtocol> protocols, int numAcceptors) {
+        requireNonNull(localAddress, "localAddress");
+        final boolean nonInet = localAddress instanceof DomainSocketAddress ||
+                                localAddress instanceof InProcessAddress;
+        checkArgument(nonInet || localAddress instanceof InetSocketAddress,
+                      "localAddress: %s (expected: %s, %s or %s)", localAddress,
+                      InetSocketAddress.class.getSimpleName(), DomainSocketAddress.class.getSimpleName(),
+                      InProcessAddress.class.getSimpleName());
+
         // Try to resolve the localAddress if not resolved yet.
-        if (requireNonNull(localAddress, "localAddress").isUnresolved()) {
+        if (!nonInet && ((InetSocketAddress) localAddress).isUnresolved()) {
+            final InetSocketAddress unresolved = (InetSocketAddress) localAddress;
             try {
                 localAddress = new InetSocketAddress(
-                        InetAddress.getByName(localAddress.getHostString()),
-                        localAddress.getPort());
+                        InetAddress.getByName(unresolved.getHostString()),
+                        unresolved.getPort());
             } catch (UnknownHostException e) {
                 throw new IllegalArgumentException("unresolved localAddress: " + localAddress, e);
             }
@@ -102,15 +157,39 @@ public final class ServerPort implements Comparable<ServerPort> {
         checkArgument(this.protocols.stream().allMatch(p -> p == HTTP || p == HTTPS || p == PROXY),
                       "protocols: %s (must not contain other than %s, %s or %s)",
                       this.protocols, HTTP, HTTPS, PROXY);
-
-        comparisonStr = localAddress.getAddress().getHostAddress() + '/' +
-                        localAddress.getPort() + '/' + protocols;
+        checkArgument(numAcceptors > 0, "numAcceptors: %s (expected: > 0)", numAcceptors);
+        checkArgument(!nonInet || numAcceptors == 1,
+                      "numAcceptors: %s (expected: 1 for a domain socket or an in-process address)",
+                      numAcceptors);
+        this.numAcceptors = numAcceptors;
+
+        // Include numAcceptors so that the ports which differ only in the number of acceptors are not equal.
+        if (nonInet) {
+            comparisonStr = localAddress + "/" + protocols + '/' + numAcceptors;
+        } else {
+            final InetSocketAddress inetAddress = (InetSocketAddress) localAddress;
+            comparisonStr = inetAddress.getAddress().getHostAddress() + '/' +
+                            inetAddress.getPort() + '/' + protocols + '/' + numAcceptors;
+        }
     }
 
     /**
-     * Returns the local address this {@link ServerPort} listens to.
+     * Returns the local IP address and port number this {@link ServerPort} listens to.
+     *
+     * @return the {@link InetSocketAddress}, or {@code null} if this {@link ServerPort} listens to
+     *         a Unix domain socket or an {@link InProcessAddress}. Use {@link #socketAddress()} to get
+     *         the address of any kind.
      */
+    @Nullable
     public InetSocketAddress localAddress() {
+        return localAddress instanceof InetSocketAddress ? (InetSocketAddress) localAddress : null;
+    }
+
+    /**
+     * Returns the local address this {@link ServerPort} listens to, which is an {@link InetSocketAddress},
+     * a {@link DomainSocketAddress} or an {@link InProcessAddress}.
+     */
+    public SocketAddress socketAddress() {
         return localAddress;
     }
 
@@ -121,6 +200,14 @@ public final class ServerPort implements Comparable<ServerPort> {
         return protocols;
     }
 
+    /**
+     * Returns the number of listening sockets bound to the {@link #socketAddress()} with
+     * {@code SO_REUSEPORT}.
+     */
+    public int numAcceptors() {
+        return numAcceptors;
+    }
+
     /**
      * Returns whether there is a {@link SessionProtocol} which is over TLS.
      */
@@ -201,14 +288,14 @@ public final class ServerPort implements Comparable<ServerPort> {
     public String toString() {
         String strVal = this.strVal;
         if (strVal == null) {
-            this.strVal = strVal = toString(getClass(), localAddress(), protocols());
+            this.strVal = strVal = toString(getClass(), localAddress, protocols(), numAcceptors());
         }
 
         return strVal;
     }
 
-    static String toString(@Nullable Class<?> type, InetSocketAddress localAddress,
-                           Set<SessionProtocol> protocols) {
+    static String toString(@Nullable Class<?> type, SocketAddress localAddress,
+                           Set<SessionProtocol> protocols, int numAcceptors) {
         final StringBuilder buf = new StringBuilder();
         if (type != null) {
             buf.append(type.getSimpleName());
@@ -217,6 +304,10 @@ public final class ServerPort implements Comparable<ServerPort> {
         buf.append(localAddress);
         buf.append(", ");
         buf.append(protocols);
+        if (numAcceptors > 1) {
+            buf.append(", numAcceptors: ");
+            buf.append(numAcceptors);
+        }
         buf.append(')');
 
         return buf.toString();
@@ -185,7 +185,9 @@ public interface ServiceRequestContext extends RequestContext {
     <A extends SocketAddress> A localAddress();
 
     /**
-     * Returns the address of the client who initiated this request.
+     * Returns the address of the client who initiated this request. If the request was received via
+     * a Unix domain socket or in-process without the PROXY protocol, the loopback address is returned
+     * because the client runs on the same host.
      */
     InetAddress clientAddress();
 
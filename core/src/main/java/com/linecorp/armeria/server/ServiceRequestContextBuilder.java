@@ -193,10 +193,16 @@ public final class ServiceRequestContextBuilder extends AbstractRequestContextBu
     public ServiceRequestContext build() {
         // Determine the client address; use remote address unless overridden.
         final ProxiedAddresses proxiedAddresses;
+        final SocketAddress remoteAddress = remoteAddress();
         if (this.proxiedAddresses != null) {
             proxiedAddresses = this.proxiedAddresses;
+        } else if (remoteAddress instanceof InetSocketAddress) {
+            proxiedAddresses = ProxiedAddresses.of((InetSocketAddress) remoteAddress);
         } else {
-            proxiedAddresses = ProxiedAddresses.of((InetSocketAddress) remoteAddress());
+            // A peer connected via a domain socket or in-process has no IP address, but it runs on
+            // the same host as the server.
+            proxiedAddresses = ProxiedAddresses.of(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
         }
 
         // Build a fake server which never starts up.
@@ -231,9 +237,11 @@ public final class ServiceRequestContextBuilder extends AbstractRequestContextBu
         final HttpRequest req = request();
         assert req != null;
 
+        final SocketAddress localAddress = localAddress();
         final RoutingContext routingCtx = DefaultRoutingContext.of(
                 server.config().defaultVirtualHost(),
-                ((InetSocketAddress) localAddress()).getHostString(),
+                localAddress instanceof InetSocketAddress ? ((InetSocketAddress) localAddress).getHostString()
+                                                          : hostname(authority()),
                 path(),
                 query(),
                 req.headers(),
@@ -282,6 +290,15 @@ public final class ServiceRequestContextBuilder extends AbstractRequestContextBu
         throw new Error(); // Never reaches here.
     }
 
+    private static String hostname(String authority) {
+        // Strip the port number as HttpServerHandler does.
+        final int hostnameColonIdx = authority.lastIndexOf(':');
+        if (hostnameColonIdx < 0) {
+            return authority;
+        }
+        return authority.substring(0, hostnameColonIdx);
+    }
+
     // Methods that were overridden to change the return type.
 
     @Override
@@ -197,17 +197,19 @@ public final class HealthCheckService implements TransientHttpService {
             }
         }
 
-        this.healthyResponse = setCommonHeaders(healthyResponse);
-        this.unhealthyResponse = setCommonHeaders(unhealthyResponse);
-        stoppingResponse = clearCommonHeaders(unhealthyResponse);
+        // Freeze the responses because they are sent over and over again.
+        this.healthyResponse = setCommonHeaders(healthyResponse).toFrozen();
+        this.unhealthyResponse = setCommonHeaders(unhealthyResponse).toFrozen();
+        stoppingResponse = clearCommonHeaders(unhealthyResponse).toFrozen();
         notModifiedHeaders = ResponseHeaders.builder()
                                             .add(this.unhealthyResponse.headers())
                                             .endOfStream(true)
                                             .status(HttpStatus.NOT_MODIFIED)
                                             .removeAndThen(HttpHeaderNames.CONTENT_LENGTH)
-                                            .build();
+                                            .build()
+                                            .toConstant();
 
-        ping = setCommonHeaders(ResponseHeaders.of(HttpStatus.PROCESSING));
+        ping = setCommonHeaders(ResponseHeaders.of(HttpStatus.PROCESSING)).toConstant();
     }
 
     private void addServerHealthUpdateListener(ImmutableList<HealthCheckUpdateListener> updateListeners) {
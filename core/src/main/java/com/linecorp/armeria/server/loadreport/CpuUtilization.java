@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.loadreport;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.function.DoubleSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the default {@link DoubleSupplier} of the CPU utilization, which uses
+ * {@code com.sun.management.OperatingSystemMXBean.getProcessCpuLoad()} available on Oracle and OpenJDK,
+ * or the system load average divided by the number of the processors otherwise.
+ */
+final class CpuUtilization {
+
+    private static final Logger logger = LoggerFactory.getLogger(CpuUtilization.class);
+
+    private static final DoubleSupplier INSTANCE;
+
+    static {
+        final OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
+        DoubleSupplier supplier;
+        try {
+            final Class<?> osMXBeanClass = Class.forName("com.sun.management.OperatingSystemMXBean");
+            final MethodHandle getProcessCpuLoadMH =
+                    MethodHandles.publicLookup()
+                                 .findVirtual(osMXBeanClass, "getProcessCpuLoad",
+                                              MethodType.methodType(double.class))
+                                 .bindTo(osMXBean);
+            supplier = () -> {
+                try {
+                    return (double) getProcessCpuLoadMH.invokeExact();
+                } catch (Throwable t) {
+                    return -1;
+                }
+            };
+        } catch (Throwable t) {
+            logger.debug("Failed to locate OperatingSystemMXBean.getProcessCpuLoad(); " +
+                         "using the system load average instead.", t);
+            final int numProcessors = Runtime.getRuntime().availableProcessors();
+            supplier = () -> {
+                final double loadAverage = osMXBean.getSystemLoadAverage();
+                return loadAverage < 0 ? -1 : Math.min(1.0, loadAverage / numProcessors);
+            };
+        }
+        INSTANCE = supplier;
+    }
+
+    static DoubleSupplier get() {
+        return INSTANCE;
+    }
+
+    private CpuUtilization() {}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.loadreport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import com.linecorp.armeria.internal.common.LoadReport;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Measures the load of a server. The CPU utilization and the number of requests per second are
+ * updated at most once per update interval, so that measuring them does not add much overhead to
+ * each response.
+ */
+final class LoadMeter {
+
+    private static final AtomicLongFieldUpdater<LoadMeter> lastUpdateNanosUpdater =
+            AtomicLongFieldUpdater.newUpdater(LoadMeter.class, "lastUpdateNanos");
+
+    private final DoubleSupplier cpuUtilizationSupplier;
+    private final long updateIntervalNanos;
+    private final LongAdder numRequests = new LongAdder();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    private volatile long lastUpdateNanos;
+    private volatile double cpuUtilization;
+    // Unknown until the first update interval elapses.
+    private volatile double requestsPerSecond = -1;
+
+    LoadMeter(DoubleSupplier cpuUtilizationSupplier, long updateIntervalMillis) {
+        this.cpuUtilizationSupplier = cpuUtilizationSupplier;
+        updateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(updateIntervalMillis);
+        lastUpdateNanos = System.nanoTime();
+        cpuUtilization = cpuUtilizationSupplier.getAsDouble();
+    }
+
+    void onRequest(ServiceRequestContext ctx) {
+        numRequests.increment();
+        inFlightRequests.incrementAndGet();
+        ctx.log().whenComplete().thenRun(inFlightRequests::decrementAndGet);
+    }
+
+    LoadReport report() {
+        final long now = System.nanoTime();
+        final long lastUpdateNanos = this.lastUpdateNanos;
+        final long elapsedNanos = now - lastUpdateNanos;
+        if (elapsedNanos >= updateIntervalNanos &&
+            lastUpdateNanosUpdater.compareAndSet(this, lastUpdateNanos, now)) {
+            requestsPerSecond = numRequests.sumThenReset() * (double) TimeUnit.SECONDS.toNanos(1) /
+                                elapsedNanos;
+            cpuUtilization = cpuUtilizationSupplier.getAsDouble();
+        }
+        return new LoadReport(cpuUtilization, requestsPerSecond, inFlightRequests.get());
+    }
+}
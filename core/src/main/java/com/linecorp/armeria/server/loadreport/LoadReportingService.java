@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.loadreport;
+
+import java.util.function.Function;
+
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.internal.common.LoadReport;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.SimpleDecoratingHttpService;
+
+/**
+ * Decorates an {@link HttpService} to report the load of the server to the clients with
+ * the {@code "endpoint-load-metrics"} response header, in the text format of
+ * <a href="https://github.com/cncf/xds/blob/main/xds/data/orca/v3/orca_load_report.proto">ORCA</a>:
+ * <pre>{@code
+ * endpoint-load-metrics: TEXT cpu_utilization=0.42, rps_fractional=120.5, named_metrics.in_flight_requests=3
+ * }</pre>
+ *
+ * <p>A client can use the reports to send more requests to the servers with more spare capacity,
+ * e.g. with {@link com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy#loadAware()}.
+ * All {@link HttpService}s decorated by the same decorator share the same load metrics:
+ * <pre>{@code
+ * Server.builder()
+ *       .decorator(LoadReportingService.newDecorator())
+ *       ...
+ * }</pre>
+ */
+@UnstableApi
+public final class LoadReportingService extends SimpleDecoratingHttpService {
+
+    /**
+     * Returns a new {@link HttpService} decorator that reports the load of the server with
+     * the default settings.
+     */
+    public static Function<? super HttpService, LoadReportingService> newDecorator() {
+        return builder().newDecorator();
+    }
+
+    /**
+     * Returns a new {@link LoadReportingServiceBuilder}.
+     */
+    public static LoadReportingServiceBuilder builder() {
+        return new LoadReportingServiceBuilder();
+    }
+
+    private final LoadMeter loadMeter;
+
+    LoadReportingService(HttpService delegate, LoadMeter loadMeter) {
+        super(delegate);
+        this.loadMeter = loadMeter;
+    }
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        loadMeter.onRequest(ctx);
+        return unwrap().serve(ctx, req).mapHeaders(headers -> addLoadReport(ctx, headers));
+    }
+
+    private ResponseHeaders addLoadReport(ServiceRequestContext ctx, ResponseHeaders headers) {
+        if (!headers.status().isInformational()) {
+            // Measure the load when the response is sent, so that the report is as fresh as possible.
+            // Add the report as an additional header rather than rebuilding the headers, so that
+            // the constant headers stay constant and their cached form is reused.
+            ctx.setAdditionalResponseHeader(LoadReport.HEADER_NAME, loadMeter.report().toHeaderValue());
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.loadreport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.server.HttpService;
+
+/**
+ * Builds a new {@link LoadReportingService}.
+ */
+@UnstableApi
+public final class LoadReportingServiceBuilder {
+
+    static final long DEFAULT_UPDATE_INTERVAL_MILLIS = 1000;
+
+    private DoubleSupplier cpuUtilization = CpuUtilization.get();
+    private long updateIntervalMillis = DEFAULT_UPDATE_INTERVAL_MILLIS;
+
+    LoadReportingServiceBuilder() {}
+
+    /**
+     * Sets the {@link DoubleSupplier} that returns the current CPU utilization of the server, where
+     * {@code 1.0} means that all CPUs are fully busy. A negative value means that the CPU utilization is
+     * unknown. If not set, the CPU utilization of the JVM process is reported if available.
+     *
+     * <p>The value does not have to be the actual CPU utilization. For example, a server whose bottleneck
+     * is its database connection pool may report the utilization of the pool instead.
+     */
+    public LoadReportingServiceBuilder cpuUtilization(DoubleSupplier cpuUtilization) {
+        this.cpuUtilization = requireNonNull(cpuUtilization, "cpuUtilization");
+        return this;
+    }
+
+    /**
+     * Sets the interval at which the CPU utilization and the number of requests per second are
+     * measured. The number of in-flight requests is always reported as of the response.
+     * If not set, {@value DEFAULT_UPDATE_INTERVAL_MILLIS} milliseconds is used.
+     */
+    public LoadReportingServiceBuilder updateInterval(Duration updateInterval) {
+        requireNonNull(updateInterval, "updateInterval");
+        checkArgument(!updateInterval.isNegative() && !updateInterval.isZero(),
+                      "updateInterval: %s (expected: > 0)", updateInterval);
+        return updateIntervalMillis(updateInterval.toMillis());
+    }
+
+    /**
+     * Sets the interval in milliseconds at which the CPU utilization and the number of requests per
+     * second are measured. The number of in-flight requests is always reported as of the response.
+     * If not set, {@value DEFAULT_UPDATE_INTERVAL_MILLIS} milliseconds is used.
+     */
+    public LoadReportingServiceBuilder updateIntervalMillis(long updateIntervalMillis) {
+        checkArgument(updateIntervalMillis > 0,
+                      "updateIntervalMillis: %s (expected: > 0)", updateIntervalMillis);
+        this.updateIntervalMillis = updateIntervalMillis;
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link LoadReportingService} based on the properties of this builder.
+     */
+    public LoadReportingService build(HttpService delegate) {
+        requireNonNull(delegate, "delegate");
+        return new LoadReportingService(delegate, newLoadMeter());
+    }
+
+    /**
+     * Returns a newly-created decorator that decorates an {@link HttpService} with a new
+     * {@link LoadReportingService} based on the properties of this builder. All {@link HttpService}s
+     * decorated by the returned decorator share the same load metrics.
+     */
+    public Function<? super HttpService, LoadReportingService> newDecorator() {
+        final LoadMeter loadMeter = newLoadMeter();
+        return delegate -> new LoadReportingService(delegate, loadMeter);
+    }
+
+    private LoadMeter newLoadMeter() {
+        return new LoadMeter(cpuUtilization, updateIntervalMillis);
+    }
+}
@@ -269,15 +269,23 @@ interface AccessLogComponent {
         public Object getMessage0(RequestLog log) {
             switch (type) {
                 case LOCAL_IP_ADDRESS:
-                    final InetSocketAddress local = log.context().localAddress();
-                    return local == null || local.isUnresolved() ? null : local.getAddress().getHostAddress();
+                    final SocketAddress localAddr = log.context().localAddress();
+                    if (!(localAddr instanceof InetSocketAddress)) {
+                        // Not connected yet, or connected via a domain socket or in-process.
+                        return null;
+                    }
+                    final InetSocketAddress local = (InetSocketAddress) localAddr;
+                    return local.isUnresolved() ? null : local.getAddress().getHostAddress();
 
                 case REMOTE_IP_ADDRESS:
                     if ("c".equals(variable)) {
                         // %{c}a means the remote address of the underlying channel.
-                        final InetSocketAddress remote = log.context().remoteAddress();
-                        return remote == null || remote.isUnresolved() ? null
-                                                                       : remote.getAddress().getHostAddress();
+                        final SocketAddress remoteAddr = log.context().remoteAddress();
+                        if (!(remoteAddr instanceof InetSocketAddress)) {
+                            return null;
+                        }
+                        final InetSocketAddress remote = (InetSocketAddress) remoteAddr;
+                        return remote.isUnresolved() ? null : remote.getAddress().getHostAddress();
                     } else {
                         // %a means the client address who initiated a request.
                         final ServiceRequestContext ctx = (ServiceRequestContext) log.context();
@@ -507,9 +515,10 @@ interface AccessLogComponent {
                     return log -> {
                         final String authority = log.requestHeaders().authority();
                         if ("?".equals(authority)) {
-                            final InetSocketAddress remoteAddr = log.context().remoteAddress();
+                            final SocketAddress remoteAddr = log.context().remoteAddress();
                             assert remoteAddr != null;
-                            return remoteAddr.getHostString();
+                            return remoteAddr instanceof InetSocketAddress ?
+                                   ((InetSocketAddress) remoteAddr).getHostString() : remoteAddr.toString();
                         }
                         return authority;
                     };
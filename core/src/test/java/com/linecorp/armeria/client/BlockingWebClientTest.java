@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+class BlockingWebClientTest {
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.service("/hello", (ctx, req) -> HttpResponse.of("Hello, Armeria!"));
+            sb.service("/echo", (ctx, req) -> HttpResponse.from(
+                    req.aggregate().thenApply(agg -> HttpResponse.of(agg.contentUtf8()))));
+            sb.service("/delayed", (ctx, req) -> HttpResponse.delayed(
+                    HttpResponse.of(HttpStatus.OK), Duration.ofSeconds(10)));
+            sb.service("/event-loop", (ctx, req) -> {
+                final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+                try {
+                    client.get("/hello");
+                    return HttpResponse.of("blocked");
+                } catch (IllegalStateException e) {
+                    try {
+                        client.execute(AggregatedHttpRequest.of(HttpMethod.GET, "/hello"));
+                        return HttpResponse.of("blocked");
+                    } catch (IllegalStateException e2) {
+                        return HttpResponse.of("rejected");
+                    }
+                }
+            });
+        }
+    };
+
+    @Test
+    void execute() {
+        final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+        final AggregatedHttpResponse res = client.get("/hello");
+        assertThat(res.status()).isSameAs(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("Hello, Armeria!");
+
+        assertThat(client.post("/echo", "foo").contentUtf8()).isEqualTo("foo");
+        assertThat(client.get("/not-found").status()).isSameAs(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldThrowUnwrappedException() {
+        final BlockingWebClient client = WebClient.builder(server.httpUri())
+                                                  .responseTimeoutMillis(100)
+                                                  .build()
+                                                  .blocking();
+        assertThatThrownBy(() -> client.get("/delayed")).isInstanceOf(ResponseTimeoutException.class);
+    }
+
+    @Test
+    void shouldRejectEventLoop() {
+        final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+        assertThat(client.get("/event-loop").contentUtf8()).isEqualTo("rejected");
+    }
+
+    @Test
+    void delegatesClientBuilderParams() {
+        final WebClient webClient = WebClient.of(server.httpUri());
+        final BlockingWebClient client = webClient.blocking();
+        assertThat(client.webClient()).isSameAs(webClient);
+        assertThat(client.uri()).isEqualTo(webClient.uri());
+        assertThat(client.options()).isSameAs(webClient.options());
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.endpoint.DynamicEndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.netty.util.AttributeMap;
+
+class ClientFactoryWarmUpTest {
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.service("/", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+        }
+    };
+
+    @RegisterExtension
+    static ServerExtension idleTimeoutServer = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.idleTimeoutMillis(500);
+            sb.service("/", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+        }
+    };
+
+    private AtomicInteger opened;
+    private AtomicInteger closed;
+    private ConnectionPoolListener connectionPoolListener;
+
+    @BeforeEach
+    void setUp() {
+        opened = new AtomicInteger();
+        closed = new AtomicInteger();
+        connectionPoolListener = new ConnectionPoolListener() {
+            @Override
+            public void connectionOpen(SessionProtocol protocol, InetSocketAddress remoteAddr,
+                                       InetSocketAddress localAddr, AttributeMap attrs) throws Exception {
+                opened.incrementAndGet();
+            }
+
+            @Override
+            public void connectionClosed(SessionProtocol protocol, InetSocketAddress remoteAddr,
+                                         InetSocketAddress localAddr, AttributeMap attrs) throws Exception {
+                closed.incrementAndGet();
+            }
+        };
+    }
+
+    @Test
+    void warmUpHttp2() {
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .connectionPoolListener(connectionPoolListener)
+                                                  .build()) {
+            factory.warmUp(SessionProtocol.H2C, server.httpEndpoint()).join();
+            assertThat(factory.numConnections()).isOne();
+            assertThat(opened).hasValue(1);
+
+            // The request uses the warm connection.
+            final WebClient client = WebClient.builder(SessionProtocol.H2C, server.httpEndpoint())
+                                              .factory(factory)
+                                              .build();
+            assertThat(client.get("/").aggregate().join().status()).isSameAs(HttpStatus.OK);
+            assertThat(opened).hasValue(1);
+        }
+    }
+
+    @Test
+    void warmUpMultipleHttp1Connections() {
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .connectionPoolListener(connectionPoolListener)
+                                                  .minIdleConnectionsPerEndpoint(3)
+                                                  .useHttp1Pipelining(false)
+                                                  .build()) {
+            factory.warmUp(SessionProtocol.H1C, server.httpEndpoint()).join();
+            assertThat(factory.numConnections()).isEqualTo(3);
+
+            // Warming up again does not make more connections.
+            factory.warmUp(SessionProtocol.H1C, server.httpEndpoint()).join();
+            assertThat(factory.numConnections()).isEqualTo(3);
+
+            final WebClient client = WebClient.builder(SessionProtocol.H1C, server.httpEndpoint())
+                                              .factory(factory)
+                                              .build();
+            for (int i = 0; i < 3; i++) {
+                assertThat(client.get("/").aggregate().join().status()).isSameAs(HttpStatus.OK);
+            }
+            assertThat(opened).hasValue(3);
+        }
+    }
+
+    @Test
+    void keepWarmConnectionWhenIdle() throws Exception {
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .connectionPoolListener(connectionPoolListener)
+                                                  .idleTimeoutMillis(500)
+                                                  .build()) {
+            factory.warmUp(SessionProtocol.H2C, server.httpEndpoint()).join();
+            assertThat(opened).hasValue(1);
+
+            // The warm connection is not closed by the idle timeout of the client.
+            Thread.sleep(2000);
+            assertThat(closed).hasValue(0);
+            assertThat(opened).hasValue(1);
+            assertThat(factory.numConnections()).isOne();
+        }
+    }
+
+    @Test
+    void replaceClosedConnection() {
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .connectionPoolListener(connectionPoolListener)
+                                                  .build()) {
+            factory.warmUp(SessionProtocol.H2C, idleTimeoutServer.httpEndpoint()).join();
+            assertThat(opened).hasValue(1);
+
+            // The connection closed by the server is replaced with a new one.
+            await().untilAsserted(() -> {
+                assertThat(closed).hasPositiveValue();
+                assertThat(opened.get()).isGreaterThan(closed.get());
+            });
+        }
+    }
+
+    @Test
+    void closeIdleConnectionOfRemovedEndpoint() throws Exception {
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .connectionPoolListener(connectionPoolListener)
+                                                  .idleTimeoutMillis(500)
+                                                  .build()) {
+            final TestEndpointGroup group = new TestEndpointGroup();
+            group.updateEndpoints(ImmutableList.of(server.httpEndpoint()));
+            factory.warmUp(SessionProtocol.H2C, group).join();
+            assertThat(opened).hasValue(1);
+
+            // The connection is closed by the idle timeout once its endpoint is removed.
+            group.updateEndpoints(ImmutableList.of());
+            await().untilAsserted(() -> assertThat(closed).hasValue(1));
+            Thread.sleep(2000);
+            assertThat(opened).hasValue(1);
+        }
+    }
+
+    @Test
+    void removeEndpointsListenerWhenFactoryIsClosed() {
+        final EndpointGroup group = mock(EndpointGroup.class);
+        when(group.whenReady()).thenReturn(CompletableFuture.completedFuture(ImmutableList.of()));
+        when(group.endpoints()).thenReturn(ImmutableList.of());
+
+        final ClientFactory factory = ClientFactory.builder().build();
+        factory.warmUp(SessionProtocol.H2C, group).join();
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Consumer<List<Endpoint>>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(group).addListener(captor.capture());
+        verify(group, never()).removeListener(any());
+
+        factory.close();
+        await().untilAsserted(() -> verify(group).removeListener(captor.getValue()));
+    }
+
+    @Test
+    void invalidProtocol() {
+        assertThatThrownBy(() -> ClientFactory.ofDefault().warmUp(SessionProtocol.PROXY,
+                                                                  server.httpEndpoint()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class TestEndpointGroup extends DynamicEndpointGroup {
+        void updateEndpoints(List<Endpoint> endpoints) {
+            setEndpoints(endpoints);
+        }
+    }
+}
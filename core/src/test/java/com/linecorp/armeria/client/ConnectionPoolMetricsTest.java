@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.logging.ClientConnectionTimings;
+import com.linecorp.armeria.common.metric.MoreMeters;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConnectionPoolMetricsTest {
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.http(0);
+            sb.https(0);
+            sb.tlsSelfSigned();
+            sb.http2MaxStreamsPerConnection(10);
+            sb.service("/", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+        }
+    };
+
+    @Test
+    void connectionMetrics() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .meterRegistry(meterRegistry)
+                                                  .build()) {
+            final WebClient client = WebClient.builder(SessionProtocol.H2C, server.httpEndpoint())
+                                              .factory(factory)
+                                              .build();
+            assertThat(client.get("/").aggregate().join().status()).isSameAs(HttpStatus.OK);
+            assertThat(client.get("/").aggregate().join().status()).isSameAs(HttpStatus.OK);
+
+            await().untilAsserted(() -> {
+                final Map<String, Double> meters = MoreMeters.measureAll(meterRegistry);
+                assertThat(meters)
+                        .containsEntry("armeria.client.connections.acquisition.duration#count" +
+                                       "{protocol=h2c,result=success,type=new}", 1.0)
+                        .containsEntry("armeria.client.connections.acquisition.duration#count" +
+                                       "{protocol=h2c,result=success,type=pooled}", 1.0)
+                        .containsEntry("armeria.client.connections.pending.acquisitions#value" +
+                                       "{protocol=h2c}", 0.0)
+                        .hasEntrySatisfying("armeria.client.connections.stream.utilization#count" +
+                                            "{protocol=h2c}", count -> assertThat(count).isPositive())
+                        .containsEntry("armeria.client.connections.active#value{protocol=h2c}", 0.0)
+                        .containsEntry("armeria.client.connections.idle#value{protocol=h2c}", 1.0);
+                // The per-endpoint gauges are not recorded unless enabled.
+                assertThat(meters.keySet()).noneMatch(name -> name.startsWith(
+                        "armeria.client.connections.endpoint."));
+            });
+        }
+
+        // The gauges are removed once all connections are closed.
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .doesNotContainKeys("armeria.client.connections.active#value{protocol=h2c}",
+                                    "armeria.client.connections.idle#value{protocol=h2c}");
+    }
+
+    @Test
+    void perEndpointConnectionMetrics() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final String endpointTags = "authority=127.0.0.1:" + server.httpPort() + ",ip=127.0.0.1,protocol=h2c";
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .meterRegistry(meterRegistry)
+                                                  .perEndpointConnectionMetrics(true)
+                                                  .build()) {
+            final WebClient client = WebClient.builder(SessionProtocol.H2C, server.httpEndpoint())
+                                              .factory(factory)
+                                              .build();
+            assertThat(client.get("/").aggregate().join().status()).isSameAs(HttpStatus.OK);
+
+            await().untilAsserted(() -> {
+                assertThat(MoreMeters.measureAll(meterRegistry))
+                        .containsEntry("armeria.client.connections.active#value{protocol=h2c}", 0.0)
+                        .containsEntry("armeria.client.connections.idle#value{protocol=h2c}", 1.0)
+                        .containsEntry("armeria.client.connections.endpoint.active#value{" +
+                                       endpointTags + '}', 0.0)
+                        .containsEntry("armeria.client.connections.endpoint.idle#value{" +
+                                       endpointTags + '}', 1.0);
+            });
+        }
+
+        // The gauges of the endpoint are removed once all connections to the endpoint are closed.
+        assertThat(MoreMeters.measureAll(meterRegistry))
+                .doesNotContainKeys("armeria.client.connections.endpoint.active#value{" + endpointTags + '}',
+                                    "armeria.client.connections.endpoint.idle#value{" + endpointTags + '}');
+    }
+
+    @Test
+    void tlsHandshakeDuration() {
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .meterRegistry(new SimpleMeterRegistry())
+                                                  .tlsNoVerify()
+                                                  .build();
+             ClientRequestContextCaptor captor = Clients.newContextCaptor()) {
+            final WebClient client = WebClient.builder(server.httpsUri())
+                                              .factory(factory)
+                                              .build();
+            assertThat(client.get("/").aggregate().join().status()).isSameAs(HttpStatus.OK);
+
+            final ClientConnectionTimings timings = captor.get().log().whenComplete().join()
+                                                          .connectionTimings();
+            assertThat(timings).isNotNull();
+            assertThat(timings.tlsHandshakeStartTimeMicros()).isPositive();
+            assertThat(timings.tlsHandshakeDurationNanos()).isPositive();
+            assertThat(timings.socketConnectDurationNanos())
+                    .isGreaterThanOrEqualTo(timings.tlsHandshakeDurationNanos());
+        }
+    }
+
+    @Test
+    void tlsHandshakeDurationOnSessionTimeout() throws Exception {
+        // A server which accepts a connection but never responds to the TLS handshake.
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             ClientFactory factory = ClientFactory.builder()
+                                                  .meterRegistry(new SimpleMeterRegistry())
+                                                  .connectTimeoutMillis(1000)
+                                                  .build();
+             ClientRequestContextCaptor captor = Clients.newContextCaptor()) {
+            final WebClient client = WebClient.builder("https://127.0.0.1:" + serverSocket.getLocalPort())
+                                              .factory(factory)
+                                              .build();
+            final Thread acceptor = new Thread(() -> {
+                try (Socket ignored = serverSocket.accept()) {
+                    Thread.sleep(5000);
+                } catch (Exception ignored) {
+                    // The test is over.
+                }
+            });
+            acceptor.start();
+            try {
+                assertThatThrownBy(() -> client.get("/").aggregate().join())
+                        .hasCauseInstanceOf(UnprocessedRequestException.class);
+            } finally {
+                acceptor.interrupt();
+            }
+
+            final ClientConnectionTimings timings = captor.get().log().whenComplete().join()
+                                                          .connectionTimings();
+            assertThat(timings).isNotNull();
+            assertThat(timings.tlsHandshakeStartTimeMicros()).isPositive();
+            assertThat(timings.tlsHandshakeDurationNanos()).isPositive();
+        }
+    }
+
+    @Test
+    void noTlsHandshakeForCleartext() {
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .meterRegistry(new SimpleMeterRegistry())
+                                                  .build();
+             ClientRequestContextCaptor captor = Clients.newContextCaptor()) {
+            final WebClient client = WebClient.builder(server.httpUri())
+                                              .factory(factory)
+                                              .build();
+            assertThat(client.get("/").aggregate().join().status()).isSameAs(HttpStatus.OK);
+
+            final ClientConnectionTimings timings = captor.get().log().whenComplete().join()
+                                                          .connectionTimings();
+            assertThat(timings).isNotNull();
+            assertThat(timings.tlsHandshakeStartTimeMicros()).isEqualTo(-1);
+            assertThat(timings.tlsHandshakeDurationNanos()).isEqualTo(-1);
+        }
+    }
+}
@@ -394,6 +394,27 @@ class EndpointTest {
         // ipAddr is omitted if hostname is an IP address.
         assertThat(Endpoint.of("127.0.0.1").toString()).isEqualTo("Endpoint{127.0.0.1, weight=1000}");
         assertThat(Endpoint.of("::1").toString()).isEqualTo("Endpoint{[::1], weight=1000}");
+
+        assertThat(Endpoint.of("a", 80).withZone("zone-a").toString())
+                .isEqualTo("Endpoint{a:80, weight=1000, zone=zone-a}");
+    }
+
+    @Test
+    void zone() {
+        final Endpoint endpoint = Endpoint.of("a", 80);
+        assertThat(endpoint.zone()).isNull();
+        assertThat(endpoint.withZone(null)).isSameAs(endpoint);
+
+        final Endpoint zoned = endpoint.withZone("zone-a");
+        assertThat(zoned.zone()).isEqualTo("zone-a");
+        assertThat(zoned.withZone("zone-a")).isSameAs(zoned);
+        assertThat(zoned.withWeight(10).zone()).isEqualTo("zone-a");
+        assertThat(zoned.withPort(8080).zone()).isEqualTo("zone-a");
+
+        // Zone is not part of comparison.
+        assertThat(zoned).isEqualTo(endpoint);
+        assertThat(zoned.hashCode()).isEqualTo(endpoint.hashCode());
+        assertThat(zoned).isEqualByComparingTo(endpoint);
     }
 
     @Test
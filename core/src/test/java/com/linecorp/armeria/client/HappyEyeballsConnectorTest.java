@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.internal.testing.AnticipatedException;
+import com.linecorp.armeria.testing.junit5.common.EventLoopExtension;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.Promise;
+
+class HappyEyeballsConnectorTest {
+
+    @RegisterExtension
+    static final EventLoopExtension eventLoop = new EventLoopExtension();
+
+    private static final InetSocketAddress ipv6a = new InetSocketAddress("::1", 8080);
+    private static final InetSocketAddress ipv6b = new InetSocketAddress("::2", 8080);
+    private static final InetSocketAddress ipv4a = new InetSocketAddress("127.0.0.1", 8080);
+    private static final InetSocketAddress ipv4b = new InetSocketAddress("127.0.0.2", 8080);
+
+    private final List<InetSocketAddress> attemptedAddresses = new CopyOnWriteArrayList<>();
+    private final List<ChannelPromise> attempts = new CopyOnWriteArrayList<>();
+
+    @Test
+    void interleaveAddressFamilies() {
+        assertThat(HappyEyeballsConnector.sortAddresses(ImmutableList.of(ipv6a, ipv6b, ipv4a, ipv4b)))
+                .containsExactly(ipv6a, ipv4a, ipv6b, ipv4b);
+        assertThat(HappyEyeballsConnector.sortAddresses(ImmutableList.of(ipv4a, ipv4b, ipv6a)))
+                .containsExactly(ipv4a, ipv6a, ipv4b);
+        assertThat(HappyEyeballsConnector.sortAddresses(ImmutableList.of(ipv4a, ipv4b)))
+                .containsExactly(ipv4a, ipv4b);
+    }
+
+    @Test
+    void startNextAttemptAfterDelay() {
+        final Promise<Channel> promise = eventLoop.get().newPromise();
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        start(ImmutableList.of(ipv6a, ipv4a), 200, promise);
+
+        await().until(() -> attempts.size() == 2);
+        assertThat(stopwatch.elapsed(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(200);
+        assertThat(attemptedAddresses).containsExactly(ipv6a, ipv4a);
+
+        // The second attempt wins and the first one is cancelled.
+        attempts.get(1).setSuccess();
+        await().until(promise::isDone);
+        assertThat(promise.getNow()).isSameAs(attempts.get(1).channel());
+        await().untilAsserted(() -> assertThat(attempts.get(0).channel().isOpen()).isFalse());
+        assertThat(attempts.get(1).channel().isOpen()).isTrue();
+    }
+
+    @Test
+    void startNextAttemptImmediatelyOnFailure() {
+        final Promise<Channel> promise = eventLoop.get().newPromise();
+        start(ImmutableList.of(ipv6a, ipv4a), 60_000, promise);
+
+        await().until(() -> attempts.size() == 1);
+        attempts.get(0).setFailure(new AnticipatedException());
+        await().until(() -> attempts.size() == 2);
+
+        attempts.get(1).setSuccess();
+        await().until(promise::isDone);
+        assertThat(promise.getNow()).isSameAs(attempts.get(1).channel());
+    }
+
+    @Test
+    void closeLateConnection() {
+        final Promise<Channel> promise = eventLoop.get().newPromise();
+        start(ImmutableList.of(ipv6a, ipv4a), 10, promise);
+
+        await().until(() -> attempts.size() == 2);
+        attempts.get(0).setSuccess();
+        await().until(promise::isDone);
+        assertThat(promise.getNow()).isSameAs(attempts.get(0).channel());
+        await().untilAsserted(() -> assertThat(attempts.get(1).channel().isOpen()).isFalse());
+    }
+
+    @Test
+    void failWhenAllAttemptsFail() {
+        final Promise<Channel> promise = eventLoop.get().newPromise();
+        start(ImmutableList.of(ipv6a, ipv4a), 60_000, promise);
+
+        final AnticipatedException cause1 = new AnticipatedException();
+        final AnticipatedException cause2 = new AnticipatedException();
+        await().until(() -> attempts.size() == 1);
+        attempts.get(0).setFailure(cause1);
+        await().until(() -> attempts.size() == 2);
+        attempts.get(1).setFailure(cause2);
+
+        await().until(promise::isDone);
+        assertThat(promise.cause()).isSameAs(cause1);
+        assertThat(cause1.getSuppressed()).containsExactly(cause2);
+    }
+
+    private void start(List<InetSocketAddress> addresses, long delayMillis, Promise<Channel> promise) {
+        final EventLoop executor = eventLoop.get();
+        executor.execute(() -> new HappyEyeballsConnector(executor, addresses, delayMillis, address -> {
+            attemptedAddresses.add(address);
+            final ChannelPromise attempt = new DefaultChannelPromise(new EmbeddedChannel(), executor);
+            attempts.add(attempt);
+            return attempt;
+        }, promise).start());
+    }
+}
@@ -44,9 +44,12 @@ import com.google.common.collect.ImmutableMap;
 import com.linecorp.armeria.client.RefreshingAddressResolver.CacheEntry;
 import com.linecorp.armeria.client.endpoint.dns.TestDnsServer;
 import com.linecorp.armeria.client.retry.Backoff;
+import com.linecorp.armeria.common.metric.MoreMeters;
 import com.linecorp.armeria.common.metric.PrometheusMeterRegistries;
 import com.linecorp.armeria.testing.junit5.common.EventLoopExtension;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.EventLoop;
@@ -189,12 +192,14 @@ class RefreshingAddressResolverTest {
 
     @Test
     void removedWhenExceedingBackoffMaxAttempts() throws Exception {
+        final DropQueriesHandler dropQueriesHandler = new DropQueriesHandler();
         try (TestDnsServer server = new TestDnsServer(ImmutableMap.of(
                 new DefaultDnsQuestion("foo.com.", A),
-                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1", 1))))
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1", 1))),
+                dropQueriesHandler)
         ) {
             final EventLoop eventLoop = eventLoopExtension.get();
-            final DnsResolverGroupBuilder builder = builder(server);
+            final DnsResolverGroupBuilder builder = builder(server).queryTimeoutMillis(500);
             builder.refreshBackoff(Backoff.ofDefault().withMaxAttempts(1));
             try (RefreshingAddressResolverGroup group = builder.build(eventLoop)) {
                 final AddressResolver<InetSocketAddress> resolver = group.getResolver(eventLoop);
@@ -206,7 +211,8 @@ class RefreshingAddressResolverTest {
                 await().untilAsserted(() -> assertThat(foo.isSuccess()).isTrue());
                 assertThat(foo.getNow().getAddress().getHostAddress()).isEqualTo("1.1.1.1");
 
-                server.setResponses(ImmutableMap.of());
+                // The DNS server does not answer the refreshes anymore.
+                dropQueriesHandler.dropQueries = true;
 
                 // Schedule resolve() every 500 millis to keep cache hits greater than 0.
                 for (int i = 1; i <= 4; i++) {
@@ -221,6 +227,8 @@ class RefreshingAddressResolverTest {
                 assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(
                         (long) (TimeUnit.SECONDS.toNanos(1) * 0.9)); // buffer (90%)
 
+                dropQueriesHandler.dropQueries = false;
+                server.setResponses(ImmutableMap.of());
                 final Future<InetSocketAddress> future = resolver.resolve(
                         InetSocketAddress.createUnresolved("foo.com", 36462));
                 await().until(future::isDone);
@@ -229,6 +237,201 @@ class RefreshingAddressResolverTest {
         }
     }
 
+    @Test
+    void serveStaleUntilMaxStaleTtl() throws Exception {
+        final DropQueriesHandler dropQueriesHandler = new DropQueriesHandler();
+        try (TestDnsServer server = new TestDnsServer(ImmutableMap.of(
+                new DefaultDnsQuestion("foo.com.", A),
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1", 1))),
+                dropQueriesHandler)
+        ) {
+            final EventLoop eventLoop = eventLoopExtension.get();
+            final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+            final DnsResolverGroupBuilder builder = builder(server).meterRegistry(meterRegistry)
+                                                                   .queryTimeoutMillis(500)
+                                                                   .refreshBackoff(Backoff.fixed(200))
+                                                                   .maxStaleTtl(2);
+            try (RefreshingAddressResolverGroup group = builder.build(eventLoop)) {
+                final AddressResolver<InetSocketAddress> resolver = group.getResolver(eventLoop);
+
+                final long start = System.nanoTime();
+
+                final Future<InetSocketAddress> foo = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().untilAsserted(() -> assertThat(foo.isSuccess()).isTrue());
+
+                // The DNS server does not answer the refreshes anymore.
+                dropQueriesHandler.dropQueries = true;
+
+                // The expired address is still served.
+                Thread.sleep(1500);
+                final Future<InetSocketAddress> stale = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().untilAsserted(() -> assertThat(stale.isSuccess()).isTrue());
+                assertThat(stale.getNow().getAddress().getHostAddress()).isEqualTo("1.1.1.1");
+
+                final Cache<String, CompletableFuture<CacheEntry>> cache = group.cache();
+                await().until(() -> cache.estimatedSize() == 0);
+
+                assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(
+                        (long) (TimeUnit.SECONDS.toNanos(3) * 0.9)); // (ttl + maxStaleTtl) * buffer (90%)
+
+                assertThat(MoreMeters.measureAll(meterRegistry))
+                        .containsEntry("armeria.client.dns.cache.requests#count{result=miss}", 1.0)
+                        .containsEntry("armeria.client.dns.cache.requests#count{result=hit}", 0.0)
+                        .containsEntry("armeria.client.dns.cache.requests#count{result=stale}", 1.0);
+            }
+        }
+    }
+
+    @Test
+    void invalidateWhenRefreshAnsweredWithNxDomain() throws Exception {
+        try (TestDnsServer server = new TestDnsServer(ImmutableMap.of(
+                new DefaultDnsQuestion("foo.com.", A),
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1", 1))))
+        ) {
+            final EventLoop eventLoop = eventLoopExtension.get();
+            final DnsResolverGroupBuilder builder = builder(server).maxStaleTtl(60);
+            try (RefreshingAddressResolverGroup group = builder.build(eventLoop)) {
+                final AddressResolver<InetSocketAddress> resolver = group.getResolver(eventLoop);
+
+                final Future<InetSocketAddress> foo = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().untilAsserted(() -> assertThat(foo.isSuccess()).isTrue());
+
+                // The name does not exist anymore.
+                server.setResponses(ImmutableMap.of());
+
+                // The entry is not served as a stale one because the DNS server answered the refresh.
+                final Cache<String, CompletableFuture<CacheEntry>> cache = group.cache();
+                await().atMost(5, TimeUnit.SECONDS).until(() -> cache.estimatedSize() == 0);
+
+                final Future<InetSocketAddress> future = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().until(future::isDone);
+                assertThat(future.cause()).isInstanceOf(UnknownHostException.class)
+                                          .hasNoCause();
+            }
+        }
+    }
+
+    @Test
+    void cacheNegativeAnswerOfRefresh() throws Exception {
+        try (TestDnsServer server = new TestDnsServer(ImmutableMap.of(
+                new DefaultDnsQuestion("foo.com.", A),
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1", 1))))
+        ) {
+            final EventLoop eventLoop = eventLoopExtension.get();
+            final DnsResolverGroupBuilder builder = builder(server).maxStaleTtl(60).negativeTtl(60);
+            try (RefreshingAddressResolverGroup group = builder.build(eventLoop)) {
+                final AddressResolver<InetSocketAddress> resolver = group.getResolver(eventLoop);
+
+                final Future<InetSocketAddress> foo = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().untilAsserted(() -> assertThat(foo.isSuccess()).isTrue());
+
+                server.setResponses(ImmutableMap.of());
+
+                // The entry is replaced with the negative answer which is cached for the negative TTL.
+                final Cache<String, CompletableFuture<CacheEntry>> cache = group.cache();
+                await().atMost(5, TimeUnit.SECONDS).until(
+                        () -> cache.get("foo.com", this::noopCacheLoader).join().cause() != null);
+
+                final Future<InetSocketAddress> future = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().until(future::isDone);
+                assertThat(future.cause()).isInstanceOf(UnknownHostException.class)
+                                          .hasNoCause();
+                assertThat(cache.estimatedSize()).isOne();
+            }
+        }
+    }
+
+    @Test
+    void countJoinedQueriesAsMiss() throws Exception {
+        try (TestDnsServer server = new TestDnsServer(ImmutableMap.of(
+                new DefaultDnsQuestion("foo.com.", A),
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1"))),
+                new DelayHandler(A))
+        ) {
+            final EventLoop eventLoop = eventLoopExtension.get();
+            final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+            final DnsResolverGroupBuilder builder = builder(server).meterRegistry(meterRegistry);
+            try (RefreshingAddressResolverGroup group = builder.build(eventLoop)) {
+                final AddressResolver<InetSocketAddress> resolver = group.getResolver(eventLoop);
+
+                // The second request joins the query of the first one which is delayed by the DNS server.
+                final Future<InetSocketAddress> foo1 = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                final Future<InetSocketAddress> foo2 = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().untilAsserted(() -> assertThat(foo1.isSuccess() && foo2.isSuccess()).isTrue());
+
+                final Future<InetSocketAddress> foo3 = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().untilAsserted(() -> assertThat(foo3.isSuccess()).isTrue());
+
+                assertThat(MoreMeters.measureAll(meterRegistry))
+                        .containsEntry("armeria.client.dns.cache.requests#count{result=miss}", 2.0)
+                        .containsEntry("armeria.client.dns.cache.requests#count{result=hit}", 1.0);
+            }
+        }
+    }
+
+    @Test
+    void prefetchOnlyHotNames() throws Exception {
+        try (TestDnsServer server = new TestDnsServer(ImmutableMap.of(
+                new DefaultDnsQuestion("foo.com.", A),
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1", 4)),
+                new DefaultDnsQuestion("bar.com.", A),
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("bar.com.", "1.1.1.1", 4))))
+        ) {
+            final EventLoop eventLoop = eventLoopExtension.get();
+            final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+            final DnsResolverGroupBuilder builder = builder(server).meterRegistry(meterRegistry)
+                                                                   .prefetchRatio(0.5);
+            try (RefreshingAddressResolverGroup group = builder.build(eventLoop)) {
+                final AddressResolver<InetSocketAddress> resolver = group.getResolver(eventLoop);
+
+                final long start = System.nanoTime();
+
+                final Future<InetSocketAddress> foo = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                final Future<InetSocketAddress> bar = resolver.resolve(
+                        InetSocketAddress.createUnresolved("bar.com", 36462));
+                await().untilAsserted(() -> assertThat(foo.isSuccess() && bar.isSuccess()).isTrue());
+
+                // Resolve foo.com one more to make it hot.
+                final Future<InetSocketAddress> foo2 = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().untilAsserted(() -> assertThat(foo2.isSuccess()).isTrue());
+
+                server.setResponses(ImmutableMap.of(
+                        new DefaultDnsQuestion("foo.com.", A),
+                        new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "2.2.2.2")),
+                        new DefaultDnsQuestion("bar.com.", A),
+                        new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("bar.com.", "2.2.2.2"))));
+
+                final Cache<String, CompletableFuture<CacheEntry>> cache = group.cache();
+                await().until(() -> cache.get("foo.com", this::noopCacheLoader).join().address().equals(
+                        InetAddress.getByAddress("foo.com", new byte[] { 2, 2, 2, 2 })));
+
+                final long elapsed = System.nanoTime() - start;
+                assertThat(elapsed).isGreaterThanOrEqualTo(
+                        (long) (TimeUnit.SECONDS.toNanos(2) * 0.9)); // ttl * prefetchRatio * buffer (90%)
+                assertThat(elapsed).isLessThan(TimeUnit.SECONDS.toNanos(4));
+
+                // bar.com is not refreshed until it expires because it was not resolved since the last refresh.
+                assertThat(cache.get("bar.com", this::noopCacheLoader).join().address()).isEqualTo(
+                        InetAddress.getByAddress("bar.com", new byte[] { 1, 1, 1, 1 }));
+
+                assertThat(MoreMeters.measureAll(meterRegistry))
+                        .containsEntry("armeria.client.dns.cache.requests#count{result=miss}", 2.0)
+                        .containsEntry("armeria.client.dns.cache.requests#count{result=hit}", 1.0);
+            }
+        }
+    }
+
     @Test
     void cacheClearWhenClosed() throws Exception {
         try (TestDnsServer server = new TestDnsServer(ImmutableMap.of(
@@ -350,6 +553,37 @@ class RefreshingAddressResolverTest {
         }
     }
 
+    @Test
+    void resolveAll() throws Exception {
+        try (TestDnsServer server = new TestDnsServer(
+                ImmutableMap.of(
+                        new DefaultDnsQuestion("foo.com.", A),
+                        new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1"))
+                                                 .addRecord(ANSWER, newAddressRecord("foo.com.", "2.2.2.2")),
+                        new DefaultDnsQuestion("foo.com.", AAAA),
+                        new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "::1"))))
+        ) {
+            final EventLoop eventLoop = eventLoopExtension.get();
+            final DnsResolverGroupBuilder builder = builder(server)
+                    .resolvedAddressTypes(ResolvedAddressTypes.IPV6_PREFERRED);
+            try (RefreshingAddressResolverGroup group = builder.build(eventLoop)) {
+                final AddressResolver<InetSocketAddress> resolver = group.getResolver(eventLoop);
+                final Future<List<InetSocketAddress>> future = resolver.resolveAll(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().until(future::isSuccess);
+                assertThat(future.getNow()).extracting(addr -> addr.getAddress().getHostAddress())
+                                           .containsExactly("0:0:0:0:0:0:0:1", "1.1.1.1", "2.2.2.2");
+                assertThat(future.getNow()).allSatisfy(addr -> assertThat(addr.getPort()).isEqualTo(36462));
+
+                // The first address is used when resolving a single address.
+                final Future<InetSocketAddress> single = resolver.resolve(
+                        InetSocketAddress.createUnresolved("foo.com", 36462));
+                await().until(single::isSuccess);
+                assertThat(single.getNow().getAddress().getHostAddress()).isEqualTo("0:0:0:0:0:0:0:1");
+            }
+        }
+    }
+
     @Test
     void preferredOrderIpv4() throws Exception {
         try (TestDnsServer server = new TestDnsServer(
@@ -437,6 +671,20 @@ class RefreshingAddressResolverTest {
         }
     }
 
+    private static class DropQueriesHandler extends ChannelInboundHandlerAdapter {
+        volatile boolean dropQueries;
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (dropQueries && msg instanceof DatagramDnsQuery) {
+                // Just release the msg and return so that the client request is timed out.
+                ReferenceCountUtil.safeRelease(msg);
+                return;
+            }
+            super.channelRead(ctx, msg);
+        }
+    }
+
     private static class DelayHandler extends ChannelInboundHandlerAdapter {
         private final DnsRecordType delayType;
 
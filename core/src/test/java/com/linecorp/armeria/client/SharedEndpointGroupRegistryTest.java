@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static com.linecorp.armeria.client.endpoint.dns.TestDnsServer.newAddressRecord;
+import static io.netty.handler.codec.dns.DnsRecordType.A;
+import static io.netty.handler.codec.dns.DnsSection.ANSWER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.client.SharedEndpointGroupRegistry.SharedEndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointGroup;
+import com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy;
+import com.linecorp.armeria.client.endpoint.dns.DnsAddressEndpointGroup;
+import com.linecorp.armeria.client.endpoint.dns.TestDnsServer;
+import com.linecorp.armeria.common.CommonPools;
+
+import io.netty.handler.codec.dns.DefaultDnsQuestion;
+import io.netty.handler.codec.dns.DefaultDnsResponse;
+import io.netty.resolver.ResolvedAddressTypes;
+import io.netty.resolver.dns.DnsServerAddresses;
+
+class SharedEndpointGroupRegistryTest {
+
+    private static TestDnsServer dnsServer;
+
+    @BeforeAll
+    static void startDnsServer() {
+        dnsServer = new TestDnsServer(ImmutableMap.of(
+                new DefaultDnsQuestion("foo.com.", A),
+                new DefaultDnsResponse(0).addRecord(ANSWER, newAddressRecord("foo.com.", "1.1.1.1"))));
+    }
+
+    @AfterAll
+    static void stopDnsServer() {
+        dnsServer.close();
+    }
+
+    @Test
+    void shareSameKey() {
+        final SharedEndpointGroupRegistry registry = newRegistry();
+        final EndpointSelectionStrategy strategy = EndpointSelectionStrategy.roundRobin();
+        final EndpointGroup group1 = registry.acquire("foo.com", 8080, strategy);
+        final EndpointGroup group2 = registry.acquire("foo.com", 8080, strategy);
+        final EndpointGroup group3 = registry.acquire("foo.com", 8081, strategy);
+        final EndpointGroup group4 = registry.acquire("foo.com", 8080, EndpointSelectionStrategy.sticky(
+                ctx -> 0));
+
+        final DnsAddressEndpointGroup delegate = delegate(group1);
+        assertThat(delegate(group2)).isSameAs(delegate);
+        assertThat(delegate(group3)).isNotSameAs(delegate);
+        assertThat(delegate(group4)).isNotSameAs(delegate);
+        assertThat(group1.selectionStrategy()).isSameAs(strategy);
+        assertThat(registry.size()).isEqualTo(3);
+        assertThat(group1.whenReady().join()).containsExactly(
+                Endpoint.of("foo.com", 8080).withIpAddr("1.1.1.1"));
+        assertThat(group2.endpoints()).containsExactly(Endpoint.of("foo.com", 8080).withIpAddr("1.1.1.1"));
+        assertThat(group3.whenReady().join()).containsExactly(
+                Endpoint.of("foo.com", 8081).withIpAddr("1.1.1.1"));
+
+        // The shared group is closed when the last reference is released.
+        group1.close();
+        group1.close();
+        assertThat(group1.isClosed()).isTrue();
+        assertThat(delegate.isClosing()).isFalse();
+        group2.close();
+        await().until(delegate::isClosed);
+        assertThat(registry.size()).isEqualTo(2);
+
+        // A new group is created for the same key after the old one is closed.
+        final EndpointGroup group5 = registry.acquire("foo.com", 8080, strategy);
+        assertThat(delegate(group5)).isNotSameAs(delegate);
+        assertThat(delegate(group5).isClosing()).isFalse();
+
+        registry.closeAsync().join();
+        assertThat(registry.size()).isZero();
+        assertThat(delegate(group3).isClosing()).isTrue();
+        assertThat(delegate(group4).isClosing()).isTrue();
+        assertThat(delegate(group5).isClosing()).isTrue();
+        assertThatThrownBy(() -> registry.acquire("foo.com", 8080, strategy))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void closedWithClientFactory() {
+        final ClientFactory factory = ClientFactory.builder().build();
+        factory.close();
+        // No group is created, i.e. no DNS query is sent, once the ClientFactory is closed.
+        assertThatThrownBy(() -> factory.sharedDnsAddressEndpointGroup("foo.com", 8080))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void factoryDnsOptions() {
+        // The search domains of the ClientFactory are applied to the shared group.
+        final SharedEndpointGroupRegistry registry = newRegistry(builder -> builder.searchDomains("com")
+                                                                                  .ndots(1));
+        final EndpointGroup group = registry.acquire("foo", 8080, EndpointSelectionStrategy.roundRobin());
+        assertThat(group.whenReady().join()).containsExactly(Endpoint.of("foo", 8080).withIpAddr("1.1.1.1"));
+        registry.closeAsync().join();
+    }
+
+    private static SharedEndpointGroupRegistry newRegistry() {
+        return newRegistry(builder -> {});
+    }
+
+    private static SharedEndpointGroupRegistry newRegistry(Consumer<DnsResolverGroupBuilder> customizer) {
+        final DnsResolverGroupBuilder builder =
+                new DnsResolverGroupBuilder()
+                        .dnsServerAddressStreamProvider(
+                                hostname -> DnsServerAddresses.sequential(dnsServer.addr()).stream())
+                        .resolvedAddressTypes(ResolvedAddressTypes.IPV4_ONLY);
+        customizer.accept(builder);
+        return new SharedEndpointGroupRegistry(CommonPools.workerGroup(),
+                                               builder.sharedEndpointGroupOptions());
+    }
+
+    private static DnsAddressEndpointGroup delegate(EndpointGroup group) {
+        return ((SharedEndpointGroup) group).delegate();
+    }
+}
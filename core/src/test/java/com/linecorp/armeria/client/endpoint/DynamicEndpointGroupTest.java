@@ -17,6 +17,8 @@ package com.linecorp.armeria.client.endpoint;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -98,4 +100,60 @@ class DynamicEndpointGroupTest {
                                            Endpoint.of("127.0.0.1", 1111),
                                            Endpoint.of("127.0.0.1", 2222));
     }
+
+    @Test
+    void endpointsChangeListener() {
+        final DynamicEndpointGroup endpointGroup = new DynamicEndpointGroup();
+        endpointGroup.setEndpoints(ImmutableList.of(Endpoint.of("127.0.0.1", 3333),
+                                                    Endpoint.of("127.0.0.1", 1111)));
+
+        final List<List<Endpoint>> added = new ArrayList<>();
+        final List<List<Endpoint>> removed = new ArrayList<>();
+        final EndpointsChangeListener listener = (endpoints, addedEndpoints, removedEndpoints) -> {
+            assertThat(endpoints).isSameAs(endpointGroup.endpoints());
+            added.add(addedEndpoints);
+            removed.add(removedEndpoints);
+        };
+
+        // The current endpoints are notified as added ones.
+        endpointGroup.addEndpointsChangeListener(listener);
+        assertThat(added).containsExactly(ImmutableList.of(Endpoint.of("127.0.0.1", 1111),
+                                                           Endpoint.of("127.0.0.1", 3333)));
+        assertThat(removed).containsExactly(ImmutableList.of());
+
+        endpointGroup.addEndpoint(Endpoint.of("127.0.0.1", 2222));
+        assertThat(added.get(1)).containsExactly(Endpoint.of("127.0.0.1", 2222));
+        assertThat(removed.get(1)).isEmpty();
+
+        endpointGroup.removeEndpoint(Endpoint.of("127.0.0.1", 1111));
+        assertThat(added.get(2)).isEmpty();
+        assertThat(removed.get(2)).containsExactly(Endpoint.of("127.0.0.1", 1111));
+
+        // Removing a non-existent endpoint does not notify anything.
+        endpointGroup.removeEndpoint(Endpoint.of("127.0.0.1", 4444));
+        assertThat(added).hasSize(3);
+
+        // A weight change is notified as a removal and an addition.
+        endpointGroup.setEndpoints(ImmutableList.of(Endpoint.of("127.0.0.1", 2222),
+                                                    Endpoint.of("127.0.0.1", 3333).withWeight(500),
+                                                    Endpoint.of("127.0.0.1", 5555)));
+        assertThat(added.get(3)).containsExactly(Endpoint.of("127.0.0.1", 3333),
+                                                 Endpoint.of("127.0.0.1", 5555));
+        assertThat(added.get(3).get(0).weight()).isEqualTo(500);
+        assertThat(removed.get(3)).containsExactly(Endpoint.of("127.0.0.1", 3333));
+        assertThat(removed.get(3).get(0).weight()).isEqualTo(1000);
+
+        // So is a zone change.
+        endpointGroup.setEndpoints(ImmutableList.of(Endpoint.of("127.0.0.1", 2222).withZone("zone-a"),
+                                                    Endpoint.of("127.0.0.1", 3333).withWeight(500),
+                                                    Endpoint.of("127.0.0.1", 5555)));
+        assertThat(added.get(4)).containsExactly(Endpoint.of("127.0.0.1", 2222));
+        assertThat(added.get(4).get(0).zone()).isEqualTo("zone-a");
+        assertThat(removed.get(4)).containsExactly(Endpoint.of("127.0.0.1", 2222));
+        assertThat(removed.get(4).get(0).zone()).isNull();
+
+        endpointGroup.removeEndpointsChangeListener(listener);
+        endpointGroup.addEndpoint(Endpoint.of("127.0.0.1", 6666));
+        assertThat(added).hasSize(5);
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static com.linecorp.armeria.client.endpoint.LoadAwareEndpointSelectionStrategy.LoadAwareEndpointSelector.weightedEndpoints;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.endpoint.LoadAwareEndpointSelectionStrategy.LoadAwareEndpointSelector;
+import com.linecorp.armeria.client.endpoint.LoadAwareEndpointSelectionStrategy.TimestampedLoadReport;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.internal.common.LoadReport;
+
+class LoadAwareEndpointSelectionStrategyTest {
+
+    private static final Endpoint a = Endpoint.of("127.0.0.1", 1);
+    private static final Endpoint b = Endpoint.of("127.0.0.1", 2);
+    private static final Endpoint c = Endpoint.of("127.0.0.1", 3);
+    private static final long expirationNanos = TimeUnit.SECONDS.toNanos(30);
+
+    @Test
+    void originalWeightsWithoutReports() {
+        final List<Endpoint> endpoints = ImmutableList.of(a, b, c);
+        assertThat(weightedEndpoints(endpoints, ImmutableMap.of(), 0, expirationNanos))
+                .isSameAs(endpoints);
+    }
+
+    @Test
+    void weightsProportionalToCapacity() {
+        // The capacity of 'a' is 100 / 0.8 = 125 and that of 'b' is 100 / 0.2 = 500.
+        // 'c' has no report, so it is considered to have the average capacity, 312.5.
+        final Map<Endpoint, TimestampedLoadReport> reports = ImmutableMap.of(
+                a, new TimestampedLoadReport(new LoadReport(0.8, 100, 10), 0),
+                b, new TimestampedLoadReport(new LoadReport(0.2, 100, 1), 0));
+        final List<Endpoint> weighted = weightedEndpoints(ImmutableList.of(a, b, c), reports, 0,
+                                                          expirationNanos);
+        assertThat(weighted).containsExactly(a, b, c);
+        assertThat(weighted.get(0).weight()).isEqualTo(400);
+        assertThat(weighted.get(1).weight()).isEqualTo(1600);
+        assertThat(weighted.get(2).weight()).isEqualTo(1000);
+    }
+
+    @Test
+    void ignoreExpiredReports() {
+        final Map<Endpoint, TimestampedLoadReport> reports = ImmutableMap.of(
+                a, new TimestampedLoadReport(new LoadReport(0.8, 100, 10), 0),
+                b, new TimestampedLoadReport(new LoadReport(0.2, 100, 1), expirationNanos));
+        final List<Endpoint> weighted = weightedEndpoints(ImmutableList.of(a, b), reports,
+                                                          expirationNanos + 1, expirationNanos);
+        // Only the report of 'b' is valid, so 'a' is considered to have the same capacity as 'b'.
+        assertThat(weighted.get(0).weight()).isEqualTo(1000);
+        assertThat(weighted.get(1).weight()).isEqualTo(1000);
+    }
+
+    @Test
+    void ignoreIncompleteReports() {
+        final Map<Endpoint, TimestampedLoadReport> reports = ImmutableMap.of(
+                a, new TimestampedLoadReport(new LoadReport(-1, 100, 10), 0),
+                b, new TimestampedLoadReport(new LoadReport(0.5, -1, 1), 0));
+        final List<Endpoint> endpoints = ImmutableList.of(a, b);
+        assertThat(weightedEndpoints(endpoints, reports, 0, expirationNanos)).isSameAs(endpoints);
+    }
+
+    @Test
+    void adjustWeightsFromResponses() {
+        final EndpointSelectionStrategy strategy = EndpointSelectionStrategy.builderForLoadAware()
+                                                                            .weightUpdateIntervalMillis(0)
+                                                                            .build();
+        final EndpointGroup group = EndpointGroup.of(strategy, a, b);
+
+        // Let 'a' report 4 times higher utilization than 'b' for the same number of requests.
+        final Set<Endpoint> reported = new HashSet<>();
+        for (int i = 0; i < 10 && reported.size() < 2; i++) {
+            final ClientRequestContext ctx = newContext();
+            final Endpoint selected = group.selectNow(ctx);
+            final double cpuUtilization = selected.equals(a) ? 0.8 : 0.2;
+            complete(ctx, new LoadReport(cpuUtilization, 100, 1));
+            reported.add(selected);
+        }
+        assertThat(reported).containsExactlyInAnyOrder(a, b);
+
+        final Map<Endpoint, Integer> numRequests = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            numRequests.merge(group.selectNow(newContext()), 1, Integer::sum);
+        }
+        assertThat(numRequests.get(a)).isBetween(150, 250);
+        assertThat(numRequests.get(b)).isBetween(750, 850);
+    }
+
+    @Test
+    void ignoreReportOfRemovedEndpoint() {
+        final EndpointSelectionStrategy strategy = EndpointSelectionStrategy.builderForLoadAware().build();
+        final TestDynamicEndpointGroup group = new TestDynamicEndpointGroup(strategy);
+        group.updateEndpoints(ImmutableList.of(a, b));
+        final LoadAwareEndpointSelector selector = (LoadAwareEndpointSelector) strategy.newSelector(group);
+
+        final TimestampedLoadReport report = new TimestampedLoadReport(new LoadReport(0.5, 100, 1), 0);
+        selector.addReport(b, report);
+        assertThat(selector.reports()).containsOnlyKeys(b);
+
+        // The report of 'b' is removed together with 'b', and a late report of 'b' is ignored.
+        group.updateEndpoints(ImmutableList.of(a));
+        assertThat(selector.reports()).isEmpty();
+        selector.addReport(b, report);
+        selector.addReport(a, report);
+        assertThat(selector.reports()).containsOnlyKeys(a);
+    }
+
+    @Test
+    void closeDerivedEndpointsWithGroup() {
+        final EndpointSelectionStrategy strategy = EndpointSelectionStrategy.builderForLoadAware().build();
+        final TestDynamicEndpointGroup group = new TestDynamicEndpointGroup(strategy);
+        final LoadAwareEndpointSelector selector = (LoadAwareEndpointSelector) strategy.newSelector(group);
+        assertThat(selector.weightedEndpoints.isClosing()).isFalse();
+
+        group.close();
+        assertThat(selector.weightedEndpoints.isClosing()).isTrue();
+    }
+
+    private static ClientRequestContext newContext() {
+        return ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+    }
+
+    private static void complete(ClientRequestContext ctx, LoadReport report) {
+        ctx.logBuilder().endRequest();
+        ctx.logBuilder().responseHeaders(ResponseHeaders.of(HttpStatus.OK, LoadReport.HEADER_NAME,
+                                                            report.toHeaderValue()));
+        ctx.logBuilder().endResponse();
+    }
+
+    private static final class TestDynamicEndpointGroup extends DynamicEndpointGroup {
+        TestDynamicEndpointGroup(EndpointSelectionStrategy selectionStrategy) {
+            super(selectionStrategy);
+        }
+
+        void updateEndpoints(List<Endpoint> endpoints) {
+            setEndpoints(endpoints);
+        }
+    }
+}
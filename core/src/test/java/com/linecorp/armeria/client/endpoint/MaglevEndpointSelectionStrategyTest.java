@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.endpoint.MaglevEndpointSelectionStrategy.LookupTable;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+
+class MaglevEndpointSelectionStrategyTest {
+
+    private static final ToLongFunction<ClientRequestContext> hasher = ctx -> ctx.path().hashCode();
+
+    @Test
+    void sticky() {
+        final EndpointGroup group = EndpointGroup.of(EndpointSelectionStrategy.maglev(hasher),
+                                                     endpoints(10));
+        for (int i = 0; i < 100; i++) {
+            final Endpoint selected = group.selectNow(newContext("/" + i));
+            assertThat(selected).isNotNull();
+            for (int j = 0; j < 3; j++) {
+                assertThat(group.selectNow(newContext("/" + i))).isEqualTo(selected);
+            }
+        }
+    }
+
+    @Test
+    void empty() {
+        final EndpointGroup group = EndpointGroup.of(EndpointSelectionStrategy.maglev(hasher),
+                                                     Endpoint.of("127.0.0.1", 1).withWeight(0),
+                                                     Endpoint.of("127.0.0.1", 2).withWeight(0));
+        assertThat(group.selectNow(newContext("/"))).isNull();
+    }
+
+    @Test
+    void respectWeights() {
+        final List<Endpoint> endpoints = ImmutableList.of(Endpoint.of("127.0.0.1", 1).withWeight(1),
+                                                          Endpoint.of("127.0.0.1", 2).withWeight(2),
+                                                          Endpoint.of("127.0.0.1", 3).withWeight(3),
+                                                          Endpoint.of("127.0.0.1", 4).withWeight(0));
+        final int tableSize = MaglevEndpointSelectionStrategyBuilder.DEFAULT_TABLE_SIZE;
+        final Map<Endpoint, Integer> numEntries = numEntries(new LookupTable(endpoints, tableSize, null));
+        assertThat(numEntries).hasSize(3);
+        assertThat(numEntries.get(endpoints.get(0)) / (double) tableSize).isCloseTo(1 / 6.0, within(0.01));
+        assertThat(numEntries.get(endpoints.get(1)) / (double) tableSize).isCloseTo(2 / 6.0, within(0.01));
+        assertThat(numEntries.get(endpoints.get(2)) / (double) tableSize).isCloseTo(3 / 6.0, within(0.01));
+    }
+
+    @Test
+    void minimalDisruption() {
+        final int tableSize = 10007;
+        final List<Endpoint> endpoints = endpoints(10);
+        final LookupTable oldTable = new LookupTable(endpoints, tableSize, null);
+        final Endpoint removed = endpoints.get(3);
+        final List<Endpoint> newEndpoints = new ArrayList<>(endpoints);
+        newEndpoints.remove(removed);
+        final LookupTable newTable = new LookupTable(newEndpoints, tableSize, oldTable);
+
+        int moved = 0;
+        for (int i = 0; i < tableSize; i++) {
+            final Endpoint oldEndpoint = oldTable.endpoints[i];
+            if (!oldEndpoint.equals(removed) && !oldEndpoint.equals(newTable.endpoints[i])) {
+                moved++;
+            }
+        }
+        // Only a small portion of the keys which were not mapped to the removed endpoint have moved.
+        assertThat(moved / (double) tableSize).isLessThan(0.05);
+    }
+
+    @Test
+    void boundedLoads() {
+        final EndpointSelectionStrategy strategy =
+                EndpointSelectionStrategy.builderForMaglev(hasher)
+                                         .tableSize(101)
+                                         .loadFactor(1.25)
+                                         .build();
+        final EndpointGroup group = EndpointGroup.of(strategy, endpoints(4));
+
+        // Send many requests with the same key without completing them.
+        final List<ClientRequestContext> contexts = new ArrayList<>();
+        final Map<Endpoint, Integer> numRequests = new HashMap<>();
+        Endpoint first = null;
+        for (int i = 0; i < 100; i++) {
+            final ClientRequestContext ctx = newContext("/hot");
+            final Endpoint selected = group.selectNow(ctx);
+            if (first == null) {
+                first = selected;
+            }
+            contexts.add(ctx);
+            numRequests.merge(selected, 1, Integer::sum);
+        }
+
+        // The requests overflowed to the other endpoints.
+        assertThat(numRequests).hasSize(4);
+        assertThat(numRequests.values()).allSatisfy(n -> assertThat(n).isLessThanOrEqualTo(32));
+
+        // The requests go back to the endpoint of the key once the load is gone.
+        for (ClientRequestContext ctx : contexts) {
+            ctx.logBuilder().endRequest();
+            ctx.logBuilder().endResponse();
+        }
+        assertThat(group.selectNow(newContext("/hot"))).isEqualTo(first);
+    }
+
+    @Test
+    void invalidTableSize() {
+        assertThatThrownBy(() -> EndpointSelectionStrategy.builderForMaglev(hasher).tableSize(100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<Endpoint, Integer> numEntries(LookupTable table) {
+        final Map<Endpoint, Integer> numEntries = new HashMap<>();
+        for (Endpoint e : table.endpoints) {
+            numEntries.merge(e, 1, Integer::sum);
+        }
+        return numEntries;
+    }
+
+    private static List<Endpoint> endpoints(int numEndpoints) {
+        final ImmutableList.Builder<Endpoint> builder = ImmutableList.builder();
+        for (int i = 0; i < numEndpoints; i++) {
+            builder.add(Endpoint.of("127.0.0.1", 1000 + i));
+        }
+        return builder.build();
+    }
+
+    private static ClientRequestContext newContext(String path) {
+        return ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, path));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import com.linecorp.armeria.client.Endpoint;
+
+class SubsettingEndpointGroupTest {
+
+    @Test
+    void selectSubset() {
+        final List<Endpoint> endpoints = endpoints(100);
+        final TestDynamicEndpointGroup delegate = new TestDynamicEndpointGroup();
+        delegate.updateEndpoints(endpoints);
+
+        try (SubsettingEndpointGroup group = SubsettingEndpointGroup.builder(delegate, "client-1")
+                                                                    .subsetSize(5)
+                                                                    .build()) {
+            assertThat(group.whenReady().join()).hasSize(5);
+            assertThat(group.selectionStrategy()).isSameAs(delegate.selectionStrategy());
+            assertThat(endpoints).containsAll(group.endpoints());
+
+            // The same client ID chooses the same subset regardless of the order.
+            try (SubsettingEndpointGroup group2 = SubsettingEndpointGroup.builder(
+                    EndpointGroup.of(Lists.reverse(endpoints)), "client-1").subsetSize(5).build()) {
+                assertThat(group2.whenReady().join()).containsExactlyElementsOf(group.endpoints());
+            }
+        }
+    }
+
+    @Test
+    void selectAllIfNotEnoughEndpoints() {
+        final List<Endpoint> endpoints = endpoints(3);
+        try (SubsettingEndpointGroup group = SubsettingEndpointGroup.of(EndpointGroup.of(endpoints),
+                                                                        "client-1")) {
+            assertThat(group.whenReady().join()).containsExactlyInAnyOrderElementsOf(endpoints);
+        }
+    }
+
+    @Test
+    void minimalChangeOnUpdate() {
+        final List<Endpoint> endpoints = endpoints(100);
+        final TestDynamicEndpointGroup delegate = new TestDynamicEndpointGroup();
+        delegate.updateEndpoints(endpoints);
+
+        try (SubsettingEndpointGroup group = SubsettingEndpointGroup.builder(delegate, "client-1")
+                                                                    .subsetSize(10)
+                                                                    .build()) {
+            final Set<Endpoint> oldSubset = new HashSet<>(group.whenReady().join());
+
+            // Removing an endpoint which is not in the subset does not change the subset.
+            final Endpoint unused = endpoints.stream().filter(e -> !oldSubset.contains(e)).findFirst().get();
+            final List<Endpoint> withoutUnused = new ArrayList<>(endpoints);
+            withoutUnused.remove(unused);
+            delegate.updateEndpoints(withoutUnused);
+            assertThat(group.endpoints()).containsExactlyInAnyOrderElementsOf(oldSubset);
+
+            // Removing an endpoint in the subset replaces only that endpoint.
+            final Endpoint used = oldSubset.iterator().next();
+            final List<Endpoint> withoutUsed = new ArrayList<>(withoutUnused);
+            withoutUsed.remove(used);
+            delegate.updateEndpoints(withoutUsed);
+            final Set<Endpoint> newSubset = new HashSet<>(group.endpoints());
+            assertThat(newSubset).hasSize(10).doesNotContain(used);
+            assertThat(Sets.intersection(oldSubset, newSubset)).hasSize(9);
+
+            // Adding many endpoints replaces only some of the endpoints in the subset.
+            final List<Endpoint> doubled = new ArrayList<>(withoutUsed);
+            for (int i = 0; i < 100; i++) {
+                doubled.add(Endpoint.of("192.168.1." + i, 8080));
+            }
+            delegate.updateEndpoints(doubled);
+            assertThat(Sets.difference(new HashSet<>(group.endpoints()), newSubset).size())
+                    .isBetween(1, 9);
+        }
+    }
+
+    @Test
+    void balancedAcrossClients() {
+        final List<Endpoint> endpoints = endpoints(100);
+        final Map<Endpoint, Integer> numClients = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            final long clientHash = SubsettingEndpointGroup.clientHash("client-" + i);
+            for (Endpoint e : SubsettingEndpointGroup.subset(clientHash, endpoints, 10)) {
+                numClients.merge(e, 1, Integer::sum);
+            }
+        }
+
+        // Each endpoint is expected to be chosen by 100 clients.
+        assertThat(numClients).hasSize(100);
+        assertThat(numClients.values()).allSatisfy(n -> assertThat(n).isBetween(60, 140));
+    }
+
+    @Test
+    void keepWeights() {
+        final List<Endpoint> endpoints = endpoints(20);
+        final List<Endpoint> weighted = ImmutableList.copyOf(Lists.transform(endpoints, e -> e.withWeight(1)));
+        final long clientHash = SubsettingEndpointGroup.clientHash("client-1");
+
+        // A weight change does not change the subset.
+        final List<Endpoint> subset = SubsettingEndpointGroup.subset(clientHash, endpoints, 5);
+        final List<Endpoint> weightedSubset = SubsettingEndpointGroup.subset(clientHash, weighted, 5);
+        assertThat(weightedSubset).containsExactlyElementsOf(subset);
+        assertThat(weightedSubset).allSatisfy(e -> assertThat(e.weight()).isOne());
+    }
+
+    private static List<Endpoint> endpoints(int numEndpoints) {
+        final ImmutableList.Builder<Endpoint> builder = ImmutableList.builder();
+        for (int i = 0; i < numEndpoints; i++) {
+            builder.add(Endpoint.of("10.0.0." + i, 8080));
+        }
+        return builder.build();
+    }
+
+    private static final class TestDynamicEndpointGroup extends DynamicEndpointGroup {
+        void updateEndpoints(List<Endpoint> endpoints) {
+            setEndpoints(endpoints);
+        }
+    }
+}
@@ -20,8 +20,12 @@ import static com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy.rou
 import static com.linecorp.armeria.client.endpoint.EndpointSelectionStrategy.weightedRoundRobin;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -246,6 +250,59 @@ class WeightedRoundRobinStrategyTest {
         assertThat(group.selectNow(ctx)).isEqualTo(Endpoint.of("127.0.0.1", 1111).withWeight(1));
     }
 
+    @Test
+    void incrementalUpdateFromDynamicEndpointGroup() {
+        final TestDynamicEndpointGroup group = new TestDynamicEndpointGroup();
+        final Random random = new Random(42);
+        final List<Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            endpoints.add(Endpoint.of("127.0.0.1", 1000 + i).withWeight(random.nextInt(4)));
+        }
+        group.updateEndpoints(endpoints);
+        assertSelectedByWeight(group);
+
+        for (int i = 0; i < 100; i++) {
+            final Endpoint endpoint = Endpoint.of("127.0.0.1", 1000 + random.nextInt(30))
+                                              .withWeight(random.nextInt(4));
+            switch (random.nextInt(3)) {
+                case 0:
+                    group.addEndpoint(endpoint);
+                    break;
+                case 1:
+                    group.removeEndpoint(endpoint);
+                    break;
+                default:
+                    // Change the weight of an endpoint.
+                    final List<Endpoint> newEndpoints = group.endpoints().stream()
+                                                             .filter(e -> !e.equals(endpoint))
+                                                             .collect(Collectors.toList());
+                    newEndpoints.add(endpoint);
+                    group.updateEndpoints(newEndpoints);
+            }
+            assertSelectedByWeight(group);
+        }
+    }
+
+    /**
+     * Makes sure each endpoint is selected as many times as its weight during a full round.
+     */
+    private void assertSelectedByWeight(EndpointGroup group) {
+        final Map<Endpoint, Integer> expected = new HashMap<>();
+        int totalWeight = 0;
+        for (Endpoint e : group.endpoints()) {
+            if (e.weight() > 0) {
+                expected.merge(e, e.weight(), Integer::sum);
+                totalWeight += e.weight();
+            }
+        }
+
+        final Map<Endpoint, Integer> actual = new HashMap<>();
+        for (int i = 0; i < totalWeight; i++) {
+            actual.merge(group.selectNow(ctx), 1, Integer::sum);
+        }
+        assertThat(actual).isEqualTo(expected);
+    }
+
     private static final class TestDynamicEndpointGroup extends DynamicEndpointGroup {
         void updateEndpoints(List<Endpoint> endpoints) {
             setEndpoints(endpoints);
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.endpoint;
+
+import static com.linecorp.armeria.client.endpoint.ZoneAwareEndpointSelectionStrategy.ZoneAwareEndpointSelector.localRatio;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.endpoint.ZoneAwareEndpointSelectionStrategy.ZoneAwareEndpointSelector;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+
+class ZoneAwareEndpointSelectionStrategyTest {
+
+    private static final ClientRequestContext ctx =
+            ClientRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+
+    @Test
+    void testLocalRatio() {
+        assertThat(localRatio(0, 100, 2)).isZero();
+        assertThat(localRatio(100, 100, 1)).isOne();
+        // The local zone has its fair share or more.
+        assertThat(localRatio(50, 100, 2)).isOne();
+        assertThat(localRatio(80, 100, 2)).isOne();
+        // The local zone has only a half of its fair share.
+        assertThat(localRatio(25, 100, 2)).isCloseTo(0.5, within(0.0001));
+        assertThat(localRatio(10, 90, 3)).isCloseTo(1 / 3.0, within(0.0001));
+    }
+
+    @Test
+    void preferLocalZone() {
+        final EndpointGroup group = EndpointGroup.of(EndpointSelectionStrategy.zoneAware("a"),
+                                                     endpoints("a", 2, "b", 2, "c", 2));
+        for (int i = 0; i < 100; i++) {
+            assertThat(group.selectNow(ctx).zone()).isEqualTo("a");
+        }
+    }
+
+    @Test
+    void spillOver() {
+        // The local zone has 1 endpoint while the other zone has 3 endpoints,
+        // so a half of the requests should go to the other zone.
+        final EndpointGroup group = EndpointGroup.of(EndpointSelectionStrategy.zoneAware("a"),
+                                                     endpoints("a", 1, "b", 3));
+        final int numRequests = 10000;
+        int numLocal = 0;
+        for (int i = 0; i < numRequests; i++) {
+            if ("a".equals(group.selectNow(ctx).zone())) {
+                numLocal++;
+            }
+        }
+        assertThat(numLocal / (double) numRequests).isCloseTo(0.5, within(0.05));
+    }
+
+    @Test
+    void noLocalEndpoints() {
+        final EndpointGroup group = EndpointGroup.of(EndpointSelectionStrategy.zoneAware("a"),
+                                                     endpoints("b", 2, "c", 2));
+        for (int i = 0; i < 100; i++) {
+            assertThat(group.selectNow(ctx).zone()).isIn("b", "c");
+        }
+    }
+
+    @Test
+    void unknownZone() {
+        final List<Endpoint> endpoints = ImmutableList.of(Endpoint.of("127.0.0.1", 1).withZone("a"),
+                                                          Endpoint.of("127.0.0.1", 2),
+                                                          Endpoint.of("127.0.0.1", 3));
+        final EndpointGroup group = EndpointGroup.of(EndpointSelectionStrategy.zoneAware("a"), endpoints);
+        // The endpoints without a zone are considered to be in another zone.
+        int numLocal = 0;
+        for (int i = 0; i < 10000; i++) {
+            if ("a".equals(group.selectNow(ctx).zone())) {
+                numLocal++;
+            }
+        }
+        assertThat(numLocal / 10000.0).isCloseTo(2 / 3.0, within(0.05));
+    }
+
+    @Test
+    void updateEndpoints() {
+        final TestDynamicEndpointGroup group =
+                new TestDynamicEndpointGroup(EndpointSelectionStrategy.zoneAware("a"));
+        group.updateEndpoints(endpoints("b", 2));
+        assertThat(group.selectNow(ctx).zone()).isEqualTo("b");
+
+        group.updateEndpoints(endpoints("a", 2, "b", 2));
+        for (int i = 0; i < 100; i++) {
+            assertThat(group.selectNow(ctx).zone()).isEqualTo("a");
+        }
+    }
+
+    @Test
+    void closeDerivedEndpointsWithGroup() {
+        final TestDynamicEndpointGroup group =
+                new TestDynamicEndpointGroup(EndpointSelectionStrategy.zoneAware("a"));
+        final ZoneAwareEndpointSelector selector =
+                (ZoneAwareEndpointSelector) EndpointSelectionStrategy.zoneAware("a").newSelector(group);
+        assertThat(selector.localEndpoints.isClosing()).isFalse();
+        assertThat(selector.remoteEndpoints.isClosing()).isFalse();
+
+        group.close();
+        assertThat(selector.localEndpoints.isClosing()).isTrue();
+        assertThat(selector.remoteEndpoints.isClosing()).isTrue();
+    }
+
+    private static List<Endpoint> endpoints(Object... zonesAndCounts) {
+        final ImmutableList.Builder<Endpoint> builder = ImmutableList.builder();
+        int port = 1000;
+        for (int i = 0; i < zonesAndCounts.length; i += 2) {
+            final String zone = (String) zonesAndCounts[i];
+            final int count = (Integer) zonesAndCounts[i + 1];
+            for (int j = 0; j < count; j++) {
+                builder.add(Endpoint.of("127.0.0.1", port++).withZone(zone));
+            }
+        }
+        return builder.build();
+    }
+
+    private static final class TestDynamicEndpointGroup extends DynamicEndpointGroup {
+        TestDynamicEndpointGroup(EndpointSelectionStrategy selectionStrategy) {
+            super(selectionStrategy);
+        }
+
+        void updateEndpoints(List<Endpoint> endpoints) {
+            setEndpoints(endpoints);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
 
+import io.netty.buffer.ByteBuf;
 import reactor.test.StepVerifier;
 
 class DefaultAggregatedHttpResponseTest {
@@ -140,4 +141,56 @@ class DefaultAggregatedHttpResponseTest {
         res = AggregatedHttpResponse.of(headers, HttpData.ofUtf8("foo"));
         assertThat(res.headers().getInt(CONTENT_LENGTH)).isEqualTo(3); // The length is reset to 3 from 1000000.
     }
+
+    @Test
+    void frozen() {
+        final AggregatedHttpResponse aRes = AggregatedHttpResponse.of(
+                ImmutableList.of(ResponseHeaders.of(HttpStatus.CONTINUE)),
+                ResponseHeaders.of(HttpStatus.OK, CONTENT_TYPE, PLAIN_TEXT_UTF_8),
+                HttpData.ofUtf8("alice"), HttpHeaders.of(CONTENT_MD5, "37b51d194a7513e45b56f6524f2d51f2"));
+        assertThat(aRes.isFrozen()).isFalse();
+
+        final AggregatedHttpResponse frozen = aRes.toFrozen();
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(frozen.toFrozen()).isSameAs(frozen);
+        assertThat(frozen).isEqualTo(aRes);
+        assertThat(frozen.headers().isConstant()).isTrue();
+        assertThat(frozen.informationals()).allSatisfy(h -> assertThat(h.isConstant()).isTrue());
+        assertThat(frozen.content().isPooled()).isFalse();
+
+        // A frozen response can be converted into an HttpResponse many times.
+        for (int i = 0; i < 3; i++) {
+            final AggregatedHttpResponse res = frozen.toHttpResponse().aggregate().join();
+            assertThat(res.status()).isSameAs(HttpStatus.OK);
+            assertThat(res.contentUtf8()).isEqualTo("alice");
+            assertThat(res.trailers().get(CONTENT_MD5)).isEqualTo("37b51d194a7513e45b56f6524f2d51f2");
+        }
+
+        // The content must be still readable after writing it to a channel.
+        for (int i = 0; i < 3; i++) {
+            final ByteBuf buf = frozen.content().byteBuf(ByteBufAccessMode.FOR_IO);
+            assertThat(buf.isDirect()).isTrue();
+            buf.release();
+            frozen.content().close();
+        }
+        assertThat(frozen.contentUtf8()).isEqualTo("alice");
+    }
+
+    @Test
+    void frozenStatusResponse() {
+        final AggregatedHttpResponse res = AggregatedHttpResponse.of(HttpStatus.NOT_FOUND);
+        assertThat(res.isFrozen()).isTrue();
+        assertThat(AggregatedHttpResponse.of(404)).isSameAs(res);
+        assertThat(res.contentUtf8()).isEqualTo(HttpStatus.NOT_FOUND.toString());
+
+        // A status with a custom reason phrase must not be cached.
+        final HttpStatus custom = new HttpStatus(404, "Nothing Here");
+        assertThat(AggregatedHttpResponse.of(custom).contentUtf8()).isEqualTo("404 Nothing Here");
+        assertThat(AggregatedHttpResponse.of(custom)).isNotSameAs(AggregatedHttpResponse.of(custom));
+
+        final AggregatedHttpResponse noContent = AggregatedHttpResponse.of(HttpStatus.NO_CONTENT);
+        assertThat(noContent.isFrozen()).isTrue();
+        assertThat(noContent.content().isEmpty()).isTrue();
+        assertThat(noContent.headers().contains(CONTENT_LENGTH)).isFalse();
+    }
 }
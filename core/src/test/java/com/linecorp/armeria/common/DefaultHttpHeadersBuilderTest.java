@@ -17,12 +17,16 @@ package com.linecorp.armeria.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Map.Entry;
+
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
+import io.netty.util.AsciiString;
+
 class DefaultHttpHeadersBuilderTest {
 
     @Test
@@ -135,6 +139,63 @@ class DefaultHttpHeadersBuilderTest {
                                              Maps.immutableEntry(HttpHeaderNames.of("e"), "f"));
     }
 
+    @Test
+    void sharesEntriesWithParent() {
+        final HttpHeaders headers = HttpHeaders.of("a", "b", "c", "d");
+
+        // Adding a new header does not copy the entries of the parent.
+        final HttpHeaders headers2 = headers.toBuilder().add("e", "f").set("a", "b2", "b3").build();
+        final HttpHeaders headers3 = headers2.toBuilder().add("e", "g").build();
+        assertThat(headers3).containsExactly(Maps.immutableEntry(HttpHeaderNames.of("c"), "d"),
+                                             Maps.immutableEntry(HttpHeaderNames.of("e"), "f"),
+                                             Maps.immutableEntry(HttpHeaderNames.of("a"), "b2"),
+                                             Maps.immutableEntry(HttpHeaderNames.of("a"), "b3"),
+                                             Maps.immutableEntry(HttpHeaderNames.of("e"), "g"));
+        assertThat(headers3.getAll("e")).containsExactly("f", "g");
+        assertThat(headers3.size()).isEqualTo(5);
+        assertThat(headers3).isEqualTo(HttpHeaders.builder()
+                                                  .add("c", "d")
+                                                  .add("e", "f")
+                                                  .add("a", "b2", "b3")
+                                                  .add("e", "g")
+                                                  .build());
+
+        // Removing a header from the derived headers must not affect the parent.
+        final HttpHeaders headers4 = headers3.toBuilder().removeAndThen("e").build();
+        assertThat(headers4).containsExactly(Maps.immutableEntry(HttpHeaderNames.of("c"), "d"),
+                                             Maps.immutableEntry(HttpHeaderNames.of("a"), "b2"),
+                                             Maps.immutableEntry(HttpHeaderNames.of("a"), "b3"));
+        assertThat(headers3.getAll("e")).containsExactly("f", "g");
+        assertThat(headers2.getAll("e")).containsExactly("f");
+        assertThat(headers).containsExactly(Maps.immutableEntry(HttpHeaderNames.of("a"), "b"),
+                                            Maps.immutableEntry(HttpHeaderNames.of("c"), "d"));
+
+        // Pseudo headers must come first even if added to the derived headers.
+        final HttpHeaders headers5 = headers3.toBuilder().add(HttpHeaderNames.STATUS, "200").build();
+        assertThat(headers5.names()).containsExactly(HttpHeaderNames.STATUS, HttpHeaderNames.of("c"),
+                                                     HttpHeaderNames.of("e"), HttpHeaderNames.of("a"));
+        assertThat(headers3.contains(HttpHeaderNames.STATUS)).isFalse();
+    }
+
+    @Test
+    void longDerivationChain() {
+        HttpHeaders headers = HttpHeaders.of("a", "b");
+        for (int i = 0; i < StringMultimap.MAX_OVERLAY_DEPTH * 3; i++) {
+            headers = headers.toBuilder().add("x-" + i, String.valueOf(i)).build();
+        }
+        assertThat(headers.size()).isEqualTo(StringMultimap.MAX_OVERLAY_DEPTH * 3 + 1);
+        assertThat(headers.get("a")).isEqualTo("b");
+        int i = -1;
+        for (Entry<AsciiString, String> e : headers) {
+            if (i >= 0) {
+                assertThat(e.getKey()).isEqualTo(HttpHeaderNames.of("x-" + i));
+                assertThat(e.getValue()).isEqualTo(String.valueOf(i));
+            }
+            i++;
+        }
+        assertThat(i).isEqualTo(StringMultimap.MAX_OVERLAY_DEPTH * 3);
+    }
+
     @Test
     void noMutationNoCopy() {
         final HttpHeaders headers = HttpHeaders.of("a", "b");
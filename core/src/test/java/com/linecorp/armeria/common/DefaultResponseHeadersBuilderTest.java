@@ -133,6 +133,28 @@ class DefaultResponseHeadersBuilderTest {
         assertThat(headers.cookies()).isEqualTo(Cookies.of(cookie1, cookie2));
     }
 
+    @Test
+    void constant() {
+        final ResponseHeaders headers = ResponseHeaders.of(HttpStatus.OK, "a", "b");
+        assertThat(headers.isConstant()).isFalse();
+
+        final ResponseHeaders constant = headers.toConstant();
+        assertThat(constant.isConstant()).isTrue();
+        assertThat(constant).isEqualTo(headers);
+        assertThat(constant.toConstant()).isSameAs(constant);
+        // The original headers are not affected.
+        assertThat(headers.isConstant()).isFalse();
+
+        // Unmodified headers remain constant.
+        assertThat(constant.toBuilder().build()).isSameAs(constant);
+
+        // Modified headers are not constant.
+        final ResponseHeaders modified = constant.toBuilder().add("c", "d").build();
+        assertThat(modified.isConstant()).isFalse();
+        assertThat(constant.contains("c")).isFalse();
+        assertThat(constant.withMutations(builder -> builder.set("a", "e")).isConstant()).isFalse();
+    }
+
     /**
      * Makes sure {@link ResponseHeadersBuilder} overrides all {@link HttpHeadersBuilder} methods
      * with the correct return type.
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.netty.util.concurrent.FastThreadLocalThread;
+
+class VirtualThreadRequestContextStorageTest {
+
+    private static final RequestContextStorage storage =
+            new VirtualThreadRequestContextStorageProvider().newStorage();
+
+    @Test
+    void pushAndPop() {
+        final ServiceRequestContext ctx1 = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/1"));
+        final ServiceRequestContext ctx2 = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/2"));
+
+        assertThat((RequestContext) storage.currentOrNull()).isNull();
+        assertThat((RequestContext) storage.push(ctx1)).isNull();
+        assertThat((RequestContext) storage.currentOrNull()).isSameAs(ctx1);
+        assertThat((RequestContext) storage.push(ctx2)).isSameAs(ctx1);
+        assertThat((RequestContext) storage.currentOrNull()).isSameAs(ctx2);
+
+        assertThatThrownBy(() -> storage.pop(ctx1, null)).isInstanceOf(IllegalStateException.class);
+
+        storage.pop(ctx2, ctx1);
+        assertThat((RequestContext) storage.currentOrNull()).isSameAs(ctx1);
+        storage.pop(ctx1, null);
+        assertThat((RequestContext) storage.currentOrNull()).isNull();
+    }
+
+    @Test
+    void sharesSlotWithThreadLocalStorageOnFastThreadLocalThread() throws Exception {
+        final ServiceRequestContext ctx = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
+        final AtomicReference<RequestContext> seen = new AtomicReference<>();
+        final Thread thread = new FastThreadLocalThread(() -> {
+            storage.push(ctx);
+            seen.set(RequestContextStorage.threadLocal().currentOrNull());
+            storage.pop(ctx, null);
+        });
+        thread.start();
+        thread.join();
+        assertThat(seen.get()).isSameAs(ctx);
+    }
+}
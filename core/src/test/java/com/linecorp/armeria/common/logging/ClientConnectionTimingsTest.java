@@ -19,18 +19,25 @@ package com.linecorp.armeria.common.logging;
 import static com.linecorp.armeria.common.logging.ClientConnectionTimings.TO_STRING_BUILDER_CAPACITY;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.net.InetSocketAddress;
+
 import org.junit.jupiter.api.Test;
 
 class ClientConnectionTimingsTest {
 
     @Test
     void toStringBuilderCapacity() {
+        final InetSocketAddress connectedAddress =
+                new InetSocketAddress("1234:5678:9abc:def0:1234:5678:9abc:def0", 65535);
         final ClientConnectionTimings timings = ClientConnectionTimings.builder()
                                                                        .dnsResolutionEnd()
                                                                        .pendingAcquisitionStart()
                                                                        .pendingAcquisitionEnd()
                                                                        .socketConnectStart()
                                                                        .socketConnectEnd()
+                                                                       .tlsHandshakeStart()
+                                                                       .tlsHandshakeEnd()
+                                                                       .connectedAddress(connectedAddress)
                                                                        .build();
 
         assertThat(timings.toString().length()).isLessThanOrEqualTo(TO_STRING_BUILDER_CAPACITY);
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.internal.common.util.VirtualThreads;
+
+class BlockingTaskExecutorBuilderTest {
+
+    @Test
+    void virtualThreadsUnsupported() {
+        assumeTrue(!VirtualThreads.isSupported());
+        assertThatThrownBy(() -> BlockingTaskExecutor.builder().virtualThreads(true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void virtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        final BlockingTaskExecutor executor = BlockingTaskExecutor.builder()
+                                                                  .threadNamePrefix("virtual-blocking")
+                                                                  .virtualThreads(true)
+                                                                  .numThreads(2)
+                                                                  .build();
+        try {
+            final AtomicInteger numRunning = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+            final CountDownLatch latch = new CountDownLatch(10);
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                    assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isTrue();
+                    assertThat(Thread.currentThread().getName()).startsWith("virtual-blocking-");
+                    maxRunning.accumulateAndGet(numRunning.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    numRunning.decrementAndGet();
+                    latch.countDown();
+                });
+            }
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void virtualThreadPerTask() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        final BlockingTaskExecutor executor = BlockingTaskExecutor.builder()
+                                                                  .virtualThreads(true)
+                                                                  .numThreads(2)
+                                                                  .build();
+        try {
+            final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            final CountDownLatch latch = new CountDownLatch(10);
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                    threads.add(Thread.currentThread());
+                    latch.countDown();
+                });
+            }
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+            // Every task runs in its own virtual thread rather than in a pooled worker.
+            assertThat(threads).hasSize(10);
+
+            final Thread delayed = executor.schedule(Thread::currentThread, 10, TimeUnit.MILLISECONDS)
+                                           .get(10, TimeUnit.SECONDS);
+            assertThat(VirtualThreads.isVirtual(delayed)).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.InetSocketAddress;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.Endpoint;
+
+class DomainSocketAddressTest {
+
+    @Test
+    void authority() {
+        final DomainSocketAddress addr = DomainSocketAddress.of("/var/run/app.sock");
+        assertThat(addr.path()).isEqualTo("/var/run/app.sock");
+        assertThat(addr.authority()).isEqualTo("unix%3A%2Fvar%2Frun%2Fapp.sock");
+        assertThat(addr).isNotInstanceOf(InetSocketAddress.class);
+        assertThat(addr).hasToString("unix:/var/run/app.sock");
+        assertThat(DomainSocketAddress.isDomainSocketAuthority(addr.authority())).isTrue();
+        assertThat(DomainSocketAddress.isDomainSocketAuthority("example.com")).isFalse();
+        assertThat(DomainSocketAddress.ofAuthority(addr.authority()).path()).isEqualTo(addr.path());
+        assertThatThrownBy(() -> DomainSocketAddress.ofAuthority("example.com"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void equality() {
+        assertThat(DomainSocketAddress.of("/tmp/a.sock")).isEqualTo(DomainSocketAddress.of("/tmp/a.sock"));
+        assertThat(DomainSocketAddress.of("/tmp/a.sock")).isNotEqualTo(DomainSocketAddress.of("/tmp/b.sock"));
+        assertThat(DomainSocketAddress.of("/tmp/a.sock").hashCode())
+                .isEqualTo(DomainSocketAddress.of("/tmp/a.sock").hashCode());
+        assertThatThrownBy(() -> DomainSocketAddress.of(""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void endpoint() {
+        final DomainSocketAddress addr = DomainSocketAddress.of("/var/run/app.sock");
+        final Endpoint endpoint = Endpoint.of(addr);
+        assertThat(endpoint.isDomainSocket()).isTrue();
+        assertThat(endpoint.host()).isEqualTo(addr.authority());
+        assertThat(endpoint.ipAddr()).isEqualTo(addr.authority());
+        assertThat(Endpoint.parse(addr.authority() + ":8080")).isEqualTo(endpoint.withPort(8080));
+        assertThat(Endpoint.of("example.com").withIpAddr(addr.authority()).isDomainSocket()).isTrue();
+    }
+}
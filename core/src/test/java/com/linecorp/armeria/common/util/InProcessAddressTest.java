@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.InetSocketAddress;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.Endpoint;
+
+class InProcessAddressTest {
+
+    @Test
+    void authority() {
+        final InProcessAddress addr = InProcessAddress.of("my service");
+        assertThat(addr.name()).isEqualTo("my service");
+        assertThat(addr.authority()).isEqualTo("inproc%3Amy+service");
+        assertThat(addr).isNotInstanceOf(InetSocketAddress.class);
+        assertThat(addr).hasToString("inproc:my service");
+        assertThat(InProcessAddress.isInProcessAuthority(addr.authority())).isTrue();
+        assertThat(InProcessAddress.isInProcessAuthority("example.com")).isFalse();
+        assertThat(InProcessAddress.ofAuthority(addr.authority()).name()).isEqualTo(addr.name());
+        assertThatThrownBy(() -> InProcessAddress.ofAuthority("example.com"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InProcessAddress.of(""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void equality() {
+        assertThat(InProcessAddress.of("a")).isEqualTo(InProcessAddress.of("a"));
+        assertThat(InProcessAddress.of("a")).isNotEqualTo(InProcessAddress.of("b"));
+        assertThat(InProcessAddress.of("a")).isNotEqualTo(DomainSocketAddress.of("a"));
+        assertThat(InProcessAddress.of("a")).isNotEqualTo(InProcessAddress.of("A"));
+        assertThat(InProcessAddress.ofAuthority(InProcessAddress.of("My-Service").authority()).name())
+                .isEqualTo("My-Service");
+    }
+
+    @Test
+    void endpoint() {
+        final InProcessAddress addr = InProcessAddress.of("my-service");
+        final Endpoint endpoint = Endpoint.of(addr);
+        assertThat(endpoint.isInProcess()).isTrue();
+        assertThat(endpoint.isDomainSocket()).isFalse();
+        assertThat(endpoint.host()).isEqualTo(addr.authority());
+        assertThat(endpoint.ipAddr()).isEqualTo(addr.authority());
+        assertThat(Endpoint.parse(addr.authority())).isEqualTo(endpoint);
+        assertThat(Endpoint.of("example.com").withIpAddr(addr.authority()).isInProcess()).isTrue();
+    }
+}
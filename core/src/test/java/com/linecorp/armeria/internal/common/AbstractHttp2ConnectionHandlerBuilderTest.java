@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2Connection;
+import io.netty.handler.codec.http2.DefaultHttp2ConnectionEncoder;
+import io.netty.handler.codec.http2.DefaultHttp2FrameWriter;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2RemoteFlowController;
+import io.netty.handler.codec.http2.Http2RemoteFlowController.FlowControlled;
+
+class AbstractHttp2ConnectionHandlerBuilderTest {
+
+    private static final int LARGE_STREAM_ID = 1;
+    private static final int LARGE_STREAM_SIZE = 60000;
+    private static final int[] SMALL_STREAM_IDS = { 3, 5, 7 };
+    private static final int SMALL_STREAM_SIZE = 100;
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void smallStreamsInterleavedWithLargeStream() throws Exception {
+        final List<Write> writes = writePendingBytes(1024);
+
+        // The small streams are written after the first turn of the large stream.
+        assertThat(largeStreamBytesBeforeSmallStreams(writes)).isLessThanOrEqualTo(2 * 1024);
+        assertThat(writtenBytes(writes, LARGE_STREAM_ID)).isEqualTo(LARGE_STREAM_SIZE);
+        for (int streamId : SMALL_STREAM_IDS) {
+            assertThat(writtenBytes(writes, streamId)).isEqualTo(SMALL_STREAM_SIZE);
+        }
+    }
+
+    @Test
+    void configuredQuantumIsApplied() throws Exception {
+        // The large stream writes everything in its first turn if the quantum is larger than its data.
+        final List<Write> writes = writePendingBytes(1024 * 1024);
+        assertThat(largeStreamBytesBeforeSmallStreams(writes)).isEqualTo(LARGE_STREAM_SIZE);
+    }
+
+    @Test
+    void defaultQuantumKeepsNettyFlowController() {
+        final Http2Connection connection = new DefaultHttp2Connection(true, 100);
+        AbstractHttp2ConnectionHandlerBuilder.streamWriteQuantum(connection, 1024);
+        assertThat(connection.remote().flowController()).isNull();
+    }
+
+    private List<Write> writePendingBytes(int streamWriteQuantum) throws Http2Exception {
+        final Http2Connection connection = new DefaultHttp2Connection(true, 100);
+        AbstractHttp2ConnectionHandlerBuilder.streamWriteQuantum(connection, streamWriteQuantum);
+        // Creates Netty's default remote flow controller if the quantum is the default.
+        new DefaultHttp2ConnectionEncoder(connection, new DefaultHttp2FrameWriter());
+        final Http2RemoteFlowController flowController = connection.remote().flowController();
+        flowController.channelHandlerContext(channel.pipeline().firstContext());
+
+        final List<Write> writes = new ArrayList<>();
+        // Add the large stream first so that it takes the first turn.
+        flowController.addFlowControlled(connection.remote().createStream(LARGE_STREAM_ID, false),
+                                         new TestFrame(LARGE_STREAM_ID, LARGE_STREAM_SIZE, writes));
+        for (int streamId : SMALL_STREAM_IDS) {
+            flowController.addFlowControlled(connection.remote().createStream(streamId, false),
+                                             new TestFrame(streamId, SMALL_STREAM_SIZE, writes));
+        }
+        flowController.writePendingBytes();
+        return writes;
+    }
+
+    /**
+     * Returns the number of bytes written by the large stream until all the small streams are written.
+     */
+    private static int largeStreamBytesBeforeSmallStreams(List<Write> writes) {
+        int lastSmallWrite = -1;
+        for (int i = 0; i < writes.size(); i++) {
+            if (writes.get(i).streamId != LARGE_STREAM_ID) {
+                lastSmallWrite = i;
+            }
+        }
+        assertThat(lastSmallWrite).isNotNegative();
+        return writtenBytes(writes.subList(0, lastSmallWrite), LARGE_STREAM_ID);
+    }
+
+    private static int writtenBytes(List<Write> writes, int streamId) {
+        return writes.stream().filter(w -> w.streamId == streamId).mapToInt(w -> w.bytes).sum();
+    }
+
+    private static final class Write {
+        final int streamId;
+        final int bytes;
+
+        Write(int streamId, int bytes) {
+            this.streamId = streamId;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class TestFrame implements FlowControlled {
+
+        private final int streamId;
+        private final List<Write> writes;
+        private int remaining;
+
+        TestFrame(int streamId, int size, List<Write> writes) {
+            this.streamId = streamId;
+            remaining = size;
+            this.writes = writes;
+        }
+
+        @Override
+        public int size() {
+            return remaining;
+        }
+
+        @Override
+        public void error(ChannelHandlerContext ctx, Throwable cause) {}
+
+        @Override
+        public void writeComplete() {}
+
+        @Override
+        public void write(ChannelHandlerContext ctx, int allowedBytes) {
+            final int bytes = Math.min(remaining, allowedBytes);
+            if (bytes > 0) {
+                remaining -= bytes;
+                writes.add(new Write(streamId, bytes));
+            }
+        }
+
+        @Override
+        public boolean merge(ChannelHandlerContext ctx, FlowControlled next) {
+            return false;
+        }
+    }
+}
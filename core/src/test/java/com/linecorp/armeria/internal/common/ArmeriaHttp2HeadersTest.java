@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_HEADER_LIST_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersEncoder;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.AsciiString;
+
+class ArmeriaHttp2HeadersTest {
+
+    @Test
+    void decodeRequestHeaders() throws Http2Exception {
+        final Http2Headers in = new DefaultHttp2Headers().method("POST")
+                                                         .path("/foo")
+                                                         .scheme("https")
+                                                         .authority("example.com");
+        in.add("cookie", "a=b");
+        in.add("cookie", "c=d;e=f");
+        in.add("x-custom", "1");
+        in.add("x-custom", "2");
+
+        final Http2Headers decoded = decode(in, true);
+        assertThat(decoded).isInstanceOf(ArmeriaHttp2Headers.class);
+        assertThat(decoded.method()).isEqualTo("POST");
+        assertThat(decoded.path()).isEqualTo("/foo");
+
+        final HttpHeaders converted = ArmeriaHttpUtil.toArmeria(decoded, true, true);
+        assertThat(converted).isInstanceOf(RequestHeaders.class);
+        final RequestHeaders headers = (RequestHeaders) converted;
+        assertThat(headers.method()).isSameAs(HttpMethod.POST);
+        assertThat(headers.path()).isEqualTo("/foo");
+        assertThat(headers.authority()).isEqualTo("example.com");
+        assertThat(headers.getAll("x-custom")).containsExactly("1", "2");
+        assertThat(headers.getAll(HttpHeaderNames.COOKIE)).containsExactly("a=b; c=d; e=f");
+        assertThat(headers.isEndOfStream()).isTrue();
+    }
+
+    @Test
+    void decodeResponseHeadersAndTrailers() throws Http2Exception {
+        final Http2Headers decoded = decode(new DefaultHttp2Headers().status("200")
+                                                                     .add("content-length", "3"), false);
+        final HttpHeaders converted = ArmeriaHttpUtil.toArmeria(decoded, false, false);
+        assertThat(converted).isInstanceOf(ResponseHeaders.class);
+        assertThat(((ResponseHeaders) converted).status()).isSameAs(HttpStatus.OK);
+        assertThat(converted.getInt(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo(3);
+
+        final Http2Headers decodedTrailers = decode(new DefaultHttp2Headers().add("grpc-status", "0"), false);
+        final HttpHeaders trailers = ArmeriaHttpUtil.toArmeria(decodedTrailers, false, true);
+        assertThat(trailers).isNotInstanceOf(ResponseHeaders.class);
+        assertThat(trailers.get("grpc-status")).isEqualTo("0");
+        assertThat(trailers.isEndOfStream()).isTrue();
+    }
+
+    @Test
+    void rejectUpperCasedNameWhenValidating() {
+        final ArmeriaHttp2Headers headers = new ArmeriaHttp2Headers(HttpHeaders.builder(), true);
+        assertThatThrownBy(() -> headers.add("X-Foo", "bar")).isInstanceOf(Http2Exception.class);
+        assertThatThrownBy(() -> headers.add("", "bar")).isInstanceOf(Http2Exception.class);
+
+        final ArmeriaHttp2Headers lenient = new ArmeriaHttp2Headers(HttpHeaders.builder(), false);
+        lenient.add("X-Foo", "bar");
+        assertThat(lenient.get("x-foo")).isEqualTo("bar");
+    }
+
+    @Test
+    void cacheHeaderValuesOfAllSetters() {
+        final ArmeriaHttp2Headers headers = new ArmeriaHttp2Headers(HttpHeaders.builder(), false);
+        final AsciiString value = AsciiString.of("text/plain");
+        headers.add(HttpHeaderNames.CONTENT_TYPE, value);
+        headers.add(HttpHeaderNames.CONTENT_TYPE, value, value);
+        headers.add(HttpHeaderNames.CONTENT_TYPE, ImmutableList.of(value));
+
+        // The values of a cached header are converted into the same String instance.
+        final List<CharSequence> values = headers.getAll(HttpHeaderNames.CONTENT_TYPE);
+        assertThat(values).hasSize(4).allSatisfy(v -> assertThat(v).isSameAs(values.get(0)));
+
+        headers.set(HttpHeaderNames.CONTENT_TYPE, value);
+        assertThat(headers.get(HttpHeaderNames.CONTENT_TYPE)).isSameAs(values.get(0));
+    }
+
+    @Test
+    void encodeWithoutConversion() throws Http2Exception {
+        final ResponseHeaders in = ResponseHeaders.builder(HttpStatus.OK)
+                                                  .add(HttpHeaderNames.CONNECTION, "close")
+                                                  .add("x-custom", "foo")
+                                                  .build();
+        final Http2Headers out = ArmeriaHttpUtil.toNettyHttp2ServerHeaders(in);
+        assertThat(out).isInstanceOf(ArmeriaHttp2Headers.class);
+        assertThat(out.contains(HttpHeaderNames.CONNECTION)).isFalse();
+        // The original headers must not be modified.
+        assertThat(in.contains(HttpHeaderNames.CONNECTION)).isTrue();
+
+        final Http2Headers decoded = decode(out, false);
+        assertThat(decoded.status()).isEqualTo("200");
+        assertThat(decoded.get("x-custom")).isEqualTo("foo");
+        assertThat(decoded.size()).isEqualTo(2);
+    }
+
+    private static Http2Headers decode(Http2Headers headers, boolean validate) throws Http2Exception {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            new DefaultHttp2HeadersEncoder().encodeHeaders(1, headers, buf);
+            return new ArmeriaHttp2HeadersDecoder(validate, DEFAULT_HEADER_LIST_SIZE).decodeHeaders(1, buf);
+        } finally {
+            buf.release();
+        }
+    }
+}
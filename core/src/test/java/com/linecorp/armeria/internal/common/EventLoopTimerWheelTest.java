@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.internal.testing.AnticipatedException;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.BlockingOperationException;
+
+class EventLoopTimerWheelTest {
+
+    private static final EventLoop eventLoop = new DefaultEventLoop();
+
+    @AfterAll
+    static void shutdown() {
+        eventLoop.shutdownGracefully();
+    }
+
+    @Test
+    void shouldNotFireBeforeDeadline() {
+        final CompletableFuture<Long> elapsedNanos = new CompletableFuture<>();
+        eventLoop.execute(() -> {
+            final long startNanos = System.nanoTime();
+            EventLoopTimerWheel.get(eventLoop).schedule(
+                    () -> elapsedNanos.complete(System.nanoTime() - startNanos), 50, MILLISECONDS);
+        });
+        assertThat(elapsedNanos.join()).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void cancel() throws Exception {
+        final AtomicBoolean fired = new AtomicBoolean();
+        final ScheduledFuture<?> future = eventLoop.submit(() -> EventLoopTimerWheel.get(eventLoop).schedule(
+                () -> fired.set(true), 30, MILLISECONDS)).get();
+        assertThat(future.cancel(false)).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+        assertThat(future.cancel(false)).isFalse();
+
+        Thread.sleep(100);
+        assertThat(fired).isFalse();
+        await().until(() -> eventLoop.submit(() -> EventLoopTimerWheel.get(eventLoop).size()).get() == 0);
+    }
+
+    @Test
+    void getWaitsForCompletion() throws Exception {
+        final AtomicBoolean fired = new AtomicBoolean();
+        final ScheduledFuture<?> future = eventLoop.submit(() -> EventLoopTimerWheel.get(eventLoop).schedule(
+                () -> fired.set(true), 50, MILLISECONDS)).get();
+        assertThatThrownBy(() -> future.get(1, MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(future.get()).isNull();
+        assertThat(future.isDone()).isTrue();
+        assertThat(fired).isTrue();
+        assertThat(future.get(1, MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void getAfterCancellation() throws Exception {
+        final ScheduledFuture<?> future = eventLoop.submit(() -> EventLoopTimerWheel.get(eventLoop).schedule(
+                () -> {}, 10, TimeUnit.SECONDS)).get();
+        final CompletableFuture<Throwable> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                future.get();
+                return null;
+            } catch (Throwable t) {
+                return t;
+            }
+        });
+        Thread.sleep(50);
+        future.cancel(false);
+        assertThat(waiter.join()).isInstanceOf(CancellationException.class);
+        assertThat(future.isDone()).isTrue();
+    }
+
+    @Test
+    void getWithFailedTask() throws Exception {
+        final ScheduledFuture<?> future = eventLoop.submit(() -> EventLoopTimerWheel.get(eventLoop).schedule(
+                () -> {
+                    throw new AnticipatedException();
+                }, 10, MILLISECONDS)).get();
+        assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+                                       .hasCauseInstanceOf(AnticipatedException.class);
+    }
+
+    @Test
+    void getInEventLoop() throws Exception {
+        final Throwable cause = eventLoop.submit(() -> {
+            final ScheduledFuture<?> future = EventLoopTimerWheel.get(eventLoop).schedule(
+                    () -> {}, 10, MILLISECONDS);
+            try {
+                future.get();
+                return null;
+            } catch (Throwable t) {
+                return t;
+            }
+        }).get();
+        assertThat(cause).isInstanceOf(BlockingOperationException.class);
+    }
+
+    @Test
+    void manyTimeoutsAcrossRevolutions() {
+        final int numTimeouts = 1000;
+        final AtomicInteger numFired = new AtomicInteger();
+        eventLoop.execute(() -> {
+            final EventLoopTimerWheel timerWheel = EventLoopTimerWheel.get(eventLoop);
+            for (int i = 0; i < numTimeouts; i++) {
+                // Spread the deadlines over more than one revolution of the wheel.
+                timerWheel.schedule(numFired::incrementAndGet, i * 7L, MILLISECONDS);
+            }
+        });
+        await().untilAtomic(numFired, Matchers.is(numTimeouts));
+    }
+
+    @Test
+    void scheduleFromTimeoutTask() {
+        final CompletableFuture<Boolean> secondFired = new CompletableFuture<>();
+        eventLoop.execute(() -> {
+            final EventLoopTimerWheel timerWheel = EventLoopTimerWheel.get(eventLoop);
+            timerWheel.schedule(() -> timerWheel.schedule(() -> secondFired.complete(true), 0, MILLISECONDS),
+                                10, MILLISECONDS);
+        });
+        assertThat(secondFired.join()).isTrue();
+    }
+
+    @Test
+    void mustBeInvokedInEventLoop() {
+        assertThatThrownBy(() -> EventLoopTimerWheel.get(eventLoop))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static com.linecorp.armeria.internal.common.Http2WindowAutoTuner.BDP_PING_PAYLOAD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http2.DefaultHttp2Connection;
+import io.netty.handler.codec.http2.DefaultHttp2LocalFlowController;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionEncoder;
+import io.netty.handler.codec.http2.Http2FrameListener;
+import io.netty.handler.codec.http2.Http2FrameWriter;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Settings;
+
+class Http2WindowAutoTunerTest {
+
+    private Http2FrameListener listener;
+    private Http2FrameWriter frameWriter;
+    private Http2ConnectionEncoder encoder;
+    private ChannelHandlerContext ctx;
+    private Http2Connection connection;
+    private Http2LocalFlowController flowController;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        listener = mock(Http2FrameListener.class);
+        frameWriter = mock(Http2FrameWriter.class);
+        encoder = mock(Http2ConnectionEncoder.class);
+        ctx = mock(ChannelHandlerContext.class);
+        connection = new DefaultHttp2Connection(true);
+        flowController = new DefaultHttp2LocalFlowController(connection);
+        connection.local().flowController(flowController);
+        flowController.frameWriter(frameWriter);
+        flowController.channelHandlerContext(ctx);
+    }
+
+    @Test
+    void sendsOnlyOnePingAtATime() throws Exception {
+        final Http2WindowAutoTuner tuner = newTuner(Integer.MAX_VALUE);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        verify(encoder, times(1)).writePing(eq(ctx), eq(false), eq(BDP_PING_PAYLOAD), any());
+        verify(listener, times(2)).onDataRead(eq(ctx), eq(3), any(), eq(0), eq(false));
+
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        verify(encoder, times(2)).writePing(eq(ctx), eq(false), eq(BDP_PING_PAYLOAD), any());
+
+        // The BDP PING ACKs must not be propagated to the keep-alive handler.
+        verify(listener, never()).onPingAckRead(any(), anyLong());
+    }
+
+    @Test
+    void growsWindows() throws Exception {
+        final Http2WindowAutoTuner tuner = newTuner(Integer.MAX_VALUE);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[60000]), 0, false);
+        tuner.onDataRead(ctx, 5, Unpooled.wrappedBuffer(new byte[40000]), 0, false);
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+
+        // The connection window is grown right away.
+        assertThat(flowController.initialWindowSize(connection.connectionStream())).isEqualTo(200000);
+        // The initial stream window is sent through the encoder and is not applied until the peer acks it.
+        assertThat(flowController.initialWindowSize()).isEqualTo(Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+        final ArgumentCaptor<Http2Settings> captor = ArgumentCaptor.forClass(Http2Settings.class);
+        verify(encoder).writeSettings(eq(ctx), captor.capture(), any());
+        assertThat(captor.getValue().initialWindowSize()).isEqualTo(200000);
+        verify(frameWriter, never()).writeSettings(any(), any(), any());
+    }
+
+    @Test
+    void doesNotResendPendingWindowSize() throws Exception {
+        final Http2WindowAutoTuner tuner = newTuner(Integer.MAX_VALUE);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100000]), 0, false);
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+        // The peer has not acknowledged the SETTINGS yet, and the next estimate is not larger.
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100000]), 0, false);
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+        verify(encoder, times(1)).writeSettings(eq(ctx), any(), any());
+    }
+
+    @Test
+    void rateLimitsPings() throws Exception {
+        final Http2WindowAutoTuner tuner = new Http2WindowAutoTuner(
+                listener, connection, encoder, Integer.MAX_VALUE,
+                NoopMeterRegistry.get().summary("window.size"), TimeUnit.HOURS.toNanos(1));
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        // No PING until the interval elapses since the last ACK.
+        verify(encoder, times(1)).writePing(eq(ctx), eq(false), eq(BDP_PING_PAYLOAD), any());
+    }
+
+    @Test
+    void stopsPingingAtMaxWindowSize() throws Exception {
+        final Http2WindowAutoTuner tuner = newTuner(150000);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100000]), 0, false);
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        verify(encoder, times(1)).writePing(eq(ctx), eq(false), eq(BDP_PING_PAYLOAD), any());
+    }
+
+    @Test
+    void doesNotExceedMaxWindowSize() throws Exception {
+        final Http2WindowAutoTuner tuner = newTuner(150000);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100000]), 0, false);
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+        assertThat(flowController.initialWindowSize(connection.connectionStream())).isEqualTo(150000);
+        final ArgumentCaptor<Http2Settings> captor = ArgumentCaptor.forClass(Http2Settings.class);
+        verify(encoder).writeSettings(eq(ctx), captor.capture(), any());
+        assertThat(captor.getValue().initialWindowSize()).isEqualTo(150000);
+    }
+
+    @Test
+    void doesNotShrinkWindows() throws Exception {
+        final Http2WindowAutoTuner tuner = newTuner(Integer.MAX_VALUE);
+        tuner.onDataRead(ctx, 3, Unpooled.wrappedBuffer(new byte[100]), 0, false);
+        tuner.onPingAckRead(ctx, BDP_PING_PAYLOAD);
+        assertThat(flowController.initialWindowSize())
+                .isEqualTo(Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+        verify(encoder, never()).writeSettings(any(), any(), any());
+    }
+
+    @Test
+    void propagatesOtherPingAcks() throws Exception {
+        final Http2WindowAutoTuner tuner = newTuner(Integer.MAX_VALUE);
+        tuner.onPingAckRead(ctx, 42);
+        verify(listener).onPingAckRead(ctx, 42);
+    }
+
+    private Http2WindowAutoTuner newTuner(int maxWindowSize) {
+        return new Http2WindowAutoTuner(listener, connection, encoder, maxWindowSize,
+                                        NoopMeterRegistry.get().summary("window.size"), 0);
+    }
+}
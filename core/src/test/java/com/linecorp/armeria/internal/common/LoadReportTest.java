@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LoadReportTest {
+
+    @Test
+    void roundTrip() {
+        final LoadReport report = new LoadReport(0.5, 120.0, 3);
+        assertThat(report.toHeaderValue())
+                .isEqualTo("TEXT cpu_utilization=0.5, rps_fractional=120.0, " +
+                           "named_metrics.in_flight_requests=3");
+
+        final LoadReport parsed = LoadReport.parse(report.toHeaderValue());
+        assertThat(parsed).isNotNull();
+        assertThat(parsed.cpuUtilization()).isEqualTo(0.5);
+        assertThat(parsed.requestsPerSecond()).isEqualTo(120.0);
+        assertThat(parsed.inFlightRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void unknownMetrics() {
+        assertThat(new LoadReport(-1, -1, 0).toHeaderValue())
+                .isEqualTo("TEXT named_metrics.in_flight_requests=0");
+
+        final LoadReport parsed = LoadReport.parse("TEXT mem_utilization=0.8, cpu_utilization=0.3");
+        assertThat(parsed).isNotNull();
+        assertThat(parsed.cpuUtilization()).isEqualTo(0.3);
+        assertThat(parsed.requestsPerSecond()).isNegative();
+        assertThat(parsed.inFlightRequests()).isNegative();
+    }
+
+    @Test
+    void malformed() {
+        assertThat(LoadReport.parse(null)).isNull();
+        assertThat(LoadReport.parse("BIN abc")).isNull();
+        assertThat(LoadReport.parse("TEXT cpu_utilization")).isNull();
+        assertThat(LoadReport.parse("TEXT cpu_utilization=high")).isNull();
+    }
+}
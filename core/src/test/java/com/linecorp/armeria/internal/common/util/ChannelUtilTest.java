@@ -17,10 +17,23 @@ package com.linecorp.armeria.internal.common.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.Test;
 
+import com.linecorp.armeria.common.util.InProcessAddress;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
 
 class ChannelUtilTest {
     @Test
@@ -32,4 +45,42 @@ class ChannelUtilTest {
                 ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, ChannelOption.WRITE_BUFFER_LOW_WATER_MARK,
                 EpollChannelOption.EPOLL_MODE);
     }
+
+    @Test
+    void inProcessAddresses() throws Exception {
+        final InProcessAddress address = InProcessAddress.of("ChannelUtilTest");
+        final EventLoopGroup group = new DefaultEventLoopGroup(1);
+        try {
+            final CompletableFuture<Channel> serverSideChannel = new CompletableFuture<>();
+            final Channel serverChannel =
+                    new ServerBootstrap().group(group)
+                                         .channel(LocalServerChannel.class)
+                                         .childHandler(new ChannelInitializer<LocalChannel>() {
+                                             @Override
+                                             protected void initChannel(LocalChannel ch) {
+                                                 serverSideChannel.complete(ch);
+                                             }
+                                         })
+                                         .bind(ChannelUtil.toNettyAddress(address)).sync().channel();
+            final Channel clientChannel =
+                    new Bootstrap().group(group)
+                                   .channel(LocalChannel.class)
+                                   .handler(new ChannelInboundHandlerAdapter())
+                                   .connect(ChannelUtil.toNettyAddress(address)).sync().channel();
+
+            // Both ends of the connection are identified by the address of the server side,
+            // although the client side is bound to an ephemeral address.
+            assertThat(ChannelUtil.localAddress(serverChannel)).isEqualTo(address);
+            assertThat(ChannelUtil.localAddress(clientChannel)).isEqualTo(address);
+            assertThat(ChannelUtil.remoteAddress(clientChannel)).isEqualTo(address);
+            final Channel childChannel = serverSideChannel.join();
+            assertThat(ChannelUtil.localAddress(childChannel)).isEqualTo(address);
+            assertThat(ChannelUtil.remoteAddress(childChannel)).isEqualTo(address);
+
+            clientChannel.close().sync();
+            serverChannel.close().sync();
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
 }
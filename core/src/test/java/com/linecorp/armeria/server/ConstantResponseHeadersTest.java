@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.AsciiString;
+
+class ConstantResponseHeadersTest {
+
+    private static final ResponseHeaders HEADERS =
+            ResponseHeaders.builder(HttpStatus.OK)
+                           .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                           .setInt(HttpHeaderNames.CONTENT_LENGTH, 5)
+                           .set(HttpHeaderNames.CACHE_CONTROL, "no-cache")
+                           .set(HttpHeaderNames.CONNECTION, "keep-alive")
+                           .set("x-custom", "foo")
+                           .build()
+                           .toConstant();
+
+    private static final ResponseHeaders STREAMING_HEADERS =
+            HEADERS.toBuilder()
+                   .removeAndThen(HttpHeaderNames.CONTENT_LENGTH)
+                   .build()
+                   .toConstant();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.service("/fixed", (ctx, req) -> HttpResponse.of(HEADERS, HttpData.ofUtf8("hello")));
+            sb.service("/streaming", (ctx, req) -> HttpResponse.of(STREAMING_HEADERS,
+                                                                    HttpData.ofUtf8("hel"),
+                                                                    HttpData.ofUtf8("lo")));
+            sb.service("/additional", (ctx, req) -> {
+                ctx.setAdditionalResponseHeader("x-custom", "bar");
+                ctx.addAdditionalResponseHeader("x-additional", "baz");
+                return HttpResponse.of(HEADERS, HttpData.ofUtf8("hello"));
+            });
+        }
+    };
+
+    @ParameterizedTest
+    @EnumSource(value = SessionProtocol.class, names = { "H1C", "H2C" })
+    void constantHeaders(SessionProtocol protocol) {
+        final WebClient client = WebClient.of(server.uri(protocol));
+        for (int i = 0; i < 3; i++) {
+            final AggregatedHttpResponse res = client.get("/fixed").aggregate().join();
+            assertThat(res.status()).isSameAs(HttpStatus.OK);
+            assertThat(res.contentUtf8()).isEqualTo("hello");
+            assertThat(res.contentType()).isEqualTo(MediaType.PLAIN_TEXT_UTF_8);
+            assertThat(res.headers().getInt(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo(5);
+            assertThat(res.headers().get(HttpHeaderNames.CACHE_CONTROL)).isEqualTo("no-cache");
+            assertThat(res.headers().get("x-custom")).isEqualTo("foo");
+            assertThat(res.headers().contains(HttpHeaderNames.CONNECTION)).isFalse();
+            // The headers added by the server must be present.
+            assertThat(res.headers().contains(HttpHeaderNames.SERVER)).isTrue();
+            assertThat(res.headers().contains(HttpHeaderNames.DATE)).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SessionProtocol.class, names = { "H1C", "H2C" })
+    void constantHeadersWithStreaming(SessionProtocol protocol) {
+        final WebClient client = WebClient.of(server.uri(protocol));
+        final AggregatedHttpResponse res = client.get("/streaming").aggregate().join();
+        assertThat(res.status()).isSameAs(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("hello");
+        assertThat(res.headers().get("x-custom")).isEqualTo("foo");
+    }
+
+    @Test
+    void shareCachedHttp2Headers() {
+        final Http2Headers shared =
+                ConstantResponseHeadersCache.http2Headers(HEADERS, false, null, null, HttpHeaders.of());
+        assertThat(ConstantResponseHeadersCache.http2Headers(HEADERS, false, null, null, HttpHeaders.of()))
+                .isSameAs(shared);
+        assertThat(shared.status()).hasToString("200");
+        assertThat(shared.get("x-custom")).hasToString("foo");
+        assertThat(shared.contains(HttpHeaderNames.CONTENT_LENGTH)).isTrue();
+
+        final AsciiString date = AsciiString.of("Tue, 1 Jun 2021 00:00:00 GMT");
+        final Http2Headers view = ConstantResponseHeadersCache.http2Headers(
+                HEADERS, true, AsciiString.of("armeria"), date, HttpHeaders.of());
+        assertThat(view).isNotSameAs(shared);
+        assertThat(view.status()).hasToString("200");
+        assertThat(view.get("x-custom")).isSameAs(shared.get("x-custom"));
+        assertThat(view.contains(HttpHeaderNames.CONTENT_LENGTH)).isFalse();
+        assertThat(view.get(HttpHeaderNames.SERVER)).hasToString("armeria");
+        assertThat(view.get(HttpHeaderNames.DATE)).isSameAs(date);
+        assertThat(view.size()).isEqualTo(shared.size() + 1);
+    }
+
+    @Test
+    void addAdditionalHeadersToCachedHttp2Headers() {
+        final Http2Headers shared =
+                ConstantResponseHeadersCache.http2Headers(HEADERS, false, null, null, HttpHeaders.of());
+        final HttpHeaders additionalHeaders = HttpHeaders.builder()
+                                                         .add("x-custom", "bar")
+                                                         .add("x-additional", "baz")
+                                                         .build();
+        final Http2Headers view = ConstantResponseHeadersCache.http2Headers(
+                HEADERS, false, null, null, additionalHeaders);
+        assertThat(view.status()).hasToString("200");
+        assertThat(view.getAll("x-custom")).containsExactly(AsciiString.of("bar"));
+        assertThat(view.get("x-additional")).hasToString("baz");
+        assertThat(view.get(HttpHeaderNames.CACHE_CONTROL)).isSameAs(shared.get(HttpHeaderNames.CACHE_CONTROL));
+        assertThat(view.size()).isEqualTo(shared.size() + 1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SessionProtocol.class, names = { "H1C", "H2C" })
+    void constantHeadersWithAdditionalHeaders(SessionProtocol protocol) {
+        final WebClient client = WebClient.of(server.uri(protocol));
+        final AggregatedHttpResponse res = client.get("/additional").aggregate().join();
+        assertThat(res.status()).isSameAs(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("hello");
+        assertThat(res.headers().getAll("x-custom")).containsExactly("bar");
+        assertThat(res.headers().get("x-additional")).isEqualTo("baz");
+        assertThat(res.headers().get(HttpHeaderNames.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(res.headers().contains(HttpHeaderNames.SERVER)).isTrue();
+    }
+}
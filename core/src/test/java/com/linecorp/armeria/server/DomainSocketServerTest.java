@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.EnumSource.Mode;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
+import com.linecorp.armeria.common.util.TransportType;
+
+class DomainSocketServerTest {
+
+    private static File tempDir;
+    private static DomainSocketAddress address;
+    private static Server server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        assumeThat(Flags.transportType()).isEqualTo(TransportType.EPOLL);
+
+        tempDir = Files.createTempDirectory("armeria-").toFile();
+        address = DomainSocketAddress.of(new File(tempDir, "server.sock").toPath());
+        server = Server.builder()
+                       .port(new ServerPort(address, SessionProtocol.HTTP))
+                       // Trust all proxies to make sure the peer connected via a domain socket is not trusted.
+                       .clientAddressTrustedProxyFilter(unused -> true)
+                       .service("/", (ctx, req) -> HttpResponse.of(
+                               ctx.localAddress().toString() + ' ' + ctx.remoteAddress()))
+                       .service("/client", (ctx, req) -> HttpResponse.of(
+                               ctx.clientAddress().getHostAddress()))
+                       .build();
+        server.start().join();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        if (server != null) {
+            server.stop().join();
+        }
+        if (tempDir != null) {
+            tempDir.delete();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SessionProtocol.class, names = { "HTTP", "H1C", "H2C" }, mode = Mode.INCLUDE)
+    void serveOverDomainSocket(SessionProtocol protocol) {
+        final WebClient client = WebClient.of(protocol, Endpoint.of(address));
+        final AggregatedHttpResponse res = client.get("/").aggregate().join();
+        assertThat(res.status()).isEqualTo(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo(address + " " + address);
+    }
+
+    @Test
+    void noActivePortForDomainSocket() {
+        assertThat(server.activePorts()).isEmpty();
+        assertThat(server.config().ports()).singleElement().satisfies(port -> {
+            assertThat(port.socketAddress()).isEqualTo(address);
+            assertThatThrownBy(port::localAddress).isInstanceOf(IllegalStateException.class);
+        });
+    }
+
+    @Test
+    void clientAddressIsLoopback() {
+        final WebClient client = WebClient.of(SessionProtocol.HTTP, Endpoint.of(address));
+        final AggregatedHttpResponse res =
+                client.execute(RequestHeaders.of(HttpMethod.GET, "/client",
+                                                 HttpHeaderNames.X_FORWARDED_FOR, "10.0.0.1"))
+                      .aggregate().join();
+        assertThat(res.contentUtf8()).isEqualTo(InetAddress.getLoopbackAddress().getHostAddress());
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.google.common.base.Strings;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.RequestHeadersBuilder;
+import com.linecorp.armeria.server.Http1ServerCodec.ArmeriaHttpRequest;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
+
+class Http1ServerCodecTest {
+
+    private EmbeddedChannel ch;
+
+    @BeforeEach
+    void setUp() {
+        ch = new EmbeddedChannel(new Http1ServerCodec(4096, 8192, 8192));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void decodeHeaders() {
+        write("\r\nGET /foo?a=b HTTP/1.1\r\n" +
+              "Host: example.com\r\n" +
+              "User-Agent:  curl/7.64 \r\n" +
+              "X-Custom: 1\r\n" +
+              "X-Custom: 2\r\n" +
+              "Cookie: a=b\r\n" +
+              "Cookie: c=d;e=f\r\n" +
+              "TE: gzip, trailers\r\n" +
+              "Connection: keep-alive, x-hop\r\n" +
+              "X-Hop: foo\r\n" +
+              "\r\n");
+
+        final ArmeriaHttpRequest req = readRequest();
+        assertThat(req.decoderResult().isSuccess()).isTrue();
+        assertThat(req.method()).isSameAs(HttpMethod.GET);
+        assertThat(req.uri()).isEqualTo("/foo?a=b");
+        assertThat(req.protocolVersion()).isSameAs(HttpVersion.HTTP_1_1);
+        assertThat(req.headers().get(HttpHeaderNames.CONNECTION)).isEqualTo("keep-alive, x-hop");
+        assertThat(req.headers().contains(HttpHeaderNames.HOST)).isFalse();
+
+        final RequestHeadersBuilder headers = req.armeriaHeaders();
+        assertThat(headers).isNotNull();
+        assertThat(headers.get(HttpHeaderNames.HOST)).isEqualTo("example.com");
+        assertThat(headers.get(HttpHeaderNames.USER_AGENT)).isEqualTo("curl/7.64");
+        assertThat(headers.getAll("x-custom")).containsExactly("1", "2");
+        assertThat(headers.get(HttpHeaderNames.COOKIE)).isEqualTo("a=b; c=d; e=f");
+        assertThat(headers.get(HttpHeaderNames.TE)).isEqualTo("trailers");
+        assertThat(headers.contains(HttpHeaderNames.CONNECTION)).isFalse();
+        assertThat(headers.contains("x-hop")).isFalse();
+        // The well-known header names must be interned.
+        assertThat(headers.names()).anySatisfy(name -> assertThat(name).isSameAs(HttpHeaderNames.USER_AGENT));
+
+        assertThat((Object) ch.readInbound()).isSameAs(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    @Test
+    void decodeFixedLengthContent() {
+        write("POST / HTTP/1.1\r\nContent-Length: 10\r\n\r\nhello");
+        final ArmeriaHttpRequest req = readRequest();
+        assertThat(req.headers().get(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo("10");
+        assertThat(req.armeriaHeaders().get(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo("10");
+        assertContent(ch.readInbound(), "hello", false);
+
+        // Pipelined request.
+        write("world" + "GET / HTTP/1.0\r\n\r\n");
+        assertContent(ch.readInbound(), "world", true);
+        assertThat(readRequest().protocolVersion()).isSameAs(HttpVersion.HTTP_1_0);
+    }
+
+    @Test
+    void decodeChunkedContent() {
+        write("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n" +
+              "5 ;ext=1\r\nhello\r\n6\r\n");
+        final ArmeriaHttpRequest req = readRequest();
+        assertThat(req.armeriaHeaders().contains(HttpHeaderNames.TRANSFER_ENCODING)).isFalse();
+        assertContent(ch.readInbound(), "hello", false);
+
+        write(" world\r\n0\r\nX-Trailer: foo\r\n\r\n");
+        assertContent(ch.readInbound(), " world", false);
+        final LastHttpContent last = ch.readInbound();
+        assertThat(last.content().isReadable()).isFalse();
+        assertThat(last.trailingHeaders().get("x-trailer")).isEqualTo("foo");
+    }
+
+    @Test
+    void decodeUpgradeRequest() {
+        write("GET / HTTP/1.1\r\nHost: example.com\r\nConnection: Upgrade, HTTP2-Settings\r\n" +
+              "Upgrade: h2c\r\nHTTP2-Settings: AAMAAABkAAQAAP__\r\n\r\n");
+        final ArmeriaHttpRequest req = readRequest();
+        assertThat(req.armeriaHeaders()).isNull();
+        assertThat(req.headers().get(HttpHeaderNames.HOST)).isEqualTo("example.com");
+        assertThat(req.headers().get(HttpHeaderNames.UPGRADE)).isEqualTo("h2c");
+        assertThat(req.headers().get("http2-settings")).isEqualTo("AAMAAABkAAQAAP__");
+    }
+
+    @Test
+    void decodeTrailers() {
+        write("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\nTE: trailers\r\n\r\n" +
+              "0\r\nX-Trailer-1: foo\r\nX-Trailer-2: bar\r\n\r\n" +
+              "GET /next HTTP/1.1\r\n\r\n");
+        readRequest();
+        final LastHttpContent last = ch.readInbound();
+        assertThat(last.trailingHeaders().get("x-trailer-1")).isEqualTo("foo");
+        assertThat(last.trailingHeaders().get("x-trailer-2")).isEqualTo("bar");
+        assertThat(readRequest().uri()).isEqualTo("/next");
+    }
+
+    @Test
+    void rejectInvalidTrailers() {
+        write("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n" +
+              "0\r\nX-Trailer: a\rb\r\n\r\n");
+        readRequest();
+        final LastHttpContent last = ch.readInbound();
+        assertThat(last.decoderResult().isFailure()).isTrue();
+    }
+
+    @Test
+    void decodePipelinedRequests() {
+        write("POST /a HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n3\r\nfoo\r\n0\r\n\r\n" +
+              "POST /b HTTP/1.1\r\nContent-Length: 3\r\n\r\nbar" +
+              "GET /c HTTP/1.1\r\n\r\n");
+        assertThat(readRequest().uri()).isEqualTo("/a");
+        assertContent(ch.readInbound(), "foo", false);
+        assertContent(ch.readInbound(), "", true);
+        assertThat(readRequest().uri()).isEqualTo("/b");
+        assertContent(ch.readInbound(), "bar", true);
+        assertThat(readRequest().uri()).isEqualTo("/c");
+        assertThat((Object) ch.readInbound()).isSameAs(LastHttpContent.EMPTY_LAST_CONTENT);
+        assertThat((Object) ch.readInbound()).isNull();
+    }
+
+    @Test
+    void decodeRequestSplitAcrossBuffers() {
+        final String data = "POST /foo HTTP/1.1\r\nHost: example.com\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                            "5\r\nhello\r\n0\r\nX-Trailer: bar\r\n\r\n";
+        for (int i = 0; i < data.length(); i++) {
+            write(data.substring(i, i + 1));
+        }
+
+        final ArmeriaHttpRequest req = readRequest();
+        assertThat(req.decoderResult().isSuccess()).isTrue();
+        assertThat(req.uri()).isEqualTo("/foo");
+        assertThat(req.armeriaHeaders().get(HttpHeaderNames.HOST)).isEqualTo("example.com");
+        final StringBuilder content = new StringBuilder();
+        for (;;) {
+            final HttpContent chunk = ch.readInbound();
+            content.append(chunk.content().toString(StandardCharsets.US_ASCII));
+            chunk.release();
+            if (chunk instanceof LastHttpContent) {
+                assertThat(((LastHttpContent) chunk).trailingHeaders().get("x-trailer")).isEqualTo("bar");
+                break;
+            }
+        }
+        assertThat(content.toString()).isEqualTo("hello");
+    }
+
+    @Test
+    void decodeExpectContinue() {
+        write("HEAD / HTTP/1.1\r\nExpect: 100-continue\r\nContent-Length: 3\r\n\r\n");
+        final ArmeriaHttpRequest req = readRequest();
+        assertThat(req.headers().get(HttpHeaderNames.EXPECT)).isEqualTo("100-continue");
+        assertThat(req.armeriaHeaders().get(HttpHeaderNames.EXPECT)).isEqualTo("100-continue");
+        assertThat((Object) ch.readInbound()).isNull();
+
+        // The informational response must not consume the method of the request.
+        ch.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+        assertThat(readOutbound()).isEqualTo("HTTP/1.1 100 Continue\r\n\r\n");
+        write("abc");
+        assertContent(ch.readInbound(), "abc", true);
+
+        final DefaultFullHttpResponse res = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("hello", StandardCharsets.US_ASCII));
+        res.headers().set(HttpHeaderNames.CONTENT_LENGTH, 5);
+        ch.writeOutbound(res);
+        assertThat(readOutbound()).doesNotContain("hello");
+    }
+
+    @Test
+    void keepSchemeExtensionHeader() {
+        write("GET / HTTP/1.1\r\nX-HTTP2-Scheme: https\r\n\r\n");
+        final ArmeriaHttpRequest req = readRequest();
+        assertThat(req.headers().get(ExtensionHeaderNames.SCHEME.text())).isEqualTo("https");
+        assertThat(req.armeriaHeaders().contains(ExtensionHeaderNames.SCHEME.text())).isFalse();
+    }
+
+    @Test
+    void rejectContentLengthWithTransferEncoding() {
+        write("POST / HTTP/1.1\r\nContent-Length: 3\r\nTransfer-Encoding: chunked\r\n\r\n" +
+              "0\r\n\r\nGET /smuggled HTTP/1.1\r\n\r\n");
+        assertThat(readRequest().decoderResult().isFailure()).isTrue();
+        assertThat((Object) ch.readInbound()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "3\r\nContent-Length: 4", "+3", "3, 3", "0x3", "-1", "" })
+    void rejectInvalidContentLength(String contentLength) {
+        write("POST / HTTP/1.1\r\nContent-Length: " + contentLength + "\r\n\r\nabcd");
+        assertThat(readRequest().decoderResult().isFailure()).isTrue();
+        assertThat((Object) ch.readInbound()).isNull();
+    }
+
+    @Test
+    void acceptDuplicateContentLengthWithSameValue() {
+        write("POST / HTTP/1.1\r\nContent-Length: 3\r\nContent-Length: 3\r\n\r\nabc");
+        assertThat(readRequest().decoderResult().isSuccess()).isTrue();
+        assertContent(ch.readInbound(), "abc", true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "X-Foo: a\rb", "X-Foo: a\0b", "X-Foo: a\u0001", "X Foo: a", "X-Foo\t: a" })
+    void rejectInvalidHeader(String header) {
+        write("GET / HTTP/1.1\r\n" + header + "\r\n\r\n");
+        assertThat(readRequest().decoderResult().isFailure()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "5 x", "5\r", "5 ", "-5", "x", "1234567890abcdef", "5;a\0" })
+    void rejectInvalidChunkSize(String chunkSize) {
+        write("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n" + chunkSize + "\r\nhello\r\n");
+        readRequest();
+        final LastHttpContent last = ch.readInbound();
+        assertThat(last.decoderResult().isFailure()).isTrue();
+    }
+
+    @Test
+    void rejectObsoleteLineFolding() {
+        write("GET / HTTP/1.1\r\nX-Foo: a\r\n  b\r\n\r\n");
+        assertThat(readRequest().decoderResult().isFailure()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "GET /", "GET / HTTP/1.1 ", "GET /a b HTTP/1.1", "GET  / HTTP/1.1",
+                             "GET\t/ HTTP/1.1", "GET /\ra HTTP/1.1", " GET / HTTP/1.1" })
+    void rejectInvalidRequestLine(String requestLine) {
+        write(requestLine + "\r\n\r\n");
+        assertThat(readRequest().decoderResult().isFailure()).isTrue();
+    }
+
+    @Test
+    void rejectTooLongHeaders() {
+        ch.finishAndReleaseAll();
+        ch = new EmbeddedChannel(new Http1ServerCodec(16, 16, 8192));
+        write("GET / HTTP/1.1\r\nX-Foo: " + Strings.repeat("a", 32));
+        assertThat(readRequest().decoderResult().isFailure()).isTrue();
+    }
+
+    @Test
+    void rejectNonChunkedTransferEncoding() {
+        write("POST / HTTP/1.1\r\nTransfer-Encoding: gzip\r\n\r\n");
+        assertThat(readRequest().decoderResult().isFailure()).isTrue();
+    }
+
+    @Test
+    void encodeResponseToHeadRequest() {
+        write("HEAD / HTTP/1.1\r\n\r\n");
+        readRequest();
+        assertThat((Object) ch.readInbound()).isSameAs(LastHttpContent.EMPTY_LAST_CONTENT);
+
+        final DefaultFullHttpResponse res = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("hello", StandardCharsets.US_ASCII));
+        res.headers().set(HttpHeaderNames.CONTENT_LENGTH, 5);
+        ch.writeOutbound(res);
+        assertThat(readOutbound()).startsWith("HTTP/1.1 200 OK\r\n")
+                                  .endsWith("\r\n\r\n")
+                                  .doesNotContain("hello");
+    }
+
+    private void write(String data) {
+        ch.writeInbound(Unpooled.copiedBuffer(data, StandardCharsets.US_ASCII));
+    }
+
+    private String readOutbound() {
+        final StringBuilder buf = new StringBuilder();
+        for (;;) {
+            final ByteBuf encoded = ch.readOutbound();
+            if (encoded == null) {
+                break;
+            }
+            buf.append(encoded.toString(StandardCharsets.US_ASCII));
+            encoded.release();
+        }
+        return buf.toString();
+    }
+
+    private ArmeriaHttpRequest readRequest() {
+        final HttpObject obj = ch.readInbound();
+        assertThat(obj).isInstanceOf(ArmeriaHttpRequest.class);
+        return (ArmeriaHttpRequest) obj;
+    }
+
+    private static void assertContent(HttpContent content, String expected, boolean last) {
+        try {
+            assertThat(content.content().toString(StandardCharsets.US_ASCII)).isEqualTo(expected);
+            assertThat(content instanceof LastHttpContent).isEqualTo(last);
+        } finally {
+            content.release();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.EnumSource.Mode;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.UnprocessedRequestException;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.util.InProcessAddress;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+class InProcessServerTest {
+
+    private static final InProcessAddress address = InProcessAddress.of("InProcessServerTest");
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.port(new ServerPort(address, SessionProtocol.HTTP));
+            sb.service("/", (ctx, req) -> HttpResponse.of(
+                    ctx.localAddress().toString() + ' ' + ctx.remoteAddress()));
+        }
+    };
+
+    @ParameterizedTest
+    @EnumSource(value = SessionProtocol.class, names = { "HTTP", "H1C", "H2C" }, mode = Mode.INCLUDE)
+    void serveInProcess(SessionProtocol protocol) {
+        final WebClient client = WebClient.of(protocol, Endpoint.of(address));
+        final AggregatedHttpResponse res = client.get("/").aggregate().join();
+        assertThat(res.status()).isEqualTo(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo(address + " " + address);
+    }
+
+    @Test
+    void nameIsCaseSensitive() {
+        final InProcessAddress lowerCased = InProcessAddress.of(address.name().toLowerCase());
+        final WebClient client = WebClient.of(SessionProtocol.HTTP, Endpoint.of(lowerCased));
+        assertThatThrownBy(() -> client.get("/").aggregate().join())
+                .hasCauseInstanceOf(UnprocessedRequestException.class);
+    }
+
+    @Test
+    void noActivePortForInProcessAddress() {
+        assertThat(server.server().activePorts()).isEmpty();
+        assertThat(server.server().config().ports()).singleElement().satisfies(port -> {
+            assertThat(port.socketAddress()).isEqualTo(address);
+            assertThat(port.localAddress()).isNull();
+        });
+    }
+
+    @Test
+    void multipleAcceptorsNotAllowed() {
+        assertThatThrownBy(() -> new ServerPort(address, ImmutableList.of(SessionProtocol.HTTP), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
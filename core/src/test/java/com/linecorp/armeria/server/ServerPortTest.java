@@ -22,10 +22,15 @@ import static com.linecorp.armeria.common.SessionProtocol.H2C;
 import static com.linecorp.armeria.common.SessionProtocol.HTTP;
 import static com.linecorp.armeria.common.SessionProtocol.HTTPS;
 import static com.linecorp.armeria.common.SessionProtocol.PROXY;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.net.InetSocketAddress;
+
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+
 public class ServerPortTest {
     @Test
     public void allowedProtocols() {
@@ -44,4 +49,27 @@ public class ServerPortTest {
         assertThatThrownBy(() -> new ServerPort(0, H2)).isInstanceOf(IllegalArgumentException.class);
         assertThatThrownBy(() -> new ServerPort(0, H2C)).isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    public void numAcceptors() {
+        final InetSocketAddress localAddress = new InetSocketAddress(0);
+        assertThat(new ServerPort(0, HTTP).numAcceptors()).isOne();
+        final ServerPort port = new ServerPort(localAddress, ImmutableList.of(HTTP), 4);
+        assertThat(port.numAcceptors()).isEqualTo(4);
+        assertThat(port.toString()).contains("numAcceptors: 4");
+        assertThatThrownBy(() -> new ServerPort(localAddress, ImmutableList.of(HTTP), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void numAcceptorsAffectsEquality() {
+        final InetSocketAddress localAddress = new InetSocketAddress(0);
+        final ServerPort port = new ServerPort(localAddress, ImmutableList.of(HTTP), 4);
+        assertThat(port).isEqualTo(new ServerPort(localAddress, ImmutableList.of(HTTP), 4));
+        assertThat(port).hasSameHashCodeAs(new ServerPort(localAddress, ImmutableList.of(HTTP), 4));
+
+        final ServerPort other = new ServerPort(localAddress, ImmutableList.of(HTTP), 2);
+        assertThat(port).isNotEqualTo(other);
+        assertThat(port.compareTo(other)).isNotZero();
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+class ServerReusePortTest {
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.port(new ServerPort(new InetSocketAddress(0), ImmutableList.of(SessionProtocol.HTTP), 4));
+            sb.service("/", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+        }
+    };
+
+    @Test
+    void bindsAsManyServerChannelsAsAcceptors() {
+        final int expectedNumChannels = ChannelUtil.reusePortOption() != null ? 4 : 1;
+        final int port = server.httpPort();
+        assertThat(server.server().serverChannels)
+                .hasSize(expectedNumChannels)
+                .allSatisfy(ch -> {
+                    assertThat(ch.isActive()).isTrue();
+                    assertThat(((InetSocketAddress) ch.localAddress()).getPort()).isEqualTo(port);
+                });
+    }
+
+    @Test
+    void acceptsConnectionsWithMultipleAcceptors() {
+        assertThat(server.server().activePorts()).hasSize(1);
+        for (int i = 0; i < 16; i++) {
+            // Use a new connection for each request so that the connections are spread across acceptors.
+            try (ClientFactory factory = ClientFactory.builder().build()) {
+                final WebClient client = WebClient.builder(server.httpUri()).factory(factory).build();
+                assertThat(client.get("/").aggregate().join().status()).isEqualTo(HttpStatus.OK);
+            }
+        }
+    }
+}
@@ -18,10 +18,13 @@ package com.linecorp.armeria.server;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.net.InetAddress;
+
 import org.junit.jupiter.api.Test;
 
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.util.DomainSocketAddress;
 
 class ServiceRequestContextBuilderTest {
 
@@ -35,4 +38,16 @@ class ServiceRequestContextBuilderTest {
         final ServiceRequestContext ctx2 = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/"));
         assertThat(ctx2.isTimedOut()).isFalse();
     }
+
+    @Test
+    void nonInetAddresses() {
+        final DomainSocketAddress address = DomainSocketAddress.of("/tmp/armeria.sock");
+        final ServiceRequestContext ctx = ServiceRequestContext.builder(HttpRequest.of(HttpMethod.GET, "/"))
+                                                               .remoteAddress(address)
+                                                               .localAddress(address)
+                                                               .build();
+        assertThat((Object) ctx.remoteAddress()).isEqualTo(address);
+        assertThat((Object) ctx.localAddress()).isEqualTo(address);
+        assertThat(ctx.clientAddress()).isEqualTo(InetAddress.getLoopbackAddress());
+    }
 }
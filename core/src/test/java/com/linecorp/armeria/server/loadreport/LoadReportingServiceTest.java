@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.loadreport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.internal.common.LoadReport;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+class LoadReportingServiceTest {
+
+    private static final ResponseHeaders CONSTANT_HEADERS =
+            ResponseHeaders.builder(HttpStatus.OK)
+                           .setInt(HttpHeaderNames.CONTENT_LENGTH, 5)
+                           .set("x-custom", "foo")
+                           .build()
+                           .toConstant();
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.service("/", (ctx, req) -> HttpResponse.of(HttpStatus.OK));
+            sb.service("/constant", (ctx, req) -> HttpResponse.of(CONSTANT_HEADERS, HttpData.ofUtf8("hello")));
+            sb.decorator(LoadReportingService.builder()
+                                             .cpuUtilization(() -> 0.25)
+                                             .updateIntervalMillis(100)
+                                             .newDecorator());
+        }
+    };
+
+    @Test
+    void reportsLoad() {
+        final LoadReport report = loadReport();
+        assertThat(report).isNotNull();
+        assertThat(report.cpuUtilization()).isEqualTo(0.25);
+        // Only the current request is in flight.
+        assertThat(report.inFlightRequests()).isOne();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SessionProtocol.class, names = { "H1C", "H2C" })
+    void reportsLoadWithConstantHeaders(SessionProtocol protocol) {
+        final AggregatedHttpResponse res = WebClient.of(server.uri(protocol)).get("/constant")
+                                                    .aggregate().join();
+        assertThat(res.status()).isSameAs(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("hello");
+        assertThat(res.headers().get("x-custom")).isEqualTo("foo");
+        final LoadReport report = LoadReport.parse(res.headers().get(LoadReport.HEADER_NAME));
+        assertThat(report).isNotNull();
+        assertThat(report.cpuUtilization()).isEqualTo(0.25);
+    }
+
+    @Test
+    void reportsRequestsPerSecond() {
+        await().untilAsserted(() -> assertThat(loadReport().requestsPerSecond()).isPositive());
+    }
+
+    @Test
+    void invalidUpdateInterval() {
+        assertThatThrownBy(() -> LoadReportingService.builder().updateIntervalMillis(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LoadReport loadReport() {
+        final AggregatedHttpResponse res = WebClient.of(server.httpUri()).get("/").aggregate().join();
+        assertThat(res.status()).isSameAs(HttpStatus.OK);
+        return LoadReport.parse(res.headers().get(LoadReport.HEADER_NAME));
+    }
+}
@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 
 import com.linecorp.armeria.client.ClientRequestContext;
@@ -390,6 +391,19 @@ public final class EurekaEndpointGroup extends DynamicEndpointGroup {
         if (ipAddr != null && hostname != ipAddr) {
             endpoint = endpoint.withIpAddr(ipAddr);
         }
-        return endpoint;
+        return endpoint.withZone(zone(instanceInfo));
+    }
+
+    /**
+     * Returns the zone of the specified {@link InstanceInfo}. The {@code "zone"} metadata, which is
+     * registered by Spring Cloud Netflix, takes precedence over the availability zone of Amazon data center.
+     */
+    @Nullable
+    private static String zone(InstanceInfo instanceInfo) {
+        final String zone = instanceInfo.getMetadata().get("zone");
+        if (!Strings.isNullOrEmpty(zone)) {
+            return zone;
+        }
+        return Strings.emptyToNull(instanceInfo.getDataCenterInfo().getMetadata().get("availability-zone"));
     }
 }
@@ -19,6 +19,7 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -78,9 +79,19 @@ final class ArmeriaEndPoint implements EndPoint {
         // Add the hostname string given by Jetty to the local address so that
         // Jetty's ServletRequest.getLocalName() implementation returns the configured hostname.
         try {
-            final InetSocketAddress armeriaLocalAddr  = ctx.localAddress();
-            final InetSocketAddress jettyLocalAddr = new InetSocketAddress(InetAddress.getByAddress(
-                    hostname, armeriaLocalAddr.getAddress().getAddress()), armeriaLocalAddr.getPort());
+            final SocketAddress armeriaLocalAddr = ctx.localAddress();
+            final InetSocketAddress jettyLocalAddr;
+            if (armeriaLocalAddr instanceof InetSocketAddress) {
+                final InetSocketAddress armeriaLocalInetAddr = (InetSocketAddress) armeriaLocalAddr;
+                final InetAddress address = InetAddress.getByAddress(
+                        hostname, armeriaLocalInetAddr.getAddress().getAddress());
+                jettyLocalAddr = new InetSocketAddress(address, armeriaLocalInetAddr.getPort());
+            } else {
+                // A domain socket or an in-process address has no IP address and port number,
+                // but it is always local.
+                jettyLocalAddr = new InetSocketAddress(InetAddress.getByAddress(
+                        hostname, InetAddress.getLoopbackAddress().getAddress()), 0);
+            }
             this.localAddress = jettyLocalAddr;
             return jettyLocalAddr;
         } catch (UnknownHostException e) {
@@ -90,7 +101,12 @@ final class ArmeriaEndPoint implements EndPoint {
 
     @Override
     public InetSocketAddress getRemoteAddress() {
-        return ctx.remoteAddress();
+        final SocketAddress remoteAddress = ctx.remoteAddress();
+        if (remoteAddress instanceof InetSocketAddress) {
+            return (InetSocketAddress) remoteAddress;
+        }
+        // A domain socket or an in-process peer has no IP address and port number.
+        return new InetSocketAddress(ctx.clientAddress(), 0);
     }
 
     @Override
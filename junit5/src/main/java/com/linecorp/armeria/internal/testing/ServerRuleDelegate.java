@@ -106,7 +106,7 @@ public abstract class ServerRuleDelegate {
      */
     public CompletableFuture<Void> stop() {
         final Server server = this.server.getAndSet(null);
-        if (server == null || server.activePorts().isEmpty()) {
+        if (isStopped(server)) {
             return CompletableFuture.completedFuture(null);
         }
 
@@ -127,7 +127,14 @@ public abstract class ServerRuleDelegate {
     }
 
     private static boolean isStopped(@Nullable Server server) {
-        return server == null || server.activePorts().isEmpty();
+        if (server == null) {
+            return true;
+        }
+        if (!server.activePorts().isEmpty()) {
+            return false;
+        }
+        // Server.activePorts() does not contain a domain socket or an in-process port.
+        return server.config().ports().stream().allMatch(p -> p.socketAddress() instanceof InetSocketAddress);
     }
 
     /**
@@ -19,6 +19,8 @@ import static com.linecorp.armeria.server.saml.SamlPortConfig.isValidPort;
 import static com.linecorp.armeria.server.saml.SamlPortConfig.validatePort;
 import static java.util.Objects.requireNonNull;
 
+import java.net.InetSocketAddress;
+
 import javax.annotation.Nullable;
 
 import com.google.common.base.MoreObjects;
@@ -90,9 +92,10 @@ final class SamlPortConfigBuilder {
         }
 
         // Do not set a port if the port number is 0 which means that the port will be automatically chosen.
-        final int port = serverPort.localAddress().getPort();
-        if (isValidPort(port)) {
-            setPortIfAbsent(port);
+        // A domain socket or an in-process address has no port number.
+        final InetSocketAddress localAddress = serverPort.localAddress();
+        if (localAddress != null && isValidPort(localAddress.getPort())) {
+            setPortIfAbsent(localAddress.getPort());
         }
         return this;
     }
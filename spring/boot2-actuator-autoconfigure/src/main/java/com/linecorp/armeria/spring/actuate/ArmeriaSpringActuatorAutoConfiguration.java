@@ -22,6 +22,7 @@ import static com.linecorp.armeria.internal.spring.ArmeriaConfigurationNetUtil.c
 import static java.util.Objects.requireNonNull;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -273,8 +274,8 @@ public class ArmeriaSpringActuatorAutoConfiguration {
                    .pathPrefix(basePath);
         }
         builder.build((delegate, ctx, req) -> {
-            final InetSocketAddress laddr = ctx.localAddress();
-            if (port.getPort() == laddr.getPort()) {
+            final SocketAddress laddr = ctx.localAddress();
+            if (laddr instanceof InetSocketAddress && port.getPort() == ((InetSocketAddress) laddr).getPort()) {
                 return delegate.serve(ctx, req);
             } else {
                 return HttpResponse.of(404);
@@ -213,7 +213,11 @@ public class ArmeriaReactiveWebServerFactory extends AbstractReactiveWebServerFa
         }
 
         final int springPort = ensureValidPort(getPort());
-        final List<ServerPort> armeriaPorts = armeriaPorts(sb);
+        // Spring exposes only the ports with an IP address, so domain sockets and in-process addresses
+        // never become the primary port.
+        final List<ServerPort> armeriaPorts = armeriaPorts(sb).stream()
+                                                              .filter(p -> p.localAddress() != null)
+                                                              .collect(toImmutableList());
         final InetAddress primaryAddress;
         final int primaryLocalPort;
         final SessionProtocol primarySessionProtocol;
@@ -237,6 +241,7 @@ public class ArmeriaReactiveWebServerFactory extends AbstractReactiveWebServerFa
             // The cases of 3, 4.a
             final ServerPort armeriaFirstPort = armeriaPorts.get(0);
             final InetSocketAddress inetSocketAddress = armeriaFirstPort.localAddress();
+            assert inetSocketAddress != null;
             primaryAddress = null;
             primaryLocalPort = inetSocketAddress.getPort();
             primarySessionProtocol = armeriaFirstPort.hasTls() ? SessionProtocol.HTTPS : SessionProtocol.HTTP;
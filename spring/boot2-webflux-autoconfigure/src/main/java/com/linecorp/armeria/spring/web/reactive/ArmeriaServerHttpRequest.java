@@ -18,6 +18,7 @@ package com.linecorp.armeria.spring.web.reactive;
 import static java.util.Objects.requireNonNull;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.URI;
 import java.util.Collection;
 import java.util.List;
@@ -122,9 +123,12 @@ final class ArmeriaServerHttpRequest extends AbstractServerHttpRequest {
         return body;
     }
 
+    @Nullable
     @Override
     public InetSocketAddress getRemoteAddress() {
-        return ctx.remoteAddress();
+        final SocketAddress remoteAddress = ctx.remoteAddress();
+        // A domain socket or an in-process peer has no IP address and port number.
+        return remoteAddress instanceof InetSocketAddress ? (InetSocketAddress) remoteAddress : null;
     }
 
     @Override
@@ -22,7 +22,9 @@ import java.io.File;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -429,16 +431,30 @@ public abstract class TomcatService implements HttpService {
         coyoteReq.scheme().setString(req.scheme());
 
         // Set the remote host/address.
-        final InetSocketAddress remoteAddr = ctx.remoteAddress();
-        coyoteReq.remoteAddr().setString(remoteAddr.getAddress().getHostAddress());
-        coyoteReq.remoteHost().setString(remoteAddr.getHostString());
-        coyoteReq.setRemotePort(remoteAddr.getPort());
+        final SocketAddress remoteAddr = ctx.remoteAddress();
+        if (remoteAddr instanceof InetSocketAddress) {
+            final InetSocketAddress remoteInetAddr = (InetSocketAddress) remoteAddr;
+            coyoteReq.remoteAddr().setString(remoteInetAddr.getAddress().getHostAddress());
+            coyoteReq.remoteHost().setString(remoteInetAddr.getHostString());
+            coyoteReq.setRemotePort(remoteInetAddr.getPort());
+        } else {
+            // A domain socket or an in-process peer has no IP address and port number.
+            final String clientAddr = ctx.clientAddress().getHostAddress();
+            coyoteReq.remoteAddr().setString(clientAddr);
+            coyoteReq.remoteHost().setString(clientAddr);
+        }
 
         // Set the local host/address.
-        final InetSocketAddress localAddr = ctx.localAddress();
-        coyoteReq.localAddr().setString(localAddr.getAddress().getHostAddress());
+        final SocketAddress localAddr = ctx.localAddress();
+        if (localAddr instanceof InetSocketAddress) {
+            final InetSocketAddress localInetAddr = (InetSocketAddress) localAddr;
+            coyoteReq.localAddr().setString(localInetAddr.getAddress().getHostAddress());
+            coyoteReq.setLocalPort(localInetAddr.getPort());
+        } else {
+            // A domain socket or an in-process address is always local.
+            coyoteReq.localAddr().setString(InetAddress.getLoopbackAddress().getHostAddress());
+        }
         coyoteReq.localName().setString(hostName());
-        coyoteReq.setLocalPort(localAddr.getPort());
 
         final String hostHeader = req.authority();
         final int colonPos = hostHeader.indexOf(':');
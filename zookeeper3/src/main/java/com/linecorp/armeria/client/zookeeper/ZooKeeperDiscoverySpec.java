@@ -59,11 +59,15 @@ public interface ZooKeeperDiscoverySpec {
     /**
      * Returns a {@link ZooKeeperDiscoverySpec} that is compatible with
      * <a href="https://twitter.github.io/finagle/docs/com/twitter/serverset.html">Finagle ServerSets</a>.
+     * The {@code "zone"} metadata of a {@link ServerSetsInstance}, if any, is set to {@link Endpoint#zone()}.
      *
      * @see ZooKeeperRegistrationSpec#builderForServerSets()
      */
     static ZooKeeperDiscoverySpec serverSets() {
-        return serverSets(ServerSetsInstance::serviceEndpoint);
+        return serverSets(instance -> {
+            final Endpoint endpoint = instance.serviceEndpoint();
+            return endpoint != null ? endpoint.withZone(instance.metadata().get("zone")) : null;
+        });
     }
 
     /**